@@ -137,6 +137,9 @@ public enum ErrorCode {
       Response.Status.BAD_REQUEST,
       "A same document ID is found in more than one document when doing batched document write."),
 
+  DOCS_API_WRITE_BATCH_INVALID_JSON(
+      Response.Status.BAD_REQUEST, "A document of the batched document write is not valid JSON."),
+
   DOCS_API_WRITE_BATCH_INVALID_ID_PATH(
       Response.Status.BAD_REQUEST, "ID path is invalid for document during batch write."),
 
@@ -32,12 +32,21 @@ public interface DocumentProperties {
   /** @return Defines the Cassandra search page size when fetching documents. */
   int maxSearchPageSize();
 
+  /** @return Defines the number of token ranges a full collection scan is split into. */
+  int parallelScanRanges();
+
   /** @return Properties for a table where documents are stored. */
   DocumentTableProperties tableProperties();
 
   /** @return The helper for resolving column names in a document table. */
   DocumentTableColumns tableColumns();
 
+  /**
+   * @return If the document tables are indexed using the storage attached indexes, enabling more
+   *     filters to be pushed down to the data store.
+   */
+  boolean saiEnabled();
+
   /**
    * @return Returns approximate storage page size to use when querying database, based on the
    *     amount of documents we are searching for. We consider that in average documents have 16
@@ -32,6 +32,7 @@ public class DocumentPropertiesConfiguration {
   @Startup
   public DocumentProperties documentProperties(
       DocumentConfig documentConfig, DataStoreProperties properties) {
-    return new DocumentPropertiesImpl(documentConfig, properties.treatBooleansAsNumeric());
+    return new DocumentPropertiesImpl(
+        documentConfig, properties.treatBooleansAsNumeric(), properties.saiEnabled());
   }
 }
@@ -32,17 +32,22 @@ public record DocumentPropertiesImpl(
     int maxArrayLength,
     int maxPageSize,
     int maxSearchPageSize,
+    int parallelScanRanges,
     DocumentTableProperties tableProperties,
-    DocumentTableColumns tableColumns)
+    DocumentTableColumns tableColumns,
+    boolean saiEnabled)
     implements DocumentProperties {
 
-  public DocumentPropertiesImpl(DocumentConfig documentConfig, boolean numericBooleans) {
+  public DocumentPropertiesImpl(
+      DocumentConfig documentConfig, boolean numericBooleans, boolean saiEnabled) {
     this(
         documentConfig.maxDepth(),
         documentConfig.maxArrayLength(),
         documentConfig.maxPageSize(),
         documentConfig.maxSearchPageSize(),
+        documentConfig.parallelScanRanges(),
         new DocumentTablePropertiesImpl(documentConfig),
-        DocumentTableColumnsImpl.of(documentConfig, numericBooleans));
+        DocumentTableColumnsImpl.of(documentConfig, numericBooleans),
+        saiEnabled);
   }
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.stargate.sgv2.docsapi.api.v2.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+/**
+ * The result of writing a single document of a streamed batch. Results are emitted as soon as the
+ * write completes, so they are not necessarily in the order of the input documents.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DocumentWriteResult(
+
+    // position in the input
+    @Schema(description = "The zero-based position of the document in the request payload.")
+        long index,
+
+    // doc id
+    @Schema(
+            description = "The id of the document, if it could be resolved.",
+            nullable = true,
+            example = "822dc277-9121-4791-8b01-da8154e67d5d")
+        String documentId,
+
+    // error
+    @Schema(
+            description = "The reason why the document was not written, if the write failed.",
+            nullable = true)
+        String error) {
+
+  public static DocumentWriteResult success(long index, String documentId) {
+    return new DocumentWriteResult(index, documentId, null);
+  }
+
+  public static DocumentWriteResult failure(long index, String documentId, String error) {
+    return new DocumentWriteResult(index, documentId, error);
+  }
+}
@@ -17,6 +17,7 @@
 
 package io.stargate.sgv2.docsapi.api.v2.namespaces.collections;
 
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import io.stargate.bridge.proto.Schema;
 import io.stargate.sgv2.api.common.exception.model.dto.ApiError;
@@ -25,11 +26,14 @@ import io.stargate.sgv2.docsapi.api.exception.ErrorCodeRuntimeException;
 import io.stargate.sgv2.docsapi.api.v2.model.dto.SimpleResponseWrapper;
 import io.stargate.sgv2.docsapi.api.v2.namespaces.collections.model.dto.CollectionDto;
 import io.stargate.sgv2.docsapi.api.v2.namespaces.collections.model.dto.CollectionUpgradeType;
+import io.stargate.sgv2.docsapi.api.v2.namespaces.collections.model.dto.CompactionProgressDto;
 import io.stargate.sgv2.docsapi.api.v2.namespaces.collections.model.dto.CreateCollectionDto;
 import io.stargate.sgv2.docsapi.api.v2.namespaces.collections.model.dto.UpgradeCollectionDto;
 import io.stargate.sgv2.docsapi.config.constants.OpenApiConstants;
+import io.stargate.sgv2.docsapi.service.ExecutionContext;
 import io.stargate.sgv2.docsapi.service.schema.CollectionManager;
 import io.stargate.sgv2.docsapi.service.schema.qualifier.Authorized;
+import io.stargate.sgv2.docsapi.service.write.DeadLeafCompactionService;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
@@ -60,7 +64,9 @@ import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 import org.eclipse.microprofile.openapi.annotations.security.SecurityRequirement;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.jboss.resteasy.reactive.RestMediaType;
 import org.jboss.resteasy.reactive.RestResponse;
+import org.jboss.resteasy.reactive.RestStreamElementType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -78,6 +84,8 @@ public class CollectionsResource {
 
   @Inject @Authorized CollectionManager collectionManager;
 
+  @Inject DeadLeafCompactionService compactionService;
+
   @Operation(
       summary = "List collections",
       description = "List all available collections in a namespace.")
@@ -325,6 +333,66 @@ public class CollectionsResource {
                         new ErrorCodeRuntimeException(ErrorCode.DOCS_API_GENERAL_UPGRADE_INVALID)));
   }
 
+  @Operation(
+      summary = "Compact a collection",
+      description =
+          """
+          Delete the dead leaves of all documents in a collection.
+
+          Dead leaves are rows left behind by document updates. They are otherwise only deleted when a document is read, so documents that are often updated but rarely read keep growing.
+          The compaction scans the collection at a limited rate and streams its progress as newline-delimited JSON: after every 1000 scanned documents and once more when completed.
+          Documents whose dead leaves can not be deleted are counted and left for the next compaction, but the compaction stops if the request is not authorized or the data store is unavailable.
+          Run it periodically, for example from a scheduled job.
+          """)
+  @Parameters(
+      value = {
+        @Parameter(name = "namespace", ref = OpenApiConstants.Parameters.NAMESPACE),
+        @Parameter(name = "collection", ref = OpenApiConstants.Parameters.COLLECTION),
+      })
+  @APIResponses(
+      value = {
+        @APIResponse(
+            responseCode = "200",
+            description = "The progress of the compaction, one update per line.",
+            content = {
+              @Content(
+                  mediaType = RestMediaType.APPLICATION_NDJSON,
+                  schema =
+                      @org.eclipse.microprofile.openapi.annotations.media.Schema(
+                          implementation = CompactionProgressDto.class))
+            }),
+        @APIResponse(
+            responseCode = "404",
+            description = "Not found.",
+            content =
+                @Content(
+                    examples = {
+                      @ExampleObject(ref = OpenApiConstants.Examples.NAMESPACE_DOES_NOT_EXIST),
+                      @ExampleObject(ref = OpenApiConstants.Examples.COLLECTION_DOES_NOT_EXIST)
+                    },
+                    schema =
+                        @org.eclipse.microprofile.openapi.annotations.media.Schema(
+                            implementation = ApiError.class))),
+        @APIResponse(ref = OpenApiConstants.Responses.GENERAL_401),
+        @APIResponse(ref = OpenApiConstants.Responses.GENERAL_500),
+        @APIResponse(ref = OpenApiConstants.Responses.GENERAL_503),
+      })
+  @POST
+  @Path("/{collection:\\w+}/compact")
+  @Produces(RestMediaType.APPLICATION_NDJSON)
+  @RestStreamElementType(MediaType.APPLICATION_JSON)
+  public Multi<CompactionProgressDto> compactCollection(
+      @PathParam("namespace") String namespace, @PathParam("collection") String collection) {
+    // progress is streamed, there is no place for an execution profile
+    ExecutionContext context = ExecutionContext.NOOP_CONTEXT;
+
+    // fetch the table to ensure it's a valid collection
+    return collectionManager
+        .getValidCollectionTable(namespace, collection)
+        .onItem()
+        .transformToMulti(t -> compactionService.compactCollection(namespace, collection, context));
+  }
+
   @Operation(summary = "Delete a collection", description = "Delete a collection in a namespace.")
   @Parameters(
       value = {
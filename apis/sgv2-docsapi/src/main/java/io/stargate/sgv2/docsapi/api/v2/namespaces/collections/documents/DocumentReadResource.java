@@ -18,6 +18,7 @@
 package io.stargate.sgv2.docsapi.api.v2.namespaces.collections.documents;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import io.stargate.sgv2.api.common.exception.model.dto.ApiError;
 import io.stargate.sgv2.docsapi.api.v2.model.dto.DocumentResponseWrapper;
@@ -56,7 +57,9 @@ import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 import org.eclipse.microprofile.openapi.annotations.security.SecurityRequirement;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.jboss.resteasy.reactive.RestMediaType;
 import org.jboss.resteasy.reactive.RestResponse;
+import org.jboss.resteasy.reactive.RestStreamElementType;
 
 /** Read resource. */
 @Path(DocumentReadResource.BASE_PATH)
@@ -174,6 +177,66 @@ public class DocumentReadResource {
             });
   }
 
+  @Operation(
+      summary = "Export all documents in a collection",
+      description =
+          """
+          Stream every document in a collection as newline-delimited JSON, one document per line.
+
+          Documents are written as soon as they are read from the database, so collections of any size can be exported in a single request.
+          The order of the exported documents is not defined.
+          """)
+  @Parameters(
+      value = {
+        @Parameter(name = "namespace", ref = OpenApiConstants.Parameters.NAMESPACE),
+        @Parameter(name = "collection", ref = OpenApiConstants.Parameters.COLLECTION),
+      })
+  @APIResponses({
+    @APIResponse(
+        responseCode = "200",
+        description =
+            "Call successful, each line contains the `documentId` and `data` of a document.",
+        content = {
+          @Content(
+              mediaType = RestMediaType.APPLICATION_NDJSON,
+              schema =
+                  @Schema(
+                      implementation = DocumentResponseWrapper.class,
+                      properties = @SchemaProperty(name = "data", type = SchemaType.OBJECT)))
+        }),
+    @APIResponse(
+        responseCode = "404",
+        description = "Not found.",
+        content =
+            @Content(
+                examples = {
+                  @ExampleObject(ref = OpenApiConstants.Examples.NAMESPACE_DOES_NOT_EXIST),
+                  @ExampleObject(ref = OpenApiConstants.Examples.COLLECTION_DOES_NOT_EXIST)
+                },
+                schema = @Schema(implementation = ApiError.class))),
+    @APIResponse(ref = OpenApiConstants.Responses.GENERAL_401),
+    @APIResponse(ref = OpenApiConstants.Responses.GENERAL_500),
+    @APIResponse(ref = OpenApiConstants.Responses.GENERAL_503),
+  })
+  @GET
+  @Path("{collection:\\w+}/export")
+  @Produces(RestMediaType.APPLICATION_NDJSON)
+  @RestStreamElementType(MediaType.APPLICATION_JSON)
+  public Multi<DocumentResponseWrapper<JsonNode>> exportDocuments(
+      @PathParam("namespace") String namespace, @PathParam("collection") String collection) {
+    // documents are streamed one by one, there is no place for an execution profile
+    ExecutionContext context = ExecutionContext.NOOP_CONTEXT;
+
+    // fetch a valid table to ensure read is from a collection table
+    return collectionManager
+        .getValidCollectionTable(namespace, collection)
+
+        // if exists, then stream all documents
+        .onItem()
+        .transformToMulti(
+            t -> readDocumentsService.exportDocuments(namespace, collection, context));
+  }
+
   @Operation(
       summary = "Get a document",
       description =
@@ -18,9 +18,12 @@
 package io.stargate.sgv2.docsapi.api.v2.namespaces.collections.documents;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import io.smallrye.common.annotation.Blocking;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import io.stargate.bridge.proto.Schema;
 import io.stargate.sgv2.api.common.exception.model.dto.ApiError;
+import io.stargate.sgv2.docsapi.api.v2.model.dto.DocumentWriteResult;
 import io.stargate.sgv2.docsapi.api.v2.model.dto.ExecutionProfile;
 import io.stargate.sgv2.docsapi.api.v2.model.dto.MultiDocsResponse;
 import io.stargate.sgv2.docsapi.config.constants.OpenApiConstants;
@@ -40,6 +43,7 @@ import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.UriInfo;
+import java.io.InputStream;
 import java.net.URI;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
@@ -54,8 +58,10 @@ import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 import org.eclipse.microprofile.openapi.annotations.security.SecurityRequirement;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.jboss.resteasy.reactive.RestMediaType;
 import org.jboss.resteasy.reactive.RestResponse;
 import org.jboss.resteasy.reactive.RestResponse.ResponseBuilder;
+import org.jboss.resteasy.reactive.RestStreamElementType;
 
 /** Document write resource. */
 @Path(DocumentWriteResource.BASE_PATH)
@@ -227,4 +233,91 @@ public class DocumentWriteResource {
         .onItem()
         .transform(result -> ResponseBuilder.accepted().entity(result).build());
   }
+
+  @Operation(
+      summary = "Create documents from a stream",
+      description =
+          """
+              Create multiple new documents, reading them incrementally from the request body. If the collection does not exist, it will be created.
+
+              The body must be newline-delimited JSON (one document per line), or a single JSON array.
+              Each document is written as soon as it is read, and the result of each write is streamed back as newline-delimited JSON, in completion order.
+              A document that can not be written does not fail the whole request, the reason is reported in its result instead.
+
+              > Include the `id-path` parameter to extract the ID for each document from the document itself.
+              The `id-path` should be given as path to the document property containing the id, for example `a.b.c.[0]`.
+              Note that document IDs will be auto-generated in case there is no `id-path` parameter defined.
+              """)
+  @Parameters(
+      value = {
+        @Parameter(name = "namespace", ref = OpenApiConstants.Parameters.NAMESPACE),
+        @Parameter(
+            name = "collection",
+            ref = OpenApiConstants.Parameters.COLLECTION,
+            description = "The collection of the documents. Will be created if it does not exist."),
+        @Parameter(
+            name = "id-path",
+            description =
+                "The optional path of the ID in each document whose value will be used as the ID of the created document, if present."),
+        @Parameter(
+            name = "ttl",
+            ref = OpenApiConstants.Parameters.TTL,
+            description = "The time-to-live (in seconds) of each written document."),
+      })
+  @RequestBody(
+      description = "Newline-delimited JSON documents, or a JSON array of documents.",
+      content =
+          @Content(
+              mediaType = RestMediaType.APPLICATION_NDJSON,
+              schema =
+                  @org.eclipse.microprofile.openapi.annotations.media.Schema(
+                      type = SchemaType.STRING)))
+  @APIResponses(
+      value = {
+        @APIResponse(
+            responseCode = "200",
+            description = "The result of each document write, one per line.",
+            content = {
+              @Content(
+                  mediaType = RestMediaType.APPLICATION_NDJSON,
+                  schema =
+                      @org.eclipse.microprofile.openapi.annotations.media.Schema(
+                          implementation = DocumentWriteResult.class))
+            }),
+        @APIResponse(
+            responseCode = "404",
+            description = "Not found.",
+            content =
+                @Content(
+                    examples = {
+                      @ExampleObject(ref = OpenApiConstants.Examples.NAMESPACE_DOES_NOT_EXIST)
+                    },
+                    schema =
+                        @org.eclipse.microprofile.openapi.annotations.media.Schema(
+                            implementation = ApiError.class))),
+        @APIResponse(ref = OpenApiConstants.Responses.GENERAL_400),
+        @APIResponse(ref = OpenApiConstants.Responses.GENERAL_401),
+        @APIResponse(ref = OpenApiConstants.Responses.GENERAL_500),
+        @APIResponse(ref = OpenApiConstants.Responses.GENERAL_503),
+      })
+  @POST
+  @Path("{collection:\\w+}/batch")
+  @Consumes(RestMediaType.APPLICATION_NDJSON)
+  @Produces(RestMediaType.APPLICATION_NDJSON)
+  @RestStreamElementType(MediaType.APPLICATION_JSON)
+  // the body is read as it arrives, which is blocking
+  @Blocking
+  public Multi<DocumentWriteResult> createDocumentsStream(
+      @PathParam("namespace") String namespace,
+      @PathParam("collection") String collection,
+      @QueryParam("id-path") String idPath,
+      @QueryParam("ttl") @Min(value = 1, message = "TTL value must be a positive integer")
+          Integer ttl,
+      InputStream body) {
+    // results are streamed back one by one, there is no place for an execution profile
+    ExecutionContext context = ExecutionContext.NOOP_CONTEXT;
+    Uni<Schema.CqlTable> table = collectionManager.ensureValidDocumentTable(namespace, collection);
+    return documentWriteService.writeDocumentsStream(
+        table, namespace, collection, body, idPath, ttl, context);
+  }
 }
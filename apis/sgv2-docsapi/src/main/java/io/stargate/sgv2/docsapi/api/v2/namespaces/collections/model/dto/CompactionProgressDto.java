@@ -0,0 +1,47 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.stargate.sgv2.docsapi.api.v2.namespaces.collections.model.dto;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+/**
+ * DTO for the progress of a dead leaf compaction of a collection. All counts are totals since the
+ * compaction started.
+ *
+ * @param documentsScanned Number of documents scanned.
+ * @param documentsCompacted Number of documents that had dead leaves deleted.
+ * @param deadLeavesDeleted Number of dead leaves deleted.
+ * @param documentsFailed Number of documents whose dead leaves could not be deleted.
+ * @param completed If the whole collection was scanned.
+ */
+public record CompactionProgressDto(
+    @Schema(description = "The number of documents scanned so far.", example = "1000")
+        long documentsScanned,
+    @Schema(
+            description = "The number of scanned documents that had dead leaves deleted.",
+            example = "12")
+        long documentsCompacted,
+    @Schema(description = "The number of dead leaves deleted so far.", example = "57")
+        long deadLeavesDeleted,
+    @Schema(
+            description =
+                "The number of scanned documents whose dead leaves could not be deleted, they are"
+                    + " retried by the next compaction.",
+            example = "0")
+        long documentsFailed,
+    @Schema(description = "Whether the whole collection was scanned.", example = "false")
+        boolean completed) {}
@@ -61,6 +61,34 @@ public interface DocumentConfig {
   @WithDefault("1000")
   int maxSearchPageSize();
 
+  /**
+   * @return Defines the maximum number of documents of a batch that are written concurrently,
+   *     defaults to <code>16</code>.
+   */
+  @Max(1000)
+  @Positive
+  @WithDefault("16")
+  int maxBatchWritesInFlight();
+
+  /**
+   * @return Defines the number of token ranges that full collection scans are split into and
+   *     executed concurrently, defaults to <code>1</code> (no split). Requires the data store to use
+   *     the <code>Murmur3Partitioner</code>.
+   */
+  @Max(256)
+  @Positive
+  @WithDefault("1")
+  int parallelScanRanges();
+
+  /**
+   * @return Defines the maximum number of documents per second that a dead leaf compaction of a
+   *     collection scans, defaults to <code>100</code>.
+   */
+  @Max(100000)
+  @Positive
+  @WithDefault("100")
+  int maxCompactionDocumentsPerSecond();
+
   /** {@inheritDoc} */
   DocumentTableConfig table();
 
@@ -33,11 +33,13 @@ import io.stargate.sgv2.docsapi.service.query.search.db.impl.DocumentTtlQueryBui
 import io.stargate.sgv2.docsapi.service.query.search.db.impl.FullSearchQueryBuilder;
 import io.stargate.sgv2.docsapi.service.query.search.db.impl.PopulateSearchQueryBuilder;
 import io.stargate.sgv2.docsapi.service.query.search.db.impl.SubDocumentSearchQueryBuilder;
+import io.stargate.sgv2.docsapi.service.query.search.db.impl.TokenRangeSearchQueryBuilder;
 import io.stargate.sgv2.docsapi.service.query.search.resolver.BaseResolver;
 import io.stargate.sgv2.docsapi.service.query.search.resolver.DocumentsResolver;
 import io.stargate.sgv2.docsapi.service.query.search.resolver.impl.SubDocumentsResolver;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.tuple.Pair;
@@ -187,8 +189,48 @@ public class ReadBridgeService {
     return documentTtl(keyspace, collection, documentId, context).select().first().toUni();
   }
 
+  /**
+   * Streams all documents of a collection, for example for an export. Documents are emitted one
+   * by one as soon as all of their rows are fetched and storage pages of {@link
+   * DocumentProperties#maxSearchPageSize()} rows are only requested when the downstream demands
+   * more documents, so the memory used does not depend on the size of the collection.
+   *
+   * <p>Note that the documents are not ordered in case the full scan is split in token ranges.
+   *
+   * @param keyspace Keyspace to export from.
+   * @param collection Collection to export.
+   * @param context Context for recording profiling information
+   * @return Multi of all {@link RawDocument}s in the collection.
+   */
+  @WithSpan
+  public Multi<RawDocument> exportDocuments(
+      String keyspace, String collection, ExecutionContext context) {
+    // no paging state needed, the whole collection is emitted in a single stream
+    return fullSearch(
+        keyspace,
+        collection,
+        documentProperties.maxSearchPageSize(),
+        null,
+        false,
+        nestedFullSearch(context));
+  }
+
   private Multi<RawDocument> fullSearch(
       String keyspace, String collection, Paginator paginator, ExecutionContext context) {
+    int pageSize = documentProperties.getApproximateStoragePageSize(paginator.docPageSize);
+    return fullSearch(
+        keyspace, collection, pageSize, paginator.getCurrentDbPageState(), true, context);
+  }
+
+  private Multi<RawDocument> fullSearch(
+      String keyspace,
+      String collection,
+      int pageSize,
+      ByteBuffer pagingState,
+      boolean fetchRowPaging,
+      ExecutionContext context) {
+    // split the scan in token ranges, if configured
+    int parallelScanRanges = documentProperties.parallelScanRanges();
 
     // build and bind first (this could be cached for the max depth)
     return Uni.createFrom()
@@ -196,22 +238,28 @@ public class ReadBridgeService {
             () -> {
               String[] columns = documentProperties.tableColumns().allColumnNamesArray();
 
-              FullSearchQueryBuilder queryBuilder = new FullSearchQueryBuilder(documentProperties);
-              QueryOuterClass.Query query = queryBuilder.buildQuery(keyspace, collection, columns);
-              return queryBuilder.bind(query);
+              List<? extends FullSearchQueryBuilder> queryBuilders =
+                  parallelScanRanges > 1
+                      ? TokenRangeSearchQueryBuilder.forRanges(
+                          documentProperties, parallelScanRanges)
+                      : List.of(new FullSearchQueryBuilder(documentProperties));
+
+              return queryBuilders.stream()
+                  .map(qb -> qb.bind(qb.buildQuery(keyspace, collection, columns)))
+                  .collect(Collectors.toList());
             })
         .memoize()
         .indefinitely()
         .onItem()
         .transformToMulti(
-            query ->
-                queryExecutor.queryDocs(
-                    query,
-                    documentProperties.getApproximateStoragePageSize(paginator.docPageSize),
-                    true,
-                    paginator.getCurrentDbPageState(),
-                    true,
-                    context));
+            queries -> {
+              if (queries.size() > 1) {
+                return queryExecutor.queryDocsParallel(
+                    queries, pageSize, true, pagingState, fetchRowPaging, context);
+              }
+              return queryExecutor.queryDocs(
+                  queries.get(0), pageSize, true, pagingState, fetchRowPaging, context);
+            });
   }
 
   private Multi<RawDocument> documentTtl(
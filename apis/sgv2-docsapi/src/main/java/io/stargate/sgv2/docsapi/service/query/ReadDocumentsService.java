@@ -145,6 +145,29 @@ public class ReadDocumentsService {
             });
   }
 
+  /**
+   * Exports all documents of the collection. Each document is converted to JSON and emitted on its
+   * own, so that it can be written out before the next document is fetched.
+   *
+   * @param namespace Namespace
+   * @param collection Collection name
+   * @param context Execution content
+   * @return Multi emitting a DocumentResponseWrapper with document id and data for each document
+   *     in the collection
+   */
+  public Multi<DocumentResponseWrapper<JsonNode>> exportDocuments(
+      String namespace, String collection, ExecutionContext context) {
+    return readBridgeService
+        .exportDocuments(namespace, collection, context)
+
+        // convert one by one, no field filtering
+        .map(
+            doc -> {
+              JsonNode data = documentToNode(doc, Collections.emptyList(), false);
+              return new DocumentResponseWrapper<>(doc.id(), null, data, null);
+            });
+  }
+
   /**
    * Gets all sub-documents of a single document at the given path, or a complete document if
    * #subDocumentPath is empty. Response structure is key to value pairs, where key matches the key
@@ -23,6 +23,8 @@ import io.stargate.sgv2.docsapi.service.common.model.RowWrapper;
 import io.stargate.sgv2.docsapi.service.query.filter.operation.FilterOperationCode;
 import io.stargate.sgv2.docsapi.service.util.DocsApiUtils;
 import jakarta.validation.constraints.NotNull;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Predicate;
 import org.apache.commons.lang3.tuple.Pair;
@@ -48,6 +50,19 @@ public interface BaseCondition extends Predicate<RowWrapper> {
    */
   Optional<Pair<BuiltCondition, QueryOuterClass.Value>> getBuiltCondition();
 
+  /**
+   * Returns the conditions that are, combined in a disjunction, equivalent to this condition and
+   * that can all be executed on the persistence level. Enables pushing down conditions that
+   * otherwise must be evaluated in memory.
+   *
+   * <p>The default implementation returns an empty list, meaning such conditions do not exist.
+   *
+   * @return Equivalent persistence conditions or empty list
+   */
+  default List<BaseCondition> getPersistenceDisjunction() {
+    return Collections.emptyList();
+  }
+
   /** @return Returns filter operation code used by this condition. */
   FilterOperationCode getFilterOperationCode();
 
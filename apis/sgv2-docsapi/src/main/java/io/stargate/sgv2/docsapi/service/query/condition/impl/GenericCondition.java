@@ -23,6 +23,10 @@ import io.stargate.sgv2.docsapi.service.common.model.RowWrapper;
 import io.stargate.sgv2.docsapi.service.query.condition.BaseCondition;
 import io.stargate.sgv2.docsapi.service.query.filter.operation.FilterOperationCode;
 import io.stargate.sgv2.docsapi.service.query.filter.operation.GenericFilterOperation;
+import io.stargate.sgv2.docsapi.service.query.filter.operation.ValueFilterOperation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import org.apache.commons.lang3.tuple.Pair;
 import org.immutables.value.Value;
@@ -69,6 +73,46 @@ public abstract class GenericCondition<V> implements BaseCondition {
     return Optional.empty();
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>This implementation creates a condition for each element of the list query value, in case
+   * the filter operation defines a {@link GenericFilterOperation#getDisjunctionOperation()}. The
+   * <code>null</code> elements can only be matched in memory, thus no conditions are returned if
+   * any exists.
+   */
+  @Override
+  public List<BaseCondition> getPersistenceDisjunction() {
+    Optional<ValueFilterOperation> disjunctionOperation =
+        getFilterOperation().getDisjunctionOperation();
+    if (disjunctionOperation.isEmpty() || !(getQueryValue() instanceof List<?> values)) {
+      return Collections.emptyList();
+    }
+
+    ValueFilterOperation operation = disjunctionOperation.get();
+    List<BaseCondition> result = new ArrayList<>(values.size());
+    for (Object value : values) {
+      BaseCondition condition;
+      if (value instanceof String stringValue) {
+        condition = ImmutableStringCondition.of(operation, stringValue, documentProperties());
+      } else if (value instanceof Number numberValue) {
+        condition = ImmutableNumberCondition.of(operation, numberValue, documentProperties());
+      } else if (value instanceof Boolean booleanValue) {
+        condition =
+            ImmutableBooleanCondition.of(
+                operation, booleanValue, documentProperties(), isNumericBooleans());
+      } else {
+        return Collections.emptyList();
+      }
+
+      if (!condition.isPersistenceCondition()) {
+        return Collections.emptyList();
+      }
+      result.add(condition);
+    }
+    return result;
+  }
+
   /** {@inheritDoc} */
   @Override
   public FilterOperationCode getFilterOperationCode() {
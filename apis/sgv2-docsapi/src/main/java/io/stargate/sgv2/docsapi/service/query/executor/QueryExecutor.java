@@ -78,6 +78,9 @@ import java.util.stream.Collectors;
  *       io.stargate.bridge.proto.QueryOuterClass.ResumeMode#NEXT_PARTITION} as we are
  *       differentating between different documents; otherwise {@link
  *       io.stargate.bridge.proto.QueryOuterClass.ResumeMode#NEXT_ROW}
+ *   <li><b>parallel queries</b> - queries targeting disjoint token ranges can be executed
+ *       concurrently, emitting the documents in the order they are received instead of the ring
+ *       order; the combined page-state then tracks the last emitted document of each query
  * </ul>
  *
  * @author Dmitri Bourlatchkov
@@ -166,7 +169,7 @@ public class QueryExecutor {
                   executeQuery(
                       bridge, query, pageSize, exponentPageSize, pagingState, resumeMode, context);
 
-              return accumulate(documents, idColumns, tracker);
+              return accumulate(documents, idColumns, tracker, CombinedPagingState::new);
             });
   }
 
@@ -260,7 +263,118 @@ public class QueryExecutor {
                       resumeMode,
                       context);
 
-              return accumulate(documents, idColumns, tracker);
+              return accumulate(documents, idColumns, tracker, CombinedPagingState::new);
+            });
+  }
+
+  /**
+   * Runs the provided queries concurrently, then groups the rows of each query into {@link
+   * RawDocument} objects with key depth of 1, and emits them in the order they become available.
+   *
+   * <p>Note: the queries must target disjoint sets of partitions (for example disjoint token
+   * ranges), as documents produced by different queries are not de-duplicated.
+   *
+   * <p>Note: unlike {@link #queryDocs(int, List, int, boolean, ByteBuffer, boolean,
+   * ExecutionContext)}, the documents are not ordered according to the ring order. The paging
+   * state of each document combines the paging states of the last emitted document of each query,
+   * so resuming from it never skips documents that have not been emitted yet.
+   *
+   * @param queries the queries to run (one or more).
+   * @param pageSize the storage-level page size to use for each query (1 or greater).
+   * @param exponentPageSize if the storage-level page size should be exponentially increase with
+   *     every next hop to the data store
+   * @param pagingState the storage-level page state to use (may be {@code null}).
+   * @param fetchRowPaging if the paging state for each row should be fetched
+   * @param context the query execution context for profiling.
+   * @return a flow of documents grouped by the document id, in no particular order.
+   */
+  public Multi<RawDocument> queryDocsParallel(
+      List<QueryOuterClass.Query> queries,
+      int pageSize,
+      boolean exponentPageSize,
+      ByteBuffer pagingState,
+      boolean fetchRowPaging,
+      ExecutionContext context) {
+    StargateBridge bridge = requestInfo.getStargateBridge();
+
+    // deffer to wrap failures
+    return Multi.createFrom()
+        .deferred(
+            () -> {
+              List<String> idColumns = docIdColumns(1);
+              QueryOuterClass.ResumeMode resumeMode =
+                  getResumeMode(fetchRowPaging, idColumns.size());
+
+              // init the given paging states
+              List<ByteBuffer> pagingStates =
+                  CombinedPagingState.deserialize(queries.size(), pagingState);
+
+              // the paging state of the last emitted document of each query
+              List<PagingStateSupplier> emittedStates = new ArrayList<>(queries.size());
+              pagingStates.stream().map(PagingStateSupplier::fixed).forEach(emittedStates::add);
+
+              // each query is executed and accumulated on its own,
+              // with the paging state of its own rows only
+              List<Multi<IndexedDocument>> allDocuments =
+                  Streams.mapWithIndex(
+                          queries.stream(),
+                          (query, index) -> {
+                            ByteBuffer queryPagingState = pagingStates.get((int) index);
+                            PagingStateTracker tracker =
+                                new PagingStateTracker(
+                                    Collections.singletonList(queryPagingState));
+
+                            Multi<DocumentProperty> documents =
+                                executeQuery(
+                                    bridge,
+                                    query,
+                                    pageSize,
+                                    exponentPageSize,
+                                    queryPagingState,
+                                    resumeMode,
+                                    context);
+
+                            // the paging state of a document is the one of its last row
+                            Function<List<PagingStateSupplier>, PagingStateSupplier> pagingState =
+                                states -> states.get(0);
+                            Multi<IndexedDocument> queryDocuments =
+                                accumulate(documents, idColumns, tracker, pagingState)
+                                    .map(doc -> new IndexedDocument((int) index, doc));
+
+                            // signal the query exhaustion, as it might not have produced any doc
+                            return Multi.createBy()
+                                .concatenating()
+                                .streams(
+                                    queryDocuments,
+                                    Multi.createFrom()
+                                        .item(() -> new IndexedDocument((int) index, null)));
+                          })
+                      .toList();
+
+              // merge as documents arrive and combine the paging states on emission,
+              // the merge guarantees the items are emitted serially
+              return Multi.createBy()
+                  .merging()
+                  .withConcurrency(queries.size())
+                  .streams(allDocuments)
+                  .invoke(
+                      indexed -> {
+                        if (null == indexed.document) {
+                          emittedStates.set(
+                              indexed.queryIndex,
+                              PagingStateSupplier.fixed(CombinedPagingState.EXHAUSTED_PAGE_STATE));
+                        }
+                      })
+                  .filter(indexed -> null != indexed.document)
+                  .map(
+                      indexed -> {
+                        RawDocument doc = indexed.document;
+                        emittedStates.set(indexed.queryIndex, doc.pagingState());
+                        CombinedPagingState combinedPagingState =
+                            new CombinedPagingState(new ArrayList<>(emittedStates));
+                        return ImmutableRawDocument.of(
+                            doc.id(), doc.documentKeys(), combinedPagingState, doc.rows());
+                      });
             });
   }
 
@@ -279,8 +393,12 @@ public class QueryExecutor {
   }
 
   // accumulates the document properties into RawDocument instances
+  // the pagingStateFunction creates the paging state of a document from the tracked states
   private Multi<RawDocument> accumulate(
-      Multi<DocumentProperty> documents, List<String> idColumns, PagingStateTracker tracker) {
+      Multi<DocumentProperty> documents,
+      List<String> idColumns,
+      PagingStateTracker tracker,
+      Function<List<PagingStateSupplier>, PagingStateSupplier> pagingStateFunction) {
     Multi<Accumulator> accumulatorMulti = documents.map(p -> toSeed(p, comparator, idColumns));
 
     // then add the TERM to the end
@@ -296,7 +414,7 @@ public class QueryExecutor {
         .filter(Accumulator::isComplete)
 
         // and map to the document
-        .map(Accumulator::toDoc);
+        .map(accumulator -> accumulator.toDoc(pagingStateFunction));
   }
 
   // executes a single queries and provides Multi of DocumentProperty
@@ -406,6 +524,16 @@ public class QueryExecutor {
             : null;
     QueryState initialState = ImmutableQueryState.of(pageSize, pagingStateValue);
 
+    // with a fixed page size, let the bridge push all pages over a single stream
+    // pages are still only fetched as they are requested, so early cancellation reads no more
+    if (!exponentPageSize) {
+      QueryOuterClass.Query finalQuery =
+          withParameters(query, initialState, resumeMode, comparableBytesNeeded);
+      return stargateBridge
+          .executeQueryStream(finalQuery)
+          .map(QueryOuterClass.Response::getResultSet);
+    }
+
     return Multi.createBy()
         .repeating()
         .uni(
@@ -413,35 +541,9 @@ public class QueryExecutor {
             stateRef -> {
               QueryState state = stateRef.get();
 
-              // create params, ensure:
-              // 1. read consistency
-              // 2. needed page size
-              // 3. enriched if needed
-              // 4. resume mode if defined
-              QueryOuterClass.Consistency consistency = queriesConfig.consistency().reads();
-              QueryOuterClass.ConsistencyValue.Builder consistencyValue =
-                  QueryOuterClass.ConsistencyValue.newBuilder().setValue(consistency);
-              boolean enriched = comparableBytesNeeded || null != resumeMode;
-              QueryOuterClass.QueryParameters.Builder params =
-                  QueryOuterClass.QueryParameters.newBuilder()
-                      .setConsistency(consistencyValue)
-                      .setPageSize(Int32Value.of(state.pageSize()))
-                      .setEnriched(enriched);
-
-              // set resume mode if not null
-              if (null != resumeMode) {
-                params.setResumeMode(
-                    QueryOuterClass.ResumeModeValue.newBuilder().setValue(resumeMode).build());
-              }
-
-              // if we have paging state, set
-              if (null != state.pagingState()) {
-                params.setPagingState(state.pagingState());
-              }
-
               // final query is same as the original, just with different params
               QueryOuterClass.Query finalQuery =
-                  QueryOuterClass.Query.newBuilder(query).setParameters(params).buildPartial();
+                  withParameters(query, state, resumeMode, comparableBytesNeeded);
 
               // execute
               return stargateBridge
@@ -466,6 +568,41 @@ public class QueryExecutor {
         .whilst(QueryOuterClass.ResultSet::hasPagingState);
   }
 
+  // creates the query to execute for the given state, same as the original, ensuring:
+  // 1. read consistency
+  // 2. needed page size
+  // 3. enriched if needed
+  // 4. resume mode if defined
+  // 5. paging state if defined
+  private QueryOuterClass.Query withParameters(
+      QueryOuterClass.Query query,
+      QueryState state,
+      QueryOuterClass.ResumeMode resumeMode,
+      boolean comparableBytesNeeded) {
+    QueryOuterClass.Consistency consistency = queriesConfig.consistency().reads();
+    QueryOuterClass.ConsistencyValue.Builder consistencyValue =
+        QueryOuterClass.ConsistencyValue.newBuilder().setValue(consistency);
+    boolean enriched = comparableBytesNeeded || null != resumeMode;
+    QueryOuterClass.QueryParameters.Builder params =
+        QueryOuterClass.QueryParameters.newBuilder()
+            .setConsistency(consistencyValue)
+            .setPageSize(Int32Value.of(state.pageSize()))
+            .setEnriched(enriched);
+
+    // set resume mode if not null
+    if (null != resumeMode) {
+      params.setResumeMode(
+          QueryOuterClass.ResumeModeValue.newBuilder().setValue(resumeMode).build());
+    }
+
+    // if we have paging state, set
+    if (null != state.pagingState()) {
+      params.setPagingState(state.pagingState());
+    }
+
+    return QueryOuterClass.Query.newBuilder(query).setParameters(params).buildPartial();
+  }
+
   /**
    * Converts a single page of results into {@link DocumentProperty} objects to maintain an
    * association of rows to their respective {@link
@@ -596,7 +733,8 @@ public class QueryExecutor {
       return complete;
     }
 
-    public RawDocument toDoc() {
+    public RawDocument toDoc(
+        Function<List<PagingStateSupplier>, PagingStateSupplier> pagingStateFunction) {
       if (!complete) {
         throw new IllegalStateException("Incomplete document.");
       }
@@ -604,9 +742,7 @@ public class QueryExecutor {
       List<RowWrapper> docRows =
           this.rows.stream().map(DocumentProperty::rowWrapper).collect(Collectors.toList());
 
-      CombinedPagingState combinedPagingState = new CombinedPagingState(pagingState);
-
-      return ImmutableRawDocument.of(id, docKey, combinedPagingState, docRows);
+      return ImmutableRawDocument.of(id, docKey, pagingStateFunction.apply(pagingState), docRows);
     }
 
     private Accumulator complete(PagingStateTracker tracker, Accumulator next) {
@@ -672,6 +808,18 @@ public class QueryExecutor {
     }
   }
 
+  // a document and the index of the query that produced it,
+  // a null document marks the end of the query results
+  private static class IndexedDocument {
+    private final int queryIndex;
+    private final RawDocument document;
+
+    private IndexedDocument(int queryIndex, RawDocument document) {
+      this.queryIndex = queryIndex;
+      this.document = document;
+    }
+  }
+
   // knows how to track paging states from a collection of queries
   // by saving the PagingStateSupplier in the same index as the query index
   private static class PagingStateTracker {
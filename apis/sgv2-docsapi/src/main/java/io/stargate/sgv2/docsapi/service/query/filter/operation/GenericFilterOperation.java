@@ -16,6 +16,8 @@
 
 package io.stargate.sgv2.docsapi.service.query.filter.operation;
 
+import java.util.Optional;
+
 /**
  * Special type of filter operation that can test a generic input value against all database values.
  *
@@ -64,5 +66,18 @@ public interface GenericFilterOperation<FV> extends BaseFilterOperation {
     // default impl empty
   }
 
+  /**
+   * Returns the value filter operation that is equivalent to this operation when applied to each
+   * element of the list filter value and combined in a disjunction. For example <code>$in</code>
+   * is a disjunction of <code>$eq</code> operations.
+   *
+   * <p>Return empty by default, sub-classes can override.
+   *
+   * @return Element filter operation, if this operation is a disjunction over the filter value.
+   */
+  default Optional<ValueFilterOperation> getDisjunctionOperation() {
+    return Optional.empty();
+  }
+
   GenericFilterOperation<FV> negate();
 }
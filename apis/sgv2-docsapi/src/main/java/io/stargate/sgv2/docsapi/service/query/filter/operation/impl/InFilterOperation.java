@@ -21,6 +21,7 @@ import io.stargate.sgv2.docsapi.api.exception.ErrorCode;
 import io.stargate.sgv2.docsapi.api.exception.ErrorCodeRuntimeException;
 import io.stargate.sgv2.docsapi.service.query.filter.operation.FilterOperationCode;
 import io.stargate.sgv2.docsapi.service.query.filter.operation.GenericFilterOperation;
+import io.stargate.sgv2.docsapi.service.query.filter.operation.ValueFilterOperation;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -48,6 +49,12 @@ public abstract class InFilterOperation implements GenericFilterOperation<List<?
     return Optional.empty();
   }
 
+  /** {@inheritDoc} */
+  @Override
+  public Optional<ValueFilterOperation> getDisjunctionOperation() {
+    return Optional.of(EqFilterOperation.of());
+  }
+
   /** {@inheritDoc} */
   @Override
   public boolean test(String dbValue, List<?> filterValue) {
@@ -19,6 +19,7 @@ package io.stargate.sgv2.docsapi.service.query.filter.operation.impl;
 import io.stargate.sgv2.api.common.cql.builder.Predicate;
 import io.stargate.sgv2.docsapi.service.query.filter.operation.FilterOperationCode;
 import io.stargate.sgv2.docsapi.service.query.filter.operation.GenericFilterOperation;
+import io.stargate.sgv2.docsapi.service.query.filter.operation.ValueFilterOperation;
 import java.util.List;
 import java.util.Optional;
 import org.immutables.value.Value;
@@ -54,6 +55,12 @@ public abstract class NotInFilterOperation extends InFilterOperation {
     return true;
   }
 
+  /** {@inheritDoc} */
+  @Override
+  public Optional<ValueFilterOperation> getDisjunctionOperation() {
+    return Optional.empty();
+  }
+
   /** {@inheritDoc} */
   @Override
   public boolean test(String dbValue, List<?> filterValue) {
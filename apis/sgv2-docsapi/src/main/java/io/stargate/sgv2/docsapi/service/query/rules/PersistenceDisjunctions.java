@@ -0,0 +1,67 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.stargate.sgv2.docsapi.service.query.rules;
+
+import com.bpodgursky.jbool_expressions.Expression;
+import com.bpodgursky.jbool_expressions.Or;
+import com.bpodgursky.jbool_expressions.options.ExprOptions;
+import com.bpodgursky.jbool_expressions.rules.Rule;
+import com.bpodgursky.jbool_expressions.rules.RuleList;
+import com.bpodgursky.jbool_expressions.rules.RulesHelper;
+import io.stargate.sgv2.docsapi.service.query.FilterExpression;
+import io.stargate.sgv2.docsapi.service.query.condition.BaseCondition;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A {@link Rule} that replaces each {@link FilterExpression} having a {@link
+ * BaseCondition#getPersistenceDisjunction()} with the {@link Or} of expressions on the same path
+ * for each of the persistence conditions.
+ */
+public class PersistenceDisjunctions extends Rule<Expression<FilterExpression>, FilterExpression> {
+
+  private static final RuleList<FilterExpression> rules =
+      new RuleList<>(Collections.singletonList(new PersistenceDisjunctions()));
+
+  @Override
+  public Expression<FilterExpression> applyInternal(
+      Expression<FilterExpression> input, ExprOptions<FilterExpression> options) {
+    FilterExpression expression = (FilterExpression) input;
+
+    List<Expression<FilterExpression>> children =
+        expression.getCondition().getPersistenceDisjunction().stream()
+            .<Expression<FilterExpression>>map(
+                condition ->
+                    FilterExpression.of(
+                        expression.getFilterPath(),
+                        condition,
+                        expression.getOrderIndex(),
+                        expression.getSelectivity()))
+            .toList();
+    return Or.of(children);
+  }
+
+  @Override
+  protected boolean isApply(Expression<FilterExpression> input) {
+    return input instanceof FilterExpression expression
+        && !expression.getCondition().getPersistenceDisjunction().isEmpty();
+  }
+
+  public static Expression<FilterExpression> resolve(Expression<FilterExpression> expression) {
+    return RulesHelper.applyAll(expression, rules, ExprOptions.noCaching());
+  }
+}
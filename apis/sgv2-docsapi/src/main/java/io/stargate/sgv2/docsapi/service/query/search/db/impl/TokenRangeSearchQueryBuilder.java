@@ -0,0 +1,105 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.sgv2.docsapi.service.query.search.db.impl;
+
+import io.stargate.bridge.grpc.Values;
+import io.stargate.bridge.proto.QueryOuterClass;
+import io.stargate.sgv2.api.common.cql.builder.BuiltCondition;
+import io.stargate.sgv2.api.common.cql.builder.Predicate;
+import io.stargate.sgv2.api.common.cql.builder.Term;
+import io.stargate.sgv2.docsapi.api.properties.document.DocumentProperties;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Query builder for document population, that only targets the documents whose key token is in the
+ * range <code>(lowerBound, upperBound]</code>. A missing bound means the range is open on that side.
+ *
+ * <p>Note that tokens are assumed to be the ones of the <code>Murmur3Partitioner</code>.
+ */
+public class TokenRangeSearchQueryBuilder extends FullSearchQueryBuilder {
+
+  private static final BigInteger RING_SIZE = BigInteger.ONE.shiftLeft(Long.SIZE);
+
+  private final Long lowerBound;
+
+  private final Long upperBound;
+
+  public TokenRangeSearchQueryBuilder(
+      DocumentProperties documentProperties, Long lowerBound, Long upperBound) {
+    super(documentProperties);
+    this.lowerBound = lowerBound;
+    this.upperBound = upperBound;
+  }
+
+  /**
+   * Creates the query builders for the given number of equal token ranges, covering the whole
+   * ring in the token order.
+   *
+   * @param documentProperties Document properties
+   * @param ranges Number of ranges, must be positive
+   * @return One query builder per range, in the token order.
+   */
+  public static List<TokenRangeSearchQueryBuilder> forRanges(
+      DocumentProperties documentProperties, int ranges) {
+    if (ranges < 1) {
+      throw new IllegalArgumentException("Invalid number of token ranges: " + ranges);
+    }
+
+    List<TokenRangeSearchQueryBuilder> result = new ArrayList<>(ranges);
+    Long lowerBound = null;
+    for (int i = 1; i < ranges; i++) {
+      long upperBound =
+          BigInteger.valueOf(Long.MIN_VALUE)
+              .add(RING_SIZE.multiply(BigInteger.valueOf(i)).divide(BigInteger.valueOf(ranges)))
+              .longValueExact();
+      result.add(new TokenRangeSearchQueryBuilder(documentProperties, lowerBound, upperBound));
+      lowerBound = upperBound;
+    }
+    result.add(new TokenRangeSearchQueryBuilder(documentProperties, lowerBound, null));
+    return result;
+  }
+
+  @Override
+  protected List<BuiltCondition> getPredicates() {
+    String keyColumn = documentProperties.tableProperties().keyColumnName();
+    BuiltCondition.LHS token = BuiltCondition.LHS.token(keyColumn);
+
+    List<BuiltCondition> predicates = new ArrayList<>(2);
+    if (null != lowerBound) {
+      predicates.add(BuiltCondition.of(token, Predicate.GT, Term.marker()));
+    }
+    if (null != upperBound) {
+      predicates.add(BuiltCondition.of(token, Predicate.LTE, Term.marker()));
+    }
+    return predicates;
+  }
+
+  @Override
+  protected List<QueryOuterClass.Value> getValues() {
+    List<QueryOuterClass.Value> values = new ArrayList<>(2);
+    if (null != lowerBound) {
+      values.add(Values.of(lowerBound.longValue()));
+    }
+    if (null != upperBound) {
+      values.add(Values.of(upperBound.longValue()));
+    }
+    return values;
+  }
+}
@@ -34,6 +34,7 @@ import io.stargate.sgv2.docsapi.api.properties.document.DocumentProperties;
 import io.stargate.sgv2.docsapi.service.ExecutionContext;
 import io.stargate.sgv2.docsapi.service.query.FilterExpression;
 import io.stargate.sgv2.docsapi.service.query.FilterPath;
+import io.stargate.sgv2.docsapi.service.query.rules.PersistenceDisjunctions;
 import io.stargate.sgv2.docsapi.service.query.rules.TrueFilterExpressions;
 import io.stargate.sgv2.docsapi.service.query.search.resolver.filter.CandidatesFilter;
 import io.stargate.sgv2.docsapi.service.query.search.resolver.filter.impl.InMemoryCandidatesFilter;
@@ -94,6 +95,16 @@ public final class CnfResolver {
     And<FilterExpression> andExpression = (And<FilterExpression>) expression;
     List<Expression<FilterExpression>> children = andExpression.getChildren();
 
+    // without persistence expressions all documents would be scanned
+    // try to push down the in-memory ones that can be expressed with persistence conditions
+    if (null == parent
+        && documentProperties.saiEnabled()
+        && allPersistenceExpressions(children).isEmpty()
+        && anyPersistenceDisjunction(expression)) {
+      Expression<FilterExpression> pushedDown = PersistenceDisjunctions.resolve(expression);
+      return BaseResolver.resolve(pushedDown, context, null, documentProperties);
+    }
+
     UserOrderWeightResolver weightResolver = UserOrderWeightResolver.of();
 
     // try to get the next persistence resolver
@@ -300,6 +311,17 @@ public final class CnfResolver {
     }
   }
 
+  /**
+   * @return If any expression in the tree has a condition that can be expressed as the disjunction
+   *     of the persistence conditions.
+   */
+  private static boolean anyPersistenceDisjunction(Expression<FilterExpression> root) {
+    Set<FilterExpression> expressions = new HashSet<>();
+    root.collectK(expressions, Integer.MAX_VALUE);
+    return expressions.stream()
+        .anyMatch(e -> !e.getCondition().getPersistenceDisjunction().isEmpty());
+  }
+
   /** Finds all expression with in-memory conditions. */
   private static Optional<Collection<FilterExpression>> allInMemoryExpressionExpressions(
       List<Expression<FilterExpression>> children) {
@@ -19,7 +19,6 @@ package io.stargate.sgv2.docsapi.service.query.search.resolver.impl;
 
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
-import io.stargate.bridge.proto.QueryOuterClass;
 import io.stargate.sgv2.docsapi.api.properties.document.DocumentProperties;
 import io.stargate.sgv2.docsapi.service.ExecutionContext;
 import io.stargate.sgv2.docsapi.service.common.model.Paginator;
@@ -30,9 +29,11 @@ import io.stargate.sgv2.docsapi.service.query.search.db.AbstractSearchQueryBuild
 import io.stargate.sgv2.docsapi.service.query.search.db.impl.FilterExpressionSearchQueryBuilder;
 import io.stargate.sgv2.docsapi.service.query.search.db.impl.FilterPathSearchQueryBuilder;
 import io.stargate.sgv2.docsapi.service.query.search.db.impl.FullSearchQueryBuilder;
+import io.stargate.sgv2.docsapi.service.query.search.db.impl.TokenRangeSearchQueryBuilder;
 import io.stargate.sgv2.docsapi.service.query.search.resolver.DocumentsResolver;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -106,13 +107,18 @@ public class InMemoryDocumentsResolver implements DocumentsResolver {
             .orElse(documentProperties.tableColumns().allColumnNamesArray());
 
     // bind and build the query
+    // in case of a full search, split it in token ranges if configured
+    int parallelScanRanges = evaluateOnMissing ? documentProperties.parallelScanRanges() : 1;
+    List<? extends AbstractSearchQueryBuilder> queryBuilders =
+        parallelScanRanges > 1
+            ? TokenRangeSearchQueryBuilder.forRanges(documentProperties, parallelScanRanges)
+            : Collections.singletonList(queryBuilder);
     return Uni.createFrom()
         .item(
-            () -> {
-              QueryOuterClass.Query query =
-                  queryBuilder.buildQuery(keyspace, collection, neededColumns);
-              return queryBuilder.bind(query);
-            })
+            () ->
+                queryBuilders.stream()
+                    .map(qb -> qb.bind(qb.buildQuery(keyspace, collection, neededColumns)))
+                    .collect(Collectors.toList()))
 
         // cache it
         .memoize()
@@ -121,7 +127,7 @@ public class InMemoryDocumentsResolver implements DocumentsResolver {
         // then bind and execute
         .onItem()
         .transformToMulti(
-            query -> {
+            queries -> {
               // in case we have a full search then base the page size on the app. doc size
               // otherwise start with the requested page size, plus one more than needed to stop
               // pre-fetching
@@ -131,8 +137,17 @@ public class InMemoryDocumentsResolver implements DocumentsResolver {
                       : paginator.docPageSize + 1;
               // fetch paging as this can be the first resolver in chain
               boolean fetchRowPaging = true;
+              if (queries.size() > 1) {
+                return queryExecutor.queryDocsParallel(
+                    queries,
+                    pageSize,
+                    true,
+                    paginator.getCurrentDbPageState(),
+                    fetchRowPaging,
+                    context);
+              }
               return queryExecutor.queryDocs(
-                  query,
+                  queries.get(0),
                   pageSize,
                   true,
                   paginator.getCurrentDbPageState(),
@@ -22,7 +22,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.github.fge.jsonschema.core.exceptions.ProcessingException;
 import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
 import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.cache.CompositeCacheKey;
 import io.smallrye.mutiny.Uni;
 import io.stargate.bridge.proto.Schema;
 import io.stargate.bridge.proto.StargateBridge;
@@ -34,6 +38,7 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 import org.slf4j.Logger;
@@ -53,6 +58,11 @@ public class JsonSchemaManager {
 
   @Inject StargateRequestInfo requestInfo;
 
+  // compiled schemas, keyed by the namespace, the collection and its comment (holds the schema)
+  @Inject
+  @CacheName("json-schema-cache")
+  Cache jsonSchemaCache;
+
   private final JsonSchemaFactory jsonSchemaFactory = JsonSchemaFactory.byDefault();
 
   /**
@@ -103,6 +113,7 @@ public class JsonSchemaManager {
                 .executeQuery(
                     jsonSchemaQueryProvider.attachSchemaQuery(
                         namespace, c.getName(), wrappedSchema.toString()))
+                .call(r -> invalidateCompiledJsonSchemas(namespace, c.getName()))
                 .map(r -> schema);
           } else {
             String msgs =
@@ -119,14 +130,18 @@ public class JsonSchemaManager {
   /**
    * Validates a JSON document against a given table's schema
    *
+   * @param namespace the namespace of the table
    * @param table the table that has a schema
    * @param document the document, as JsonNode
    * @param subDocument whether the document currently being checked is a sub-document
    * @return a Uni with Boolean detailing whether or not the document complies with the schema.
    */
   public Uni<Boolean> validateJsonDocument(
-      Uni<Schema.CqlTable> table, JsonNode document, boolean subDocument) {
-    return getJsonSchema(table)
+      String namespace, Uni<Schema.CqlTable> table, JsonNode document, boolean subDocument) {
+    return table
+        .onItem()
+        .ifNotNull()
+        .transformToUni(t -> getCompiledJsonSchema(namespace, t))
         .onItem()
         .transform(
             jsonSchema -> {
@@ -148,8 +163,53 @@ public class JsonSchemaManager {
             });
   }
 
-  private void validate(JsonNode schema, JsonNode jsonValue) throws ProcessingException {
-    ProcessingReport result = jsonSchemaFactory.getValidator().validate(schema, jsonValue);
+  // gets the compiled schema of the table from the cache, or null if the table has no schema
+  private Uni<JsonSchema> getCompiledJsonSchema(String namespace, Schema.CqlTable table) {
+    String comment = table.getOptionsMap().getOrDefault("comment", null);
+    if (comment == null || comment.isEmpty()) {
+      return Uni.createFrom().nullItem();
+    }
+
+    // the comment is part of the key, so an updated schema can never hit a stale entry
+    CompositeCacheKey key = new CompositeCacheKey(namespace, table.getName(), comment);
+    return jsonSchemaCache
+        .get(key, k -> compileJsonSchema(comment))
+        .map(compiled -> compiled.orElse(null));
+  }
+
+  private Optional<JsonSchema> compileJsonSchema(String comment) {
+    JsonNode schema;
+    try {
+      schema = objectMapper.readTree(comment).get("schema");
+    } catch (JsonProcessingException e) {
+      logger.warn("Document table has comment, but it's not a valid JSON.");
+      return Optional.empty();
+    }
+    if (schema == null) {
+      return Optional.empty();
+    }
+
+    try {
+      return Optional.of(jsonSchemaFactory.getJsonSchema(schema));
+    } catch (ProcessingException e) {
+      throw new ErrorCodeRuntimeException(ErrorCode.DOCS_API_JSON_SCHEMA_PROCESSING_FAILED);
+    }
+  }
+
+  // drops the compiled schemas of the collection, the old ones would only expire otherwise
+  private Uni<Void> invalidateCompiledJsonSchemas(String namespace, String collection) {
+    return jsonSchemaCache.invalidateIf(
+        key -> {
+          if (key instanceof CompositeCacheKey compositeKey) {
+            Object[] elements = compositeKey.getKeyElements();
+            return namespace.equals(elements[0]) && collection.equals(elements[1]);
+          }
+          return false;
+        });
+  }
+
+  private void validate(JsonSchema schema, JsonNode jsonValue) throws ProcessingException {
+    ProcessingReport result = schema.validate(jsonValue);
     if (!result.isSuccess()) {
       List<String> messages = new ArrayList<>();
       result.forEach(msg -> messages.add(msg.getMessage()));
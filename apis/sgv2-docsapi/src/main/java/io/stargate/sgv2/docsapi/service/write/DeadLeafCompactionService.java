@@ -0,0 +1,267 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.sgv2.docsapi.service.write;
+
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.stargate.sgv2.api.common.StargateRequestInfo;
+import io.stargate.sgv2.api.common.grpc.GrpcMetadataResolver;
+import io.stargate.sgv2.api.common.properties.datastore.DataStoreProperties;
+import io.stargate.sgv2.docsapi.api.v2.namespaces.collections.model.dto.CompactionProgressDto;
+import io.stargate.sgv2.docsapi.config.DocumentConfig;
+import io.stargate.sgv2.docsapi.service.ExecutionContext;
+import io.stargate.sgv2.docsapi.service.json.DeadLeafCollectorImpl;
+import io.stargate.sgv2.docsapi.service.json.JsonConverter;
+import io.stargate.sgv2.docsapi.service.query.ReadBridgeService;
+import io.stargate.sgv2.docsapi.service.query.model.RawDocument;
+import io.stargate.sgv2.docsapi.service.util.TimeSource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Deletes the dead leaves of all documents in a collection. Reading a document only cleans up the
+ * dead leaves of that document, so documents that are often updated but rarely read would keep
+ * growing without this compaction.
+ */
+@ApplicationScoped
+public class DeadLeafCompactionService {
+
+  private static final Logger logger = LoggerFactory.getLogger(DeadLeafCompactionService.class);
+
+  /** Counter of the documents scanned by compactions, tagged by namespace and collection. */
+  public static final String DOCUMENTS_SCANNED_METRIC = "docsapi.compaction.documents.scanned";
+
+  /** Counter of the documents that had dead leaves deleted, tagged by namespace and collection. */
+  public static final String DOCUMENTS_COMPACTED_METRIC = "docsapi.compaction.documents.compacted";
+
+  /** Counter of the dead leaves deleted, tagged by namespace and collection. */
+  public static final String DEAD_LEAVES_DELETED_METRIC = "docsapi.compaction.dead.leaves.deleted";
+
+  /**
+   * Counter of the documents whose dead leaves could not be deleted, tagged by namespace and
+   * collection.
+   */
+  public static final String DOCUMENTS_FAILED_METRIC = "docsapi.compaction.documents.failed";
+
+  /** Progress is reported every time this many documents are scanned. */
+  static final int PROGRESS_INTERVAL = 1000;
+
+  @Inject StargateRequestInfo requestInfo;
+
+  @Inject GrpcMetadataResolver metadataResolver;
+
+  @Inject ReadBridgeService readBridgeService;
+
+  @Inject WriteBridgeService writeBridgeService;
+
+  @Inject JsonConverter jsonConverter;
+
+  @Inject DataStoreProperties dataStoreProperties;
+
+  @Inject DocumentConfig configuration;
+
+  @Inject TimeSource timeSource;
+
+  @Inject MeterRegistry meterRegistry;
+
+  /**
+   * Scans all documents of a collection and deletes their dead leaves. The scan is limited to
+   * {@link DocumentConfig#maxCompactionDocumentsPerSecond()} documents per second, and at most
+   * {@link DocumentConfig#maxBatchWritesInFlight()} delete batches (one per document) are executed
+   * concurrently.
+   *
+   * <p>Only leaves written before the compaction started are deleted, so documents updated during
+   * the compaction are never affected by it.
+   *
+   * <p>A document whose delete fails is counted in {@link CompactionProgressDto#documentsFailed()}
+   * and left for the next compaction, unless the failure means that no other delete can succeed
+   * (see {@link #isFatal(Throwable)}), in which case the compaction fails.
+   *
+   * @param namespace Namespace
+   * @param collection Collection name
+   * @param context Execution content
+   * @return Multi emitting the progress every {@value #PROGRESS_INTERVAL} scanned documents and
+   *     once more when the whole collection was scanned.
+   */
+  public Multi<CompactionProgressDto> compactCollection(
+      String namespace, String collection, ExecutionContext context) {
+    return Multi.createFrom()
+        .deferred(
+            () -> {
+              // deletes are executed after the read, pass the metadata explicitly
+              long now = timeSource.currentTimeMicros();
+              Metadata metadata = metadataResolver.getMetadata(requestInfo);
+
+              Progress progress = new Progress(namespace, collection);
+              Duration interval =
+                  Duration.ofNanos(
+                      TimeUnit.SECONDS.toNanos(1)
+                          / configuration.maxCompactionDocumentsPerSecond());
+
+              return readBridgeService
+                  .exportDocuments(namespace, collection, context)
+
+                  // rate limit the scan, the next storage page is only fetched on demand
+                  .onItem()
+                  .call(doc -> Uni.createFrom().voidItem().onItem().delayIt().by(interval))
+
+                  // find and delete dead leaves
+                  .onItem()
+                  .transformToUni(
+                      doc -> compactDocument(namespace, collection, doc, now, metadata, context))
+                  .merge(configuration.maxBatchWritesInFlight())
+
+                  // report progress periodically
+                  .onItem()
+                  .transformToMultiAndConcatenate(
+                      compacted -> {
+                        long scanned = progress.documentScanned(compacted);
+                        if (scanned % PROGRESS_INTERVAL == 0) {
+                          return Multi.createFrom().item(progress.toDto(false));
+                        }
+                        return Multi.createFrom().empty();
+                      })
+
+                  // and once at the end
+                  .onCompletion()
+                  .switchTo(() -> Multi.createFrom().item(() -> progress.toDto(true)));
+            });
+  }
+
+  private Uni<CompactedDocument> compactDocument(
+      String namespace,
+      String collection,
+      RawDocument document,
+      long microsTimestamp,
+      Metadata metadata,
+      ExecutionContext context) {
+    DeadLeafCollectorImpl collector = new DeadLeafCollectorImpl();
+    jsonConverter.convertToJsonDoc(
+        document.rows(), collector, false, dataStoreProperties.treatBooleansAsNumeric());
+    if (collector.isEmpty()) {
+      return Uni.createFrom().item(CompactedDocument.NOTHING_DELETED);
+    }
+
+    int size = collector.getLeaves().values().stream().mapToInt(Set::size).sum();
+    return writeBridgeService
+        .deleteDeadLeaves(
+            namespace,
+            collection,
+            document.id(),
+            microsTimestamp,
+            collector.getLeaves(),
+            context,
+            metadata)
+        .map(any -> new CompactedDocument(size, false))
+
+        // a failed delete is retried by the next compaction, don't stop this one
+        .onFailure(t -> !isFatal(t))
+        .recoverWithItem(
+            t -> {
+              logger.warn("Unable to delete dead leaves of document {}.", document.id(), t);
+              return CompactedDocument.FAILED;
+            });
+  }
+
+  /**
+   * @return If the failure of a delete would fail all the following ones as well, because the
+   *     request is not authorized or the data store is not available.
+   */
+  static boolean isFatal(Throwable failure) {
+    if (failure instanceof StatusRuntimeException sre) {
+      Status.Code code = sre.getStatus().getCode();
+      return code == Status.Code.UNAUTHENTICATED
+          || code == Status.Code.PERMISSION_DENIED
+          || code == Status.Code.UNAVAILABLE;
+    }
+    return false;
+  }
+
+  // the outcome of the compaction of a single document
+  private record CompactedDocument(int deadLeavesDeleted, boolean failed) {
+
+    static final CompactedDocument NOTHING_DELETED = new CompactedDocument(0, false);
+
+    static final CompactedDocument FAILED = new CompactedDocument(0, true);
+  }
+
+  // totals of a single compaction, also recorded to the meter registry
+  private final class Progress {
+
+    private final AtomicLong documentsScanned = new AtomicLong();
+
+    private final AtomicLong documentsCompacted = new AtomicLong();
+
+    private final AtomicLong deadLeavesDeleted = new AtomicLong();
+
+    private final AtomicLong documentsFailed = new AtomicLong();
+
+    private final Counter documentsScannedCounter;
+
+    private final Counter documentsCompactedCounter;
+
+    private final Counter deadLeavesDeletedCounter;
+
+    private final Counter documentsFailedCounter;
+
+    Progress(String namespace, String collection) {
+      Tags tags = Tags.of("namespace", namespace, "collection", collection);
+      documentsScannedCounter = meterRegistry.counter(DOCUMENTS_SCANNED_METRIC, tags);
+      documentsCompactedCounter = meterRegistry.counter(DOCUMENTS_COMPACTED_METRIC, tags);
+      deadLeavesDeletedCounter = meterRegistry.counter(DEAD_LEAVES_DELETED_METRIC, tags);
+      documentsFailedCounter = meterRegistry.counter(DOCUMENTS_FAILED_METRIC, tags);
+    }
+
+    // returns the total number of scanned documents
+    long documentScanned(CompactedDocument compacted) {
+      documentsScannedCounter.increment();
+      int deleted = compacted.deadLeavesDeleted();
+      if (compacted.failed()) {
+        documentsFailed.incrementAndGet();
+        documentsFailedCounter.increment();
+      } else if (deleted > 0) {
+        documentsCompacted.incrementAndGet();
+        deadLeavesDeleted.addAndGet(deleted);
+        documentsCompactedCounter.increment();
+        deadLeavesDeletedCounter.increment(deleted);
+      }
+      return documentsScanned.incrementAndGet();
+    }
+
+    CompactionProgressDto toDto(boolean completed) {
+      return new CompactionProgressDto(
+          documentsScanned.get(),
+          documentsCompacted.get(),
+          deadLeavesDeleted.get(),
+          documentsFailed.get(),
+          completed);
+    }
+  }
+}
@@ -18,12 +18,18 @@ package io.stargate.sgv2.docsapi.service.write;
 
 import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.NullNode;
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
+import io.stargate.bridge.proto.QueryOuterClass.ResultSet;
 import io.stargate.bridge.proto.Schema;
+import io.stargate.sgv2.api.common.util.JsonRecordIterator;
 import io.stargate.sgv2.docsapi.api.exception.ErrorCode;
 import io.stargate.sgv2.docsapi.api.exception.ErrorCodeRuntimeException;
 import io.stargate.sgv2.docsapi.api.v2.model.dto.DocumentResponseWrapper;
+import io.stargate.sgv2.docsapi.api.v2.model.dto.DocumentWriteResult;
 import io.stargate.sgv2.docsapi.api.v2.model.dto.MultiDocsResponse;
 import io.stargate.sgv2.docsapi.config.DocumentConfig;
 import io.stargate.sgv2.docsapi.service.ExecutionContext;
@@ -35,6 +41,7 @@ import io.stargate.sgv2.docsapi.service.schema.JsonSchemaManager;
 import io.stargate.sgv2.docsapi.service.util.DocsApiUtils;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
@@ -44,6 +51,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
@@ -63,6 +71,8 @@ public class WriteDocumentsService {
 
   @Inject DocumentConfig configuration;
 
+  @Inject ObjectMapper objectMapper;
+
   /**
    * Writes a document in the given namespace and collection using the randomly generated ID.
    *
@@ -84,7 +94,7 @@ public class WriteDocumentsService {
     // generate the document id
     final String documentId = UUID.randomUUID().toString();
     return jsonSchemaManager
-        .validateJsonDocument(table, document, false)
+        .validateJsonDocument(namespace, table, document, false)
         .onItem()
         .transformToUni(
             __ -> {
@@ -146,50 +156,31 @@ public class WriteDocumentsService {
     return Multi.createFrom()
         .iterable(root)
         .onItem()
-        .transformToUniAndMerge(
+        .transformToUni(
             json -> {
               return jsonSchemaManager
-                  .validateJsonDocument(table, json, false)
+                  .validateJsonDocument(namespace, table, json, false)
                   .onItem()
                   .transformToUni(
                       __ -> {
                         String documentId = documentIdResolver().apply(idPointer, json);
-
-                        List<JsonShreddedRow> rows =
-                            documentShredder.shred(json, Collections.emptyList());
-                        if (useUpdate) {
-                          return writeBridgeService
-                              .updateDocument(namespace, collection, documentId, rows, ttl, context)
-                              .onItemOrFailure()
-                              .transform(
-                                  (resultSet, failure) -> {
-                                    if (failure == null) {
-                                      return documentId;
-                                    } else {
-                                      logger.error(
-                                          "Write failed for one of the documents included in the batch document write.",
-                                          failure);
-                                      return null;
-                                    }
-                                  });
-                        } else {
-                          return writeBridgeService
-                              .writeDocument(namespace, collection, documentId, rows, ttl, context)
-                              .onItemOrFailure()
-                              .transform(
-                                  (resultSet, failure) -> {
-                                    if (failure == null) {
-                                      return documentId;
-                                    } else {
-                                      logger.error(
-                                          "Write failed for one of the documents included in the batch document write.",
-                                          failure);
-                                      return null;
-                                    }
-                                  });
-                        }
+                        return writeBatchedDocument(
+                                namespace, collection, documentId, json, useUpdate, ttl, context)
+                            .onItemOrFailure()
+                            .transform(
+                                (resultSet, failure) -> {
+                                  if (failure == null) {
+                                    return documentId;
+                                  } else {
+                                    logger.error(
+                                        "Write failed for one of the documents included in the batch document write.",
+                                        failure);
+                                    return null;
+                                  }
+                                });
                       });
             })
+        .merge(configuration.maxBatchWritesInFlight())
         .collect()
         .asList()
         .onItem()
@@ -200,6 +191,152 @@ public class WriteDocumentsService {
                     context.toProfile()));
   }
 
+  /**
+   * Writes many documents in the given namespace and collection, reading them incrementally from
+   * the payload. The payload can either be a JSON array, or a sequence of JSON documents (NDJSON).
+   * If #idPath is not provided, IDs for each document will be randomly generated.
+   *
+   * <p>Unlike {@link #writeDocuments(Uni, String, String, JsonNode, String, Integer,
+   * ExecutionContext)}, the payload is never fully materialized: each document is shredded and
+   * written as soon as it's parsed, with at most {@link DocumentConfig#maxBatchWritesInFlight()}
+   * documents being written at the same time. A document that can not be written (malformed JSON
+   * line, schema validation, invalid ID, write failure) does not fail the whole batch, but is
+   * reported in its result. In a JSON array payload, a syntax error is reported for the document
+   * where it occurs, and ends the batch, as the rest of the array can not be read reliably.
+   *
+   * <p>Since the payload can be arbitrarily large, duplicate IDs are not detected, as that would
+   * require remembering every ID of the batch. Each document with a given ID overwrites the
+   * previous one atomically, but as documents are written concurrently, the one that ends up being
+   * stored is not necessarily the last one of the payload.
+   *
+   * @param table a CqlTable to be used for schema/validity checks
+   * @param namespace Namespace
+   * @param collection Collection name
+   * @param payload The stream to read documents from
+   * @param idPath Optional path to the id of the document in each doc.
+   * @param ttl the time-to-live of each document (seconds)
+   * @param context Execution content
+   * @return Multi emitting the result of each document write, in the order they complete.
+   */
+  public Multi<DocumentWriteResult> writeDocumentsStream(
+      Uni<Schema.CqlTable> table,
+      String namespace,
+      String collection,
+      InputStream payload,
+      String idPath,
+      Integer ttl,
+      ExecutionContext context) {
+    boolean useUpdate = null != idPath;
+    final Optional<JsonPointer> idPointer = DocsApiUtils.pathToJsonPointer(idPath);
+
+    // resolve the table once, and fail before reading anything if it's not available
+    return table
+        .onItem()
+        .transformToMulti(
+            t -> {
+              Uni<Schema.CqlTable> resolvedTable = Uni.createFrom().item(t);
+
+              // only accessed from the sequential part of the pipeline
+              AtomicLong index = new AtomicLong();
+
+              ObjectReader documentReader = objectMapper.readerFor(JsonNode.class);
+              return JsonRecordIterator.<JsonNode>stream(documentReader, payload)
+                  .onItem()
+                  .transformToUni(
+                      document -> {
+                        long documentIndex = index.getAndIncrement();
+                        if (document.error() != null) {
+                          String error =
+                              ErrorCode.DOCS_API_WRITE_BATCH_INVALID_JSON.getDefaultMessage()
+                                  + " "
+                                  + document.error().getOriginalMessage();
+                          DocumentWriteResult result =
+                              DocumentWriteResult.failure(documentIndex, null, error);
+                          return Uni.createFrom().item(result);
+                        }
+
+                        JsonNode json =
+                            null == document.value() ? NullNode.getInstance() : document.value();
+                        String documentId;
+                        try {
+                          documentId = documentIdResolver().apply(idPointer, json);
+                        } catch (ErrorCodeRuntimeException e) {
+                          DocumentWriteResult result =
+                              DocumentWriteResult.failure(documentIndex, null, e.getMessage());
+                          return Uni.createFrom().item(result);
+                        }
+
+                        return writeStreamedDocument(
+                            resolvedTable,
+                            namespace,
+                            collection,
+                            documentIndex,
+                            documentId,
+                            json,
+                            useUpdate,
+                            ttl,
+                            context);
+                      })
+                  .merge(configuration.maxBatchWritesInFlight());
+            });
+  }
+
+  // validates and writes a single document of a streamed batch, never fails
+  private Uni<DocumentWriteResult> writeStreamedDocument(
+      Uni<Schema.CqlTable> table,
+      String namespace,
+      String collection,
+      long documentIndex,
+      String documentId,
+      JsonNode document,
+      boolean useUpdate,
+      Integer ttl,
+      ExecutionContext context) {
+    return jsonSchemaManager
+        .validateJsonDocument(namespace, table, document, false)
+        .onItem()
+        .transformToUni(
+            __ ->
+                writeBatchedDocument(
+                    namespace, collection, documentId, document, useUpdate, ttl, context))
+        .onItemOrFailure()
+        .transform(
+            (resultSet, failure) -> {
+              if (failure == null) {
+                return DocumentWriteResult.success(documentIndex, documentId);
+              }
+
+              // validation errors are reported as they are, anything else is unexpected
+              String error = failure.getMessage();
+              if (!(failure instanceof ErrorCodeRuntimeException)) {
+                logger.error(
+                    "Write failed for one of the documents included in the batch document write.",
+                    failure);
+                error = ErrorCode.DOCS_API_WRITE_BATCH_FAILED.getDefaultMessage();
+              }
+              return DocumentWriteResult.failure(documentIndex, documentId, error);
+            });
+  }
+
+  // shreds and writes (or overwrites) a single document of a batch
+  private Uni<ResultSet> writeBatchedDocument(
+      String namespace,
+      String collection,
+      String documentId,
+      JsonNode document,
+      boolean useUpdate,
+      Integer ttl,
+      ExecutionContext context) {
+    List<JsonShreddedRow> rows = documentShredder.shred(document, Collections.emptyList());
+    if (useUpdate) {
+      return writeBridgeService.updateDocument(
+          namespace, collection, documentId, rows, ttl, context);
+    } else {
+      return writeBridgeService.writeDocument(
+          namespace, collection, documentId, rows, ttl, context);
+    }
+  }
+
   /**
    * Updates a document with given ID in the given namespace and collection. Any previously existing
    * document with the same ID will be overwritten.
@@ -284,7 +421,7 @@ public class WriteDocumentsService {
       ExecutionContext context) {
     final List<String> subPathProcessed = processSubDocumentPath(subPath);
     return jsonSchemaManager
-        .validateJsonDocument(table, document, !subPathProcessed.isEmpty())
+        .validateJsonDocument(namespace, table, document, !subPathProcessed.isEmpty())
         .onItem()
         .transformToUni(
             __ -> {
@@ -405,7 +542,7 @@ public class WriteDocumentsService {
     }
 
     return jsonSchemaManager
-        .validateJsonDocument(table, root, !subPathProcessed.isEmpty())
+        .validateJsonDocument(namespace, table, root, !subPathProcessed.isEmpty())
         .onItem()
         .transformToUni(
             __ -> {
@@ -483,7 +620,7 @@ public class WriteDocumentsService {
       ExecutionContext context) {
     // the payload will have a representation of all paths that need a partial update
     return jsonSchemaManager
-        .validateJsonDocument(table, payload, true)
+        .validateJsonDocument(namespace, table, payload, true)
         .onItem()
         .transformToUni(
             __ -> {
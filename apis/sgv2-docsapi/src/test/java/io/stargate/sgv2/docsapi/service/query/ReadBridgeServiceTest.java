@@ -18,6 +18,7 @@
 package io.stargate.sgv2.docsapi.service.query;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 import com.bpodgursky.jbool_expressions.And;
 import com.bpodgursky.jbool_expressions.Expression;
@@ -571,6 +572,72 @@ class ReadBridgeServiceTest extends AbstractValidatingStargateBridgeTest {
     }
   }
 
+  @Nested
+  class ExportDocuments {
+
+    @Test
+    public void happyPath() {
+      ExecutionContext context = ExecutionContext.create(true);
+
+      String searchCql =
+          "SELECT key, p0, p1, p2, p3, leaf, text_value, dbl_value, bool_value, WRITETIME(leaf) FROM \"%s\".\"%s\""
+              .formatted(KEYSPACE_NAME, COLLECTION_NAME);
+      ValidatingStargateBridge.QueryAssert searchAssert =
+          withQuery(searchCql)
+              .withPageSize(documentProperties.maxSearchPageSize())
+              .withColumnSpec(schemaProvider.allColumnSpec())
+              .returning(
+                  Arrays.asList(
+                      List.of(
+                          Values.of("1"),
+                          Values.of("some"),
+                          Values.of("field"),
+                          Values.of(""),
+                          Values.of(""),
+                          Values.of("field"),
+                          Values.of("value"),
+                          Values.NULL,
+                          Values.NULL),
+                      List.of(
+                          Values.of("2"),
+                          Values.of("some"),
+                          Values.of("field"),
+                          Values.of(""),
+                          Values.of(""),
+                          Values.of("field"),
+                          Values.of("value2"),
+                          Values.NULL,
+                          Values.NULL)));
+
+      List<RawDocument> result =
+          service
+              .exportDocuments(KEYSPACE_NAME, COLLECTION_NAME, context)
+              .subscribe()
+              .withSubscriber(AssertSubscriber.create(100))
+              .awaitItems(2)
+              .awaitCompletion()
+              .assertCompleted()
+              .getItems();
+
+      // assert results
+      assertThat(result)
+          .extracting(RawDocument::id, doc -> doc.rows().size())
+          .containsExactly(tuple("1", 1), tuple("2", 1));
+      assertThat(result.get(1).rows())
+          .singleElement()
+          .satisfies(r -> assertThat(r.getString("text_value")).isEqualTo("value2"));
+
+      // assert queries execution
+      searchAssert.assertExecuteCount().isEqualTo(1);
+
+      // assert execution context
+      ExecutionProfile executionProfile = context.toProfile();
+      assertThat(executionProfile.nested())
+          .singleElement()
+          .satisfies(c -> assertThat(c.description()).isEqualTo("LoadAllDocuments"));
+    }
+  }
+
   @Nested
   class SearchSubDocuments {
 
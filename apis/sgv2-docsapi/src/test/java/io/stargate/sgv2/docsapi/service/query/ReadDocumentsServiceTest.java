@@ -21,6 +21,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -33,6 +34,7 @@ import io.quarkus.test.junit.TestProfile;
 import io.quarkus.test.junit.mockito.InjectMock;
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
 import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
 import io.stargate.bridge.grpc.Values;
 import io.stargate.bridge.proto.QueryOuterClass;
@@ -401,6 +403,63 @@ class ReadDocumentsServiceTest {
     }
   }
 
+  @Nested
+  class ExportDocuments implements OpenMocksTest {
+
+    @Mock RawDocument rawDocument;
+    @Mock RawDocument rawDocument2;
+
+    @Test
+    public void happyPath() {
+      String namespace = RandomStringUtils.randomAlphanumeric(16);
+      String collection = RandomStringUtils.randomAlphanumeric(16);
+      String documentId1 = RandomStringUtils.randomAlphanumeric(16);
+      String documentId2 = RandomStringUtils.randomAlphanumeric(16);
+      ExecutionContext context = ExecutionContext.NOOP_CONTEXT;
+      Multi<RawDocument> docs = Multi.createFrom().items(rawDocument, rawDocument2);
+
+      when(readBridgeService.exportDocuments(namespace, collection, context)).thenReturn(docs);
+
+      QueryOuterClass.Row row1 = rowFor(documentId1, "value1", "myField");
+      when(rawDocument.id()).thenReturn(documentId1);
+      when(rawDocument.rows()).thenReturn(Collections.singletonList(wrapperFunction.apply(row1)));
+
+      QueryOuterClass.Row row2 = rowFor(documentId2, "value2", "other", "myField");
+      when(rawDocument2.id()).thenReturn(documentId2);
+      when(rawDocument2.rows())
+          .thenReturn(Collections.singletonList(wrapperFunction.apply(row2)));
+
+      AssertSubscriber<DocumentResponseWrapper<JsonNode>> subscriber =
+          service
+              .exportDocuments(namespace, collection, context)
+              .subscribe()
+              .withSubscriber(AssertSubscriber.create(1));
+
+      // only the requested document is converted
+      subscriber.assertNotTerminated();
+      assertThat(subscriber.getItems())
+          .singleElement()
+          .satisfies(
+              wrapper -> {
+                assertThat(wrapper.documentId()).isEqualTo(documentId1);
+                assertThat(wrapper.data().path("myField").textValue()).isEqualTo("value1");
+                assertThat(wrapper.pageState()).isNull();
+                assertThat(wrapper.profile()).isNull();
+              });
+      verify(rawDocument2, never()).rows();
+
+      List<DocumentResponseWrapper<JsonNode>> result =
+          subscriber.awaitNextItems(1).awaitCompletion().getItems();
+
+      assertThat(result).hasSize(2);
+      assertThat(result.get(1).documentId()).isEqualTo(documentId2);
+      assertThat(result.get(1).data().at("/other/myField").textValue()).isEqualTo("value2");
+
+      verify(readBridgeService).exportDocuments(namespace, collection, context);
+      verifyNoMoreInteractions(readBridgeService, writeBridgeService);
+    }
+  }
+
   @Nested
   class GetDocument implements OpenMocksTest {
 
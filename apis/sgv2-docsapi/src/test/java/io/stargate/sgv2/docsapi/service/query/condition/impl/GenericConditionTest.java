@@ -26,9 +26,12 @@ import io.stargate.bridge.proto.QueryOuterClass;
 import io.stargate.sgv2.api.common.cql.builder.BuiltCondition;
 import io.stargate.sgv2.docsapi.api.properties.document.DocumentProperties;
 import io.stargate.sgv2.docsapi.service.common.model.RowWrapper;
+import io.stargate.sgv2.docsapi.service.query.condition.BaseCondition;
+import io.stargate.sgv2.docsapi.service.query.filter.operation.FilterOperationCode;
 import io.stargate.sgv2.docsapi.service.query.filter.operation.GenericFilterOperation;
 import io.stargate.sgv2.docsapi.service.query.filter.operation.impl.InFilterOperation;
 import io.stargate.sgv2.docsapi.service.query.filter.operation.impl.NotInFilterOperation;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -94,6 +97,55 @@ class GenericConditionTest {
     }
   }
 
+  @Nested
+  class GetPersistenceDisjunction {
+
+    @Test
+    public void in() {
+      List<?> queryValue = List.of("value", 1, true);
+
+      GenericCondition<List<?>> condition =
+          ImmutableGenericCondition.of(
+              InFilterOperation.of(), queryValue, documentProperties, false);
+      List<BaseCondition> result = condition.getPersistenceDisjunction();
+
+      assertThat(result)
+          .hasSize(3)
+          .allSatisfy(
+              c -> {
+                assertThat(c.getFilterOperationCode()).isEqualTo(FilterOperationCode.EQ);
+                assertThat(c.isPersistenceCondition()).isTrue();
+              });
+      assertThat(result)
+          .extracting(BaseCondition::getQueryValue)
+          .containsExactly("value", 1, true);
+    }
+
+    @Test
+    public void inWithNull() {
+      List<?> queryValue = Arrays.asList("value", null);
+
+      GenericCondition<List<?>> condition =
+          ImmutableGenericCondition.of(
+              InFilterOperation.of(), queryValue, documentProperties, false);
+      List<BaseCondition> result = condition.getPersistenceDisjunction();
+
+      assertThat(result).isEmpty();
+    }
+
+    @Test
+    public void notIn() {
+      List<?> queryValue = List.of("value");
+
+      GenericCondition<List<?>> condition =
+          ImmutableGenericCondition.of(
+              NotInFilterOperation.of(), queryValue, documentProperties, false);
+      List<BaseCondition> result = condition.getPersistenceDisjunction();
+
+      assertThat(result).isEmpty();
+    }
+  }
+
   @Nested
   class RowTest {
 
@@ -1207,4 +1207,163 @@ class QueryExecutorTest extends AbstractValidatingStargateBridgeTest {
           .hasMessageContaining("Invalid document identity depth: 6");
     }
   }
+
+  @Nested
+  class StreamedPages {
+
+    @Test
+    public void multiplePages() {
+      BuiltCondition condition =
+          BuiltCondition.of(
+              documentProperties.tableProperties().keyColumnName(), Predicate.EQ, Term.marker());
+      QueryOuterClass.Query query =
+          new QueryBuilder()
+              .select()
+              .star()
+              .from(schemaProvider.getTable().getName())
+              .where(condition)
+              .build();
+      query =
+          QueryOuterClass.Query.newBuilder(query)
+              .setValues(QueryOuterClass.Values.newBuilder().addValues(Values.of("1")))
+              .build();
+
+      ValidatingStargateBridge.QueryAssert queryAssert =
+          withQuery(query.getCql(), Values.of("1"))
+              .withPageSize(2)
+              .withColumnSpec(columnSpec)
+              .returning(
+                  ImmutableList.of(
+                      row("1", "a", 1.0d),
+                      row("1", "b", 2.0d),
+                      row("1", "c", 3.0d),
+                      row("1", "d", 4.0d),
+                      row("1", "e", 5.0d)));
+
+      List<RawDocument> result =
+          queryExecutor
+              .queryDocs(query, 2, false, null, false, context)
+              .subscribe()
+              .withSubscriber(AssertSubscriber.create(1))
+              .awaitCompletion()
+              .getItems();
+
+      // rows of all pages are merged into the single document
+      assertThat(result)
+          .singleElement()
+          .satisfies(
+              doc -> {
+                assertThat(doc.id()).isEqualTo("1");
+                assertThat(doc.rows()).hasSize(5);
+              });
+      queryAssert.assertExecuteCount().isEqualTo(3);
+    }
+
+    @Test
+    public void pagedQueryCancelledEarly() {
+      ValidatingStargateBridge.QueryAssert queryAssert =
+          withQuery(allDocsQuery.getCql())
+              .withPageSize(1)
+              .withColumnSpec(columnSpec)
+              .returning(
+                  ImmutableList.of(
+                      row("1", "x", 1.0d),
+                      row("2", "x", 3.0d),
+                      row("3", "x", 1.0d),
+                      row("4", "y", 2.0d),
+                      row("5", "x", 3.0d)));
+
+      RawDocument result =
+          queryExecutor
+              .queryDocs(allDocsQuery, 1, false, null, false, context)
+              .select()
+              .first()
+              .toUni()
+              .subscribe()
+              .withSubscriber(UniAssertSubscriber.create())
+              .awaitItem()
+              .getItem();
+
+      // queries that can be cancelled early must not read all pages
+      assertThat(result.id()).isEqualTo("1");
+      queryAssert.assertExecuteCount().isLessThan(5);
+    }
+  }
+
+  @Nested
+  class QueryDocsParallel {
+
+    @ParameterizedTest
+    @CsvSource({"1", "2", "100"})
+    public void disjointQueries(int pageSize) {
+      BuiltCondition keyCondition =
+          BuiltCondition.of(
+              documentProperties.tableProperties().keyColumnName(), Predicate.GT, Term.marker());
+      QueryOuterClass.Query query =
+          new QueryBuilder()
+              .select()
+              .star()
+              .from(schemaProvider.getTable().getName())
+              .where(keyCondition)
+              .build();
+
+      QueryOuterClass.Value value1 = Values.of("1");
+      withQuery(query.getCql(), value1)
+          .enriched()
+          .withResumeMode(QueryOuterClass.ResumeMode.NEXT_PARTITION)
+          .withPageSize(pageSize)
+          .withColumnSpec(columnSpec)
+          .returning(
+              ImmutableList.of(row("a", "x", 1.0d), row("a", "y", 2.0d), row("b", "x", 3.0d)));
+
+      QueryOuterClass.Value value2 = Values.of("2");
+      withQuery(query.getCql(), value2)
+          .enriched()
+          .withResumeMode(QueryOuterClass.ResumeMode.NEXT_PARTITION)
+          .withPageSize(pageSize)
+          .withColumnSpec(columnSpec)
+          .returning(ImmutableList.of(row("c", "x", 1.0d), row("d", "x", 2.0d)));
+
+      List<QueryOuterClass.Query> queries =
+          ImmutableList.of(
+              QueryOuterClass.Query.newBuilder(query)
+                  .setValues(QueryOuterClass.Values.newBuilder().addValues(value1))
+                  .build(),
+              QueryOuterClass.Query.newBuilder(query)
+                  .setValues(QueryOuterClass.Values.newBuilder().addValues(value2))
+                  .build());
+
+      List<RawDocument> result =
+          queryExecutor
+              .queryDocsParallel(queries, pageSize, false, null, true, context)
+              .subscribe()
+              .withSubscriber(AssertSubscriber.create(4))
+              .awaitCompletion()
+              .assertCompleted()
+              .getItems();
+
+      assertThat(result).extracting(RawDocument::id).containsExactlyInAnyOrder("a", "b", "c", "d");
+      assertThat(result.stream().filter(d -> d.id().equals("a")).findFirst())
+          .hasValueSatisfying(doc -> assertThat(doc.rows()).hasSize(2));
+
+      // test paging from each doc returned, it must resume with the docs not emitted yet
+      for (int i = 1; i < 4; i++) {
+        ByteBuffer pagingState = result.get(i - 1).makePagingState();
+        List<RawDocument> subResult =
+            queryExecutor
+                .queryDocsParallel(queries, pageSize, false, pagingState, true, context)
+                .subscribe()
+                .withSubscriber(AssertSubscriber.create(4))
+                .awaitCompletion()
+                .assertCompleted()
+                .getItems();
+
+        List<String> expected =
+            result.subList(i, 4).stream().map(RawDocument::id).collect(Collectors.toList());
+        assertThat(subResult)
+            .extracting(RawDocument::id)
+            .containsExactlyInAnyOrderElementsOf(expected);
+      }
+    }
+  }
 }
@@ -0,0 +1,115 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.sgv2.docsapi.service.query.search.db.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.stargate.bridge.grpc.Values;
+import io.stargate.bridge.proto.QueryOuterClass;
+import io.stargate.sgv2.common.testprofiles.NoGlobalResourcesTestProfile;
+import io.stargate.sgv2.docsapi.api.properties.document.DocumentProperties;
+import jakarta.inject.Inject;
+import java.util.List;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+@TestProfile(NoGlobalResourcesTestProfile.Impl.class)
+class TokenRangeSearchQueryBuilderTest {
+
+  private static final String KEYSPACE_NAME = RandomStringUtils.randomAlphanumeric(16);
+  private static final String COLLECTION_NAME = RandomStringUtils.randomAlphanumeric(16);
+
+  @Inject DocumentProperties documentProperties;
+
+  @Nested
+  class BuildQuery {
+
+    @Test
+    public void happyPath() {
+      TokenRangeSearchQueryBuilder builder =
+          new TokenRangeSearchQueryBuilder(documentProperties, -10L, 10L);
+      QueryOuterClass.Query query =
+          builder.bind(builder.buildQuery(KEYSPACE_NAME, COLLECTION_NAME));
+
+      String expected =
+          String.format(
+              "SELECT WRITETIME(leaf) FROM \"%s\".\"%s\" WHERE TOKEN(key) > ? AND TOKEN(key) <= ?",
+              KEYSPACE_NAME, COLLECTION_NAME);
+      assertThat(query.getCql()).isEqualTo(expected);
+      assertThat(query.getValues().getValuesList())
+          .containsExactly(Values.of(-10L), Values.of(10L));
+    }
+
+    @Test
+    public void openRange() {
+      TokenRangeSearchQueryBuilder builder =
+          new TokenRangeSearchQueryBuilder(documentProperties, null, 10L);
+      QueryOuterClass.Query query =
+          builder.bind(builder.buildQuery(KEYSPACE_NAME, COLLECTION_NAME));
+
+      String expected =
+          String.format(
+              "SELECT WRITETIME(leaf) FROM \"%s\".\"%s\" WHERE TOKEN(key) <= ?",
+              KEYSPACE_NAME, COLLECTION_NAME);
+      assertThat(query.getCql()).isEqualTo(expected);
+      assertThat(query.getValues().getValuesList()).containsExactly(Values.of(10L));
+    }
+  }
+
+  @Nested
+  class ForRanges {
+
+    @Test
+    public void singleRange() {
+      List<TokenRangeSearchQueryBuilder> builders =
+          TokenRangeSearchQueryBuilder.forRanges(documentProperties, 1);
+
+      assertThat(builders).hasSize(1);
+      QueryOuterClass.Query query =
+          builders.get(0).bind(builders.get(0).buildQuery(KEYSPACE_NAME, COLLECTION_NAME));
+      assertThat(query.getCql()).doesNotContain("WHERE");
+      assertThat(query.getValues().getValuesList()).isEmpty();
+    }
+
+    @Test
+    public void splitsRing() {
+      List<TokenRangeSearchQueryBuilder> builders =
+          TokenRangeSearchQueryBuilder.forRanges(documentProperties, 4);
+
+      assertThat(builders)
+          .extracting(b -> b.bind(b.buildQuery(KEYSPACE_NAME, COLLECTION_NAME)))
+          .extracting(q -> q.getValues().getValuesList())
+          .containsExactly(
+              List.of(Values.of(Long.MIN_VALUE / 2)),
+              List.of(Values.of(Long.MIN_VALUE / 2), Values.of(0L)),
+              List.of(Values.of(0L), Values.of(Long.MAX_VALUE / 2 + 1)),
+              List.of(Values.of(Long.MAX_VALUE / 2 + 1)));
+    }
+
+    @Test
+    public void invalidRanges() {
+      assertThatThrownBy(() -> TokenRangeSearchQueryBuilder.forRanges(documentProperties, 0))
+          .isInstanceOf(IllegalArgumentException.class);
+    }
+  }
+}
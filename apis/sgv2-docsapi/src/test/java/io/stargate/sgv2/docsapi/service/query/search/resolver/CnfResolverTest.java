@@ -25,6 +25,8 @@ import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.TestProfile;
 import io.stargate.sgv2.common.testprofiles.NoGlobalResourcesTestProfile;
 import io.stargate.sgv2.docsapi.api.properties.document.DocumentProperties;
+import io.stargate.sgv2.docsapi.api.properties.document.impl.DocumentPropertiesImpl;
+import io.stargate.sgv2.docsapi.config.DocumentConfig;
 import io.stargate.sgv2.docsapi.service.ExecutionContext;
 import io.stargate.sgv2.docsapi.service.query.FilterExpression;
 import io.stargate.sgv2.docsapi.service.query.FilterPath;
@@ -33,9 +35,11 @@ import io.stargate.sgv2.docsapi.service.query.ImmutableFilterPath;
 import io.stargate.sgv2.docsapi.service.query.condition.BaseCondition;
 import io.stargate.sgv2.docsapi.service.query.condition.impl.ImmutableGenericCondition;
 import io.stargate.sgv2.docsapi.service.query.condition.impl.ImmutableStringCondition;
+import io.stargate.sgv2.docsapi.service.query.filter.operation.impl.EqFilterOperation;
 import io.stargate.sgv2.docsapi.service.query.filter.operation.impl.GtFilterOperation;
 import io.stargate.sgv2.docsapi.service.query.filter.operation.impl.InFilterOperation;
 import io.stargate.sgv2.docsapi.service.query.filter.operation.impl.LtFilterOperation;
+import io.stargate.sgv2.docsapi.service.query.search.db.impl.FilterExpressionSearchQueryBuilder;
 import io.stargate.sgv2.docsapi.service.query.search.resolver.filter.impl.InMemoryCandidatesFilter;
 import io.stargate.sgv2.docsapi.service.query.search.resolver.filter.impl.PersistenceCandidatesFilter;
 import io.stargate.sgv2.docsapi.service.query.search.resolver.impl.AllFiltersResolver;
@@ -44,7 +48,9 @@ import io.stargate.sgv2.docsapi.service.query.search.resolver.impl.InMemoryDocum
 import io.stargate.sgv2.docsapi.service.query.search.resolver.impl.OrExpressionDocumentsResolver;
 import io.stargate.sgv2.docsapi.service.query.search.resolver.impl.PersistenceDocumentsResolver;
 import jakarta.inject.Inject;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -56,11 +62,94 @@ class CnfResolverTest {
 
   @Inject DocumentProperties documentProperties;
 
+  @Inject DocumentConfig documentConfig;
+
   @BeforeEach
   public void init() {
     MockitoAnnotations.openMocks(this);
   }
 
+  @Nested
+  class ResolveSaiEnabled {
+
+    DocumentProperties saiProperties;
+
+    @BeforeEach
+    public void initSaiProperties() {
+      saiProperties = new DocumentPropertiesImpl(documentConfig, false, true);
+    }
+
+    @Test
+    public void inPushedDown() {
+      ExecutionContext context = ExecutionContext.create(true);
+      FilterPath filterPath = ImmutableFilterPath.of(Collections.singletonList("field"));
+      BaseCondition condition =
+          ImmutableGenericCondition.of(
+              InFilterOperation.of(), List.of("find-me", "or-me"), saiProperties, false);
+      FilterExpression expression = ImmutableFilterExpression.of(filterPath, condition, 0);
+
+      DocumentsResolver result = CnfResolver.resolve(And.of(expression), context, saiProperties);
+
+      assertThat(result)
+          .isInstanceOfSatisfying(
+              OrExpressionDocumentsResolver.class,
+              or ->
+                  assertThat(or)
+                      .extracting("queryBuilders")
+                      .asList()
+                      .hasSize(2)
+                      .allSatisfy(
+                          qb ->
+                              assertThat(qb)
+                                  .isInstanceOf(FilterExpressionSearchQueryBuilder.class)));
+    }
+
+    @Test
+    public void inWithNullNotPushedDown() {
+      ExecutionContext context = ExecutionContext.create(true);
+      FilterPath filterPath = ImmutableFilterPath.of(Collections.singletonList("field"));
+      BaseCondition condition =
+          ImmutableGenericCondition.of(
+              InFilterOperation.of(), Arrays.asList("find-me", null), saiProperties, false);
+      FilterExpression expression = ImmutableFilterExpression.of(filterPath, condition, 0);
+
+      DocumentsResolver result = CnfResolver.resolve(And.of(expression), context, saiProperties);
+
+      assertThat(result).isInstanceOf(InMemoryDocumentsResolver.class);
+    }
+
+    @Test
+    public void inNotPushedDownWithPersistenceExpression() {
+      ExecutionContext context = ExecutionContext.create(true);
+      FilterPath filterPath1 = ImmutableFilterPath.of(Collections.singletonList("a"));
+      FilterPath filterPath2 = ImmutableFilterPath.of(Collections.singletonList("b"));
+      BaseCondition condition1 =
+          ImmutableStringCondition.of(EqFilterOperation.of(), "find-me", saiProperties);
+      BaseCondition condition2 =
+          ImmutableGenericCondition.of(
+              InFilterOperation.of(), List.of("find-me", "or-me"), saiProperties, false);
+      FilterExpression expression1 = ImmutableFilterExpression.of(filterPath1, condition1, 0);
+      FilterExpression expression2 = ImmutableFilterExpression.of(filterPath2, condition2, 1);
+
+      DocumentsResolver result =
+          CnfResolver.resolve(And.of(expression1, expression2), context, saiProperties);
+
+      assertThat(result)
+          .isInstanceOfSatisfying(
+              AllFiltersResolver.class,
+              allOf -> {
+                assertThat(allOf)
+                    .extracting("candidatesResolver")
+                    .isInstanceOf(PersistenceDocumentsResolver.class);
+                assertThat(allOf)
+                    .extracting("candidatesFilters")
+                    .asList()
+                    .singleElement()
+                    .isInstanceOf(InMemoryCandidatesFilter.class);
+              });
+    }
+  }
+
   @Nested
   class Resolve {
 
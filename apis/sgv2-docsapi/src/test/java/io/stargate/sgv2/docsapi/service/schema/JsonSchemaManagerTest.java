@@ -26,6 +26,9 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.grpc.stub.StreamObserver;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.cache.CaffeineCache;
 import io.quarkus.grpc.GrpcClient;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.TestProfile;
@@ -41,6 +44,7 @@ import io.stargate.sgv2.common.testprofiles.NoGlobalResourcesTestProfile;
 import io.stargate.sgv2.docsapi.api.exception.ErrorCode;
 import io.stargate.sgv2.docsapi.api.exception.ErrorCodeRuntimeException;
 import jakarta.inject.Inject;
+import java.util.List;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
@@ -54,6 +58,10 @@ class JsonSchemaManagerTest extends BridgeTest {
 
   @Inject ObjectMapper objectMapper;
 
+  @Inject
+  @CacheName("json-schema-cache")
+  Cache jsonSchemaCache;
+
   @GrpcClient("bridge")
   StargateBridge bridge;
 
@@ -183,13 +191,61 @@ class JsonSchemaManagerTest extends BridgeTest {
 
       UniAssertSubscriber<Boolean> result =
           jsonSchemaManager
-              .validateJsonDocument(Uni.createFrom().item(table), document, false)
+              .validateJsonDocument("namespace", Uni.createFrom().item(table), document, false)
               .subscribe()
               .withSubscriber(UniAssertSubscriber.create());
 
       result.awaitItem().assertItem(true).assertCompleted();
     }
 
+    @Test
+    public void compiledSchemaCached() throws JsonProcessingException {
+      String namespace = RandomStringUtils.randomAlphanumeric(16);
+      String collection = RandomStringUtils.randomAlphanumeric(16);
+      table =
+          Schema.CqlTable.newBuilder()
+              .setName(collection)
+              .putOptions("comment", testJsonSchema())
+              .build();
+      String otherNamespace = RandomStringUtils.randomAlphanumeric(16);
+      CaffeineCache cache = jsonSchemaCache.as(CaffeineCache.class);
+      int initialSize = cache.keySet().size();
+
+      JsonNode document = objectMapper.readTree("{\"id\":1, \"name\": \"Eric\", \"price\":1}");
+      for (String validatedNamespace : List.of(namespace, namespace, otherNamespace)) {
+        jsonSchemaManager
+            .validateJsonDocument(validatedNamespace, Uni.createFrom().item(table), document, false)
+            .subscribe()
+            .withSubscriber(UniAssertSubscriber.create())
+            .awaitItem()
+            .assertItem(true);
+      }
+
+      // one entry per namespace, same-named collections do not share it
+      assertThat(cache.keySet()).hasSize(initialSize + 2);
+
+      doAnswer(
+              invocationOnMock -> {
+                StreamObserver<QueryOuterClass.Query> observer = invocationOnMock.getArgument(1);
+                observer.onNext(QueryOuterClass.Query.getDefaultInstance());
+                observer.onCompleted();
+                return null;
+              })
+          .when(bridgeService)
+          .executeQuery(any(), any());
+
+      JsonNode newSchema =
+          objectMapper.readTree("{\"$schema\": \"https://json-schema.org/draft/2019-09/schema\"}");
+      jsonSchemaManager
+          .attachJsonSchema(namespace, Uni.createFrom().item(table), newSchema)
+          .subscribe()
+          .withSubscriber(UniAssertSubscriber.create())
+          .awaitItem();
+
+      // attaching a new schema drops the compiled one of that namespace only
+      assertThat(cache.keySet()).hasSize(initialSize + 1);
+    }
+
     @Test
     public void noSchemaAvailable() throws JsonProcessingException {
       table = Schema.CqlTable.newBuilder().build();
@@ -198,7 +254,7 @@ class JsonSchemaManagerTest extends BridgeTest {
 
       UniAssertSubscriber<Boolean> result =
           jsonSchemaManager
-              .validateJsonDocument(Uni.createFrom().item(table), document, false)
+              .validateJsonDocument("namespace", Uni.createFrom().item(table), document, false)
               .subscribe()
               .withSubscriber(UniAssertSubscriber.create());
 
@@ -212,7 +268,7 @@ class JsonSchemaManagerTest extends BridgeTest {
 
     JsonNode document = objectMapper.readTree("{\"id\":1, \"price\":1}");
     jsonSchemaManager
-        .validateJsonDocument(Uni.createFrom().item(table), document, false)
+        .validateJsonDocument("namespace", Uni.createFrom().item(table), document, false)
         .subscribe()
         .withSubscriber(UniAssertSubscriber.create())
         .awaitFailure()
@@ -226,7 +282,7 @@ class JsonSchemaManagerTest extends BridgeTest {
     JsonNode document = objectMapper.readTree("{\"id\":1, \"name\": \"Eric\", \"price\":1}");
     Throwable failure =
         jsonSchemaManager
-            .validateJsonDocument(Uni.createFrom().item(table), document, true)
+            .validateJsonDocument("namespace", Uni.createFrom().item(table), document, true)
             .subscribe()
             .withSubscriber(UniAssertSubscriber.create())
             .awaitFailure()
@@ -0,0 +1,402 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.sgv2.docsapi.service.write;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableMap;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.quarkus.test.junit.mockito.InjectMock;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import io.stargate.bridge.grpc.Values;
+import io.stargate.bridge.proto.QueryOuterClass;
+import io.stargate.sgv2.api.common.StargateRequestInfo;
+import io.stargate.sgv2.docsapi.DocsApiTestSchemaProvider;
+import io.stargate.sgv2.docsapi.OpenMocksTest;
+import io.stargate.sgv2.docsapi.api.properties.document.DocumentProperties;
+import io.stargate.sgv2.docsapi.api.v2.namespaces.collections.model.dto.CompactionProgressDto;
+import io.stargate.sgv2.docsapi.service.ExecutionContext;
+import io.stargate.sgv2.docsapi.service.common.model.RowWrapper;
+import io.stargate.sgv2.docsapi.service.query.ReadBridgeService;
+import io.stargate.sgv2.docsapi.service.query.model.RawDocument;
+import io.stargate.sgv2.docsapi.service.util.TimeSource;
+import io.stargate.sgv2.docsapi.testprofiles.MaxDepth4TestProfile;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+@QuarkusTest
+@TestProfile(DeadLeafCompactionServiceTest.Profile.class)
+class DeadLeafCompactionServiceTest {
+
+  // fast enough to scan a few progress intervals in a test
+  static final int DOCUMENTS_PER_SECOND = 10000;
+
+  public static class Profile extends MaxDepth4TestProfile {
+
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      return ImmutableMap.<String, String>builder()
+          .putAll(super.getConfigOverrides())
+          .put(
+              "stargate.document.max-compaction-documents-per-second",
+              String.valueOf(DOCUMENTS_PER_SECOND))
+          .build();
+    }
+  }
+
+  @Inject DeadLeafCompactionService service;
+
+  @Inject DocsApiTestSchemaProvider schemaProvider;
+
+  @Inject DocumentProperties documentProperties;
+
+  @Inject MeterRegistry meterRegistry;
+
+  @InjectMock ReadBridgeService readBridgeService;
+
+  @InjectMock WriteBridgeService writeBridgeService;
+
+  @InjectMock StargateRequestInfo requestInfo;
+
+  @InjectMock TimeSource timeSource;
+
+  Function<QueryOuterClass.Row, RowWrapper> wrapperFunction;
+
+  QueryOuterClass.Row rowFor(String id, String value, long writeTime, String... path) {
+    String leaf = "";
+    List<QueryOuterClass.Value> values = new ArrayList<>();
+    values.add(Values.of(id));
+    for (int i = 0; i < documentProperties.maxDepth(); i++) {
+      if (i < path.length) {
+        String p = path[i];
+        leaf = p;
+        values.add(Values.of(p));
+      } else {
+        values.add(Values.of(""));
+      }
+    }
+    values.add(Values.of(leaf));
+    values.add(Values.of(value));
+    values.add(Values.NULL);
+    values.add(Values.NULL);
+    values.add(Values.of(writeTime));
+    return QueryOuterClass.Row.newBuilder().addAllValues(values).build();
+  }
+
+  @BeforeEach
+  public void initWrappingFunction() {
+    List<QueryOuterClass.ColumnSpec> columns = new ArrayList<>(schemaProvider.allColumnSpec());
+    columns.add(
+        QueryOuterClass.ColumnSpec.newBuilder()
+            .setName(documentProperties.tableProperties().writetimeColumnName())
+            .build());
+    wrapperFunction = RowWrapper.forColumns(columns);
+  }
+
+  @Nested
+  class CompactCollection implements OpenMocksTest {
+
+    @Mock RawDocument rawDocument;
+    @Mock RawDocument rawDocument2;
+
+    @Test
+    public void happyPath() {
+      String namespace = RandomStringUtils.randomAlphanumeric(16);
+      String collection = RandomStringUtils.randomAlphanumeric(16);
+      String documentId1 = RandomStringUtils.randomAlphanumeric(16);
+      String documentId2 = RandomStringUtils.randomAlphanumeric(16);
+      ExecutionContext context = ExecutionContext.NOOP_CONTEXT;
+
+      when(readBridgeService.exportDocuments(namespace, collection, context))
+          .thenReturn(Multi.createFrom().items(rawDocument, rawDocument2));
+      when(writeBridgeService.deleteDeadLeaves(
+              eq(namespace), eq(collection), eq(documentId1), anyLong(), any(), eq(context), any()))
+          .thenReturn(Uni.createFrom().item(QueryOuterClass.ResultSet.getDefaultInstance()));
+
+      // first document has an old leaf replaced by an object
+      QueryOuterClass.Row oldRow = rowFor(documentId1, "oldValue", 1L, "prePath");
+      QueryOuterClass.Row row = rowFor(documentId1, "value", 2L, "prePath", "myField");
+      when(rawDocument.id()).thenReturn(documentId1);
+      when(rawDocument.rows())
+          .thenReturn(List.of(wrapperFunction.apply(oldRow), wrapperFunction.apply(row)));
+
+      QueryOuterClass.Row row2 = rowFor(documentId2, "value", 2L, "myField");
+      when(rawDocument2.id()).thenReturn(documentId2);
+      when(rawDocument2.rows()).thenReturn(List.of(wrapperFunction.apply(row2)));
+
+      List<CompactionProgressDto> result =
+          service
+              .compactCollection(namespace, collection, context)
+              .subscribe()
+              .withSubscriber(AssertSubscriber.create(10))
+              .awaitCompletion()
+              .getItems();
+
+      assertThat(result)
+          .singleElement()
+          .satisfies(
+              progress -> {
+                assertThat(progress.documentsScanned()).isEqualTo(2);
+                assertThat(progress.documentsCompacted()).isEqualTo(1);
+                assertThat(progress.deadLeavesDeleted()).isEqualTo(1);
+                assertThat(progress.documentsFailed()).isZero();
+                assertThat(progress.completed()).isTrue();
+              });
+
+      Tags tags = Tags.of("namespace", namespace, "collection", collection);
+      assertThat(
+              meterRegistry
+                  .get(DeadLeafCompactionService.DOCUMENTS_SCANNED_METRIC)
+                  .tags(tags)
+                  .counter()
+                  .count())
+          .isEqualTo(2d);
+      assertThat(
+              meterRegistry
+                  .get(DeadLeafCompactionService.DEAD_LEAVES_DELETED_METRIC)
+                  .tags(tags)
+                  .counter()
+                  .count())
+          .isEqualTo(1d);
+
+      verify(readBridgeService).exportDocuments(namespace, collection, context);
+      verify(writeBridgeService)
+          .deleteDeadLeaves(
+              eq(namespace), eq(collection), eq(documentId1), anyLong(), any(), eq(context), any());
+      verifyNoMoreInteractions(readBridgeService, writeBridgeService);
+    }
+
+    @Test
+    public void deleteFailed() {
+      String namespace = RandomStringUtils.randomAlphanumeric(16);
+      String collection = RandomStringUtils.randomAlphanumeric(16);
+      String documentId = RandomStringUtils.randomAlphanumeric(16);
+      ExecutionContext context = ExecutionContext.NOOP_CONTEXT;
+
+      when(readBridgeService.exportDocuments(namespace, collection, context))
+          .thenReturn(Multi.createFrom().items(rawDocument));
+      when(writeBridgeService.deleteDeadLeaves(
+              eq(namespace), eq(collection), eq(documentId), anyLong(), any(), eq(context), any()))
+          .thenReturn(Uni.createFrom().failure(new RuntimeException("Ignore me.")));
+
+      QueryOuterClass.Row oldRow = rowFor(documentId, "oldValue", 1L, "prePath");
+      QueryOuterClass.Row row = rowFor(documentId, "value", 2L, "prePath", "myField");
+      when(rawDocument.id()).thenReturn(documentId);
+      when(rawDocument.rows())
+          .thenReturn(List.of(wrapperFunction.apply(oldRow), wrapperFunction.apply(row)));
+
+      List<CompactionProgressDto> result =
+          service
+              .compactCollection(namespace, collection, context)
+              .subscribe()
+              .withSubscriber(AssertSubscriber.create(10))
+              .awaitCompletion()
+              .getItems();
+
+      // the compaction is not failed, but the document is counted
+      assertThat(result).containsExactly(new CompactionProgressDto(1, 0, 0, 1, true));
+    }
+
+    @ParameterizedTest
+    @EnumSource(
+        value = Status.Code.class,
+        names = {"UNAUTHENTICATED", "PERMISSION_DENIED", "UNAVAILABLE"})
+    public void deleteFailedFatally(Status.Code code) {
+      String namespace = RandomStringUtils.randomAlphanumeric(16);
+      String collection = RandomStringUtils.randomAlphanumeric(16);
+      String documentId = RandomStringUtils.randomAlphanumeric(16);
+      ExecutionContext context = ExecutionContext.NOOP_CONTEXT;
+
+      when(readBridgeService.exportDocuments(namespace, collection, context))
+          .thenReturn(Multi.createFrom().items(rawDocument));
+      when(writeBridgeService.deleteDeadLeaves(
+              eq(namespace), eq(collection), eq(documentId), anyLong(), any(), eq(context), any()))
+          .thenReturn(Uni.createFrom().failure(new StatusRuntimeException(code.toStatus())));
+
+      QueryOuterClass.Row oldRow = rowFor(documentId, "oldValue", 1L, "prePath");
+      QueryOuterClass.Row row = rowFor(documentId, "value", 2L, "prePath", "myField");
+      when(rawDocument.id()).thenReturn(documentId);
+      when(rawDocument.rows())
+          .thenReturn(List.of(wrapperFunction.apply(oldRow), wrapperFunction.apply(row)));
+
+      Throwable failure =
+          service
+              .compactCollection(namespace, collection, context)
+              .subscribe()
+              .withSubscriber(AssertSubscriber.create(10))
+              .awaitFailure()
+              .getFailure();
+
+      // every following delete would fail the same way
+      assertThat(failure)
+          .isInstanceOfSatisfying(
+              StatusRuntimeException.class,
+              e -> assertThat(e.getStatus().getCode()).isEqualTo(code));
+    }
+
+    @Test
+    public void deletesUseStartTimestamp() {
+      String namespace = RandomStringUtils.randomAlphanumeric(16);
+      String collection = RandomStringUtils.randomAlphanumeric(16);
+      String documentId1 = RandomStringUtils.randomAlphanumeric(16);
+      String documentId2 = RandomStringUtils.randomAlphanumeric(16);
+      ExecutionContext context = ExecutionContext.NOOP_CONTEXT;
+
+      // any later call would return a different timestamp
+      when(timeSource.currentTimeMicros()).thenReturn(100L, 200L, 300L);
+      when(readBridgeService.exportDocuments(namespace, collection, context))
+          .thenReturn(Multi.createFrom().items(rawDocument, rawDocument2));
+      when(writeBridgeService.deleteDeadLeaves(
+              eq(namespace), eq(collection), any(), anyLong(), any(), eq(context), any()))
+          .thenReturn(Uni.createFrom().item(QueryOuterClass.ResultSet.getDefaultInstance()));
+
+      QueryOuterClass.Row oldRow1 = rowFor(documentId1, "oldValue", 1L, "prePath");
+      QueryOuterClass.Row row1 = rowFor(documentId1, "value", 2L, "prePath", "myField");
+      when(rawDocument.id()).thenReturn(documentId1);
+      when(rawDocument.rows())
+          .thenReturn(List.of(wrapperFunction.apply(oldRow1), wrapperFunction.apply(row1)));
+      QueryOuterClass.Row oldRow2 = rowFor(documentId2, "oldValue", 1L, "prePath");
+      QueryOuterClass.Row row2 = rowFor(documentId2, "value", 2L, "prePath", "myField");
+      when(rawDocument2.id()).thenReturn(documentId2);
+      when(rawDocument2.rows())
+          .thenReturn(List.of(wrapperFunction.apply(oldRow2), wrapperFunction.apply(row2)));
+
+      service
+          .compactCollection(namespace, collection, context)
+          .subscribe()
+          .withSubscriber(AssertSubscriber.create(10))
+          .awaitCompletion();
+
+      ArgumentCaptor<Long> timestamps = ArgumentCaptor.forClass(Long.class);
+      verify(writeBridgeService, times(2))
+          .deleteDeadLeaves(
+              eq(namespace),
+              eq(collection),
+              any(),
+              timestamps.capture(),
+              any(),
+              eq(context),
+              any());
+      assertThat(timestamps.getAllValues()).containsExactly(100L, 100L);
+    }
+
+    @Test
+    public void progressReportedPeriodically() {
+      String namespace = RandomStringUtils.randomAlphanumeric(16);
+      String collection = RandomStringUtils.randomAlphanumeric(16);
+      String documentId = RandomStringUtils.randomAlphanumeric(16);
+      ExecutionContext context = ExecutionContext.NOOP_CONTEXT;
+
+      // documents without dead leaves
+      int documents = 2 * DeadLeafCompactionService.PROGRESS_INTERVAL + 500;
+      when(readBridgeService.exportDocuments(namespace, collection, context))
+          .thenReturn(Multi.createFrom().range(0, documents).map(i -> rawDocument));
+      QueryOuterClass.Row row = rowFor(documentId, "value", 2L, "myField");
+      when(rawDocument.id()).thenReturn(documentId);
+      when(rawDocument.rows()).thenReturn(List.of(wrapperFunction.apply(row)));
+
+      List<CompactionProgressDto> result =
+          service
+              .compactCollection(namespace, collection, context)
+              .subscribe()
+              .withSubscriber(AssertSubscriber.create(10))
+              .awaitCompletion(Duration.ofSeconds(30))
+              .getItems();
+
+      assertThat(result)
+          .containsExactly(
+              new CompactionProgressDto(1000, 0, 0, 0, false),
+              new CompactionProgressDto(2000, 0, 0, 0, false),
+              new CompactionProgressDto(2500, 0, 0, 0, true));
+      verifyNoMoreInteractions(writeBridgeService);
+    }
+
+    @Test
+    public void scanIsRateLimited() {
+      String namespace = RandomStringUtils.randomAlphanumeric(16);
+      String collection = RandomStringUtils.randomAlphanumeric(16);
+      String documentId = RandomStringUtils.randomAlphanumeric(16);
+      ExecutionContext context = ExecutionContext.NOOP_CONTEXT;
+
+      int documents = DOCUMENTS_PER_SECOND / 20;
+      when(readBridgeService.exportDocuments(namespace, collection, context))
+          .thenReturn(Multi.createFrom().range(0, documents).map(i -> rawDocument));
+      QueryOuterClass.Row row = rowFor(documentId, "value", 2L, "myField");
+      when(rawDocument.id()).thenReturn(documentId);
+      when(rawDocument.rows()).thenReturn(List.of(wrapperFunction.apply(row)));
+
+      long start = System.nanoTime();
+      service
+          .compactCollection(namespace, collection, context)
+          .subscribe()
+          .withSubscriber(AssertSubscriber.create(10))
+          .awaitCompletion(Duration.ofSeconds(30));
+
+      // every document is delayed by 1/DOCUMENTS_PER_SECOND, so this takes at least 1/20 second
+      assertThat(Duration.ofNanos(System.nanoTime() - start))
+          .isGreaterThanOrEqualTo(Duration.ofMillis(50));
+    }
+
+    @Test
+    public void emptyCollection() {
+      String namespace = RandomStringUtils.randomAlphanumeric(16);
+      String collection = RandomStringUtils.randomAlphanumeric(16);
+      ExecutionContext context = ExecutionContext.NOOP_CONTEXT;
+
+      when(readBridgeService.exportDocuments(namespace, collection, context))
+          .thenReturn(Multi.createFrom().empty());
+
+      List<CompactionProgressDto> result =
+          service
+              .compactCollection(namespace, collection, context)
+              .subscribe()
+              .withSubscriber(AssertSubscriber.create(10))
+              .awaitCompletion()
+              .getItems();
+
+      assertThat(result).containsExactly(new CompactionProgressDto(0, 0, 0, 0, true));
+      verifyNoMoreInteractions(writeBridgeService);
+    }
+  }
+}
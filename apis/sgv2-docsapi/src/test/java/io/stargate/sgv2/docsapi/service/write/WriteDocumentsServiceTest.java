@@ -36,6 +36,7 @@ import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.TestProfile;
 import io.quarkus.test.junit.mockito.InjectMock;
 import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
 import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
 import io.stargate.bridge.proto.QueryOuterClass.ResultSet;
 import io.stargate.bridge.proto.Schema;
@@ -44,6 +45,7 @@ import io.stargate.sgv2.docsapi.OpenMocksTest;
 import io.stargate.sgv2.docsapi.api.exception.ErrorCode;
 import io.stargate.sgv2.docsapi.api.exception.ErrorCodeRuntimeException;
 import io.stargate.sgv2.docsapi.api.v2.model.dto.DocumentResponseWrapper;
+import io.stargate.sgv2.docsapi.api.v2.model.dto.DocumentWriteResult;
 import io.stargate.sgv2.docsapi.api.v2.model.dto.MultiDocsResponse;
 import io.stargate.sgv2.docsapi.service.ExecutionContext;
 import io.stargate.sgv2.docsapi.service.JsonDocumentShredder;
@@ -53,7 +55,9 @@ import io.stargate.sgv2.docsapi.service.query.ReadBridgeService;
 import io.stargate.sgv2.docsapi.service.query.model.RawDocument;
 import io.stargate.sgv2.docsapi.service.schema.JsonSchemaManager;
 import jakarta.inject.Inject;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -110,7 +114,7 @@ public class WriteDocumentsServiceTest {
       when(writeBridgeService.writeDocument(
               eq(namespace), eq(collection), anyString(), eq(rows), any(), eq(context)))
           .thenReturn(Uni.createFrom().item(ResultSet.getDefaultInstance()));
-      when(jsonSchemaManager.validateJsonDocument(any(), any(), anyBoolean()))
+      when(jsonSchemaManager.validateJsonDocument(any(), any(), any(), anyBoolean()))
           .thenReturn(Uni.createFrom().item(true));
 
       DocumentResponseWrapper<Void> result =
@@ -146,7 +150,7 @@ public class WriteDocumentsServiceTest {
       when(writeBridgeService.writeDocument(
               eq(namespace), eq(collection), anyString(), eq(rows), any(), eq(context)))
           .thenReturn(Uni.createFrom().item(ResultSet.getDefaultInstance()));
-      when(jsonSchemaManager.validateJsonDocument(any(), any(), anyBoolean()))
+      when(jsonSchemaManager.validateJsonDocument(any(), any(), any(), anyBoolean()))
           .thenReturn(Uni.createFrom().item(true));
 
       DocumentResponseWrapper<Void> result =
@@ -197,7 +201,7 @@ public class WriteDocumentsServiceTest {
 
       verify(writeBridgeService)
           .writeDocument(namespace, collection, result.documentId(), rows, null, context);
-      verify(jsonSchemaManager).validateJsonDocument(tableUni, document, false);
+      verify(jsonSchemaManager).validateJsonDocument(namespace, tableUni, document, false);
       verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
     }
   }
@@ -251,7 +255,7 @@ public class WriteDocumentsServiceTest {
           .writeDocument(namespace, collection, result.documentIds().get(0), rows1, null, context);
       verify(writeBridgeService)
           .writeDocument(namespace, collection, result.documentIds().get(1), rows2, null, context);
-      verify(jsonSchemaManager, times(2)).validateJsonDocument(any(), any(), anyBoolean());
+      verify(jsonSchemaManager, times(2)).validateJsonDocument(any(), any(), any(), anyBoolean());
       verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
     }
 
@@ -290,7 +294,7 @@ public class WriteDocumentsServiceTest {
           .writeDocument(namespace, collection, result.documentIds().get(0), rows1, 100, context);
       verify(writeBridgeService)
           .writeDocument(namespace, collection, result.documentIds().get(1), rows2, 100, context);
-      verify(jsonSchemaManager, times(2)).validateJsonDocument(any(), any(), anyBoolean());
+      verify(jsonSchemaManager, times(2)).validateJsonDocument(any(), any(), any(), anyBoolean());
       verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
     }
 
@@ -329,7 +333,7 @@ public class WriteDocumentsServiceTest {
           .updateDocument(namespace, collection, result.documentIds().get(0), rows1, null, context);
       verify(writeBridgeService)
           .updateDocument(namespace, collection, result.documentIds().get(1), rows2, null, context);
-      verify(jsonSchemaManager, times(2)).validateJsonDocument(any(), any(), anyBoolean());
+      verify(jsonSchemaManager, times(2)).validateJsonDocument(any(), any(), any(), anyBoolean());
       verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
     }
 
@@ -370,7 +374,7 @@ public class WriteDocumentsServiceTest {
       verify(writeBridgeService).updateDocument(namespace, collection, "1", rows1, null, context);
       verify(writeBridgeService)
           .updateDocument(namespace, collection, result.documentIds().get(0), rows2, null, context);
-      verify(jsonSchemaManager, times(2)).validateJsonDocument(any(), any(), anyBoolean());
+      verify(jsonSchemaManager, times(2)).validateJsonDocument(any(), any(), any(), anyBoolean());
       verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
     }
 
@@ -389,9 +393,11 @@ public class WriteDocumentsServiceTest {
       ErrorCodeRuntimeException exception =
           new ErrorCodeRuntimeException(ErrorCode.DOCS_API_INVALID_JSON_VALUE);
       when(jsonSchemaManager.getJsonSchema(any())).thenReturn(Uni.createFrom().item(schema));
-      when(jsonSchemaManager.validateJsonDocument(table, objectMapper.readTree(doc1Payload), false))
+      when(jsonSchemaManager.validateJsonDocument(
+              namespace, table, objectMapper.readTree(doc1Payload), false))
           .thenReturn(Uni.createFrom().item(true));
-      when(jsonSchemaManager.validateJsonDocument(table, objectMapper.readTree(doc2Payload), false))
+      when(jsonSchemaManager.validateJsonDocument(
+              namespace, table, objectMapper.readTree(doc2Payload), false))
           .thenThrow(exception);
 
       documentWriteService
@@ -402,9 +408,9 @@ public class WriteDocumentsServiceTest {
           .assertFailedWith(ErrorCodeRuntimeException.class);
 
       verify(jsonSchemaManager)
-          .validateJsonDocument(table, objectMapper.readTree(doc1Payload), false);
+          .validateJsonDocument(namespace, table, objectMapper.readTree(doc1Payload), false);
       verify(jsonSchemaManager)
-          .validateJsonDocument(table, objectMapper.readTree(doc2Payload), false);
+          .validateJsonDocument(namespace, table, objectMapper.readTree(doc2Payload), false);
       verify(writeBridgeService, times(1))
           .updateDocument(any(), any(), anyString(), any(), any(), any());
       verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
@@ -465,6 +471,274 @@ public class WriteDocumentsServiceTest {
     }
   }
 
+  @Nested
+  class WriteDocumentsStream implements OpenMocksTest {
+    @Mock JsonShreddedRow jsonShreddedRow;
+
+    List<JsonShreddedRow> rows1;
+
+    List<JsonShreddedRow> rows2;
+
+    @BeforeEach
+    public void setupRows() {
+      rows1 = new ArrayList<>();
+      rows2 = new ArrayList<>();
+      rows1.add(jsonShreddedRow);
+    }
+
+    @Test
+    public void happyPathNdjson() throws Exception {
+      String namespace = RandomStringUtils.randomAlphanumeric(16);
+      String collection = RandomStringUtils.randomAlphanumeric(16);
+      ExecutionContext context = ExecutionContext.create(true);
+      String doc1Payload = "{\"id\": \"1\"}";
+      String doc2Payload = "{\"id\": \"2\"}";
+      String payload = String.format("%s\n%s\n", doc1Payload, doc2Payload);
+      Schema.CqlTable table = Schema.CqlTable.newBuilder().build();
+
+      when(jsonDocumentShredder.shred(objectMapper.readTree(doc1Payload), Collections.emptyList()))
+          .thenReturn(rows1);
+      when(jsonDocumentShredder.shred(objectMapper.readTree(doc2Payload), Collections.emptyList()))
+          .thenReturn(rows2);
+      when(jsonSchemaManager.validateJsonDocument(any(), any(), any(), anyBoolean()))
+          .thenReturn(Uni.createFrom().item(true));
+      when(writeBridgeService.updateDocument(
+              eq(namespace), eq(collection), anyString(), any(), any(), eq(context)))
+          .thenReturn(Uni.createFrom().item(ResultSet.getDefaultInstance()));
+
+      List<DocumentWriteResult> results =
+          documentWriteService
+              .writeDocumentsStream(
+                  Uni.createFrom().item(table),
+                  namespace,
+                  collection,
+                  new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8)),
+                  "id",
+                  null,
+                  context)
+              .subscribe()
+              .withSubscriber(AssertSubscriber.create(Long.MAX_VALUE))
+              .awaitCompletion()
+              .getItems();
+
+      assertThat(results)
+          .containsExactlyInAnyOrder(
+              DocumentWriteResult.success(0, "1"), DocumentWriteResult.success(1, "2"));
+
+      verify(writeBridgeService).updateDocument(namespace, collection, "1", rows1, null, context);
+      verify(writeBridgeService).updateDocument(namespace, collection, "2", rows2, null, context);
+      verify(jsonSchemaManager, times(2)).validateJsonDocument(any(), any(), any(), anyBoolean());
+      verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
+    }
+
+    @Test
+    public void happyPathArray() throws Exception {
+      String namespace = RandomStringUtils.randomAlphanumeric(16);
+      String collection = RandomStringUtils.randomAlphanumeric(16);
+      ExecutionContext context = ExecutionContext.create(true);
+      String doc1Payload = "{\"id\": \"1\"}";
+      String doc2Payload = "{\"id\": \"2\"}";
+      String payload = String.format("[%s,%s]", doc1Payload, doc2Payload);
+      Schema.CqlTable table = Schema.CqlTable.newBuilder().build();
+
+      when(jsonDocumentShredder.shred(objectMapper.readTree(doc1Payload), Collections.emptyList()))
+          .thenReturn(rows1);
+      when(jsonDocumentShredder.shred(objectMapper.readTree(doc2Payload), Collections.emptyList()))
+          .thenReturn(rows2);
+      when(jsonSchemaManager.validateJsonDocument(any(), any(), any(), anyBoolean()))
+          .thenReturn(Uni.createFrom().item(true));
+      when(writeBridgeService.writeDocument(
+              eq(namespace), eq(collection), anyString(), any(), any(), eq(context)))
+          .thenReturn(Uni.createFrom().item(ResultSet.getDefaultInstance()));
+
+      List<DocumentWriteResult> results =
+          documentWriteService
+              .writeDocumentsStream(
+                  Uni.createFrom().item(table),
+                  namespace,
+                  collection,
+                  new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8)),
+                  null,
+                  null,
+                  context)
+              .subscribe()
+              .withSubscriber(AssertSubscriber.create(Long.MAX_VALUE))
+              .awaitCompletion()
+              .getItems();
+
+      assertThat(results)
+          .hasSize(2)
+          .allSatisfy(
+              r -> {
+                assertThat(r.documentId()).isNotNull();
+                assertThat(r.error()).isNull();
+              });
+      verify(writeBridgeService, times(2))
+          .writeDocument(eq(namespace), eq(collection), anyString(), any(), any(), eq(context));
+    }
+
+    @Test
+    public void failuresReportedPerDocument() throws Exception {
+      String namespace = RandomStringUtils.randomAlphanumeric(16);
+      String collection = RandomStringUtils.randomAlphanumeric(16);
+      ExecutionContext context = ExecutionContext.create(true);
+      String doc1Payload = "{\"id\": \"1\"}";
+      String doc2Payload = "{\"id\": \"2\"}";
+      String doc3Payload = "{\"id\": \"3\",";
+      String doc4Payload = "{\"noId\": true}";
+      String payload = String.join("\n", doc1Payload, doc2Payload, doc3Payload, doc4Payload);
+      Schema.CqlTable table = Schema.CqlTable.newBuilder().build();
+
+      when(jsonDocumentShredder.shred(objectMapper.readTree(doc1Payload), Collections.emptyList()))
+          .thenReturn(rows1);
+      when(jsonDocumentShredder.shred(objectMapper.readTree(doc2Payload), Collections.emptyList()))
+          .thenReturn(rows2);
+      when(jsonSchemaManager.validateJsonDocument(any(), any(), any(), anyBoolean()))
+          .thenReturn(Uni.createFrom().item(true));
+      when(writeBridgeService.updateDocument(
+              eq(namespace), eq(collection), anyString(), eq(rows1), any(), eq(context)))
+          .thenReturn(Uni.createFrom().failure(new IOException()));
+      when(writeBridgeService.updateDocument(
+              eq(namespace), eq(collection), anyString(), eq(rows2), any(), eq(context)))
+          .thenReturn(Uni.createFrom().item(ResultSet.getDefaultInstance()));
+
+      List<DocumentWriteResult> results =
+          documentWriteService
+              .writeDocumentsStream(
+                  Uni.createFrom().item(table),
+                  namespace,
+                  collection,
+                  new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8)),
+                  "id",
+                  null,
+                  context)
+              .subscribe()
+              .withSubscriber(AssertSubscriber.create(Long.MAX_VALUE))
+              .awaitCompletion()
+              .getItems();
+
+      assertThat(results)
+          .hasSize(4)
+          .anySatisfy(
+              r -> {
+                assertThat(r.index()).isEqualTo(0);
+                assertThat(r.documentId()).isEqualTo("1");
+                assertThat(r.error())
+                    .isEqualTo(ErrorCode.DOCS_API_WRITE_BATCH_FAILED.getDefaultMessage());
+              })
+          .anySatisfy(r -> assertThat(r).isEqualTo(DocumentWriteResult.success(1, "2")))
+          .anySatisfy(
+              r -> {
+                assertThat(r.index()).isEqualTo(2);
+                assertThat(r.documentId()).isNull();
+                assertThat(r.error())
+                    .startsWith(ErrorCode.DOCS_API_WRITE_BATCH_INVALID_JSON.getDefaultMessage());
+              })
+          .anySatisfy(
+              r -> {
+                assertThat(r.index()).isEqualTo(3);
+                assertThat(r.documentId()).isNull();
+                assertThat(r.error()).contains("requires a scalar value");
+              });
+
+      // only the two valid documents were written
+      verify(writeBridgeService).updateDocument(namespace, collection, "1", rows1, null, context);
+      verify(writeBridgeService).updateDocument(namespace, collection, "2", rows2, null, context);
+      verifyNoMoreInteractions(writeBridgeService);
+    }
+
+    @Test
+    public void malformedArrayEndsBatch() throws Exception {
+      String namespace = RandomStringUtils.randomAlphanumeric(16);
+      String collection = RandomStringUtils.randomAlphanumeric(16);
+      ExecutionContext context = ExecutionContext.create(true);
+      String doc1Payload = "{\"id\": \"1\"}";
+      String payload = String.format("[%s, {\"id\": }, {\"id\": \"2\"}]", doc1Payload);
+      Schema.CqlTable table = Schema.CqlTable.newBuilder().build();
+
+      when(jsonDocumentShredder.shred(objectMapper.readTree(doc1Payload), Collections.emptyList()))
+          .thenReturn(rows1);
+      when(jsonSchemaManager.validateJsonDocument(any(), any(), any(), anyBoolean()))
+          .thenReturn(Uni.createFrom().item(true));
+      when(writeBridgeService.updateDocument(
+              eq(namespace), eq(collection), anyString(), any(), any(), eq(context)))
+          .thenReturn(Uni.createFrom().item(ResultSet.getDefaultInstance()));
+
+      List<DocumentWriteResult> results =
+          documentWriteService
+              .writeDocumentsStream(
+                  Uni.createFrom().item(table),
+                  namespace,
+                  collection,
+                  new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8)),
+                  "id",
+                  null,
+                  context)
+              .subscribe()
+              .withSubscriber(AssertSubscriber.create(Long.MAX_VALUE))
+              .awaitCompletion()
+              .getItems();
+
+      // the rest of the array can't be read after a syntax error
+      assertThat(results)
+          .hasSize(2)
+          .anySatisfy(r -> assertThat(r).isEqualTo(DocumentWriteResult.success(0, "1")))
+          .anySatisfy(
+              r -> {
+                assertThat(r.index()).isEqualTo(1);
+                assertThat(r.documentId()).isNull();
+                assertThat(r.error())
+                    .startsWith(ErrorCode.DOCS_API_WRITE_BATCH_INVALID_JSON.getDefaultMessage());
+              });
+      verify(writeBridgeService).updateDocument(namespace, collection, "1", rows1, null, context);
+      verifyNoMoreInteractions(writeBridgeService);
+    }
+
+    @Test
+    public void duplicateIdsNotDetected() throws Exception {
+      String namespace = RandomStringUtils.randomAlphanumeric(16);
+      String collection = RandomStringUtils.randomAlphanumeric(16);
+      ExecutionContext context = ExecutionContext.create(true);
+      String doc1Payload = "{\"id\": \"1\"}";
+      String doc2Payload = "{\"id\": \"1\", \"other\": true}";
+      String payload = String.join("\n", doc1Payload, doc2Payload);
+      Schema.CqlTable table = Schema.CqlTable.newBuilder().build();
+
+      when(jsonDocumentShredder.shred(objectMapper.readTree(doc1Payload), Collections.emptyList()))
+          .thenReturn(rows1);
+      when(jsonDocumentShredder.shred(objectMapper.readTree(doc2Payload), Collections.emptyList()))
+          .thenReturn(rows2);
+      when(jsonSchemaManager.validateJsonDocument(any(), any(), any(), anyBoolean()))
+          .thenReturn(Uni.createFrom().item(true));
+      when(writeBridgeService.updateDocument(
+              eq(namespace), eq(collection), anyString(), any(), any(), eq(context)))
+          .thenReturn(Uni.createFrom().item(ResultSet.getDefaultInstance()));
+
+      List<DocumentWriteResult> results =
+          documentWriteService
+              .writeDocumentsStream(
+                  Uni.createFrom().item(table),
+                  namespace,
+                  collection,
+                  new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8)),
+                  "id",
+                  null,
+                  context)
+              .subscribe()
+              .withSubscriber(AssertSubscriber.create(Long.MAX_VALUE))
+              .awaitCompletion()
+              .getItems();
+
+      // streamed batches don't remember the IDs, each document overwrites the previous one
+      assertThat(results)
+          .containsExactlyInAnyOrder(
+              DocumentWriteResult.success(0, "1"), DocumentWriteResult.success(1, "1"));
+      verify(writeBridgeService).updateDocument(namespace, collection, "1", rows1, null, context);
+      verify(writeBridgeService).updateDocument(namespace, collection, "1", rows2, null, context);
+      verifyNoMoreInteractions(writeBridgeService);
+    }
+  }
+
   @Nested
   class UpdateDocument implements OpenMocksTest {
 
@@ -516,7 +790,7 @@ public class WriteDocumentsServiceTest {
       verify(writeBridgeService)
           .updateDocument(
               namespace, collection, documentId, Collections.emptyList(), rows, null, context);
-      verify(jsonSchemaManager).validateJsonDocument(any(), any(), anyBoolean());
+      verify(jsonSchemaManager).validateJsonDocument(any(), any(), any(), anyBoolean());
       verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
     }
 
@@ -559,7 +833,7 @@ public class WriteDocumentsServiceTest {
       verify(writeBridgeService)
           .updateDocument(
               namespace, collection, documentId, Collections.emptyList(), rows, 100, context);
-      verify(jsonSchemaManager).validateJsonDocument(any(), any(), anyBoolean());
+      verify(jsonSchemaManager).validateJsonDocument(any(), any(), any(), anyBoolean());
       verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
     }
 
@@ -604,7 +878,7 @@ public class WriteDocumentsServiceTest {
 
       verify(writeBridgeService)
           .updateDocument(namespace, collection, documentId, subPath, rows, 0, context);
-      verify(jsonSchemaManager).validateJsonDocument(any(), any(), anyBoolean());
+      verify(jsonSchemaManager).validateJsonDocument(any(), any(), any(), anyBoolean());
       verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
     }
 
@@ -653,7 +927,7 @@ public class WriteDocumentsServiceTest {
 
       verify(writeBridgeService)
           .updateDocument(namespace, collection, documentId, subPath, rows, ttl, context);
-      verify(jsonSchemaManager).validateJsonDocument(any(), any(), anyBoolean());
+      verify(jsonSchemaManager).validateJsonDocument(any(), any(), any(), anyBoolean());
       verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
     }
 
@@ -698,7 +972,7 @@ public class WriteDocumentsServiceTest {
       verify(writeBridgeService)
           .updateDocument(
               namespace, collection, documentId, Collections.emptyList(), rows, null, context);
-      verify(jsonSchemaManager).validateJsonDocument(any(), any(), anyBoolean());
+      verify(jsonSchemaManager).validateJsonDocument(any(), any(), any(), anyBoolean());
       verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
     }
 
@@ -715,7 +989,8 @@ public class WriteDocumentsServiceTest {
       JsonNode obj = objectMapper.readTree(payload);
       JsonNode schema = objectMapper.createObjectNode();
       when(jsonSchemaManager.getJsonSchema(any())).thenReturn(Uni.createFrom().item(schema));
-      when(jsonSchemaManager.validateJsonDocument(any(), any(), anyBoolean())).thenCallRealMethod();
+      when(jsonSchemaManager.validateJsonDocument(any(), any(), any(), anyBoolean()))
+          .thenCallRealMethod();
 
       documentWriteService
           .updateSubDocument(
@@ -747,7 +1022,8 @@ public class WriteDocumentsServiceTest {
       ErrorCodeRuntimeException exception =
           new ErrorCodeRuntimeException(ErrorCode.DOCS_API_INVALID_JSON_VALUE);
       when(jsonSchemaManager.getJsonSchema(any())).thenReturn(Uni.createFrom().item(schema));
-      when(jsonSchemaManager.validateJsonDocument(any(), any(), anyBoolean())).thenThrow(exception);
+      when(jsonSchemaManager.validateJsonDocument(any(), any(), any(), anyBoolean()))
+          .thenThrow(exception);
 
       assertThatThrownBy(
               () ->
@@ -816,7 +1092,7 @@ public class WriteDocumentsServiceTest {
       verify(writeBridgeService)
           .setPathsOnDocument(
               namespace, collection, documentId, Collections.emptySet(), rows, 0, context);
-      verify(jsonSchemaManager).validateJsonDocument(any(), any(), anyBoolean());
+      verify(jsonSchemaManager).validateJsonDocument(any(), any(), any(), anyBoolean());
       verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
     }
 
@@ -865,7 +1141,7 @@ public class WriteDocumentsServiceTest {
       verify(writeBridgeService)
           .setPathsOnDocument(
               namespace, collection, documentId, Collections.emptySet(), rows, ttl, context);
-      verify(jsonSchemaManager).validateJsonDocument(any(), any(), anyBoolean());
+      verify(jsonSchemaManager).validateJsonDocument(any(), any(), any(), anyBoolean());
       verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
     }
 
@@ -911,7 +1187,7 @@ public class WriteDocumentsServiceTest {
       verify(writeBridgeService)
           .setPathsOnDocument(
               namespace, collection, documentId, Collections.emptySet(), rows, 0, context);
-      verify(jsonSchemaManager).validateJsonDocument(any(), any(), anyBoolean());
+      verify(jsonSchemaManager).validateJsonDocument(any(), any(), any(), anyBoolean());
       verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
     }
 
@@ -961,7 +1237,7 @@ public class WriteDocumentsServiceTest {
       verify(writeBridgeService)
           .setPathsOnDocument(
               namespace, collection, documentId, Collections.emptySet(), rows, ttl, context);
-      verify(jsonSchemaManager).validateJsonDocument(any(), any(), anyBoolean());
+      verify(jsonSchemaManager).validateJsonDocument(any(), any(), any(), anyBoolean());
       verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
     }
 
@@ -977,7 +1253,8 @@ public class WriteDocumentsServiceTest {
       JsonNode obj = objectMapper.readTree(payload);
 
       when(jsonSchemaManager.getJsonSchema(any())).thenReturn(Uni.createFrom().item(schema));
-      when(jsonSchemaManager.validateJsonDocument(any(), any(), anyBoolean())).thenCallRealMethod();
+      when(jsonSchemaManager.validateJsonDocument(any(), any(), any(), anyBoolean()))
+          .thenCallRealMethod();
 
       documentWriteService
           .setPathsOnDocument(
@@ -1045,7 +1322,7 @@ public class WriteDocumentsServiceTest {
       verify(writeBridgeService)
           .patchDocument(
               namespace, collection, documentId, Collections.emptyList(), rows, 0, context);
-      verify(jsonSchemaManager).validateJsonDocument(any(), any(), anyBoolean());
+      verify(jsonSchemaManager).validateJsonDocument(any(), any(), any(), anyBoolean());
       verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
     }
 
@@ -1089,7 +1366,7 @@ public class WriteDocumentsServiceTest {
 
       verify(writeBridgeService)
           .patchDocument(namespace, collection, documentId, subPath, rows, 0, context);
-      verify(jsonSchemaManager).validateJsonDocument(any(), any(), anyBoolean());
+      verify(jsonSchemaManager).validateJsonDocument(any(), any(), any(), anyBoolean());
       verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
     }
 
@@ -1137,7 +1414,7 @@ public class WriteDocumentsServiceTest {
 
       verify(writeBridgeService)
           .patchDocument(namespace, collection, documentId, subPath, rows, ttl, context);
-      verify(jsonSchemaManager).validateJsonDocument(any(), any(), anyBoolean());
+      verify(jsonSchemaManager).validateJsonDocument(any(), any(), any(), anyBoolean());
       verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
     }
 
@@ -1153,7 +1430,8 @@ public class WriteDocumentsServiceTest {
       JsonNode obj = objectMapper.readTree(payload);
 
       when(jsonSchemaManager.getJsonSchema(any())).thenReturn(Uni.createFrom().item(schema));
-      when(jsonSchemaManager.validateJsonDocument(any(), any(), anyBoolean())).thenCallRealMethod();
+      when(jsonSchemaManager.validateJsonDocument(any(), any(), any(), anyBoolean()))
+          .thenCallRealMethod();
 
       documentWriteService
           .patchSubDocument(
@@ -7,6 +7,7 @@ import io.stargate.sgv2.api.common.token.CassandraTokenResolver;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
 import java.util.Optional;
 
 /** Configuration for the GraphQL. */
@@ -21,6 +22,16 @@ public interface GraphQLConfig {
   @WithDefault("true")
   boolean enableDefaultKeyspace();
 
+  /**
+   * @return How long the latest schema-first source of a keyspace is reused before it is re-read in
+   *     the background. Deployments and undeployments on this instance update the cached version
+   *     immediately, so this only bounds how long it takes to see changes made through other
+   *     instances. Defaults to 10 seconds.
+   */
+  @WithDefault("PT10S")
+  @NotNull
+  Duration schemaSourceRefreshPeriod();
+
   /** @return Configuration for the GraphQL Playground. */
   @NotNull
   @Valid
@@ -15,6 +15,7 @@
  */
 package io.stargate.sgv2.graphql.schema.graphqlfirst.fetchers.deployed;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import graphql.Scalars;
 import graphql.language.ListType;
@@ -27,6 +28,7 @@ import io.stargate.bridge.proto.QueryOuterClass;
 import io.stargate.bridge.proto.QueryOuterClass.ColumnSpec;
 import io.stargate.bridge.proto.QueryOuterClass.Query;
 import io.stargate.bridge.proto.QueryOuterClass.QueryParameters;
+import io.stargate.bridge.proto.QueryOuterClass.Response;
 import io.stargate.bridge.proto.QueryOuterClass.ResultSet;
 import io.stargate.bridge.proto.QueryOuterClass.Row;
 import io.stargate.bridge.proto.QueryOuterClass.TypeSpec;
@@ -35,6 +37,7 @@ import io.stargate.bridge.proto.QueryOuterClass.UdtValue;
 import io.stargate.bridge.proto.QueryOuterClass.Value;
 import io.stargate.bridge.proto.Schema.CqlKeyspaceDescribe;
 import io.stargate.sgv2.api.common.cql.builder.BuiltCondition;
+import io.stargate.sgv2.api.common.cql.builder.Literal;
 import io.stargate.sgv2.api.common.cql.builder.QueryBuilder;
 import io.stargate.sgv2.api.common.grpc.proto.Rows;
 import io.stargate.sgv2.graphql.schema.CassandraFetcher;
@@ -54,18 +57,28 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /** Base class for fetchers that handle the queries from a user's deployed schema. */
 abstract class DeployedFetcher<ResultT> extends CassandraFetcher<ResultT> {
 
+  /** The maximum number of queries that {@link #loadByPrimaryKeys} executes concurrently. */
+  protected static final int MAX_CONCURRENT_QUERIES = 16;
+
   protected final MappingModel mappingModel;
   protected final CqlKeyspaceDescribe keyspace;
 
@@ -320,20 +333,119 @@ abstract class DeployedFetcher<ResultT> extends CassandraFetcher<ResultT> {
       QueryParameters parameters,
       StargateGraphqlContext context) {
 
-    Query query =
-        new QueryBuilder()
-            .select()
-            .column(
-                entity.getAllColumns().stream().map(FieldModel::getCqlName).toArray(String[]::new))
-            .from(entity.getKeyspaceName(), entity.getCqlName())
-            .where(whereConditions)
-            .limit(limit.orElse(null))
-            .parameters(parameters)
-            .build();
-
+    Query query = buildQuery(entity, whereConditions, limit, parameters);
     return context.getBridge().executeQuery(query).getResultSet();
   }
 
+  /** @see #query */
+  protected CompletionStage<ResultSet> queryAsync(
+      EntityModel entity,
+      List<BuiltCondition> whereConditions,
+      Optional<Integer> limit,
+      QueryParameters parameters,
+      StargateGraphqlContext context) {
+
+    Query query = buildQuery(entity, whereConditions, limit, parameters);
+    return context.getBridge().executeQueryAsync(query).thenApply(Response::getResultSet);
+  }
+
+  private Query buildQuery(
+      EntityModel entity,
+      List<BuiltCondition> whereConditions,
+      Optional<Integer> limit,
+      QueryParameters parameters) {
+    return new QueryBuilder()
+        .select()
+        .column(entity.getAllColumns().stream().map(FieldModel::getCqlName).toArray(String[]::new))
+        .from(entity.getKeyspaceName(), entity.getCqlName())
+        .where(whereConditions)
+        .limit(limit.orElse(null))
+        .parameters(parameters)
+        .build();
+  }
+
+  /**
+   * Loads multiple instances of an entity by primary key, in as few round trips as possible.
+   *
+   * <p>If the primary key is a single column of a primitive type, the keys are looked up with
+   * {@code IN} queries, of at most {@link #DEFAULT_PAGE_SIZE} keys each. Otherwise, there is one
+   * query per key. In both cases, at most {@link #MAX_CONCURRENT_QUERIES} queries are executed at
+   * the same time.
+   *
+   * @param primaryKeys for each instance, the conditions that select its full primary key, as
+   *     returned by {@link #bindWhere} for {@link EntityModel#getPrimaryKeyWhereConditions()}.
+   * @return the instances in the order of the keys, or null for the keys that don't exist.
+   */
+  protected CompletionStage<List<Map<String, Object>>> loadByPrimaryKeys(
+      EntityModel entity, List<List<BuiltCondition>> primaryKeys, StargateGraphqlContext context) {
+
+    if (primaryKeys.size() > 1 && canLoadWithIn(entity, primaryKeys)) {
+      return loadWithIn(entity, primaryKeys, context);
+    }
+    List<Supplier<CompletionStage<Map<String, Object>>>> queries = new ArrayList<>();
+    for (List<BuiltCondition> whereConditions : primaryKeys) {
+      queries.add(
+          () ->
+              queryAsync(entity, whereConditions, Optional.empty(), DEFAULT_PARAMETERS, context)
+                  .thenApply(resultSet -> toSingleEntity(resultSet, entity)));
+    }
+    return new BoundedExecution<>(queries).start(MAX_CONCURRENT_QUERIES);
+  }
+
+  private boolean canLoadWithIn(EntityModel entity, List<List<BuiltCondition>> primaryKeys) {
+    // Rows are matched back to their key by comparing values, which is only reliable for primitive
+    // types (the values of a UDT, for instance, might have a different set of fields).
+    return entity.getPrimaryKey().size() == 1
+        && entity.getPrimaryKey().get(0).getCqlType().getSpecCase() == TypeSpec.SpecCase.BASIC
+        && primaryKeys.stream()
+            .allMatch(
+                conditions ->
+                    conditions.size() == 1
+                        && conditions.get(0).predicate()
+                            == io.stargate.sgv2.api.common.cql.builder.Predicate.EQ
+                        && conditions.get(0).value() instanceof Literal);
+  }
+
+  private CompletionStage<List<Map<String, Object>>> loadWithIn(
+      EntityModel entity, List<List<BuiltCondition>> primaryKeys, StargateGraphqlContext context) {
+
+    String keyColumn = entity.getPrimaryKey().get(0).getCqlName();
+    List<Value> keys = new ArrayList<>(primaryKeys.size());
+    for (List<BuiltCondition> conditions : primaryKeys) {
+      keys.add(((Literal) conditions.get(0).value()).get());
+    }
+
+    List<Supplier<CompletionStage<ResultSet>>> queries = new ArrayList<>();
+    for (List<Value> batch :
+        Lists.partition(new ArrayList<>(new LinkedHashSet<>(keys)), DEFAULT_PAGE_SIZE)) {
+      List<BuiltCondition> whereConditions =
+          Collections.singletonList(
+              BuiltCondition.of(
+                  keyColumn, io.stargate.sgv2.api.common.cql.builder.Predicate.IN, Values.of(batch)));
+      queries.add(
+          () -> queryAsync(entity, whereConditions, Optional.empty(), DEFAULT_PARAMETERS, context));
+    }
+
+    return new BoundedExecution<>(queries)
+        .start(MAX_CONCURRENT_QUERIES)
+        .thenApply(
+            resultSets -> {
+              Map<Value, Map<String, Object>> entitiesByKey = new HashMap<>();
+              for (ResultSet resultSet : resultSets) {
+                List<ColumnSpec> columns = resultSet.getColumnsList();
+                for (Row row : resultSet.getRowsList()) {
+                  entitiesByKey.put(
+                      Rows.getValue(row, keyColumn, columns), toEntity(row, columns, entity));
+                }
+              }
+              List<Map<String, Object>> result = new ArrayList<>(keys.size());
+              for (Value key : keys) {
+                result.add(entitiesByKey.get(key));
+              }
+              return result;
+            });
+  }
+
   protected Map<String, Object> toSingleEntity(ResultSet resultSet, EntityModel entity) {
     return resultSet.getRowsCount() == 0
         ? null
@@ -475,4 +587,66 @@ abstract class DeployedFetcher<ResultT> extends CassandraFetcher<ResultT> {
     }
     return activeConditions;
   }
+
+  /**
+   * Executes asynchronous tasks with at most a given number of them in flight at the same time, and
+   * collects their results in the order of the tasks. If any task fails, the execution fails and
+   * the remaining tasks are not started.
+   */
+  private static class BoundedExecution<T> {
+
+    private final List<Supplier<CompletionStage<T>>> tasks;
+    private final AtomicReferenceArray<T> results;
+    private final AtomicInteger nextTask = new AtomicInteger();
+    private final AtomicInteger remaining;
+    private final CompletableFuture<List<T>> future = new CompletableFuture<>();
+
+    BoundedExecution(List<Supplier<CompletionStage<T>>> tasks) {
+      this.tasks = tasks;
+      this.results = new AtomicReferenceArray<>(tasks.size());
+      this.remaining = new AtomicInteger(tasks.size());
+    }
+
+    CompletionStage<List<T>> start(int maxConcurrency) {
+      if (tasks.isEmpty()) {
+        future.complete(Collections.emptyList());
+      } else {
+        for (int i = 0; i < Math.min(maxConcurrency, tasks.size()); i++) {
+          startNext();
+        }
+      }
+      return future;
+    }
+
+    private void startNext() {
+      int i = nextTask.getAndIncrement();
+      if (i >= tasks.size() || future.isDone()) {
+        return;
+      }
+      CompletionStage<T> task;
+      try {
+        task = tasks.get(i).get();
+      } catch (Exception e) {
+        future.completeExceptionally(e);
+        return;
+      }
+      task.whenComplete(
+          (result, error) -> {
+            if (error != null) {
+              future.completeExceptionally(error);
+            } else {
+              results.set(i, result);
+              if (remaining.decrementAndGet() == 0) {
+                List<T> allResults = new ArrayList<>(tasks.size());
+                for (int j = 0; j < tasks.size(); j++) {
+                  allResults.add(results.get(j));
+                }
+                future.complete(allResults);
+              } else {
+                startNext();
+              }
+            }
+          });
+    }
+  }
 }
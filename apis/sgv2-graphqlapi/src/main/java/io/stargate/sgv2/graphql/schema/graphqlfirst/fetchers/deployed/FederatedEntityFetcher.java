@@ -17,25 +17,32 @@ package io.stargate.sgv2.graphql.schema.graphqlfirst.fetchers.deployed;
 
 import com.apollographql.federation.graphqljava._Entity;
 import graphql.schema.DataFetchingEnvironment;
-import io.stargate.bridge.proto.QueryOuterClass.ResultSet;
 import io.stargate.bridge.proto.Schema.CqlKeyspaceDescribe;
 import io.stargate.sgv2.api.common.cql.builder.BuiltCondition;
+import io.stargate.sgv2.api.common.futures.Futures;
 import io.stargate.sgv2.graphql.schema.graphqlfirst.processor.EntityModel;
 import io.stargate.sgv2.graphql.schema.graphqlfirst.processor.MappingModel;
 import io.stargate.sgv2.graphql.web.resources.StargateGraphqlContext;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.CompletionStage;
 
 /**
  * Executes the {@code _entities} query of GraphQL federation.
  *
+ * <p>The representations are grouped by entity type, and each group is loaded with {@link
+ * #loadByPrimaryKeys}, so that a request for many entities does not translate into as many
+ * sequential queries.
+ *
  * @see <a
  *     href="https://www.apollographql.com/docs/federation/federation-spec/#resolve-requests-for-entities">The
  *     Apollo Federation spec</a>
  */
-public class FederatedEntityFetcher extends DeployedFetcher<List<FederatedEntity>> {
+public class FederatedEntityFetcher
+    extends DeployedFetcher<CompletionStage<List<FederatedEntity>>> {
 
   private final MappingModel mappingModel;
 
@@ -45,19 +52,43 @@ public class FederatedEntityFetcher extends DeployedFetcher<List<FederatedEntity
   }
 
   @Override
-  protected List<FederatedEntity> get(
+  protected CompletionStage<List<FederatedEntity>> get(
       DataFetchingEnvironment environment, StargateGraphqlContext context) {
 
-    List<FederatedEntity> result = new ArrayList<>();
-    for (Map<String, Object> representation :
-        environment.<List<Map<String, Object>>>getArgument(_Entity.argumentName)) {
-      result.add(getEntity(representation, context));
+    List<Map<String, Object>> representations = environment.getArgument(_Entity.argumentName);
+    Map<EntityModel, EntityGroup> groups = new LinkedHashMap<>();
+    for (int i = 0; i < representations.size(); i++) {
+      Map<String, Object> representation = representations.get(i);
+      EntityModel entityModel = getEntityModel(representation);
+      List<BuiltCondition> whereConditions =
+          bindWhere(
+              entityModel.getPrimaryKeyWhereConditions(),
+              representation::containsKey,
+              representation::get,
+              entityModel::validateNoFiltering,
+              keyspace);
+      EntityGroup group = groups.computeIfAbsent(entityModel, __ -> new EntityGroup());
+      group.positions.add(i);
+      group.primaryKeys.add(whereConditions);
     }
-    return result;
+
+    FederatedEntity[] result = new FederatedEntity[representations.size()];
+    List<CompletionStage<Void>> loads = new ArrayList<>(groups.size());
+    groups.forEach(
+        (entityModel, group) ->
+            loads.add(
+                loadByPrimaryKeys(entityModel, group.primaryKeys, context)
+                    .thenAccept(
+                        entities -> {
+                          for (int i = 0; i < entities.size(); i++) {
+                            result[group.positions.get(i)] =
+                                FederatedEntity.wrap(entityModel, entities.get(i));
+                          }
+                        })));
+    return Futures.sequence(loads).thenApply(__ -> Arrays.asList(result));
   }
 
-  private FederatedEntity getEntity(
-      Map<String, Object> representation, StargateGraphqlContext context) {
+  private EntityModel getEntityModel(Map<String, Object> representation) {
     Object rawTypeName = representation.get("__typename");
     if (!(rawTypeName instanceof String)) {
       throw new IllegalArgumentException(
@@ -69,16 +100,12 @@ public class FederatedEntityFetcher extends DeployedFetcher<List<FederatedEntity
     if (entityModel == null) {
       throw new IllegalArgumentException(String.format("Unknown entity type %s", entityName));
     }
-    List<BuiltCondition> whereConditions =
-        bindWhere(
-            entityModel.getPrimaryKeyWhereConditions(),
-            representation::containsKey,
-            representation::get,
-            entityModel::validateNoFiltering,
-            keyspace);
-    ResultSet resultSet =
-        query(entityModel, whereConditions, Optional.empty(), DEFAULT_PARAMETERS, context);
-    Map<String, Object> entity = toSingleEntity(resultSet, entityModel);
-    return FederatedEntity.wrap(entityModel, entity);
+    return entityModel;
+  }
+
+  /** The representations of a given entity type, and their positions in the request. */
+  private static class EntityGroup {
+    final List<Integer> positions = new ArrayList<>();
+    final List<List<BuiltCondition>> primaryKeys = new ArrayList<>();
   }
 }
@@ -41,7 +41,9 @@ import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 /**
  * Manages the {@link GraphQL} instances used by our REST resources.
@@ -55,6 +57,7 @@ public class GraphqlCache {
   private final GraphQL schemaFirstAdminGraphql = newGraphql(new AdminSchemaBuilder().build());
 
   private final boolean enableDefaultKeyspace;
+  private final long schemaSourceRefreshNanos;
 
   private volatile CompletionStage<Optional<String>> defaultKeyspaceName;
 
@@ -64,6 +67,7 @@ public class GraphqlCache {
   @Inject
   public GraphqlCache(GraphQLConfig graphQLConfig) {
     this.enableDefaultKeyspace = graphQLConfig.enableDefaultKeyspace();
+    this.schemaSourceRefreshNanos = graphQLConfig.schemaSourceRefreshPeriod().toNanos();
   }
 
   public GraphQL getDdl() {
@@ -83,7 +87,9 @@ public class GraphqlCache {
 
     String decoratedKeyspaceName = bridge.decorateKeyspaceName(keyspaceName);
     GraphqlHolder holder =
-        dmlGraphqlCache.get(decoratedKeyspaceName, __ -> new GraphqlHolder(keyspaceName));
+        dmlGraphqlCache.get(
+            decoratedKeyspaceName,
+            __ -> new GraphqlHolder(keyspaceName, schemaSourceRefreshNanos));
     assert holder != null;
     return holder.getGraphql(bridge);
   }
@@ -101,11 +107,25 @@ public class GraphqlCache {
       Schema.CqlKeyspaceDescribe keyspaceDescribe, SchemaSource newSource, GraphQL graphql) {
     Schema.CqlKeyspace keyspace = keyspaceDescribe.getCqlKeyspace();
     GraphqlHolder holder =
-        dmlGraphqlCache.get(keyspace.getGlobalName(), __ -> new GraphqlHolder(keyspace.getName()));
+        dmlGraphqlCache.get(
+            keyspace.getGlobalName(),
+            __ -> new GraphqlHolder(keyspace.getName(), schemaSourceRefreshNanos));
     assert holder != null;
     holder.putGraphql(graphql, keyspaceDescribe.getHash().getValue(), newSource);
   }
 
+  /**
+   * Forgets the cached schema-first source of a keyspace, so that the next request re-reads it.
+   * This is used after a schema-first undeployment.
+   */
+  public void invalidateSchemaSource(Schema.CqlKeyspaceDescribe keyspaceDescribe) {
+    GraphqlHolder holder =
+        dmlGraphqlCache.getIfPresent(keyspaceDescribe.getCqlKeyspace().getGlobalName());
+    if (holder != null) {
+      holder.invalidateSource();
+    }
+  }
+
   public CompletionStage<Optional<String>> getDefaultKeyspaceNameAsync(
       StargateBridgeClient bridge) {
     // Lazy init with double-checked locking:
@@ -140,10 +160,14 @@ public class GraphqlCache {
   static class GraphqlHolder {
 
     private final String keyspaceName;
+    private final long sourceRefreshNanos;
     private final AtomicReference<GraphqlHolderState> stateRef = new AtomicReference<>(null);
+    // The latest schema-first source, so that we don't have to query it on every request.
+    private final AtomicReference<SourceState> sourceRef = new AtomicReference<>(null);
 
-    GraphqlHolder(String keyspaceName) {
+    GraphqlHolder(String keyspaceName, long sourceRefreshNanos) {
       this.keyspaceName = keyspaceName;
+      this.sourceRefreshNanos = sourceRefreshNanos;
     }
 
     CompletionStage<Optional<GraphQL>> getGraphql(StargateBridgeClient bridge) {
@@ -162,6 +186,7 @@ public class GraphqlCache {
     // Handles a possible state change when we know the keyspace doesn't exist.
     private CompletionStage<Optional<GraphQL>> handleMissing() {
       stateRef.set(null);
+      sourceRef.set(null);
       return CompletableFuture.completedFuture(Optional.empty());
     }
 
@@ -170,8 +195,7 @@ public class GraphqlCache {
         Schema.CqlKeyspaceDescribe keyspace, StargateBridgeClient bridge) {
 
       // Next step is to check if this is a GraphQL schema-first keyspace
-      CompletionStage<Optional<SchemaSource>> sourceFuture =
-          new SchemaSourceDao(bridge).getLatestVersionAsync(keyspaceName);
+      CompletionStage<Optional<SchemaSource>> sourceFuture = getLatestSource(bridge);
 
       return sourceFuture.thenComposeAsync(
           maybeSource -> {
@@ -194,6 +218,75 @@ public class GraphqlCache {
           Infrastructure.getDefaultWorkerPool());
     }
 
+    private CompletionStage<Optional<SchemaSource>> getLatestSource(StargateBridgeClient bridge) {
+      return getLatestSource(
+          () -> new SchemaSourceDao(bridge).getLatestVersionAsync(keyspaceName));
+    }
+
+    /**
+     * Returns the latest schema-first source of the keyspace.
+     *
+     * <p>Concurrent callers share a single query. Once the cached version is older than the refresh
+     * period, it is still returned while a single background query fetches the new one.
+     *
+     * @param loader queries the latest source (visible for testing).
+     */
+    CompletionStage<Optional<SchemaSource>> getLatestSource(
+        Supplier<CompletionStage<Optional<SchemaSource>>> loader) {
+      while (true) {
+        SourceState state = sourceRef.get();
+        if (state == null) {
+          SourceState newState = new SourceState();
+          if (sourceRef.compareAndSet(null, newState)) {
+            fetchSource(newState, loader)
+                .exceptionally(
+                    error -> {
+                      // Don't cache the failure, the next request will retry
+                      sourceRef.compareAndSet(newState, null);
+                      return null;
+                    });
+            return newState.sourceFuture;
+          }
+          // Another thread beat us to it, use its state
+          continue;
+        }
+        if (state.isStale(sourceRefreshNanos) && state.refreshing.compareAndSet(false, true)) {
+          SourceState refreshedState = new SourceState();
+          fetchSource(refreshedState, loader)
+              .whenComplete(
+                  (maybeSource, error) -> {
+                    if (error == null) {
+                      // If the state was invalidated or replaced meanwhile, that one wins
+                      sourceRef.compareAndSet(state, refreshedState);
+                    } else {
+                      state.refreshing.set(false);
+                    }
+                  });
+        }
+        return state.sourceFuture;
+      }
+    }
+
+    private CompletableFuture<Optional<SchemaSource>> fetchSource(
+        SourceState state, Supplier<CompletionStage<Optional<SchemaSource>>> loader) {
+      loader
+          .get()
+          .whenComplete(
+              (maybeSource, error) -> {
+                if (error != null) {
+                  state.sourceFuture.completeExceptionally(error);
+                } else {
+                  state.fetchedAtNanos = System.nanoTime();
+                  state.sourceFuture.complete(maybeSource);
+                }
+              });
+      return state.sourceFuture;
+    }
+
+    void invalidateSource() {
+      sourceRef.set(null);
+    }
+
     private void compute(
         Schema.CqlKeyspaceDescribe keyspace,
         Optional<SchemaSource> maybeSource,
@@ -223,6 +316,29 @@ public class GraphqlCache {
       GraphqlHolderState newState = new GraphqlHolderState(hash, Optional.of(newSource));
       newState.graphqlFuture.complete(Optional.of(graphql));
       stateRef.set(newState);
+      sourceRef.set(SourceState.of(Optional.of(newSource)));
+    }
+  }
+
+  static class SourceState {
+
+    final CompletableFuture<Optional<SchemaSource>> sourceFuture = new CompletableFuture<>();
+    // When the source was read, only meaningful once sourceFuture is complete.
+    volatile long fetchedAtNanos;
+    // Whether a background refresh of this state is already in progress.
+    final AtomicBoolean refreshing = new AtomicBoolean();
+
+    static SourceState of(Optional<SchemaSource> source) {
+      SourceState state = new SourceState();
+      state.fetchedAtNanos = System.nanoTime();
+      state.sourceFuture.complete(source);
+      return state;
+    }
+
+    boolean isStale(long refreshNanos) {
+      return sourceFuture.isDone()
+          && !sourceFuture.isCompletedExceptionally()
+          && System.nanoTime() - fetchedAtNanos > refreshNanos;
     }
   }
 
@@ -0,0 +1,152 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.sgv2.graphql.web.resources;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.stargate.sgv2.graphql.persistence.graphqlfirst.SchemaSource;
+import io.stargate.sgv2.graphql.web.resources.GraphqlCache.GraphqlHolder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class GraphqlCacheTest {
+
+  private static final String KEYSPACE = "library";
+
+  private final SchemaSource source1 = new SchemaSource(KEYSPACE, UUID.randomUUID(), "type A");
+  private final SchemaSource source2 = new SchemaSource(KEYSPACE, UUID.randomUUID(), "type B");
+
+  // Every query of the latest source, in order. Tests complete them manually.
+  private List<CompletableFuture<Optional<SchemaSource>>> loads;
+  private Supplier<CompletionStage<Optional<SchemaSource>>> loader;
+
+  @BeforeEach
+  public void setup() {
+    loads = new ArrayList<>();
+    loader =
+        () -> {
+          CompletableFuture<Optional<SchemaSource>> load = new CompletableFuture<>();
+          loads.add(load);
+          return load;
+        };
+  }
+
+  @Nested
+  class LatestSource {
+
+    @Test
+    public void concurrentCallersShareLoad() {
+      GraphqlHolder holder = new GraphqlHolder(KEYSPACE, Long.MAX_VALUE);
+
+      CompletableFuture<Optional<SchemaSource>> first =
+          holder.getLatestSource(loader).toCompletableFuture();
+      CompletableFuture<Optional<SchemaSource>> second =
+          holder.getLatestSource(loader).toCompletableFuture();
+
+      assertThat(loads).hasSize(1);
+      assertThat(first).isNotDone();
+      assertThat(second).isNotDone();
+
+      loads.get(0).complete(Optional.of(source1));
+
+      assertThat(first).isCompletedWithValue(Optional.of(source1));
+      assertThat(second).isCompletedWithValue(Optional.of(source1));
+      assertThat(holder.getLatestSource(loader)).isCompletedWithValue(Optional.of(source1));
+      assertThat(loads).hasSize(1);
+    }
+
+    @Test
+    public void failedLoadNotCached() {
+      GraphqlHolder holder = new GraphqlHolder(KEYSPACE, Long.MAX_VALUE);
+
+      CompletableFuture<Optional<SchemaSource>> first =
+          holder.getLatestSource(loader).toCompletableFuture();
+      loads.get(0).completeExceptionally(new RuntimeException("mock failure"));
+
+      assertThat(first).isCompletedExceptionally();
+      assertThat(holder.getLatestSource(loader)).isNotDone();
+      assertThat(loads).hasSize(2);
+    }
+
+    @Test
+    public void staleSourceServedWhileRefreshing() throws Exception {
+      GraphqlHolder holder = loadedAndStale();
+
+      // The stale source is returned immediately, and a single refresh is started
+      assertThat(holder.getLatestSource(loader)).isCompletedWithValue(Optional.of(source1));
+      assertThat(holder.getLatestSource(loader)).isCompletedWithValue(Optional.of(source1));
+      assertThat(loads).hasSize(2);
+
+      loads.get(1).complete(Optional.of(source2));
+
+      assertThat(holder.getLatestSource(loader)).isCompletedWithValue(Optional.of(source2));
+    }
+
+    @Test
+    public void failedRefreshKeepsPreviousSource() throws Exception {
+      GraphqlHolder holder = loadedAndStale();
+
+      assertThat(holder.getLatestSource(loader)).isCompletedWithValue(Optional.of(source1));
+      assertThat(loads).hasSize(2);
+
+      loads.get(1).completeExceptionally(new RuntimeException("mock failure"));
+
+      // Still the previous source, and the next request retries the refresh
+      assertThat(holder.getLatestSource(loader)).isCompletedWithValue(Optional.of(source1));
+      assertThat(loads).hasSize(3);
+    }
+
+    @Test
+    public void invalidationDuringRefresh() throws Exception {
+      GraphqlHolder holder = loadedAndStale();
+
+      assertThat(holder.getLatestSource(loader)).isCompletedWithValue(Optional.of(source1));
+      assertThat(loads).hasSize(2);
+
+      // e.g. an undeployment while the refresh is in flight
+      holder.invalidateSource();
+      CompletableFuture<Optional<SchemaSource>> afterInvalidation =
+          holder.getLatestSource(loader).toCompletableFuture();
+      assertThat(afterInvalidation).isNotDone();
+      assertThat(loads).hasSize(3);
+
+      // The refresh started before the invalidation completes last, but must not win
+      loads.get(2).complete(Optional.empty());
+      loads.get(1).complete(Optional.of(source2));
+
+      assertThat(afterInvalidation).isCompletedWithValue(Optional.empty());
+      assertThat(holder.getLatestSource(loader)).isCompletedWithValue(Optional.empty());
+    }
+
+    // Returns a holder that has loaded source1, which is already due for a refresh.
+    private GraphqlHolder loadedAndStale() throws InterruptedException {
+      GraphqlHolder holder = new GraphqlHolder(KEYSPACE, 0);
+      holder.getLatestSource(loader);
+      loads.get(0).complete(Optional.of(source1));
+      // Make sure that System.nanoTime() moves past the refresh period
+      Thread.sleep(1);
+      return holder;
+    }
+  }
+}
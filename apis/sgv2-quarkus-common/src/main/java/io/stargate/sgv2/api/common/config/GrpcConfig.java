@@ -26,6 +26,7 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
 import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -42,6 +43,14 @@ public interface GrpcConfig {
   @NotNull
   Retries retries();
 
+  /**
+   * @return Defines how the calls are balanced between multiple bridge endpoints, when using {@link
+   *     RetriableStargateBridge}.
+   */
+  @Valid
+  @NotNull
+  Balancing balancing();
+
   interface Retries {
 
     /** @return If call retries are enabled. */
@@ -81,4 +90,69 @@ public interface GrpcConfig {
     @Positive
     int maxAttempts();
   }
+
+  interface Balancing {
+
+    /**
+     * @return Bridge endpoints to balance the calls between, in the <code>host:port</code> format.
+     *     If not set, all calls go to the single <code>quarkus.grpc.clients.bridge</code> client.
+     */
+    Optional<List<String>> endpoints();
+
+    /**
+     * What strategy to use for selecting the endpoint of each call.
+     *
+     * <ol>
+     *   <li><code>round-robin</code> - endpoints are used in turns
+     *   <li><code>least-outstanding</code> - the endpoint with the fewest calls in progress is used
+     * </ol>
+     *
+     * @return The balancing strategy.
+     */
+    @WithDefault("round-robin")
+    @NotNull
+    @Pattern(regexp = "round-robin|least-outstanding")
+    String strategy();
+
+    /**
+     * @return Amount of channels (and thus HTTP/2 connections) opened to each endpoint. Calls to an
+     *     endpoint are spread between its channels in turns.
+     */
+    @WithDefault("1")
+    @Positive
+    int channelsPerEndpoint();
+
+    /** @return Defines the health checks of the endpoints. */
+    @Valid
+    @NotNull
+    HealthCheck healthCheck();
+
+    interface HealthCheck {
+
+      /**
+       * @return If endpoints are periodically pinged with a <code>GetSupportedFeatures</code> call,
+       *     and excluded from the balancing while they are failing.
+       */
+      @WithDefault("true")
+      boolean enabled();
+
+      /** @return How often each endpoint is pinged. */
+      @WithDefault("PT5S")
+      @NotNull
+      Duration interval();
+
+      /** @return How long to wait for the response of a ping before considering it failed. */
+      @WithDefault("PT2S")
+      @NotNull
+      Duration timeout();
+
+      /**
+       * @return Amount of consecutive failed pings after which an endpoint is excluded. A single
+       *     successful ping includes it back.
+       */
+      @WithDefault("2")
+      @Positive
+      int failureThreshold();
+    }
+  }
 }
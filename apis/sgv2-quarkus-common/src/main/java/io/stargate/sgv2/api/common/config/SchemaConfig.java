@@ -0,0 +1,64 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.sgv2.api.common.config;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import java.util.Optional;
+
+/** Configuration for the schema management. */
+@ConfigMapping(prefix = "stargate.schema")
+public interface SchemaConfig {
+
+  /** @return Settings for watching the schema changes pushed by the bridge. */
+  @NotNull
+  @Valid
+  WatchConfig watch();
+
+  interface WatchConfig {
+
+    /**
+     * @return If schema changes pushed by the bridge should be used to keep the keyspace cache up to
+     *     date. When disabled, or while the watch is not established, cached keyspaces are
+     *     validated against the bridge using their hash. Defaults to <code>true</code>.
+     */
+    @WithDefault("true")
+    boolean enabled();
+
+    /**
+     * @return The Cassandra token used to authenticate the watch. The bridge only pushes the
+     *     changes of the keyspaces that this token can read, so it should be able to read all
+     *     keyspaces used by the API. When not set, the schema changes are not watched.
+     */
+    Optional<String> token();
+
+    /**
+     * @return The tenant whose schema changes are watched, when multi-tenancy is enabled. Cached
+     *     keyspaces of other tenants are always validated against the bridge.
+     */
+    Optional<String> tenantId();
+
+    /** @return Delay before trying to re-establish a lost watch. Defaults to 5 seconds. */
+    @WithDefault("PT5S")
+    @NotNull
+    Duration reconnectDelay();
+  }
+}
@@ -17,10 +17,12 @@ package io.stargate.sgv2.api.common.cql.builder;
 
 import io.stargate.bridge.proto.QueryOuterClass.Value;
 import io.stargate.sgv2.api.common.cql.ColumnUtils;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import org.immutables.value.Value.Immutable;
 import org.immutables.value.Value.Style;
 import org.immutables.value.Value.Style.ImplementationVisibility;
@@ -78,8 +80,7 @@ public interface BuiltCondition {
     }
 
     public static LHS token(String... columnNames) {
-      // Not yet needed, but we should add it someday
-      throw new UnsupportedOperationException();
+      return new Token(Arrays.asList(columnNames));
     }
 
     abstract void appendToBuilder(
@@ -178,5 +179,43 @@ public interface BuiltCondition {
         return Objects.hash(columnName, keyValue);
       }
     }
+
+    static final class Token extends LHS {
+      private final List<String> columnNames;
+
+      private Token(List<String> columnNames) {
+        this.columnNames = columnNames;
+      }
+
+      @Override
+      public String columnName() {
+        return columnNames.stream()
+            .map(ColumnUtils::maybeQuote)
+            .collect(Collectors.joining(", ", "TOKEN(", ")"));
+      }
+
+      @Override
+      void appendToBuilder(
+          StringBuilder builder, Map<Marker, Value> markers, List<Value> boundValues) {
+        builder.append(columnName());
+      }
+
+      @Override
+      public boolean equals(Object other) {
+        if (other == this) {
+          return true;
+        } else if (other instanceof Token) {
+          Token that = (Token) other;
+          return Objects.equals(this.columnNames, that.columnNames);
+        } else {
+          return false;
+        }
+      }
+
+      @Override
+      public int hashCode() {
+        return Objects.hash(columnNames);
+      }
+    }
   }
 }
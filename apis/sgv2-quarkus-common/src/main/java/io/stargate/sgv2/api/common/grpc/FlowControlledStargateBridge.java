@@ -0,0 +1,238 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.stargate.sgv2.api.common.grpc;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientCalls;
+import io.grpc.stub.ClientResponseObserver;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.stargate.bridge.proto.QueryOuterClass;
+import io.stargate.bridge.proto.Schema;
+import io.stargate.bridge.proto.StargateBridge;
+import io.stargate.bridge.proto.StargateBridgeGrpc;
+import java.util.concurrent.Flow;
+
+/**
+ * A {@link StargateBridge} that executes {@link #executeQueryStream(QueryOuterClass.Query)} with
+ * gRPC flow control, and delegates all other calls.
+ *
+ * <p>The Mutiny stubs generated by Quarkus request every message of a server stream as soon as it
+ * arrives, regardless of the demand of the subscriber. Here the messages are only requested from
+ * the call as they are requested by the subscriber, so the bridge stops pushing pages once the
+ * transport window is full, and only continues when the subscriber asks for more.
+ */
+public class FlowControlledStargateBridge implements StargateBridge {
+
+  private final StargateBridge delegate;
+
+  private final Channel channel;
+
+  /**
+   * @param delegate Bridge to delegate all calls except the query stream to.
+   * @param channel Channel of the delegate, must already include the client interceptors.
+   */
+  public FlowControlledStargateBridge(StargateBridge delegate, Channel channel) {
+    this.delegate = delegate;
+    this.channel = channel;
+  }
+
+  @Override
+  public Uni<QueryOuterClass.Response> executeQuery(QueryOuterClass.Query request) {
+    return delegate.executeQuery(request);
+  }
+
+  @Override
+  public Multi<QueryOuterClass.Response> executeQueryStream(QueryOuterClass.Query request) {
+    Flow.Publisher<QueryOuterClass.Response> publisher =
+        subscriber -> {
+          ResponseSubscription subscription = new ResponseSubscription(subscriber);
+          subscriber.onSubscribe(subscription);
+          subscription.start(channel, request);
+        };
+    return Multi.createFrom().publisher(publisher);
+  }
+
+  @Override
+  public Uni<Schema.QueryWithSchemaResponse> executeQueryWithSchema(
+      Schema.QueryWithSchema request) {
+    return delegate.executeQueryWithSchema(request);
+  }
+
+  @Override
+  public Uni<QueryOuterClass.Response> executeBatch(QueryOuterClass.Batch request) {
+    return delegate.executeBatch(request);
+  }
+
+  @Override
+  public Uni<Schema.CqlKeyspaceDescribe> describeKeyspace(Schema.DescribeKeyspaceQuery request) {
+    return delegate.describeKeyspace(request);
+  }
+
+  @Override
+  public Uni<Schema.AuthorizeSchemaReadsResponse> authorizeSchemaReads(
+      Schema.AuthorizeSchemaReadsRequest request) {
+    return delegate.authorizeSchemaReads(request);
+  }
+
+  @Override
+  public Uni<Schema.SupportedFeaturesResponse> getSupportedFeatures(
+      Schema.SupportedFeaturesRequest request) {
+    return delegate.getSupportedFeatures(request);
+  }
+
+  @Override
+  public Multi<Schema.SchemaChangeEvent> watchSchema(Schema.WatchSchemaRequest request) {
+    return delegate.watchSchema(request);
+  }
+
+  /**
+   * Links a single query stream call to its subscriber, forwarding the demand of the subscriber to
+   * the call.
+   */
+  private static class ResponseSubscription
+      implements Flow.Subscription,
+          ClientResponseObserver<QueryOuterClass.Query, QueryOuterClass.Response> {
+
+    private final Flow.Subscriber<? super QueryOuterClass.Response> subscriber;
+
+    // set before the call is started, and only used once it is
+    private ClientCallStreamObserver<QueryOuterClass.Query> requestStream;
+
+    // all following are guarded by this
+
+    private boolean started;
+
+    private boolean cancelled;
+
+    // demand of the subscriber not yet requested from the call
+    private long pending;
+
+    // messages requested from the call but not yet received
+    private long inFlight;
+
+    ResponseSubscription(Flow.Subscriber<? super QueryOuterClass.Response> subscriber) {
+      this.subscriber = subscriber;
+    }
+
+    void start(Channel channel, QueryOuterClass.Query request) {
+      synchronized (this) {
+        if (cancelled) {
+          return;
+        }
+      }
+
+      ClientCalls.asyncServerStreamingCall(
+          channel.newCall(StargateBridgeGrpc.getExecuteQueryStreamMethod(), CallOptions.DEFAULT),
+          request,
+          this);
+
+      synchronized (this) {
+        started = true;
+        if (cancelled) {
+          requestStream.cancel("Cancelled by the subscriber", null);
+        } else {
+          forwardDemand();
+        }
+      }
+    }
+
+    @Override
+    public void beforeStart(ClientCallStreamObserver<QueryOuterClass.Query> requestStream) {
+      // nothing is delivered until the subscriber asks for it
+      requestStream.disableAutoRequestWithInitial(0);
+      this.requestStream = requestStream;
+    }
+
+    @Override
+    public void request(long n) {
+      if (n <= 0) {
+        cancel();
+        subscriber.onError(
+            new IllegalArgumentException("Requested amount must be positive, got " + n));
+        return;
+      }
+
+      synchronized (this) {
+        pending = pending + n < 0 ? Long.MAX_VALUE : pending + n;
+        forwardDemand();
+      }
+    }
+
+    @Override
+    public void cancel() {
+      synchronized (this) {
+        if (cancelled) {
+          return;
+        }
+        cancelled = true;
+        if (started) {
+          requestStream.cancel("Cancelled by the subscriber", null);
+        }
+      }
+    }
+
+    @Override
+    public void onNext(QueryOuterClass.Response value) {
+      synchronized (this) {
+        if (cancelled) {
+          return;
+        }
+        inFlight--;
+        forwardDemand();
+      }
+      subscriber.onNext(value);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      synchronized (this) {
+        if (cancelled) {
+          return;
+        }
+        cancelled = true;
+      }
+      subscriber.onError(t);
+    }
+
+    @Override
+    public void onCompleted() {
+      synchronized (this) {
+        if (cancelled) {
+          return;
+        }
+        cancelled = true;
+      }
+      subscriber.onComplete();
+    }
+
+    // gRPC counts the requested messages in an int, so the demand is forwarded in parts
+    private void forwardDemand() {
+      if (!started || cancelled) {
+        return;
+      }
+      int request = (int) Math.min(pending, Integer.MAX_VALUE - inFlight);
+      if (request > 0) {
+        pending -= request;
+        inFlight += request;
+        requestStream.request(request);
+      }
+    }
+  }
+}
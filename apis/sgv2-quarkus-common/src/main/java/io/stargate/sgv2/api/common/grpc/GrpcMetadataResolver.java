@@ -5,6 +5,7 @@ import io.stargate.sgv2.api.common.StargateRequestInfo;
 import io.stargate.sgv2.api.common.config.GrpcMetadataConfig;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import java.util.Optional;
 
 /**
  * Component responsible for resolving needed Metadata to be passed to the Bridge, based on the
@@ -53,9 +54,21 @@ public class GrpcMetadataResolver {
    * @return Metadata
    */
   public Metadata getMetadata(StargateRequestInfo requestInfo) {
+    return getMetadata(requestInfo.getTenantId(), requestInfo.getCassandraToken());
+  }
+
+  /**
+   * Returns GRPC metadata for the given tenant and token, including the {@link #defaultMetadata}.
+   * Useful for calls that are not executed in the context of a request.
+   *
+   * @param tenantId Tenant ID, if any.
+   * @param cassandraToken Cassandra token, if any.
+   * @return Metadata
+   */
+  public Metadata getMetadata(Optional<String> tenantId, Optional<String> cassandraToken) {
     Metadata metadata = new Metadata();
-    requestInfo.getTenantId().ifPresent(t -> metadata.put(tenantIdKey, t));
-    requestInfo.getCassandraToken().ifPresent(t -> metadata.put(cassandraTokenKey, t));
+    tenantId.ifPresent(t -> metadata.put(tenantIdKey, t));
+    cassandraToken.ifPresent(t -> metadata.put(cassandraTokenKey, t));
     metadata.merge(defaultMetadata);
     return metadata;
   }
@@ -18,12 +18,14 @@
 package io.stargate.sgv2.api.common.grpc;
 
 import io.grpc.StatusRuntimeException;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import io.stargate.bridge.proto.QueryOuterClass;
 import io.stargate.bridge.proto.Schema;
 import io.stargate.bridge.proto.StargateBridge;
 import io.stargate.sgv2.api.common.config.GrpcConfig;
 import io.stargate.sgv2.api.common.grpc.retries.GrpcRetryPredicate;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * An implementation of the {@link StargateBridge} that executes retries based on the
@@ -52,6 +54,34 @@ public class RetriableStargateBridge implements StargateBridge {
     return withRetries(delegate.executeQuery(request));
   }
 
+  @Override
+  public Multi<QueryOuterClass.Response> executeQueryStream(QueryOuterClass.Query request) {
+    // if disabled do nothing
+    if (!enabled) {
+      return delegate.executeQueryStream(request);
+    }
+
+    // only retry if no page was emitted yet, otherwise the subscriber would see duplicates
+    return Multi.createFrom()
+        .deferred(
+            () -> {
+              AtomicBoolean emitted = new AtomicBoolean(false);
+              return delegate
+                  .executeQueryStream(request)
+                  .onItem()
+                  .invoke(() -> emitted.set(true))
+                  .onFailure(
+                      t -> {
+                        if (!emitted.get() && t instanceof StatusRuntimeException sre) {
+                          return predicate.test(sre);
+                        }
+                        return false;
+                      })
+                  .retry()
+                  .atMost(maxAttempts);
+            });
+  }
+
   @Override
   public Uni<Schema.QueryWithSchemaResponse> executeQueryWithSchema(
       Schema.QueryWithSchema request) {
@@ -80,6 +110,12 @@ public class RetriableStargateBridge implements StargateBridge {
     return withRetries(delegate.getSupportedFeatures(request));
   }
 
+  @Override
+  public Multi<Schema.SchemaChangeEvent> watchSchema(Schema.WatchSchemaRequest request) {
+    // long-lived, the subscriber is responsible for re-subscribing
+    return delegate.watchSchema(request);
+  }
+
   private <T> Uni<T> withRetries(Uni<T> source) {
     // if disabled do nothing
     if (!enabled) {
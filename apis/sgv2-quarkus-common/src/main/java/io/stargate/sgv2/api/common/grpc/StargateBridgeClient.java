@@ -15,6 +15,7 @@
  */
 package io.stargate.sgv2.api.common.grpc;
 
+import io.smallrye.mutiny.Multi;
 import io.stargate.bridge.proto.QueryOuterClass.Batch;
 import io.stargate.bridge.proto.QueryOuterClass.Query;
 import io.stargate.bridge.proto.QueryOuterClass.Response;
@@ -49,6 +50,21 @@ public interface StargateBridgeClient {
    */
   CompletionStage<Response> executeQueryAsync(Query query);
 
+  /**
+   * Executes a CQL query, and streams all of its result pages.
+   *
+   * <p>Each emitted {@link Response} contains one page. The bridge fetches the following pages on
+   * its own, which saves the round trip between the API and the bridge per page. Every page is
+   * still a separate query execution on the bridge, including its authorization.
+   *
+   * <p>The pages are requested from the bridge as they are requested by the subscriber, and the
+   * bridge only fetches further pages while the gRPC transport accepts them. So at most a transport
+   * window of pages is read ahead of the demand, and cancelling stops the fetching.
+   *
+   * <p>Authorization is automatically handled by the persistence backend.
+   */
+  Multi<Response> executeQueryStream(Query query);
+
   /**
    * Builds a CQL query based on the definition of a table, and executes it.
    *
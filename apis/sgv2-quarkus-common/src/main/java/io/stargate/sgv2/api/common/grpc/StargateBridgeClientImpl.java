@@ -16,6 +16,7 @@
  */
 package io.stargate.sgv2.api.common.grpc;
 
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import io.stargate.bridge.proto.QueryOuterClass;
 import io.stargate.bridge.proto.Schema;
@@ -45,6 +46,11 @@ public class StargateBridgeClientImpl implements StargateBridgeClient {
     return requestInfo.getStargateBridge().executeQuery(query).subscribeAsCompletionStage();
   }
 
+  @Override
+  public Multi<QueryOuterClass.Response> executeQueryStream(QueryOuterClass.Query query) {
+    return requestInfo.getStargateBridge().executeQueryStream(query);
+  }
+
   @Override
   public CompletionStage<QueryOuterClass.Response> executeQueryAsync(
       String keyspaceName,
@@ -12,6 +12,7 @@ import io.quarkus.arc.Arc;
 import io.quarkus.arc.InjectableBean;
 import io.quarkus.arc.InjectableContext;
 import io.quarkus.grpc.GlobalInterceptor;
+import io.stargate.bridge.proto.StargateBridgeGrpc;
 import io.stargate.sgv2.api.common.StargateRequestInfo;
 import io.stargate.sgv2.api.common.config.GrpcConfig;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -59,8 +60,9 @@ public class StargateBridgeInterceptor implements ClientInterceptor {
       metadata = metadataResolver.getMetadata(requestInfo);
     }
 
-    // handle deadlines
-    CallOptions callOptionsFinal = callOptionsWithDeadline(callOptions);
+    // handle deadlines, the schema watch is long-lived by design
+    CallOptions callOptionsFinal =
+        isWatchSchema(method) ? callOptions : callOptionsWithDeadline(callOptions);
 
     // call with extra metadata and final options
     return new HeaderAttachingClientCall<>(next.newCall(method, callOptionsFinal), metadata);
@@ -76,6 +78,12 @@ public class StargateBridgeInterceptor implements ClientInterceptor {
     }
   }
 
+  private boolean isWatchSchema(MethodDescriptor<?, ?> method) {
+    return Objects.equals(
+        StargateBridgeGrpc.getWatchSchemaMethod().getFullMethodName(),
+        method.getFullMethodName());
+  }
+
   // ensures contextual instance list contains StargateRequestInfo
   private boolean hasStargateRequestBean(Map<InjectableBean<?>, Object> contextualInstances) {
     for (InjectableBean<?> bean : contextualInstances.keySet()) {
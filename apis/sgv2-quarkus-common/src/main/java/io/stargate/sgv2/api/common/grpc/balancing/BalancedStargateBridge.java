@@ -0,0 +1,236 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.sgv2.api.common.grpc.balancing;
+
+import io.grpc.Channel;
+import io.grpc.ClientInterceptors;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.Cancellable;
+import io.stargate.bridge.proto.QueryOuterClass;
+import io.stargate.bridge.proto.Schema;
+import io.stargate.bridge.proto.StargateBridge;
+import io.stargate.bridge.proto.StargateBridgeClient;
+import io.stargate.sgv2.api.common.config.GrpcConfig;
+import io.stargate.sgv2.api.common.grpc.FlowControlledStargateBridge;
+import io.stargate.sgv2.api.common.grpc.StargateBridgeInterceptor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link StargateBridge} that balances the calls between the bridge endpoints defined in {@link
+ * GrpcConfig.Balancing}, opening the configured amount of channels to each of them.
+ *
+ * <p>The endpoint is selected on subscription, so re-subscribing (for example when retrying) can
+ * pick another endpoint. If enabled, the endpoints are periodically pinged with a <code>
+ * GetSupportedFeatures</code> call, and excluded from the balancing while they fail.
+ *
+ * <p>If no endpoints are configured, this bean is not {@link #isEnabled() enabled} and must not be
+ * used.
+ */
+@ApplicationScoped
+public class BalancedStargateBridge implements StargateBridge {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BalancedStargateBridge.class);
+
+  @Inject GrpcConfig grpcConfig;
+
+  @Inject MeterRegistry meterRegistry;
+
+  // our channels are not managed by Quarkus, thus global interceptors must be added explicitly
+  @Inject StargateBridgeInterceptor interceptor;
+
+  private final List<ManagedChannel> managedChannels = new ArrayList<>();
+
+  private EndpointBalancer balancer;
+
+  private Cancellable healthCheck;
+
+  @PostConstruct
+  void init() {
+    GrpcConfig.Balancing config = grpcConfig.balancing();
+    List<String> addresses = config.endpoints().orElse(List.of());
+    if (addresses.isEmpty()) {
+      return;
+    }
+
+    List<BridgeEndpoint> endpoints = new ArrayList<>(addresses.size());
+    for (String address : addresses) {
+      List<StargateBridge> channels = new ArrayList<>(config.channelsPerEndpoint());
+      for (int i = 0; i < config.channelsPerEndpoint(); i++) {
+        channels.add(createChannel(address));
+      }
+      endpoints.add(
+          new BridgeEndpoint(
+              address, channels, config.healthCheck().failureThreshold(), meterRegistry));
+    }
+    balancer = new EndpointBalancer(endpoints, config.strategy());
+    LOG.info(
+        "Balancing bridge calls between {} using {} channel(s) each, strategy {}",
+        addresses,
+        config.channelsPerEndpoint(),
+        config.strategy());
+
+    if (config.healthCheck().enabled()) {
+      Duration timeout = config.healthCheck().timeout();
+      healthCheck =
+          Multi.createFrom()
+              .ticks()
+              .every(config.healthCheck().interval())
+              .subscribe()
+              .with(tick -> balancer.getEndpoints().forEach(e -> ping(e, timeout)));
+    }
+  }
+
+  @PreDestroy
+  void stop() {
+    Cancellable current = healthCheck;
+    if (null != current) {
+      current.cancel();
+    }
+    for (ManagedChannel channel : managedChannels) {
+      channel.shutdown();
+    }
+    for (ManagedChannel channel : managedChannels) {
+      try {
+        if (!channel.awaitTermination(5, TimeUnit.SECONDS)) {
+          channel.shutdownNow();
+        }
+      } catch (InterruptedException e) {
+        channel.shutdownNow();
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /** @return If bridge endpoints are configured, and thus this bridge can be used. */
+  public boolean isEnabled() {
+    return null != balancer;
+  }
+
+  // each channel has its own HTTP/2 connection
+  private StargateBridge createChannel(String address) {
+    int separator = address.lastIndexOf(':');
+    if (separator <= 0) {
+      throw new IllegalArgumentException(
+          "Bridge endpoint must be in the host:port format, got " + address);
+    }
+    String host = address.substring(0, separator);
+    int port = Integer.parseInt(address.substring(separator + 1));
+    ManagedChannel managedChannel =
+        ManagedChannelBuilder.forAddress(host, port).usePlaintext().build();
+    managedChannels.add(managedChannel);
+    Channel channel = ClientInterceptors.intercept(managedChannel, interceptor);
+    // the client generated by Quarkus, not our StargateBridgeClient
+    return new FlowControlledStargateBridge(
+        new StargateBridgeClient("bridge", channel, (name, stub) -> stub), channel);
+  }
+
+  private void ping(BridgeEndpoint endpoint, Duration timeout) {
+    endpoint
+        .nextChannel()
+        .getSupportedFeatures(Schema.SupportedFeaturesRequest.getDefaultInstance())
+        .ifNoItem()
+        .after(timeout)
+        .fail()
+        .subscribe()
+        .with(
+            response -> {
+              if (endpoint.pingSucceeded()) {
+                LOG.info("Bridge endpoint {} is healthy again", endpoint.getAddress());
+              }
+            },
+            failure -> {
+              if (endpoint.pingFailed()) {
+                LOG.warn(
+                    "Bridge endpoint {} is unhealthy, excluding it from balancing",
+                    endpoint.getAddress(),
+                    failure);
+              }
+            });
+  }
+
+  private EndpointBalancer balancer() {
+    if (null == balancer) {
+      throw new IllegalStateException("No bridge endpoints are configured for balancing.");
+    }
+    return balancer;
+  }
+
+  private <T> Uni<T> balanced(Function<StargateBridge, Uni<T>> call) {
+    return Uni.createFrom().deferred(() -> balancer().select().call(call));
+  }
+
+  @Override
+  public Uni<QueryOuterClass.Response> executeQuery(QueryOuterClass.Query request) {
+    return balanced(bridge -> bridge.executeQuery(request));
+  }
+
+  @Override
+  public Multi<QueryOuterClass.Response> executeQueryStream(QueryOuterClass.Query request) {
+    return Multi.createFrom()
+        .deferred(() -> balancer().select().stream(bridge -> bridge.executeQueryStream(request)));
+  }
+
+  @Override
+  public Uni<Schema.QueryWithSchemaResponse> executeQueryWithSchema(
+      Schema.QueryWithSchema request) {
+    return balanced(bridge -> bridge.executeQueryWithSchema(request));
+  }
+
+  @Override
+  public Uni<QueryOuterClass.Response> executeBatch(QueryOuterClass.Batch request) {
+    return balanced(bridge -> bridge.executeBatch(request));
+  }
+
+  @Override
+  public Uni<Schema.CqlKeyspaceDescribe> describeKeyspace(Schema.DescribeKeyspaceQuery request) {
+    return balanced(bridge -> bridge.describeKeyspace(request));
+  }
+
+  @Override
+  public Uni<Schema.AuthorizeSchemaReadsResponse> authorizeSchemaReads(
+      Schema.AuthorizeSchemaReadsRequest request) {
+    return balanced(bridge -> bridge.authorizeSchemaReads(request));
+  }
+
+  @Override
+  public Uni<Schema.SupportedFeaturesResponse> getSupportedFeatures(
+      Schema.SupportedFeaturesRequest request) {
+    return balanced(bridge -> bridge.getSupportedFeatures(request));
+  }
+
+  @Override
+  public Multi<Schema.SchemaChangeEvent> watchSchema(Schema.WatchSchemaRequest request) {
+    // long-lived, so not counted as outstanding nor timed
+    return Multi.createFrom()
+        .deferred(() -> balancer().select().nextChannel().watchSchema(request));
+  }
+}
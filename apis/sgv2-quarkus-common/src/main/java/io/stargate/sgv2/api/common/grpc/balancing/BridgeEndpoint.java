@@ -0,0 +1,171 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.sgv2.api.common.grpc.balancing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.stargate.bridge.proto.StargateBridge;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * A single bridge endpoint, with one or more channels to it. Keeps track of the calls in progress
+ * and of the health of the endpoint, and records the latency of the calls.
+ */
+public class BridgeEndpoint {
+
+  /** Metric name for the latency of the calls to an endpoint. */
+  public static final String CALLS_METRIC = "grpc.bridge.endpoint.calls";
+
+  /** Metric name for the amount of calls in progress to an endpoint. */
+  public static final String OUTSTANDING_METRIC = "grpc.bridge.endpoint.outstanding";
+
+  /** Metric name for the health of an endpoint, <code>1</code> if healthy. */
+  public static final String HEALTHY_METRIC = "grpc.bridge.endpoint.healthy";
+
+  private final String address;
+
+  private final List<StargateBridge> channels;
+
+  private final AtomicInteger nextChannel = new AtomicInteger();
+
+  private final AtomicInteger outstanding = new AtomicInteger();
+
+  private final AtomicInteger failedPings = new AtomicInteger();
+
+  private final int failureThreshold;
+
+  private final Timer successTimer;
+
+  private final Timer errorTimer;
+
+  private volatile boolean healthy = true;
+
+  /**
+   * @param address The address of the endpoint, used for the metric tags.
+   * @param channels The bridges of each channel to the endpoint, must not be empty.
+   * @param failureThreshold Amount of consecutive failed pings after which the endpoint is
+   *     unhealthy.
+   * @param meterRegistry The registry to report the metrics to.
+   */
+  public BridgeEndpoint(
+      String address,
+      List<StargateBridge> channels,
+      int failureThreshold,
+      MeterRegistry meterRegistry) {
+    if (channels.isEmpty()) {
+      throw new IllegalArgumentException("At least one channel is required for " + address);
+    }
+    this.address = address;
+    this.channels = List.copyOf(channels);
+    this.failureThreshold = failureThreshold;
+    this.successTimer =
+        Timer.builder(CALLS_METRIC)
+            .tag("endpoint", address)
+            .tag("error", "false")
+            .register(meterRegistry);
+    this.errorTimer =
+        Timer.builder(CALLS_METRIC)
+            .tag("endpoint", address)
+            .tag("error", "true")
+            .register(meterRegistry);
+    Tags tags = Tags.of("endpoint", address);
+    meterRegistry.gauge(OUTSTANDING_METRIC, tags, outstanding);
+    meterRegistry.gauge(HEALTHY_METRIC, tags, this, endpoint -> endpoint.healthy ? 1 : 0);
+  }
+
+  /** @return The address of the endpoint. */
+  public String getAddress() {
+    return address;
+  }
+
+  /** @return Amount of calls in progress to this endpoint. */
+  public int getOutstanding() {
+    return outstanding.get();
+  }
+
+  /** @return If the endpoint is healthy, meaning that it should receive calls. */
+  public boolean isHealthy() {
+    return healthy;
+  }
+
+  /** @return The bridge of the next channel to use, in turns. */
+  StargateBridge nextChannel() {
+    return channels.get(Math.floorMod(nextChannel.getAndIncrement(), channels.size()));
+  }
+
+  /**
+   * Executes a call on the next channel of this endpoint. The call counts as outstanding from now
+   * until its termination, so this must only be invoked on subscription.
+   */
+  <T> Uni<T> call(Function<StargateBridge, Uni<T>> call) {
+    StargateBridge channel = nextChannel();
+    outstanding.incrementAndGet();
+    long start = System.nanoTime();
+    return call.apply(channel)
+        .onTermination()
+        .invoke((item, failure, cancelled) -> terminated(start, failure != null));
+  }
+
+  /** Same as {@link #call(Function)}, for server streaming calls. */
+  <T> Multi<T> stream(Function<StargateBridge, Multi<T>> call) {
+    StargateBridge channel = nextChannel();
+    outstanding.incrementAndGet();
+    long start = System.nanoTime();
+    return call.apply(channel)
+        .onTermination()
+        .invoke((failure, cancelled) -> terminated(start, failure != null));
+  }
+
+  private void terminated(long start, boolean error) {
+    outstanding.decrementAndGet();
+    Timer timer = error ? errorTimer : successTimer;
+    timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Records a successful health check ping, the endpoint is healthy again.
+   *
+   * @return If the endpoint was unhealthy before.
+   */
+  boolean pingSucceeded() {
+    failedPings.set(0);
+    boolean wasHealthy = healthy;
+    healthy = true;
+    return !wasHealthy;
+  }
+
+  /**
+   * Records a failed health check ping, possibly marking the endpoint unhealthy.
+   *
+   * @return If the endpoint was healthy before, and is not anymore.
+   */
+  boolean pingFailed() {
+    if (failedPings.incrementAndGet() >= failureThreshold) {
+      boolean wasHealthy = healthy;
+      healthy = false;
+      return wasHealthy;
+    }
+    return false;
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.sgv2.api.common.grpc.balancing;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Selects the {@link BridgeEndpoint} for each call, skipping the unhealthy ones. If no endpoint is
+ * healthy, all of them are considered, so that calls fail with the actual error of the bridge.
+ */
+public class EndpointBalancer {
+
+  /** Strategy that uses the endpoints in turns. */
+  public static final String ROUND_ROBIN = "round-robin";
+
+  /** Strategy that uses the endpoint with the fewest calls in progress. */
+  public static final String LEAST_OUTSTANDING = "least-outstanding";
+
+  private final List<BridgeEndpoint> endpoints;
+
+  private final boolean leastOutstanding;
+
+  private final AtomicInteger next = new AtomicInteger();
+
+  /**
+   * @param endpoints The endpoints to balance between, must not be empty.
+   * @param strategy {@link #ROUND_ROBIN} or {@link #LEAST_OUTSTANDING}.
+   */
+  public EndpointBalancer(List<BridgeEndpoint> endpoints, String strategy) {
+    if (endpoints.isEmpty()) {
+      throw new IllegalArgumentException("At least one bridge endpoint is required");
+    }
+    this.endpoints = List.copyOf(endpoints);
+    this.leastOutstanding =
+        switch (strategy) {
+          case ROUND_ROBIN -> false;
+          case LEAST_OUTSTANDING -> true;
+          default -> throw new IllegalArgumentException("Unknown balancing strategy " + strategy);
+        };
+  }
+
+  /** @return All the endpoints. */
+  public List<BridgeEndpoint> getEndpoints() {
+    return endpoints;
+  }
+
+  /** @return The endpoint to use for the next call. */
+  public BridgeEndpoint select() {
+    int size = endpoints.size();
+    // the starting point rotates in both strategies, so that ties are spread evenly
+    int start = next.getAndIncrement();
+    BridgeEndpoint selected = null;
+    for (int i = 0; i < size; i++) {
+      BridgeEndpoint endpoint = endpoints.get(Math.floorMod(start + i, size));
+      if (!endpoint.isHealthy()) {
+        continue;
+      }
+      if (!leastOutstanding) {
+        return endpoint;
+      }
+      if (null == selected || endpoint.getOutstanding() < selected.getOutstanding()) {
+        selected = endpoint;
+      }
+    }
+
+    if (null != selected) {
+      return selected;
+    }
+
+    // nothing healthy, fall back to all endpoints
+    return endpoints.get(Math.floorMod(start, size));
+  }
+}
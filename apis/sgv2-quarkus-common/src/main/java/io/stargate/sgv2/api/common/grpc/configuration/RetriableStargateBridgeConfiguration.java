@@ -17,10 +17,13 @@
 
 package io.stargate.sgv2.api.common.grpc.configuration;
 
+import io.grpc.Channel;
 import io.quarkus.grpc.GrpcClient;
 import io.stargate.bridge.proto.StargateBridge;
 import io.stargate.sgv2.api.common.config.GrpcConfig;
+import io.stargate.sgv2.api.common.grpc.FlowControlledStargateBridge;
 import io.stargate.sgv2.api.common.grpc.RetriableStargateBridge;
+import io.stargate.sgv2.api.common.grpc.balancing.BalancedStargateBridge;
 import io.stargate.sgv2.api.common.grpc.qualifier.Retriable;
 import io.stargate.sgv2.api.common.grpc.retries.GrpcRetryPredicate;
 import jakarta.enterprise.inject.Instance;
@@ -32,8 +35,16 @@ public class RetriableStargateBridgeConfiguration {
   @Retriable
   RetriableStargateBridge retriableStargateBridge(
       @GrpcClient("bridge") StargateBridge stargateBridge,
+      @GrpcClient("bridge") Channel bridgeChannel,
+      BalancedStargateBridge balancedStargateBridge,
       Instance<GrpcRetryPredicate> predicate,
       GrpcConfig grpcConfig) {
-    return new RetriableStargateBridge(stargateBridge, predicate.get(), grpcConfig);
+    // balance between multiple endpoints if configured, otherwise use the single client
+    // the channel managed by Quarkus already includes the global interceptors
+    StargateBridge delegate =
+        balancedStargateBridge.isEnabled()
+            ? balancedStargateBridge
+            : new FlowControlledStargateBridge(stargateBridge, bridgeChannel);
+    return new RetriableStargateBridge(delegate, predicate.get(), grpcConfig);
   }
 }
@@ -61,6 +61,8 @@ public class SchemaManager {
 
   @Inject StargateRequestInfo requestInfo;
 
+  @Inject SchemaWatcher schemaWatcher;
+
   /**
    * Get the keyspace from the bridge. Note that this method is not doing any authorization. The
    * check that the keyspace has correct hash on the bridge will be done.
@@ -667,8 +669,9 @@ public class SchemaManager {
               Boolean cached = tuple.getItem2();
 
               // if it was not cached before, we can simply return
-              // same if we don't want to validate hash
-              if (!cached || !validateHash) {
+              // same if we don't want to validate hash,
+              // or if the schema changes are pushed to us by the bridge
+              if (!cached || !validateHash || schemaWatcher.isWatching(tenantId)) {
                 return Uni.createFrom().item(keyspace);
               }
 
@@ -803,7 +806,30 @@ public class SchemaManager {
         Schema.DescribeKeyspaceQuery.newBuilder().setKeyspaceName(keyspaceName).build();
 
     // memoize
-    return bridge.describeKeyspace(request).memoize().indefinitely();
+    return describeKeyspace(keyspaceName, tenantId, bridge, request).memoize().indefinitely();
+  }
+
+  // describes the keyspace, and does it again if it was invalidated in the meantime,
+  // as the first response might then be older than the change that caused the invalidation
+  private Uni<Schema.CqlKeyspaceDescribe> describeKeyspace(
+      String keyspaceName,
+      Optional<String> tenantId,
+      StargateBridge bridge,
+      Schema.DescribeKeyspaceQuery request) {
+    return Uni.createFrom()
+        .deferred(
+            () -> {
+              long generation = schemaWatcher.generation(keyspaceName, tenantId);
+              return bridge
+                  .describeKeyspace(request)
+                  .flatMap(
+                      keyspace -> {
+                        if (schemaWatcher.generation(keyspaceName, tenantId) == generation) {
+                          return Uni.createFrom().item(keyspace);
+                        }
+                        return describeKeyspace(keyspaceName, tenantId, bridge, request);
+                      });
+            });
   }
 
   // simple utility to cache given keyspace
@@ -0,0 +1,203 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.sgv2.api.common.schema;
+
+import io.grpc.Metadata;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.cache.CompositeCacheKey;
+import io.quarkus.grpc.GrpcClient;
+import io.quarkus.grpc.GrpcClientUtils;
+import io.quarkus.runtime.Startup;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.Cancellable;
+import io.stargate.bridge.proto.Schema;
+import io.stargate.bridge.proto.StargateBridge;
+import io.stargate.sgv2.api.common.config.SchemaConfig;
+import io.stargate.sgv2.api.common.grpc.GrpcMetadataResolver;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the <code>keyspace-cache</code> of the {@link SchemaManager} up to date, based on the
+ * schema changes pushed by the bridge.
+ *
+ * <p>The watch is authenticated with the configured {@link SchemaConfig.WatchConfig#token()}, and
+ * only covers the keyspaces of the configured {@link SchemaConfig.WatchConfig#tenantId()}. While
+ * the watch is established (see {@link #isWatching(Optional)}), cached keyspaces of that tenant are
+ * guaranteed to be invalidated when they change or are dropped, as the bridge pushes the changes of
+ * all keyspaces of the tenant, regardless of what the token can read. So the {@link SchemaManager}
+ * can skip the hash validation against the bridge. If the watch is lost, the hash validation is
+ * used again until the watch is re-established.
+ */
+@Startup
+@ApplicationScoped
+public class SchemaWatcher {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SchemaWatcher.class);
+
+  @Inject
+  @CacheName("keyspace-cache")
+  Cache keyspaceCache;
+
+  @Inject SchemaConfig schemaConfig;
+
+  @Inject GrpcMetadataResolver metadataResolver;
+
+  // note that here we explicitly want the non-retriable bridge, we re-subscribe ourselves
+  @GrpcClient("bridge")
+  StargateBridge bridge;
+
+  // source of the generations, incremented on every invalidation
+  private final AtomicLong invalidations = new AtomicLong();
+
+  // generation of the last invalidation of each keyspace
+  private final Map<String, Long> keyspaceGenerations = new ConcurrentHashMap<>();
+
+  // generation of the last invalidation of all keyspaces
+  private volatile long allKeyspacesGeneration;
+
+  private volatile boolean watching;
+
+  private volatile boolean stopped;
+
+  private volatile Cancellable subscription;
+
+  @PostConstruct
+  void start() {
+    SchemaConfig.WatchConfig config = schemaConfig.watch();
+    if (!config.enabled()) {
+      return;
+    }
+    if (config.token().isEmpty()) {
+      LOG.info("No token configured for the schema watch, cached keyspaces will be validated");
+      return;
+    }
+    watch();
+  }
+
+  @PreDestroy
+  void stop() {
+    stopped = true;
+    watching = false;
+    Cancellable current = subscription;
+    if (null != current) {
+      current.cancel();
+    }
+  }
+
+  /**
+   * @param tenantId Tenant of the keyspace
+   * @return If the schema changes of the given tenant are currently being watched, meaning that its
+   *     cached keyspaces do not need to be validated against the bridge.
+   */
+  public boolean isWatching(Optional<String> tenantId) {
+    return watching && Objects.equals(tenantId, schemaConfig.watch().tenantId());
+  }
+
+  /**
+   * Returns the generation of a keyspace, which changes every time the keyspace is invalidated.
+   * When the generation changed while fetching a keyspace, the fetched keyspace might be stale and
+   * should not be cached.
+   *
+   * @param keyspaceName Keyspace name
+   * @param tenantId Tenant of the keyspace
+   * @return Current generation
+   */
+  public long generation(String keyspaceName, Optional<String> tenantId) {
+    if (!Objects.equals(tenantId, schemaConfig.watch().tenantId())) {
+      return 0L;
+    }
+    long keyspaceGeneration = keyspaceGenerations.getOrDefault(keyspaceName, 0L);
+    return Math.max(keyspaceGeneration, allKeyspacesGeneration);
+  }
+
+  private void watch() {
+    if (stopped) {
+      return;
+    }
+
+    SchemaConfig.WatchConfig config = schemaConfig.watch();
+    Metadata metadata = metadataResolver.getMetadata(config.tenantId(), config.token());
+    subscription =
+        GrpcClientUtils.attachHeaders(bridge, metadata)
+            .watchSchema(Schema.WatchSchemaRequest.getDefaultInstance())
+            .onItem()
+            .call(this::onEvent)
+            .subscribe()
+            .with(event -> {}, this::onFailure, this::onCompletion);
+  }
+
+  private Uni<Void> onEvent(Schema.SchemaChangeEvent event) {
+    if (event.hasSubscribed()) {
+      // anything cached so far might have missed changes, start from scratch
+      LOG.info("Watching schema changes pushed by the bridge");
+      allKeyspacesGeneration = invalidations.incrementAndGet();
+      return keyspaceCache.invalidateAll().invoke(() -> watching = true);
+    } else {
+      return invalidate(event.getKeyspaceName());
+    }
+  }
+
+  // the cache is keyed by the keyspace name used by the client and the optional tenant,
+  // the bridge pushes the names without the tenant prefix
+  private Uni<Void> invalidate(String keyspaceName) {
+    keyspaceGenerations.put(keyspaceName, invalidations.incrementAndGet());
+    CompositeCacheKey cacheKey =
+        new CompositeCacheKey(keyspaceName, schemaConfig.watch().tenantId());
+    return keyspaceCache.invalidate(cacheKey);
+  }
+
+  private void onFailure(Throwable throwable) {
+    watching = false;
+    LOG.warn(
+        "Lost the schema watch, will fall back to validating keyspaces against the bridge: {}",
+        throwable.getMessage());
+    reconnect();
+  }
+
+  private void onCompletion() {
+    watching = false;
+    LOG.warn("Schema watch completed by the bridge, will fall back to validating keyspaces");
+    reconnect();
+  }
+
+  private void reconnect() {
+    if (stopped) {
+      return;
+    }
+
+    subscription =
+        Uni.createFrom()
+            .voidItem()
+            .onItem()
+            .delayIt()
+            .by(schemaConfig.watch().reconnectDelay())
+            .subscribe()
+            .with(v -> watch());
+  }
+}
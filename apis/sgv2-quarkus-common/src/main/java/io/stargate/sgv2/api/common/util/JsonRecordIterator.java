@@ -0,0 +1,174 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.sgv2.api.common.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the records of a bulk JSON payload on demand: a root-level array is unwrapped, otherwise
+ * each non-blank line is a record. A malformed line only fails its own record, but an array can not
+ * be read past a syntax error, so its first malformed element ends the records.
+ *
+ * <p>Reads are blocking, and only I/O errors are thrown (as {@link UncheckedIOException}).
+ *
+ * @param <T> the type the records are read as.
+ */
+public abstract class JsonRecordIterator<T> implements Iterator<JsonRecordIterator.JsonRecord<T>> {
+
+  /**
+   * A record of the payload, or the reason why it could not be parsed. The value of a valid record
+   * can be {@code null} if the record is a JSON {@code null}.
+   */
+  public record JsonRecord<T>(T value, JsonProcessingException error) {}
+
+  private JsonRecord<T> next;
+
+  /**
+   * @param reader the reader for the type of the records.
+   * @param payload the payload, read as UTF-8.
+   * @return an iterator over the records of the payload.
+   */
+  public static <T> JsonRecordIterator<T> of(ObjectReader reader, InputStream payload) {
+    try {
+      BufferedReader lines =
+          new BufferedReader(new InputStreamReader(payload, StandardCharsets.UTF_8));
+      if (startsWithArray(lines)) {
+        return new ArrayRecords<>(reader.readValues(lines));
+      } else {
+        ObjectReader lineReader = reader.with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+        return new LineRecords<>(lineReader, lines);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Same as {@link #of}, but emits the records one by one, with the blocking reads done on the
+   * worker pool.
+   */
+  public static <T> Multi<JsonRecord<T>> stream(ObjectReader reader, InputStream payload) {
+    return Multi.createFrom()
+        .<JsonRecord<T>>iterable(() -> of(reader, payload))
+        .runSubscriptionOn(Infrastructure.getDefaultWorkerPool());
+  }
+
+  // whether the first non-whitespace character is the start of an array, consumes only whitespace
+  private static boolean startsWithArray(BufferedReader reader) throws IOException {
+    while (true) {
+      reader.mark(1);
+      int c = reader.read();
+      if (c == -1) {
+        return false;
+      }
+      if (!Character.isWhitespace(c)) {
+        reader.reset();
+        return c == '[';
+      }
+    }
+  }
+
+  // returns null when there are no more records
+  protected abstract JsonRecord<T> read() throws IOException;
+
+  @Override
+  public boolean hasNext() {
+    if (next == null) {
+      try {
+        next = read();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    return next != null;
+  }
+
+  @Override
+  public JsonRecord<T> next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    JsonRecord<T> record = next;
+    next = null;
+    return record;
+  }
+
+  // the elements of a root-level array, which can not be read past a syntax error
+  private static class ArrayRecords<T> extends JsonRecordIterator<T> {
+
+    private final MappingIterator<T> values;
+    private boolean failed;
+
+    ArrayRecords(MappingIterator<T> values) {
+      this.values = values;
+    }
+
+    @Override
+    protected JsonRecord<T> read() throws IOException {
+      if (failed) {
+        return null;
+      }
+      try {
+        return values.hasNextValue() ? new JsonRecord<>(values.nextValue(), null) : null;
+      } catch (JsonProcessingException e) {
+        failed = true;
+        return new JsonRecord<>(null, e);
+      }
+    }
+  }
+
+  // one record per non-blank line, so that a malformed line only fails its own record
+  private static class LineRecords<T> extends JsonRecordIterator<T> {
+
+    private final ObjectReader reader;
+    private final BufferedReader lines;
+
+    LineRecords(ObjectReader reader, BufferedReader lines) {
+      this.reader = reader;
+      this.lines = lines;
+    }
+
+    @Override
+    protected JsonRecord<T> read() throws IOException {
+      String line;
+      do {
+        line = lines.readLine();
+      } while (line != null && line.isBlank());
+      if (line == null) {
+        return null;
+      }
+
+      try {
+        return new JsonRecord<>(reader.readValue(line), null);
+      } catch (JsonProcessingException e) {
+        return new JsonRecord<>(null, e);
+      }
+    }
+  }
+}
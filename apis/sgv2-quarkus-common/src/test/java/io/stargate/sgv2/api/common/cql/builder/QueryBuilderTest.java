@@ -353,6 +353,17 @@ public class QueryBuilderTest {
       arguments(
           new QueryBuilder().select().count("a").from("ks", "tbl").limit().build().getCql(),
           "SELECT COUNT(a) FROM ks.tbl LIMIT ?"),
+      arguments(
+          new QueryBuilder()
+              .select()
+              .from("ks", "tbl")
+              .where(BuiltCondition.of(BuiltCondition.LHS.token("k"), Predicate.GT, Term.marker()))
+              .where(
+                  BuiltCondition.of(
+                      BuiltCondition.LHS.token("k", "Other"), Predicate.LTE, Term.marker()))
+              .build()
+              .getCql(),
+          "SELECT * FROM ks.tbl WHERE TOKEN(k) > ? AND TOKEN(k, \"Other\") <= ?"),
     };
   }
 
@@ -0,0 +1,107 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.stargate.sgv2.api.common.grpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+
+import io.grpc.stub.ServerCallStreamObserver;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import io.stargate.bridge.proto.QueryOuterClass;
+import io.stargate.sgv2.api.common.grpc.qualifier.Retriable;
+import io.stargate.sgv2.common.bridge.BridgeTest;
+import io.stargate.sgv2.common.testprofiles.NoGlobalResourcesTestProfile;
+import jakarta.inject.Inject;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+@TestProfile(NoGlobalResourcesTestProfile.Impl.class)
+class FlowControlledStargateBridgeTest extends BridgeTest {
+
+  @Retriable @Inject RetriableStargateBridge bridge;
+
+  @Test
+  public void streamFollowsDemand() throws Exception {
+    QueryOuterClass.Response response = QueryOuterClass.Response.newBuilder().build();
+
+    doAnswer(
+            invocationOnMock -> {
+              ServerCallStreamObserver<QueryOuterClass.Response> observer =
+                  invocationOnMock.getArgument(1);
+              for (int i = 0; i < 3; i++) {
+                observer.onNext(response);
+              }
+              observer.onCompleted();
+              return null;
+            })
+        .when(bridgeService)
+        .executeQueryStream(any(), any());
+
+    QueryOuterClass.Query request = QueryOuterClass.Query.newBuilder().build();
+    AssertSubscriber<QueryOuterClass.Response> subscriber =
+        bridge
+            .executeQueryStream(request)
+            .subscribe()
+            .withSubscriber(AssertSubscriber.create(1))
+            .awaitItems(1);
+
+    // nothing more is delivered until requested, even though the server sent everything
+    Thread.sleep(200);
+    subscriber.assertNotTerminated();
+    assertThat(subscriber.getItems()).hasSize(1);
+
+    subscriber.request(2).awaitCompletion();
+    assertThat(subscriber.getItems()).hasSize(3);
+    verify(bridgeService).executeQueryStream(eq(request), any());
+  }
+
+  @Test
+  public void cancelStopsStream() throws Exception {
+    QueryOuterClass.Response response = QueryOuterClass.Response.newBuilder().build();
+    CountDownLatch cancelled = new CountDownLatch(1);
+
+    doAnswer(
+            invocationOnMock -> {
+              ServerCallStreamObserver<QueryOuterClass.Response> observer =
+                  invocationOnMock.getArgument(1);
+              observer.setOnCancelHandler(cancelled::countDown);
+              observer.onNext(response);
+              return null;
+            })
+        .when(bridgeService)
+        .executeQueryStream(any(), any());
+
+    QueryOuterClass.Query request = QueryOuterClass.Query.newBuilder().build();
+    AssertSubscriber<QueryOuterClass.Response> subscriber =
+        bridge
+            .executeQueryStream(request)
+            .subscribe()
+            .withSubscriber(AssertSubscriber.create(1))
+            .awaitItems(1);
+
+    subscriber.cancel();
+
+    assertThat(cancelled.await(5, TimeUnit.SECONDS)).isTrue();
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.sgv2.api.common.grpc.balancing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.collect.ImmutableMap;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import io.stargate.bridge.proto.QueryOuterClass;
+import io.stargate.sgv2.api.common.grpc.RetriableStargateBridge;
+import io.stargate.sgv2.api.common.grpc.qualifier.Retriable;
+import io.stargate.sgv2.common.bridge.BridgeTest;
+import io.stargate.sgv2.common.testprofiles.NoGlobalResourcesTestProfile;
+import jakarta.inject.Inject;
+import java.util.Map;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+@TestProfile(BalancedStargateBridgeTest.Profile.class)
+class BalancedStargateBridgeTest extends BridgeTest {
+
+  public static class Profile implements NoGlobalResourcesTestProfile {
+
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      return ImmutableMap.<String, String>builder()
+          .put(
+              "stargate.grpc.balancing.endpoints",
+              "${quarkus.grpc.clients.bridge.host}:${quarkus.grpc.clients.bridge.port}")
+          .put("stargate.grpc.balancing.channels-per-endpoint", "2")
+          .put("stargate.grpc.balancing.strategy", "least-outstanding")
+          .put("stargate.grpc.balancing.health-check.enabled", "false")
+          .build();
+    }
+  }
+
+  @Retriable @Inject RetriableStargateBridge bridge;
+
+  @Inject BalancedStargateBridge balancedBridge;
+
+  @Inject MeterRegistry meterRegistry;
+
+  @ConfigProperty(name = "stargate.grpc.balancing.endpoints")
+  String endpoint;
+
+  @Test
+  public void balanced() {
+    QueryOuterClass.Response response = QueryOuterClass.Response.newBuilder().build();
+
+    doAnswer(
+            invocationOnMock -> {
+              StreamObserver<QueryOuterClass.Response> observer = invocationOnMock.getArgument(1);
+              observer.onNext(response);
+              observer.onCompleted();
+              return null;
+            })
+        .when(bridgeService)
+        .executeQuery(any(), any());
+
+    assertThat(balancedBridge.isEnabled()).isTrue();
+    Timer timer =
+        meterRegistry
+            .get(BridgeEndpoint.CALLS_METRIC)
+            .tag("endpoint", endpoint)
+            .tag("error", "false")
+            .timer();
+    long before = timer.count();
+
+    // use both channels
+    QueryOuterClass.Query request = QueryOuterClass.Query.newBuilder().build();
+    for (int i = 0; i < 2; i++) {
+      bridge
+          .executeQuery(request)
+          .subscribe()
+          .withSubscriber(UniAssertSubscriber.create())
+          .awaitItem()
+          .assertItem(response)
+          .assertCompleted();
+    }
+
+    verify(bridgeService, times(2)).executeQuery(eq(request), any());
+    assertThat(timer.count()).isEqualTo(before + 2);
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.sgv2.api.common.grpc.balancing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import io.stargate.bridge.proto.QueryOuterClass;
+import io.stargate.bridge.proto.StargateBridge;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class EndpointBalancerTest {
+
+  MeterRegistry meterRegistry;
+
+  BridgeEndpoint first;
+
+  BridgeEndpoint second;
+
+  BridgeEndpoint third;
+
+  @BeforeEach
+  public void init() {
+    meterRegistry = new SimpleMeterRegistry();
+    first = endpoint("first:8091");
+    second = endpoint("second:8091");
+    third = endpoint("third:8091");
+  }
+
+  private BridgeEndpoint endpoint(String address) {
+    return new BridgeEndpoint(address, List.of(mock(StargateBridge.class)), 2, meterRegistry);
+  }
+
+  @Nested
+  class RoundRobin {
+
+    @Test
+    public void inTurns() {
+      EndpointBalancer balancer =
+          new EndpointBalancer(List.of(first, second, third), EndpointBalancer.ROUND_ROBIN);
+
+      assertThat(balancer.select()).isSameAs(first);
+      assertThat(balancer.select()).isSameAs(second);
+      assertThat(balancer.select()).isSameAs(third);
+      assertThat(balancer.select()).isSameAs(first);
+    }
+
+    @Test
+    public void skipUnhealthy() {
+      EndpointBalancer balancer =
+          new EndpointBalancer(List.of(first, second, third), EndpointBalancer.ROUND_ROBIN);
+      second.pingFailed();
+      second.pingFailed();
+
+      for (int i = 0; i < 6; i++) {
+        assertThat(balancer.select()).isNotSameAs(second);
+      }
+    }
+
+    @Test
+    public void healthyAgain() {
+      EndpointBalancer balancer =
+          new EndpointBalancer(List.of(first, second), EndpointBalancer.ROUND_ROBIN);
+      assertThat(second.pingFailed()).isFalse();
+      assertThat(second.pingFailed()).isTrue();
+      assertThat(second.isHealthy()).isFalse();
+      assertThat(second.pingSucceeded()).isTrue();
+
+      assertThat(List.of(balancer.select(), balancer.select())).containsExactly(first, second);
+    }
+
+    @Test
+    public void allUnhealthy() {
+      EndpointBalancer balancer =
+          new EndpointBalancer(List.of(first, second), EndpointBalancer.ROUND_ROBIN);
+      for (BridgeEndpoint endpoint : List.of(first, second)) {
+        endpoint.pingFailed();
+        endpoint.pingFailed();
+      }
+
+      assertThat(List.of(balancer.select(), balancer.select())).containsExactly(first, second);
+    }
+  }
+
+  @Nested
+  class LeastOutstanding {
+
+    @Test
+    public void fewestInProgress() {
+      EndpointBalancer balancer =
+          new EndpointBalancer(List.of(first, second, third), EndpointBalancer.LEAST_OUTSTANDING);
+      first.call(bridge -> Uni.createFrom().nothing());
+      third.call(bridge -> Uni.createFrom().nothing());
+
+      for (int i = 0; i < 3; i++) {
+        assertThat(balancer.select()).isSameAs(second);
+      }
+    }
+
+    @Test
+    public void skipUnhealthy() {
+      EndpointBalancer balancer =
+          new EndpointBalancer(List.of(first, second), EndpointBalancer.LEAST_OUTSTANDING);
+      first.call(bridge -> Uni.createFrom().nothing());
+      second.pingFailed();
+      second.pingFailed();
+
+      assertThat(balancer.select()).isSameAs(first);
+    }
+  }
+
+  @Test
+  public void unknownStrategy() {
+    assertThatThrownBy(() -> new EndpointBalancer(List.of(first), "random"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void callMetrics() {
+    QueryOuterClass.Query query = QueryOuterClass.Query.newBuilder().build();
+    QueryOuterClass.Response response = QueryOuterClass.Response.newBuilder().build();
+    StargateBridge bridge = mock(StargateBridge.class);
+    when(bridge.executeQuery(any())).thenReturn(Uni.createFrom().item(response));
+    BridgeEndpoint endpoint = new BridgeEndpoint("bridge:8091", List.of(bridge), 2, meterRegistry);
+
+    Uni<QueryOuterClass.Response> result = endpoint.call(b -> b.executeQuery(query));
+    assertThat(endpoint.getOutstanding()).isEqualTo(1);
+
+    result
+        .subscribe()
+        .withSubscriber(UniAssertSubscriber.create())
+        .awaitItem()
+        .assertItem(response)
+        .assertCompleted();
+
+    verify(bridge).executeQuery(query);
+    assertThat(endpoint.getOutstanding()).isZero();
+    Timer timer =
+        meterRegistry
+            .get(BridgeEndpoint.CALLS_METRIC)
+            .tag("endpoint", "bridge:8091")
+            .tag("error", "false")
+            .timer();
+    assertThat(timer.count()).isEqualTo(1);
+  }
+}
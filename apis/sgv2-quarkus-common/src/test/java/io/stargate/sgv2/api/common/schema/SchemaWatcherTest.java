@@ -0,0 +1,351 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.sgv2.api.common.schema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.protobuf.Int32Value;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.cache.CaffeineCache;
+import io.quarkus.cache.CompositeCacheKey;
+import io.quarkus.grpc.GrpcClient;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.quarkus.test.junit.mockito.InjectMock;
+import io.stargate.bridge.proto.Schema;
+import io.stargate.bridge.proto.StargateBridge;
+import io.stargate.bridge.proto.StargateBridgeGrpc;
+import io.stargate.sgv2.api.common.StargateRequestInfo;
+import io.stargate.sgv2.api.common.config.constants.HttpConstants;
+import io.stargate.sgv2.common.bridge.BridgeTest;
+import jakarta.inject.Inject;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+@QuarkusTest
+@TestProfile(SchemaWatcherTest.Profile.class)
+class SchemaWatcherTest extends BridgeTest {
+
+  static final String TOKEN = "watch-token";
+
+  static final String TENANT_ID = "watched-tenant";
+
+  public static class Profile implements QuarkusTestProfile {
+
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      return ImmutableMap.<String, String>builder()
+          .put("stargate.schema.watch.enabled", "true")
+          .put("stargate.schema.watch.token", TOKEN)
+          .put("stargate.schema.watch.tenant-id", TENANT_ID)
+          .put("stargate.schema.watch.reconnect-delay", "PT0.1S")
+          .build();
+    }
+  }
+
+  @Inject SchemaWatcher schemaWatcher;
+
+  @Inject SchemaManager schemaManager;
+
+  @Inject
+  @CacheName("keyspace-cache")
+  Cache keyspaceCache;
+
+  @GrpcClient("bridge")
+  StargateBridge bridge;
+
+  @InjectMock StargateRequestInfo requestInfo;
+
+  // watch calls received by the bridge, in order
+  BlockingQueue<StreamObserver<Schema.SchemaChangeEvent>> watches;
+
+  List<StreamObserver<Schema.SchemaChangeEvent>> openWatches;
+
+  @Override
+  protected void mockBridgeService(StargateBridgeGrpc.StargateBridgeImplBase bridgeService) {
+    // the watcher reconnects as soon as the server is up
+    watches = new LinkedBlockingQueue<>();
+    openWatches = new CopyOnWriteArrayList<>();
+    doAnswer(
+            invocationOnMock -> {
+              StreamObserver<Schema.SchemaChangeEvent> observer = invocationOnMock.getArgument(1);
+              openWatches.add(observer);
+              watches.add(observer);
+              return null;
+            })
+        .when(bridgeService)
+        .watchSchema(any(), any());
+  }
+
+  @BeforeEach
+  public void init() {
+    doAnswer(invocation -> bridge).when(requestInfo).getStargateBridge();
+    doAnswer(invocation -> Optional.of(TENANT_ID)).when(requestInfo).getTenantId();
+  }
+
+  @AfterEach
+  public void closeWatches() {
+    // otherwise the server would wait for the watch on shutdown
+    for (StreamObserver<Schema.SchemaChangeEvent> observer : openWatches) {
+      try {
+        observer.onCompleted();
+      } catch (Exception e) {
+        // already closed by the test
+      }
+    }
+  }
+
+  // accepts the next watch call, and waits until the watcher sees it
+  StreamObserver<Schema.SchemaChangeEvent> subscribed() throws Exception {
+    StreamObserver<Schema.SchemaChangeEvent> observer = watches.poll(10, TimeUnit.SECONDS);
+    assertThat(observer).isNotNull();
+
+    observer.onNext(
+        Schema.SchemaChangeEvent.newBuilder()
+            .setSubscribed(Schema.SchemaChangeEvent.Subscribed.getDefaultInstance())
+            .build());
+    await().atMost(10, TimeUnit.SECONDS).until(() -> schemaWatcher.isWatching(tenant()));
+    return observer;
+  }
+
+  Schema.SchemaChangeEvent keyspaceChanged(String keyspaceName) {
+    return Schema.SchemaChangeEvent.newBuilder().setKeyspaceName(keyspaceName).build();
+  }
+
+  void cache(CompositeCacheKey key) {
+    keyspaceCache
+        .get(key, k -> Schema.CqlKeyspaceDescribe.getDefaultInstance())
+        .await()
+        .indefinitely();
+  }
+
+  Set<Object> cachedKeys() {
+    return keyspaceCache.as(CaffeineCache.class).keySet();
+  }
+
+  static Optional<String> tenant() {
+    return Optional.of(TENANT_ID);
+  }
+
+  @Nested
+  class Invalidate {
+
+    @Test
+    public void matchingTenantKey() throws Exception {
+      String keyspace = RandomStringUtils.randomAlphanumeric(16);
+      String otherKeyspace = RandomStringUtils.randomAlphanumeric(16);
+      StreamObserver<Schema.SchemaChangeEvent> watch = subscribed();
+
+      CompositeCacheKey key = new CompositeCacheKey(keyspace, tenant());
+      CompositeCacheKey otherTenantKey = new CompositeCacheKey(keyspace, Optional.of("other"));
+      CompositeCacheKey noTenantKey = new CompositeCacheKey(keyspace, Optional.empty());
+      CompositeCacheKey otherKeyspaceKey = new CompositeCacheKey(otherKeyspace, tenant());
+      cache(key);
+      cache(otherTenantKey);
+      cache(noTenantKey);
+      cache(otherKeyspaceKey);
+      long generation = schemaWatcher.generation(keyspace, tenant());
+      long otherGeneration = schemaWatcher.generation(otherKeyspace, tenant());
+
+      watch.onNext(keyspaceChanged(keyspace));
+
+      // only the entry of the watched tenant is invalidated
+      await().atMost(10, TimeUnit.SECONDS).until(() -> !cachedKeys().contains(key));
+      assertThat(cachedKeys()).contains(otherTenantKey, noTenantKey, otherKeyspaceKey);
+      assertThat(schemaWatcher.generation(keyspace, tenant())).isGreaterThan(generation);
+      assertThat(schemaWatcher.generation(otherKeyspace, tenant())).isEqualTo(otherGeneration);
+
+      // other tenants are not watched
+      assertThat(schemaWatcher.isWatching(Optional.of("other"))).isFalse();
+      assertThat(schemaWatcher.isWatching(Optional.empty())).isFalse();
+    }
+
+    @Test
+    public void authenticatedWithToken() throws Exception {
+      subscribed();
+
+      Metadata.Key<String> tokenKey =
+          Metadata.Key.of(
+              HttpConstants.AUTHENTICATION_TOKEN_HEADER_NAME, Metadata.ASCII_STRING_MARSHALLER);
+      Metadata.Key<String> tenantKey =
+          Metadata.Key.of(HttpConstants.TENANT_ID_HEADER_NAME, Metadata.ASCII_STRING_MARSHALLER);
+      ArgumentCaptor<Metadata> headers = ArgumentCaptor.forClass(Metadata.class);
+      verify(bridgeInterceptor, atLeastOnce()).interceptCall(any(), headers.capture(), any());
+      assertThat(headers.getAllValues())
+          .anySatisfy(
+              h -> {
+                assertThat(h.get(tokenKey)).isEqualTo(TOKEN);
+                assertThat(h.get(tenantKey)).isEqualTo(TENANT_ID);
+              });
+    }
+  }
+
+  @Nested
+  class Reconnect {
+
+    @Test
+    public void afterFailure() throws Exception {
+      StreamObserver<Schema.SchemaChangeEvent> watch = subscribed();
+
+      watch.onError(Status.UNAVAILABLE.asRuntimeException());
+      await().atMost(10, TimeUnit.SECONDS).until(() -> !schemaWatcher.isWatching(tenant()));
+
+      // cached while disconnected, changes might be missed
+      CompositeCacheKey key =
+          new CompositeCacheKey(RandomStringUtils.randomAlphanumeric(16), tenant());
+      cache(key);
+      long generation = schemaWatcher.generation("any", tenant());
+
+      // the watcher re-subscribes, and drops everything cached so far
+      subscribed();
+      assertThat(cachedKeys()).doesNotContain(key);
+      assertThat(schemaWatcher.generation("any", tenant())).isGreaterThan(generation);
+    }
+
+    @Test
+    public void afterCompletion() throws Exception {
+      StreamObserver<Schema.SchemaChangeEvent> watch = subscribed();
+
+      watch.onCompleted();
+      await().atMost(10, TimeUnit.SECONDS).until(() -> !schemaWatcher.isWatching(tenant()));
+
+      subscribed();
+    }
+  }
+
+  @Nested
+  class Fetch {
+
+    @Test
+    public void invalidatedWhileFetching() throws Exception {
+      String keyspace = RandomStringUtils.randomAlphanumeric(16);
+      Schema.CqlKeyspaceDescribe staleResponse =
+          Schema.CqlKeyspaceDescribe.newBuilder()
+              .setCqlKeyspace(Schema.CqlKeyspace.newBuilder().setName(keyspace))
+              .setHash(Int32Value.of(1))
+              .build();
+      Schema.CqlKeyspaceDescribe response =
+          Schema.CqlKeyspaceDescribe.newBuilder()
+              .setCqlKeyspace(Schema.CqlKeyspace.newBuilder().setName(keyspace))
+              .setHash(Int32Value.of(2))
+              .build();
+      StreamObserver<Schema.SchemaChangeEvent> watch = subscribed();
+      long generation = schemaWatcher.generation(keyspace, tenant());
+      AtomicInteger describeCount = new AtomicInteger();
+      doAnswer(
+              invocationOnMock -> {
+                StreamObserver<Schema.CqlKeyspaceDescribe> observer =
+                    invocationOnMock.getArgument(1);
+                if (describeCount.getAndIncrement() > 0) {
+                  observer.onNext(response);
+                  observer.onCompleted();
+                  return null;
+                }
+
+                // the keyspace changes while the first response is on its way
+                watch.onNext(keyspaceChanged(keyspace));
+                CompletableFuture.runAsync(
+                    () -> {
+                      await()
+                          .atMost(10, TimeUnit.SECONDS)
+                          .until(() -> schemaWatcher.generation(keyspace, tenant()) > generation);
+                      observer.onNext(staleResponse);
+                      observer.onCompleted();
+                    });
+                return null;
+              })
+          .when(bridgeService)
+          .describeKeyspace(any(), any());
+
+      // the stale response is dropped, and the keyspace fetched again
+      assertThat(schemaManager.getKeyspace(keyspace).await().indefinitely()).isEqualTo(response);
+      assertThat(schemaManager.getKeyspace(keyspace).await().indefinitely()).isEqualTo(response);
+      verify(bridgeService, times(2)).describeKeyspace(any(), any());
+    }
+  }
+
+  @Nested
+  class HashValidation {
+
+    @Test
+    public void onlyWhileDisconnected() throws Exception {
+      String keyspace = RandomStringUtils.randomAlphanumeric(16);
+      Schema.CqlKeyspaceDescribe response =
+          Schema.CqlKeyspaceDescribe.newBuilder()
+              .setCqlKeyspace(Schema.CqlKeyspace.newBuilder().setName(keyspace))
+              .setHash(Int32Value.of(42))
+              .build();
+      doAnswer(
+              invocationOnMock -> {
+                Schema.DescribeKeyspaceQuery query = invocationOnMock.getArgument(0);
+                StreamObserver<Schema.CqlKeyspaceDescribe> observer =
+                    invocationOnMock.getArgument(1);
+                // hash still matches
+                observer.onNext(
+                    query.hasHash() ? Schema.CqlKeyspaceDescribe.getDefaultInstance() : response);
+                observer.onCompleted();
+                return null;
+              })
+          .when(bridgeService)
+          .describeKeyspace(any(), any());
+      ArgumentCaptor<Schema.DescribeKeyspaceQuery> describeKeyspaceCaptor =
+          ArgumentCaptor.forClass(Schema.DescribeKeyspaceQuery.class);
+      StreamObserver<Schema.SchemaChangeEvent> watch = subscribed();
+
+      // while watching, the cached keyspace is not validated
+      assertThat(schemaManager.getKeyspace(keyspace).await().indefinitely()).isEqualTo(response);
+      assertThat(schemaManager.getKeyspace(keyspace).await().indefinitely()).isEqualTo(response);
+      verify(bridgeService, times(1)).describeKeyspace(describeKeyspaceCaptor.capture(), any());
+      assertThat(describeKeyspaceCaptor.getValue().hasHash()).isFalse();
+
+      // while disconnected, it is
+      watch.onError(Status.UNAVAILABLE.asRuntimeException());
+      await().atMost(10, TimeUnit.SECONDS).until(() -> !schemaWatcher.isWatching(tenant()));
+
+      assertThat(schemaManager.getKeyspace(keyspace).await().indefinitely()).isEqualTo(response);
+      verify(bridgeService, times(2)).describeKeyspace(describeKeyspaceCaptor.capture(), any());
+      assertThat(describeKeyspaceCaptor.getValue().getHash().getValue()).isEqualTo(42);
+    }
+  }
+}
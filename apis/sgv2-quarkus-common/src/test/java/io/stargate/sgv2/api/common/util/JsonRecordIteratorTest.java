@@ -0,0 +1,85 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.sgv2.api.common.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.stargate.sgv2.api.common.util.JsonRecordIterator.JsonRecord;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class JsonRecordIteratorTest {
+
+  private static final ObjectReader MAP_READER = new ObjectMapper().readerFor(Map.class);
+
+  @Test
+  public void reportsMalformedLinesPerRecord() {
+    List<JsonRecord<Map<String, Object>>> records =
+        read("{\"k\": 1}\n{\"k\": \n\n  \n{\"k\": 2} {\"k\": 3}\n42\nnull\n{\"k\": 4}\n");
+
+    assertThat(records).hasSize(6);
+    assertThat(records.get(0)).isEqualTo(new JsonRecord<>(Map.of("k", 1), null));
+    // truncated line, the next lines are still read
+    assertThat(records.get(1).value()).isNull();
+    assertThat(records.get(1).error()).isNotNull();
+    // two values on the same line
+    assertThat(records.get(2).error()).isNotNull();
+    // not an object
+    assertThat(records.get(3).error()).isNotNull();
+    assertThat(records.get(4)).isEqualTo(new JsonRecord<>(null, null));
+    assertThat(records.get(5)).isEqualTo(new JsonRecord<>(Map.of("k", 4), null));
+  }
+
+  @Test
+  public void unwrapsRootLevelArray() {
+    List<JsonRecord<Map<String, Object>>> records = read("\n  [{\"k\": 1},\n{\"k\": 2}]");
+
+    assertThat(records)
+        .containsExactly(
+            new JsonRecord<>(Map.of("k", 1), null), new JsonRecord<>(Map.of("k", 2), null));
+  }
+
+  @Test
+  public void malformedArrayElementEndsRecords() {
+    List<JsonRecord<Map<String, Object>>> records = read("  [{\"k\": 1}, {\"k\": }, {\"k\": 2}]");
+
+    assertThat(records).hasSize(2);
+    assertThat(records.get(0)).isEqualTo(new JsonRecord<>(Map.of("k", 1), null));
+    assertThat(records.get(1).value()).isNull();
+    assertThat(records.get(1).error()).isNotNull();
+  }
+
+  @Test
+  public void emptyPayload() {
+    assertThat(read(" \n ")).isEmpty();
+  }
+
+  private static List<JsonRecord<Map<String, Object>>> read(String payload) {
+    List<JsonRecord<Map<String, Object>>> records = new ArrayList<>();
+    JsonRecordIterator.<Map<String, Object>>of(
+            MAP_READER, new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8)))
+        .forEachRemaining(records::add);
+    return records;
+  }
+}
@@ -60,6 +60,9 @@ public abstract class BridgeTest {
     return Schema.SupportedFeaturesResponse.newBuilder().build();
   }
 
+  // override to mock the bridge service before the server is started
+  protected void mockBridgeService(StargateBridgeGrpc.StargateBridgeImplBase bridgeService) {}
+
   @BeforeEach
   public void initBridge() throws Exception {
     // init mock
@@ -80,6 +83,9 @@ public abstract class BridgeTest {
         .when(bridgeInterceptor)
         .interceptCall(any(), any(), any());
 
+    // allow sub-classes to mock calls that can happen as soon as the server is started
+    mockBridgeService(bridgeService);
+
     // set up the server that runs on the target bridge port
     SocketAddress address = new InetSocketAddress(bridgeHost, bridgePort);
     server =
@@ -20,6 +20,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.google.protobuf.ByteString;
 import com.google.protobuf.BytesValue;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import io.stargate.bridge.proto.QueryOuterClass;
 import io.stargate.bridge.proto.Schema;
@@ -31,6 +32,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -62,6 +64,29 @@ public class ValidatingStargateBridge implements StargateBridge {
     return expectation.execute(query.getParameters());
   }
 
+  @Override
+  public Multi<QueryOuterClass.Response> executeQueryStream(QueryOuterClass.Query query) {
+    // Simulate the bridge paging: re-execute with the paging state until exhausted
+    return Multi.createBy()
+        .repeating()
+        .uni(
+            () -> new AtomicReference<>(query),
+            queryRef ->
+                executeQuery(queryRef.get())
+                    .invoke(
+                        response -> {
+                          QueryOuterClass.ResultSet resultSet = response.getResultSet();
+                          QueryOuterClass.Query current = queryRef.get();
+                          queryRef.set(
+                              QueryOuterClass.Query.newBuilder(current)
+                                  .setParameters(
+                                      current.getParameters().toBuilder()
+                                          .setPagingState(resultSet.getPagingState()))
+                                  .build());
+                        }))
+        .whilst(response -> response.getResultSet().hasPagingState());
+  }
+
   @Override
   public Uni<Schema.QueryWithSchemaResponse> executeQueryWithSchema(
       Schema.QueryWithSchema request) {
@@ -113,6 +138,11 @@ public class ValidatingStargateBridge implements StargateBridge {
     throw new UnsupportedOperationException("Not implemented by this mock");
   }
 
+  @Override
+  public Multi<Schema.SchemaChangeEvent> watchSchema(Schema.WatchSchemaRequest request) {
+    throw new UnsupportedOperationException("Not implemented by this mock");
+  }
+
   private QueryExpectation add(QueryExpectation expectation) {
     expectedQueries.add(expectation);
     return expectation;
@@ -19,6 +19,10 @@ package io.stargate.sgv2.restapi.config;
 
 import io.smallrye.config.ConfigMapping;
 import io.smallrye.config.WithDefault;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
 
 /** Configuration for the REST API. */
 @ConfigMapping(prefix = "stargate.rest")
@@ -60,4 +64,41 @@ public interface RestApiConfig {
   /** Flag to either enable or disable CQL over REST API. */
   @WithDefault(RestApiConstants.CQL_DISABLED)
   boolean cqlDisabled();
+
+  /** Configuration for the bulk row ingestion endpoint. */
+  @Valid
+  @NotNull
+  Bulk bulk();
+
+  interface Bulk {
+
+    /**
+     * Maximum number of rows in a single {@code UNLOGGED} batch. Only rows of the same partition
+     * are batched together.
+     */
+    @Positive
+    @WithDefault(RestApiConstants.BULK_MAX_BATCH_SIZE)
+    int maxBatchSize();
+
+    /** Maximum number of batches executed against the bridge at the same time. */
+    @Positive
+    @WithDefault(RestApiConstants.BULK_MAX_BATCHES_IN_FLIGHT)
+    int maxBatchesInFlight();
+
+    /**
+     * Number of consecutive rows of the payload that are grouped by partition key together; rows of
+     * the same partition that are further apart end up in different batches.
+     */
+    @Positive
+    @WithDefault(RestApiConstants.BULK_GROUPING_WINDOW)
+    int groupingWindow();
+
+    /**
+     * Maximum time to wait for a grouping window to fill up: rows received so far are grouped and
+     * written when it elapses, so that a slow client doesn't delay the writes of its first rows.
+     */
+    @NotNull
+    @WithDefault(RestApiConstants.BULK_GROUPING_FLUSH_INTERVAL)
+    Duration groupingFlushInterval();
+  }
 }
@@ -22,4 +22,12 @@ public interface RestApiConstants {
   public static final String COMPACT_MAP_DATA = "true";
 
   public static final String CQL_DISABLED = "true";
+
+  public static final String BULK_MAX_BATCH_SIZE = "20";
+
+  public static final String BULK_MAX_BATCHES_IN_FLIGHT = "16";
+
+  public static final String BULK_GROUPING_WINDOW = "1000";
+
+  public static final String BULK_GROUPING_FLUSH_INTERVAL = "PT0.1S";
 }
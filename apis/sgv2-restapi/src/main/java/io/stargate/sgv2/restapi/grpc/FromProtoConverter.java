@@ -1,8 +1,10 @@
 package io.stargate.sgv2.restapi.grpc;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.stargate.bridge.proto.QueryOuterClass;
+import java.io.IOException;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -71,4 +73,29 @@ public class FromProtoConverter {
     }
     return result;
   }
+
+  /**
+   * Method called to write Bridge Protobuf values directly as a JSON Object, with the same contents
+   * as serializing the result of {@link #mapFromProtoValues} would produce, but without building
+   * the intermediate {@link Map}.
+   */
+  public void writeJsonFromProtoValues(List<QueryOuterClass.Value> values, JsonGenerator g)
+      throws IOException {
+    g.writeStartObject();
+    for (int i = 0, end = values.size(); i < end; ++i) {
+      g.writeFieldName(columnNames[i]);
+      try {
+        codecs[i].writeJson(values.get(i), g);
+      } catch (IOException e) {
+        throw e;
+      } catch (Exception e) {
+        throw new IllegalStateException(
+            String.format(
+                "Internal error: failed to convert value of column #%d/#%d ('%s'), problem: %s",
+                i + 1, end, columnNames[i], e.getMessage()),
+            e);
+      }
+    }
+    g.writeEndObject();
+  }
 }
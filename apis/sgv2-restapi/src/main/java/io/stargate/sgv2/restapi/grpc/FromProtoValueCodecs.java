@@ -1,5 +1,6 @@
 package io.stargate.sgv2.restapi.grpc;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
@@ -7,6 +8,8 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.stargate.bridge.grpc.Values;
 import io.stargate.bridge.proto.QueryOuterClass;
 import io.stargate.sgv2.api.common.config.RequestParams;
+import java.io.IOException;
+import java.net.InetAddress;
 import java.time.Instant;
 import java.util.*;
 
@@ -186,6 +189,19 @@ public class FromProtoValueCodecs {
     return new UDTCodec(udtSpec.getName(), fieldCodecs);
   }
 
+  /**
+   * Same as the default Jackson serialization of {@link InetAddress}: the host name if known,
+   * otherwise the address.
+   */
+  private static String inetString(InetAddress address) {
+    String str = address.toString().trim();
+    int ix = str.indexOf('/');
+    if (ix == 0) {
+      return str.substring(1);
+    }
+    return (ix > 0) ? str.substring(0, ix) : str;
+  }
+
   /* Basic/scalar codec implementations: textual */
 
   protected static final class TextCodec extends FromProtoValueCodec {
@@ -204,6 +220,15 @@ public class FromProtoValueCodecs {
           ? jsonNodeFactory.nullNode()
           : jsonNodeFactory.textNode(Values.string(value));
     }
+
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g) throws IOException {
+      if (value.getInnerCase() == QueryOuterClass.Value.InnerCase.NULL) {
+        g.writeNull();
+      } else {
+        g.writeString(Values.string(value));
+      }
+    }
   }
 
   /* Basic/scalar codec implementations: numeric */
@@ -222,6 +247,15 @@ public class FromProtoValueCodecs {
           ? jsonNodeFactory.nullNode()
           : jsonNodeFactory.numberNode(Values.int_(value));
     }
+
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g) throws IOException {
+      if (value.getInnerCase() == QueryOuterClass.Value.InnerCase.NULL) {
+        g.writeNull();
+      } else {
+        g.writeNumber(Values.int_(value));
+      }
+    }
   }
 
   protected static final class LongCodec extends FromProtoValueCodec {
@@ -238,6 +272,15 @@ public class FromProtoValueCodecs {
           ? jsonNodeFactory.nullNode()
           : jsonNodeFactory.numberNode(Values.bigint(value));
     }
+
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g) throws IOException {
+      if (value.getInnerCase() == QueryOuterClass.Value.InnerCase.NULL) {
+        g.writeNull();
+      } else {
+        g.writeNumber(Values.bigint(value));
+      }
+    }
   }
 
   protected static final class FloatCodec extends FromProtoValueCodec {
@@ -254,6 +297,15 @@ public class FromProtoValueCodecs {
           ? jsonNodeFactory.nullNode()
           : jsonNodeFactory.numberNode(Values.float_(value));
     }
+
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g) throws IOException {
+      if (value.getInnerCase() == QueryOuterClass.Value.InnerCase.NULL) {
+        g.writeNull();
+      } else {
+        g.writeNumber(Values.float_(value));
+      }
+    }
   }
 
   protected static final class DoubleCodec extends FromProtoValueCodec {
@@ -270,6 +322,15 @@ public class FromProtoValueCodecs {
           ? jsonNodeFactory.nullNode()
           : jsonNodeFactory.numberNode(Values.double_(value));
     }
+
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g) throws IOException {
+      if (value.getInnerCase() == QueryOuterClass.Value.InnerCase.NULL) {
+        g.writeNull();
+      } else {
+        g.writeNumber(Values.double_(value));
+      }
+    }
   }
 
   protected static final class ShortCodec extends FromProtoValueCodec {
@@ -286,6 +347,15 @@ public class FromProtoValueCodecs {
           ? jsonNodeFactory.nullNode()
           : jsonNodeFactory.numberNode(Values.smallint(value));
     }
+
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g) throws IOException {
+      if (value.getInnerCase() == QueryOuterClass.Value.InnerCase.NULL) {
+        g.writeNull();
+      } else {
+        g.writeNumber(Values.smallint(value));
+      }
+    }
   }
 
   protected static final class VarintCodec extends FromProtoValueCodec {
@@ -302,6 +372,15 @@ public class FromProtoValueCodecs {
           ? jsonNodeFactory.nullNode()
           : jsonNodeFactory.numberNode(Values.varint(value));
     }
+
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g) throws IOException {
+      if (value.getInnerCase() == QueryOuterClass.Value.InnerCase.NULL) {
+        g.writeNull();
+      } else {
+        g.writeNumber(Values.varint(value));
+      }
+    }
   }
 
   protected static final class DecimalCodec extends FromProtoValueCodec {
@@ -318,6 +397,15 @@ public class FromProtoValueCodecs {
           ? jsonNodeFactory.nullNode()
           : jsonNodeFactory.numberNode(Values.decimal(value));
     }
+
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g) throws IOException {
+      if (value.getInnerCase() == QueryOuterClass.Value.InnerCase.NULL) {
+        g.writeNull();
+      } else {
+        g.writeNumber(Values.decimal(value));
+      }
+    }
   }
 
   protected static final class ByteCodec extends FromProtoValueCodec {
@@ -334,6 +422,15 @@ public class FromProtoValueCodecs {
           ? jsonNodeFactory.nullNode()
           : jsonNodeFactory.numberNode(Values.tinyint(value));
     }
+
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g) throws IOException {
+      if (value.getInnerCase() == QueryOuterClass.Value.InnerCase.NULL) {
+        g.writeNull();
+      } else {
+        g.writeNumber(Values.tinyint(value));
+      }
+    }
   }
 
   // NOTE! Should be able to just use `LongCodec` but SGv1 seems to expect JSON String as
@@ -352,6 +449,15 @@ public class FromProtoValueCodecs {
           ? jsonNodeFactory.nullNode()
           : jsonNodeFactory.textNode(String.valueOf(Values.int_(value)));
     }
+
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g) throws IOException {
+      if (value.getInnerCase() == QueryOuterClass.Value.InnerCase.NULL) {
+        g.writeNull();
+      } else {
+        g.writeString(String.valueOf(Values.int_(value)));
+      }
+    }
   }
 
   /* Basic/scalar codec implementations: other */
@@ -370,6 +476,15 @@ public class FromProtoValueCodecs {
           ? jsonNodeFactory.nullNode()
           : jsonNodeFactory.booleanNode(Values.bool(value));
     }
+
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g) throws IOException {
+      if (value.getInnerCase() == QueryOuterClass.Value.InnerCase.NULL) {
+        g.writeNull();
+      } else {
+        g.writeBoolean(Values.bool(value));
+      }
+    }
   }
 
   protected static final class UUIDCodec extends FromProtoValueCodec {
@@ -386,6 +501,15 @@ public class FromProtoValueCodecs {
           ? jsonNodeFactory.nullNode()
           : jsonNodeFactory.pojoNode(Values.uuid(value));
     }
+
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g) throws IOException {
+      if (value.getInnerCase() == QueryOuterClass.Value.InnerCase.NULL) {
+        g.writeNull();
+      } else {
+        g.writeString(Values.uuid(value).toString());
+      }
+    }
   }
 
   protected static final class TimestampCodec extends FromProtoValueCodec {
@@ -402,6 +526,15 @@ public class FromProtoValueCodecs {
           ? jsonNodeFactory.nullNode()
           : jsonNodeFactory.textNode(Instant.ofEpochMilli(value.getInt()).toString());
     }
+
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g) throws IOException {
+      if (value.getInnerCase() == QueryOuterClass.Value.InnerCase.NULL) {
+        g.writeNull();
+      } else {
+        g.writeString(Instant.ofEpochMilli(value.getInt()).toString());
+      }
+    }
   }
 
   protected static final class DateCodec extends FromProtoValueCodec {
@@ -418,6 +551,15 @@ public class FromProtoValueCodecs {
           ? jsonNodeFactory.nullNode()
           : jsonNodeFactory.textNode(Values.date(value).toString());
     }
+
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g) throws IOException {
+      if (value.getInnerCase() == QueryOuterClass.Value.InnerCase.NULL) {
+        g.writeNull();
+      } else {
+        g.writeString(Values.date(value).toString());
+      }
+    }
   }
 
   protected static final class TimeCodec extends FromProtoValueCodec {
@@ -434,6 +576,15 @@ public class FromProtoValueCodecs {
           ? jsonNodeFactory.nullNode()
           : jsonNodeFactory.textNode(Values.time(value).toString());
     }
+
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g) throws IOException {
+      if (value.getInnerCase() == QueryOuterClass.Value.InnerCase.NULL) {
+        g.writeNull();
+      } else {
+        g.writeString(Values.time(value).toString());
+      }
+    }
   }
 
   protected static final class DurationCodec extends FromProtoValueCodec {
@@ -455,6 +606,15 @@ public class FromProtoValueCodecs {
           ? jsonNodeFactory.nullNode()
           : jsonNodeFactory.textNode(Values.duration(value).toString());
     }
+
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g) throws IOException {
+      if (value.getInnerCase() == QueryOuterClass.Value.InnerCase.NULL) {
+        g.writeNull();
+      } else {
+        g.writeString(Values.duration(value).toString());
+      }
+    }
   }
 
   protected static final class InetCodec extends FromProtoValueCodec {
@@ -471,6 +631,15 @@ public class FromProtoValueCodecs {
           ? jsonNodeFactory.nullNode()
           : jsonNodeFactory.textNode(Values.inet(value).toString());
     }
+
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g) throws IOException {
+      if (value.getInnerCase() == QueryOuterClass.Value.InnerCase.NULL) {
+        g.writeNull();
+      } else {
+        g.writeString(inetString(Values.inet(value)));
+      }
+    }
   }
 
   protected static final class BlobCodec extends FromProtoValueCodec {
@@ -487,6 +656,15 @@ public class FromProtoValueCodecs {
           ? jsonNodeFactory.nullNode()
           : jsonNodeFactory.binaryNode(Values.bytes(value));
     }
+
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g) throws IOException {
+      if (value.getInnerCase() == QueryOuterClass.Value.InnerCase.NULL) {
+        g.writeNull();
+      } else {
+        g.writeBinary(Values.bytes(value));
+      }
+    }
   }
 
   /*
@@ -553,6 +731,17 @@ public class FromProtoValueCodecs {
       }
       return result;
     }
+
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g) throws IOException {
+      QueryOuterClass.Collection coll = value.getCollection();
+      final int len = coll.getElementsCount();
+      g.writeStartArray();
+      for (int i = 0; i < len; ++i) {
+        elementCodec.writeJson(coll.getElements(i), g);
+      }
+      g.writeEndArray();
+    }
   }
 
   protected static final class MapCodec extends FromProtoValueCodec {
@@ -613,6 +802,32 @@ public class FromProtoValueCodecs {
       }
     }
 
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g) throws IOException {
+      QueryOuterClass.Collection coll = value.getCollection();
+      int len = verifyMapLength(coll);
+      if (this.compactMapData) {
+        g.writeStartObject();
+        for (int i = 0; i < len; i += 2) {
+          // same as the default Jackson key serialization of the converted key
+          g.writeFieldName(String.valueOf(keyCodec.fromProtoValue(coll.getElements(i))));
+          valueCodec.writeJson(coll.getElements(i + 1), g);
+        }
+        g.writeEndObject();
+      } else {
+        g.writeStartArray();
+        for (int i = 0; i < len; i += 2) {
+          g.writeStartObject();
+          g.writeFieldName("key");
+          keyCodec.writeJson(coll.getElements(i), g);
+          g.writeFieldName("value");
+          valueCodec.writeJson(coll.getElements(i + 1), g);
+          g.writeEndObject();
+        }
+        g.writeEndArray();
+      }
+    }
+
     private int verifyMapLength(QueryOuterClass.Collection mapValue) {
       int len = mapValue.getElementsCount();
       if ((len & 1) != 0) {
@@ -658,6 +873,21 @@ public class FromProtoValueCodecs {
       return result;
     }
 
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g) throws IOException {
+      QueryOuterClass.Collection coll = value.getCollection();
+      final int len = verifyTupleLength(coll);
+      if (len == 0) {
+        g.writeNull();
+        return;
+      }
+      g.writeStartArray();
+      for (int i = 0; i < len; ++i) {
+        elementCodecs.get(i).writeJson(coll.getElements(i), g);
+      }
+      g.writeEndArray();
+    }
+
     private int verifyTupleLength(QueryOuterClass.Collection tupleValue) {
       int len = tupleValue.getElementsCount();
       if (len != elementCodecs.size()) {
@@ -720,5 +950,22 @@ public class FromProtoValueCodecs {
 
       return result;
     }
+
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g) throws IOException {
+      QueryOuterClass.UdtValue coll = value.getUdt();
+      g.writeStartObject();
+      for (Map.Entry<String, QueryOuterClass.Value> entry : coll.getFieldsMap().entrySet()) {
+        final String fieldName = entry.getKey();
+        FromProtoValueCodec codec = fieldCodecs.get(fieldName);
+        if (codec == null) {
+          throw new IllegalArgumentException(
+              String.format("UDT '%s' does not have field '%s'", udtName, fieldName));
+        }
+        g.writeFieldName(fieldName);
+        codec.writeJson(entry.getValue(), g);
+      }
+      g.writeEndObject();
+    }
   }
 }
@@ -0,0 +1,29 @@
+package io.stargate.sgv2.restapi.service.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+/**
+ * The result of writing a single row of a bulk ingestion. Results are emitted as soon as the batch
+ * containing the row completes, so they are not necessarily in the order of the input rows.
+ */
+@RegisterForReflection
+@Schema(name = "RowWriteResult")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record Sgv2RowWriteResult(
+    @Schema(description = "The zero-based position of the row in the request payload.")
+        long index,
+    @Schema(
+            description = "The reason why the row was not written, if the write failed.",
+            nullable = true)
+        String error) {
+
+  public static Sgv2RowWriteResult success(long index) {
+    return new Sgv2RowWriteResult(index, null);
+  }
+
+  public static Sgv2RowWriteResult failure(long index, String error) {
+    return new Sgv2RowWriteResult(index, error);
+  }
+}
@@ -0,0 +1,200 @@
+package io.stargate.sgv2.restapi.service.resources;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.stargate.bridge.proto.QueryOuterClass;
+import io.stargate.bridge.proto.Schema;
+import io.stargate.bridge.proto.StargateBridge;
+import io.stargate.sgv2.api.common.cql.builder.QueryBuilder;
+import io.stargate.sgv2.api.common.cql.builder.ValueModifier;
+import io.stargate.sgv2.api.common.util.JsonRecordIterator;
+import io.stargate.sgv2.api.common.util.JsonRecordIterator.JsonRecord;
+import io.stargate.sgv2.restapi.config.RestApiConfig;
+import io.stargate.sgv2.restapi.grpc.ToProtoConverter;
+import io.stargate.sgv2.restapi.service.models.Sgv2RowWriteResult;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes the rows of a bulk ingestion request into a single table: rows are converted with one
+ * {@link ToProtoConverter} for the whole request, grouped by partition key into {@code UNLOGGED}
+ * batches and written with a bounded number of batches in flight.
+ *
+ * <p>A row that can not be written (malformed JSON, conversion problem, batch failure) does not
+ * fail the whole request, but is reported in its {@link Sgv2RowWriteResult}.
+ */
+class BulkRowWriter {
+  private static final Logger LOGGER = LoggerFactory.getLogger(BulkRowWriter.class);
+
+  private static final QueryOuterClass.BatchParameters BATCH_PARAMETERS_FOR_LOCAL_QUORUM =
+      QueryOuterClass.BatchParameters.newBuilder()
+          .setConsistency(
+              QueryOuterClass.ConsistencyValue.newBuilder()
+                  .setValue(QueryOuterClass.Consistency.LOCAL_QUORUM))
+          .build();
+
+  private final StargateBridge bridge;
+  private final String keyspaceName;
+  private final String tableName;
+  private final Schema.CqlTable tableDef;
+  private final ToProtoConverter toProtoConverter;
+  private final RestApiConfig.Bulk config;
+
+  BulkRowWriter(
+      StargateBridge bridge,
+      String keyspaceName,
+      String tableName,
+      Schema.CqlTable tableDef,
+      ToProtoConverter toProtoConverter,
+      RestApiConfig.Bulk config) {
+    this.bridge = bridge;
+    this.keyspaceName = keyspaceName;
+    this.tableName = tableName;
+    this.tableDef = tableDef;
+    this.toProtoConverter = toProtoConverter;
+    this.config = config;
+  }
+
+  /**
+   * @param rows Rows to write, in payload order, as read by {@link JsonRecordIterator}.
+   * @return Multi emitting the result of each row write, in the order the batches complete.
+   */
+  Multi<Sgv2RowWriteResult> write(Multi<JsonRecord<Map<String, Object>>> rows) {
+    // only accessed from the sequential part of the pipeline
+    AtomicLong index = new AtomicLong();
+    return rows.onItem()
+        .transform(row -> toRowWrite(index.getAndIncrement(), row))
+        .group()
+        .intoLists()
+        .of(config.groupingWindow(), config.groupingFlushInterval())
+        .onItem()
+        .transformToIterable(window -> groupIntoBatches(window, config.maxBatchSize()))
+        .onItem()
+        .transformToUni(this::executeBatch)
+        .merge(config.maxBatchesInFlight())
+        .onItem()
+        .transformToIterable(results -> results);
+  }
+
+  /** Converts a single row into its insert, never fails. */
+  RowWrite toRowWrite(long index, JsonRecord<Map<String, Object>> row) {
+    if (row.error() != null) {
+      return invalidRow(index, "malformed JSON: " + row.error().getOriginalMessage());
+    }
+    if (row.value() == null) {
+      return invalidRow(index, "row must be a JSON object");
+    }
+    try {
+      Map<String, QueryOuterClass.Value> values = new LinkedHashMap<>();
+      for (Map.Entry<String, Object> entry : row.value().entrySet()) {
+        final String columnName = entry.getKey();
+        values.put(
+            columnName, toProtoConverter.protoValueFromLooselyTyped(columnName, entry.getValue()));
+      }
+
+      List<QueryOuterClass.ColumnSpec> partitionKeys = tableDef.getPartitionKeyColumnsList();
+      List<QueryOuterClass.Value> partitionKey = new ArrayList<>(partitionKeys.size());
+      for (QueryOuterClass.ColumnSpec column : partitionKeys) {
+        QueryOuterClass.Value value = values.get(column.getName());
+        if (value == null) {
+          throw new IllegalArgumentException(
+              String.format("Missing value for partition key column '%s'", column.getName()));
+        }
+        partitionKey.add(value);
+      }
+
+      List<ValueModifier> valueModifiers = new ArrayList<>(values.size());
+      for (Map.Entry<String, QueryOuterClass.Value> entry : values.entrySet()) {
+        valueModifiers.add(ValueModifier.set(entry.getKey(), entry.getValue()));
+      }
+      QueryOuterClass.BatchQuery query =
+          new QueryBuilder()
+              .insertInto(keyspaceName, tableName)
+              .value(valueModifiers)
+              .buildForBatch();
+      return new RowWrite(index, partitionKey, query, null);
+    } catch (IllegalArgumentException e) {
+      return invalidRow(index, e.getMessage());
+    }
+  }
+
+  private static RowWrite invalidRow(long index, String problem) {
+    return new RowWrite(index, null, null, "Invalid row to create, problem: " + problem);
+  }
+
+  /**
+   * Groups the rows by partition key, preserving the order of the first row of each partition, and
+   * splits each partition into batches of at most {@code maxBatchSize} rows. Rows that could not be
+   * converted are returned as single-row "batches", that are reported without being executed.
+   */
+  static List<List<RowWrite>> groupIntoBatches(List<RowWrite> rows, int maxBatchSize) {
+    Map<List<QueryOuterClass.Value>, List<RowWrite>> byPartition = new LinkedHashMap<>();
+    List<List<RowWrite>> batches = new ArrayList<>();
+    for (RowWrite row : rows) {
+      if (row.error() != null) {
+        batches.add(List.of(row));
+      } else {
+        byPartition.computeIfAbsent(row.partitionKey(), k -> new ArrayList<>()).add(row);
+      }
+    }
+    for (List<RowWrite> partition : byPartition.values()) {
+      for (int start = 0; start < partition.size(); start += maxBatchSize) {
+        batches.add(partition.subList(start, Math.min(start + maxBatchSize, partition.size())));
+      }
+    }
+    return batches;
+  }
+
+  // executes a single batch, never fails
+  private Uni<List<Sgv2RowWriteResult>> executeBatch(List<RowWrite> rows) {
+    if (rows.size() == 1 && rows.get(0).error() != null) {
+      RowWrite row = rows.get(0);
+      return Uni.createFrom().item(List.of(Sgv2RowWriteResult.failure(row.index(), row.error())));
+    }
+
+    QueryOuterClass.Batch.Builder batch =
+        QueryOuterClass.Batch.newBuilder()
+            .setType(QueryOuterClass.Batch.Type.UNLOGGED)
+            .setParameters(BATCH_PARAMETERS_FOR_LOCAL_QUORUM);
+    for (RowWrite row : rows) {
+      batch.addQueries(row.query());
+    }
+    return bridge
+        .executeBatch(batch.build())
+        .onItemOrFailure()
+        .transform(
+            (response, failure) -> {
+              List<Sgv2RowWriteResult> results = new ArrayList<>(rows.size());
+              if (failure != null) {
+                LOGGER.warn(
+                    "Bulk write of {} row(s) into {}.{} failed",
+                    rows.size(),
+                    keyspaceName,
+                    tableName,
+                    failure);
+              }
+              for (RowWrite row : rows) {
+                results.add(
+                    failure == null
+                        ? Sgv2RowWriteResult.success(row.index())
+                        : Sgv2RowWriteResult.failure(row.index(), failure.getMessage()));
+              }
+              return results;
+            });
+  }
+
+  /**
+   * A single converted row: either the insert and the partition key it writes to, or the reason
+   * why it could not be converted.
+   */
+  record RowWrite(
+      long index,
+      List<QueryOuterClass.Value> partitionKey,
+      QueryOuterClass.BatchQuery query,
+      String error) {}
+}
@@ -240,6 +240,21 @@ public abstract class RestResourceBase {
     return RestResponse.ok(response);
   }
 
+  /**
+   * Alternative to {@link #convertRowsToResponse} that writes the rows directly into the response
+   * as JSON when it is serialized, instead of first converting them into {@link Map}s.
+   */
+  public static RestResponse<Object> streamRowsToResponse(
+      QueryOuterClass.Response grpcResponse, boolean raw, RequestParams requestParams) {
+    final QueryOuterClass.ResultSet rs = grpcResponse.getResultSet();
+    // Construct converter up-front so that problems are reported before any output is written
+    FromProtoConverter converter =
+        BridgeProtoValueConverters.instance()
+            .fromProtoConverter(rs.getColumnsList(), requestParams);
+    String pageStateStr = extractPagingStateFromResultSet(rs);
+    return RestResponse.ok(new RowsStreamingOutput(JSON_MAPPER, rs, converter, pageStateStr, raw));
+  }
+
   protected static List<Map<String, Object>> convertRows(
       QueryOuterClass.ResultSet rs, RequestParams requestParams) {
     FromProtoConverter converter =
@@ -0,0 +1,61 @@
+package io.stargate.sgv2.restapi.service.resources;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.stargate.bridge.proto.QueryOuterClass;
+import io.stargate.sgv2.restapi.grpc.FromProtoConverter;
+import io.stargate.sgv2.restapi.service.models.Sgv2RowsResponse;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * {@link StreamingOutput} that writes the rows of a Bridge {@link QueryOuterClass.ResultSet}
+ * directly as JSON, without first converting them into {@code Map}s: output is the same as
+ * serializing a {@link Sgv2RowsResponse} (or just its rows, for "raw" responses) would produce.
+ */
+final class RowsStreamingOutput implements StreamingOutput {
+  private final ObjectMapper mapper;
+  private final QueryOuterClass.ResultSet resultSet;
+  private final FromProtoConverter converter;
+  private final String pageState;
+  private final boolean raw;
+
+  RowsStreamingOutput(
+      ObjectMapper mapper,
+      QueryOuterClass.ResultSet resultSet,
+      FromProtoConverter converter,
+      String pageState,
+      boolean raw) {
+    this.mapper = mapper;
+    this.resultSet = resultSet;
+    this.converter = converter;
+    this.pageState = pageState;
+    this.raw = raw;
+  }
+
+  @Override
+  public void write(OutputStream out) throws IOException {
+    // Output stream is closed by the framework, not us
+    try (JsonGenerator g =
+        mapper.createGenerator(out).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+      if (!raw) {
+        g.writeStartObject();
+        g.writeNumberField("count", resultSet.getRowsCount());
+        // Sgv2RowsResponse leaves out null values
+        if (pageState != null) {
+          g.writeStringField("pageState", pageState);
+        }
+        g.writeFieldName("data");
+      }
+      g.writeStartArray();
+      for (QueryOuterClass.Row row : resultSet.getRowsList()) {
+        converter.writeJsonFromProtoValues(row.getValuesList(), g);
+      }
+      g.writeEndArray();
+      if (!raw) {
+        g.writeEndObject();
+      }
+    }
+  }
+}
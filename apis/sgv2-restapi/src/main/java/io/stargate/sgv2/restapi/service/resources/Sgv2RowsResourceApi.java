@@ -1,15 +1,19 @@
 package io.stargate.sgv2.restapi.service.resources;
 
+import io.smallrye.common.annotation.Blocking;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import io.stargate.sgv2.api.common.exception.model.dto.ApiError;
 import io.stargate.sgv2.restapi.config.constants.RestOpenApiConstants;
 import io.stargate.sgv2.restapi.service.models.Sgv2RESTResponse;
+import io.stargate.sgv2.restapi.service.models.Sgv2RowWriteResult;
 import io.stargate.sgv2.restapi.service.models.Sgv2RowsResponse;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.PathSegment;
+import java.io.InputStream;
 import java.util.List;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.enums.ParameterIn;
@@ -22,7 +26,9 @@ import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 import org.eclipse.microprofile.openapi.annotations.security.SecurityRequirement;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.jboss.resteasy.reactive.RestMediaType;
 import org.jboss.resteasy.reactive.RestResponse;
+import org.jboss.resteasy.reactive.RestStreamElementType;
 
 /**
  * Definition of REST API DML endpoint methods including JAX-RS and OpenAPI annotations. No
@@ -225,6 +231,52 @@ public interface Sgv2RowsResourceApi {
           @QueryParam("compactMapData")
           final Boolean compactMapData);
 
+  @POST
+  @Operation(
+      summary = "Add rows",
+      description =
+          "Add many rows to a table in your database, reading them as they arrive. Rows of the same"
+              + " partition are written together in unlogged batches. A row that can not be written"
+              + " does not fail the request, but is reported in its result.")
+  @RequestBody(
+      description = "Newline-delimited JSON rows, or a JSON array of rows.",
+      required = true,
+      content =
+          @Content(
+              mediaType = RestMediaType.APPLICATION_NDJSON,
+              schema = @Schema(type = SchemaType.STRING)))
+  @APIResponses(
+      value = {
+        @APIResponse(
+            responseCode = "200",
+            description = "The result of each row write, one per line.",
+            content =
+                @Content(
+                    mediaType = RestMediaType.APPLICATION_NDJSON,
+                    schema = @Schema(implementation = Sgv2RowWriteResult.class))),
+        @APIResponse(ref = RestOpenApiConstants.Responses.GENERAL_400),
+        @APIResponse(ref = RestOpenApiConstants.Responses.GENERAL_401),
+        @APIResponse(ref = RestOpenApiConstants.Responses.GENERAL_500),
+      })
+  @Consumes(RestMediaType.APPLICATION_NDJSON)
+  @Produces(RestMediaType.APPLICATION_NDJSON)
+  @RestStreamElementType(MediaType.APPLICATION_JSON)
+  // the body is read as it arrives, which is blocking
+  @Blocking
+  Multi<Sgv2RowWriteResult> createRows(
+      @Parameter(name = "keyspaceName", ref = RestOpenApiConstants.Parameters.KEYSPACE_NAME)
+          @PathParam("keyspaceName")
+          @NotBlank(message = "keyspaceName must be provided")
+          final String keyspaceName,
+      @Parameter(name = "tableName", ref = RestOpenApiConstants.Parameters.TABLE_NAME)
+          @PathParam("tableName")
+          @NotBlank(message = "tableName must be provided")
+          final String tableName,
+      @Parameter(name = "compactMapData", ref = RestOpenApiConstants.Parameters.COMPACT_MAP_DATA)
+          @QueryParam("compactMapData")
+          final Boolean compactMapData,
+      final InputStream payload);
+
   @PUT
   @Operation(summary = "Replace row(s)", description = "Update existing rows in a table.")
   @APIResponses(
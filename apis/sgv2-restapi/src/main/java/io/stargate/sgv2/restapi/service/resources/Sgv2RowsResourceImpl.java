@@ -1,18 +1,22 @@
 package io.stargate.sgv2.restapi.service.resources;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import io.stargate.bridge.proto.QueryOuterClass;
 import io.stargate.bridge.proto.Schema;
 import io.stargate.sgv2.api.common.config.RequestParams;
 import io.stargate.sgv2.api.common.cql.builder.*;
+import io.stargate.sgv2.api.common.util.JsonRecordIterator;
 import io.stargate.sgv2.restapi.config.RestApiUtils;
 import io.stargate.sgv2.restapi.grpc.ToProtoConverter;
 import io.stargate.sgv2.restapi.service.models.Sgv2RESTResponse;
+import io.stargate.sgv2.restapi.service.models.Sgv2RowWriteResult;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.PathSegment;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.Status;
+import java.io.InputStream;
 import java.util.*;
 import java.util.stream.Collectors;
 import org.jboss.resteasy.reactive.RestResponse;
@@ -72,7 +76,7 @@ public class Sgv2RowsResourceImpl extends RestResourceBase implements Sgv2RowsRe
                     .build();
               }
             })
-        .map(response -> convertRowsToResponse(response, raw, requestParams));
+        .map(response -> streamRowsToResponse(response, raw, requestParams));
   }
 
   @Override
@@ -117,7 +121,7 @@ public class Sgv2RowsResourceImpl extends RestResourceBase implements Sgv2RowsRe
                     "Invalid path for row to find, problem: " + e.getMessage(), Status.BAD_REQUEST);
               }
             })
-        .map(response -> convertRowsToResponse(response, raw, requestParams));
+        .map(response -> streamRowsToResponse(response, raw, requestParams));
   }
 
   @Override
@@ -159,7 +163,7 @@ public class Sgv2RowsResourceImpl extends RestResourceBase implements Sgv2RowsRe
                 .parameters(parametersForPageSizeAndState(pageSizeParam, pageStateParam))
                 .build();
     return executeQueryAsync(query)
-        .map(response -> convertRowsToResponse(response, raw, requestParams));
+        .map(response -> streamRowsToResponse(response, raw, requestParams));
   }
 
   @Override
@@ -193,6 +197,28 @@ public class Sgv2RowsResourceImpl extends RestResourceBase implements Sgv2RowsRe
         .map(any -> RestResponse.status(Response.Status.CREATED, payloadAsString));
   }
 
+  @Override
+  public Multi<Sgv2RowWriteResult> createRows(
+      final String keyspaceName,
+      final String tableName,
+      final Boolean compactMap,
+      final InputStream payload) {
+    final RequestParams requestParams = RestApiUtils.getRequestParams(restApiConfig, compactMap);
+    // resolve the table once, and fail before reading anything if it's not available
+    return getTableAsyncCheckExistence(keyspaceName, tableName, false, Status.BAD_REQUEST)
+        .onItem()
+        .transformToMulti(
+            tableDef ->
+                new BulkRowWriter(
+                        requestInfo.getStargateBridge(),
+                        keyspaceName,
+                        tableName,
+                        tableDef,
+                        findProtoConverter(tableDef, requestParams),
+                        restApiConfig.bulk())
+                    .write(JsonRecordIterator.stream(MAP_READER, payload)));
+  }
+
   @Override
   public Uni<RestResponse<Object>> updateRows(
       final String keyspaceName,
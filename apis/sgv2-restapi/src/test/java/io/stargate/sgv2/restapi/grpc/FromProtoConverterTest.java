@@ -3,10 +3,14 @@ package io.stargate.sgv2.restapi.grpc;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
 import io.stargate.bridge.grpc.CqlDuration;
 import io.stargate.bridge.grpc.Values;
 import io.stargate.bridge.proto.QueryOuterClass;
 import io.stargate.sgv2.api.common.config.ImmutableRequestParams;
+import java.io.StringWriter;
 import java.util.*;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -19,6 +23,8 @@ public class FromProtoConverterTest {
 
   private static final FromProtoValueCodecs FROM_PROTO_VALUE_CODECS = new FromProtoValueCodecs();
 
+  private static final ObjectMapper JSON_MAPPER = new JsonMapper();
+
   private static Arguments[] fromExternalSamples() {
     return new Arguments[] {
       arguments(123, basicType(QueryOuterClass.TypeSpec.Basic.INT), Values.of(123)),
@@ -161,6 +167,43 @@ public class FromProtoConverterTest {
     assertThat(result.get(TEST_COLUMN)).isEqualTo(externalValue);
   }
 
+  @ParameterizedTest
+  @MethodSource("fromExternalSamples")
+  @DisplayName("Should write Bridge/gRPC value as JSON same as serializing converted value")
+  public void writeJsonSameAsConvertedTest(
+      Object externalValue, QueryOuterClass.TypeSpec typeSpec, QueryOuterClass.Value bridgeValue)
+      throws Exception {
+    FromProtoConverter conv = createConverter(typeSpec, false);
+    List<QueryOuterClass.Value> values = Arrays.asList(bridgeValue);
+
+    assertThat(writeJson(conv, values))
+        .isEqualTo(JSON_MAPPER.writeValueAsString(conv.mapFromProtoValues(values)));
+  }
+
+  @ParameterizedTest
+  @MethodSource("fromExternalMapSamples")
+  @DisplayName("Should write Bridge/gRPC value as JSON same as serializing converted value")
+  public void writeJsonSameAsConvertedTest(
+      boolean compactMapData,
+      Object externalValue,
+      QueryOuterClass.TypeSpec typeSpec,
+      QueryOuterClass.Value bridgeValue)
+      throws Exception {
+    FromProtoConverter conv = createConverter(typeSpec, compactMapData);
+    List<QueryOuterClass.Value> values = Arrays.asList(bridgeValue);
+
+    assertThat(writeJson(conv, values))
+        .isEqualTo(JSON_MAPPER.writeValueAsString(conv.mapFromProtoValues(values)));
+  }
+
+  @Test
+  public void writeJsonNullTest() throws Exception {
+    FromProtoConverter conv = createConverter(basicType(QueryOuterClass.TypeSpec.Basic.INT), false);
+
+    assertThat(writeJson(conv, Arrays.asList(Values.NULL)))
+        .isEqualTo("{\"" + TEST_COLUMN + "\":null}");
+  }
+
   // For [stargate#2246]: handle conversion for "missing" Tuple value
   @Test
   public void emptyOrMissingTupleToNullTest() {
@@ -186,6 +229,15 @@ public class FromProtoConverterTest {
   ///////////////////////////////////////////////////////////////////////
    */
 
+  private static String writeJson(FromProtoConverter conv, List<QueryOuterClass.Value> values)
+      throws Exception {
+    StringWriter w = new StringWriter();
+    try (JsonGenerator g = JSON_MAPPER.createGenerator(w)) {
+      conv.writeJsonFromProtoValues(values, g);
+    }
+    return w.toString();
+  }
+
   private static Set<Object> setOf(Object... values) {
     LinkedHashSet<Object> set = new LinkedHashSet<>();
     set.addAll(Arrays.asList(values));
@@ -0,0 +1,95 @@
+package io.stargate.sgv2.restapi.service.resources;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.stargate.bridge.grpc.Values;
+import io.stargate.bridge.proto.QueryOuterClass;
+import io.stargate.sgv2.api.common.util.JsonRecordIterator;
+import io.stargate.sgv2.api.common.util.JsonRecordIterator.JsonRecord;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class BulkRowWriterTest {
+  private static final ObjectReader MAP_READER = new ObjectMapper().readerFor(Map.class);
+
+  @Test
+  public void groupsRowsByPartitionKey() {
+    List<BulkRowWriter.RowWrite> rows =
+        List.of(row(0, 1), row(1, 2), row(2, 1), row(3, 2), row(4, 1));
+
+    List<List<BulkRowWriter.RowWrite>> batches = BulkRowWriter.groupIntoBatches(rows, 10);
+
+    assertThat(batches).hasSize(2);
+    assertThat(batches.get(0))
+        .extracting(BulkRowWriter.RowWrite::index)
+        .containsExactly(0L, 2L, 4L);
+    assertThat(batches.get(1)).extracting(BulkRowWriter.RowWrite::index).containsExactly(1L, 3L);
+  }
+
+  @Test
+  public void splitsPartitionsLargerThanMaxBatchSize() {
+    List<BulkRowWriter.RowWrite> rows = List.of(row(0, 1), row(1, 1), row(2, 1), row(3, 1));
+
+    List<List<BulkRowWriter.RowWrite>> batches = BulkRowWriter.groupIntoBatches(rows, 3);
+
+    assertThat(batches).hasSize(2);
+    assertThat(batches.get(0))
+        .extracting(BulkRowWriter.RowWrite::index)
+        .containsExactly(0L, 1L, 2L);
+    assertThat(batches.get(1)).extracting(BulkRowWriter.RowWrite::index).containsExactly(3L);
+  }
+
+  @Test
+  public void keepsInvalidRowsInTheirOwnBatch() {
+    BulkRowWriter.RowWrite invalid = new BulkRowWriter.RowWrite(1, null, null, "bad row");
+    List<BulkRowWriter.RowWrite> rows = List.of(row(0, 1), invalid, row(2, 1));
+
+    List<List<BulkRowWriter.RowWrite>> batches = BulkRowWriter.groupIntoBatches(rows, 10);
+
+    assertThat(batches).hasSize(2);
+    assertThat(batches.get(0)).containsExactly(invalid);
+    assertThat(batches.get(1)).extracting(BulkRowWriter.RowWrite::index).containsExactly(0L, 2L);
+  }
+
+  @Test
+  public void reportsMalformedRowAsInvalid() {
+    BulkRowWriter writer = new BulkRowWriter(null, "ks", "tbl", null, null, null);
+
+    BulkRowWriter.RowWrite write = writer.toRowWrite(3, parse("{\"k\": "));
+
+    assertThat(write.index()).isEqualTo(3);
+    assertThat(write.query()).isNull();
+    assertThat(write.error()).startsWith("Invalid row to create, problem: malformed JSON: ");
+  }
+
+  @Test
+  public void reportsNullRowAsInvalid() {
+    BulkRowWriter writer = new BulkRowWriter(null, "ks", "tbl", null, null, null);
+
+    BulkRowWriter.RowWrite write = writer.toRowWrite(4, parse("null"));
+
+    assertThat(write.index()).isEqualTo(4);
+    assertThat(write.query()).isNull();
+    assertThat(write.error())
+        .isEqualTo("Invalid row to create, problem: row must be a JSON object");
+  }
+
+  private static JsonRecord<Map<String, Object>> parse(String line) {
+    return JsonRecordIterator.<Map<String, Object>>of(
+            MAP_READER, new ByteArrayInputStream(line.getBytes(StandardCharsets.UTF_8)))
+        .next();
+  }
+
+  private static BulkRowWriter.RowWrite row(long index, long partitionKey) {
+    return new BulkRowWriter.RowWrite(
+        index,
+        List.of(Values.of(partitionKey)),
+        QueryOuterClass.BatchQuery.getDefaultInstance(),
+        null);
+  }
+}
@@ -18,6 +18,9 @@ package io.stargate.auth.jwt;
 import static io.stargate.auth.jwt.AuthnJwtService.CLAIMS_FIELD;
 import static io.stargate.auth.jwt.AuthnJwtService.STARGATE_PREFIX;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.stargate.auth.AuthenticationSubject;
 import io.stargate.auth.AuthorizationService;
 import io.stargate.auth.Scope;
@@ -33,6 +36,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -42,8 +46,71 @@ import org.slf4j.LoggerFactory;
 public class AuthzJwtService implements AuthorizationService {
 
   private static final Logger log = LoggerFactory.getLogger(AuthzJwtService.class);
+
+  private static final long CLAIMS_CACHE_MAX_SIZE =
+      Long.getLong("stargate.auth.jwt.claims_cache_max_size", 10_000);
+  private static final long CLAIMS_CACHE_MAX_TTL_SECONDS =
+      Long.getLong("stargate.auth.jwt.claims_cache_max_ttl_seconds", 300);
+
   private final Pattern tokenPattern = Pattern.compile("\\.");
 
+  /**
+   * The decoded claims of recently used tokens, so that they don't have to be re-parsed for each
+   * request. Entries expire with their token, or after a maximum TTL. Null if caching is disabled.
+   */
+  private final Cache<String, StargateClaims> claimsCache;
+
+  public AuthzJwtService() {
+    this(CLAIMS_CACHE_MAX_SIZE, CLAIMS_CACHE_MAX_TTL_SECONDS);
+  }
+
+  /**
+   * @param claimsCacheMaxSize the maximum number of tokens to cache the claims of, or 0 to disable
+   *     the cache.
+   * @param claimsCacheMaxTtlSeconds how long the claims of a token can be cached, if the token
+   *     doesn't expire before that.
+   */
+  public AuthzJwtService(long claimsCacheMaxSize, long claimsCacheMaxTtlSeconds) {
+    if (claimsCacheMaxSize <= 0) {
+      claimsCache = null;
+    } else {
+      long maxTtlNanos = TimeUnit.SECONDS.toNanos(claimsCacheMaxTtlSeconds);
+      claimsCache =
+          Caffeine.newBuilder()
+              .maximumSize(claimsCacheMaxSize)
+              .expireAfter(
+                  new Expiry<String, StargateClaims>() {
+                    @Override
+                    public long expireAfterCreate(
+                        String token, StargateClaims claims, long currentTime) {
+                      long untilExpirationMillis =
+                          Math.max(0, claims.getExpirationMillis() - System.currentTimeMillis());
+                      return Math.min(
+                          maxTtlNanos, TimeUnit.MILLISECONDS.toNanos(untilExpirationMillis));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(
+                        String token,
+                        StargateClaims claims,
+                        long currentTime,
+                        long currentDuration) {
+                      return expireAfterCreate(token, claims, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(
+                        String token,
+                        StargateClaims claims,
+                        long currentTime,
+                        long currentDuration) {
+                      return currentDuration;
+                    }
+                  })
+              .build();
+    }
+  }
+
   /**
    * Using the provided JWT and the claims it contains will perform pre-authorization where
    * possible, executes the query provided, and then authorizes the response of the query.
@@ -61,7 +128,7 @@ public class AuthzJwtService implements AuthorizationService {
           sourceAPI) // this isn’t supported but if you want to use it you’ll need something other
       // than a JWT
       throws Exception {
-    JSONObject stargateClaims = extractClaimsFromJWT(authenticationSubject.token());
+    StargateClaims stargateClaims = getClaims(authenticationSubject.token());
 
     preCheckDataReadWrite(stargateClaims, typedKeyValues);
 
@@ -74,17 +141,18 @@ public class AuthzJwtService implements AuthorizationService {
     return result.withRowInspector(row -> hasCorrectClaims(stargateClaims, row));
   }
 
-  static boolean hasCorrectClaims(JSONObject stargateClaims, io.stargate.db.datastore.Row row) {
-    if (row == null) {
+  static boolean hasCorrectClaims(
+      StargateClaims stargateClaims, io.stargate.db.datastore.Row row) {
+    if (row == null || stargateClaims.isEmpty()) {
       return true;
     }
 
     for (Column col : row.columns()) {
-      if (stargateClaims.has(STARGATE_PREFIX + col.name())) {
+      if (stargateClaims.restricts(col.name())) {
 
         String stargateClaimValue;
         try {
-          stargateClaimValue = stargateClaims.getString(STARGATE_PREFIX + col.name());
+          stargateClaimValue = stargateClaims.requiredValue(col.name());
         } catch (JSONException e) {
           log.warn("Unable to get stargate claim for " + STARGATE_PREFIX + col.name());
           return false;
@@ -143,7 +211,7 @@ public class AuthzJwtService implements AuthorizationService {
       Scope scope,
       SourceAPI sourceAPI)
       throws UnauthorizedException {
-    JSONObject stargateClaims = extractClaimsFromJWT(authenticationSubject.token());
+    StargateClaims stargateClaims = getClaims(authenticationSubject.token());
 
     preCheckDataReadWrite(stargateClaims, typedKeyValues);
 
@@ -258,7 +326,13 @@ public class AuthzJwtService implements AuthorizationService {
     // Cannot perform authorization with a JWT token so just return
   }
 
-  private JSONObject extractClaimsFromJWT(String token) throws JSONException {
+  private StargateClaims getClaims(String token) throws JSONException {
+    return claimsCache == null
+        ? extractClaimsFromJWT(token)
+        : claimsCache.get(token, this::extractClaimsFromJWT);
+  }
+
+  private StargateClaims extractClaimsFromJWT(String token) throws JSONException {
     // Grab the custom claims from the JWT. It's safe to work with the JWT as a plain Base64 encoded
     // json object here since by this point we've already authenticated the request.
     String[] parts = tokenPattern.split(token);
@@ -273,23 +347,26 @@ public class AuthzJwtService implements AuthorizationService {
             // Per RFC-7519, JWTs are encoded from the UTF-8 representation of the JSON payload:
             StandardCharsets.UTF_8);
     JSONObject payload = new JSONObject(decodedPayload);
-    return payload.getJSONObject(CLAIMS_FIELD);
+    // "exp" is in seconds since the epoch (RFC-7519 section 4.1.4)
+    long expirationMillis =
+        payload.has("exp") ? TimeUnit.SECONDS.toMillis(payload.getLong("exp")) : Long.MAX_VALUE;
+    return StargateClaims.from(payload.getJSONObject(CLAIMS_FIELD), expirationMillis);
   }
 
-  private void preCheckDataReadWrite(JSONObject stargateClaims, List<TypedKeyValue> typedKeyValues)
+  private void preCheckDataReadWrite(
+      StargateClaims stargateClaims, List<TypedKeyValue> typedKeyValues)
       throws JSONException, UnauthorizedException {
     for (TypedKeyValue typedKeyValue : typedKeyValues) {
       // If one of the columns exist as a field in the JWT claims and the values do not match then
       // the request is not allowed.
-      if (stargateClaims.has(STARGATE_PREFIX + typedKeyValue.getName())) {
+      if (stargateClaims.restricts(typedKeyValue.getName())) {
         ColumnType targetCellType = typedKeyValue.getType();
         if (!targetCellType.equals(Type.Text)) {
           throw new IllegalArgumentException(
               "Column must be of type text to be used for authorization");
         }
 
-        String stargateClaimValue =
-            stargateClaims.getString(STARGATE_PREFIX + typedKeyValue.getName());
+        String stargateClaimValue = stargateClaims.requiredValue(typedKeyValue.getName());
         String columnValue = (String) typedKeyValue.getValue();
         if (!stargateClaimValue.equals(columnValue)) {
           throw new UnauthorizedException("Not allowed to access this resource");
@@ -0,0 +1,101 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.auth.jwt;
+
+import static io.stargate.auth.jwt.AuthnJwtService.STARGATE_PREFIX;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * The Stargate claims of a JWT, indexed by the name of the column that they restrict (that is,
+ * without the {@value AuthnJwtService#STARGATE_PREFIX} prefix), so that they can be checked against
+ * each row with simple map lookups.
+ */
+class StargateClaims {
+
+  static final StargateClaims EMPTY =
+      new StargateClaims(Collections.emptyMap(), Collections.emptySet(), Long.MAX_VALUE);
+
+  private final Map<String, String> valuesByColumn;
+  // Claims that can't be used because their value is not a string
+  private final Set<String> invalidColumns;
+  private final long expirationMillis;
+
+  private StargateClaims(
+      Map<String, String> valuesByColumn, Set<String> invalidColumns, long expirationMillis) {
+    this.valuesByColumn = valuesByColumn;
+    this.invalidColumns = invalidColumns;
+    this.expirationMillis = expirationMillis;
+  }
+
+  /**
+   * @param stargateClaims the {@value AuthnJwtService#CLAIMS_FIELD} object of the JWT payload.
+   * @param expirationMillis when the JWT expires, or {@link Long#MAX_VALUE} if it doesn't.
+   */
+  static StargateClaims from(JSONObject stargateClaims, long expirationMillis) {
+    Map<String, String> valuesByColumn = new HashMap<>();
+    Set<String> invalidColumns = new HashSet<>();
+    for (String key : stargateClaims.keySet()) {
+      if (key.startsWith(STARGATE_PREFIX)) {
+        String column = key.substring(STARGATE_PREFIX.length());
+        Object value = stargateClaims.opt(key);
+        if (value instanceof String) {
+          valuesByColumn.put(column, (String) value);
+        } else {
+          invalidColumns.add(column);
+        }
+      }
+    }
+    return new StargateClaims(valuesByColumn, invalidColumns, expirationMillis);
+  }
+
+  static StargateClaims from(JSONObject stargateClaims) {
+    return from(stargateClaims, Long.MAX_VALUE);
+  }
+
+  boolean isEmpty() {
+    return valuesByColumn.isEmpty() && invalidColumns.isEmpty();
+  }
+
+  /** Whether there is a claim for the given column. */
+  boolean restricts(String column) {
+    return valuesByColumn.containsKey(column) || invalidColumns.contains(column);
+  }
+
+  /**
+   * Returns the value that the claim for the given column requires, or null if there is no claim
+   * for this column.
+   *
+   * @throws JSONException if the claim's value is not a string.
+   */
+  String requiredValue(String column) throws JSONException {
+    if (invalidColumns.contains(column)) {
+      throw new JSONException(
+          String.format("JSONObject[\"%s%s\"] is not a string.", STARGATE_PREFIX, column));
+    }
+    return valuesByColumn.get(column);
+  }
+
+  long getExpirationMillis() {
+    return expirationMillis;
+  }
+}
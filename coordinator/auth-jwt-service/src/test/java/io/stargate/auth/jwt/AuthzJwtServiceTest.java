@@ -31,6 +31,7 @@ import com.nimbusds.jose.crypto.MACSigner;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
 import io.stargate.auth.AuthenticationSubject;
+import io.stargate.auth.Scope;
 import io.stargate.auth.SourceAPI;
 import io.stargate.auth.TypedKeyValue;
 import io.stargate.auth.UnauthorizedException;
@@ -45,6 +46,7 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -311,7 +313,8 @@ public class AuthzJwtServiceTest {
     Row row = mockRow(columnName, columnValue);
 
     // when
-    boolean result = AuthzJwtService.hasCorrectClaims(stargateClaims, row);
+    boolean result =
+        AuthzJwtService.hasCorrectClaims(StargateClaims.from(stargateClaims), row);
     // then
     assertThat(result).isTrue();
   }
@@ -324,7 +327,8 @@ public class AuthzJwtServiceTest {
     Row row = mockRow(columnName, "different_value");
 
     // when
-    boolean result = AuthzJwtService.hasCorrectClaims(stargateClaims, row);
+    boolean result =
+        AuthzJwtService.hasCorrectClaims(StargateClaims.from(stargateClaims), row);
     // then
     assertThat(result).isFalse();
   }
@@ -336,7 +340,8 @@ public class AuthzJwtServiceTest {
     Row row = mockRow("column_to_check", "value", "column2", "different_value");
 
     // when
-    boolean result = AuthzJwtService.hasCorrectClaims(stargateClaims, row);
+    boolean result =
+        AuthzJwtService.hasCorrectClaims(StargateClaims.from(stargateClaims), row);
     // then
     assertThat(result).isTrue();
   }
@@ -349,7 +354,8 @@ public class AuthzJwtServiceTest {
     when(row.columns()).thenReturn(Collections.emptyList());
 
     // when
-    boolean result = AuthzJwtService.hasCorrectClaims(stargateClaims, row);
+    boolean result =
+        AuthzJwtService.hasCorrectClaims(StargateClaims.from(stargateClaims), row);
     // then
     assertThat(result).isTrue();
   }
@@ -357,18 +363,94 @@ public class AuthzJwtServiceTest {
   @Test
   public void shouldReturnFalseIfGettingClaimsFailed() {
     // given
-    JSONObject stargateClaims = mock(JSONObject.class);
+    JSONObject stargateClaims = new JSONObject().put("x-stargate-column_to_check", 42);
     Row row = mockRow("column_to_check", "value");
-    when(stargateClaims.has("x-stargate-column_to_check")).thenReturn(true);
-    when(stargateClaims.getString("x-stargate-column_to_check"))
-        .thenThrow(new JSONException("problem"));
 
     // when
-    boolean result = AuthzJwtService.hasCorrectClaims(stargateClaims, row);
+    boolean result =
+        AuthzJwtService.hasCorrectClaims(StargateClaims.from(stargateClaims), row);
     // then
     assertThat(result).isFalse();
   }
 
+  @Test
+  public void shouldIndexStargateClaimsByColumn() {
+    // given
+    JSONObject stargateClaims =
+        new JSONObject()
+            .put("x-stargate-userid", "123")
+            .put("x-stargate-item_count", 2)
+            .put("other_claim", "value");
+
+    // when
+    StargateClaims claims = StargateClaims.from(stargateClaims);
+
+    // then
+    assertThat(claims.isEmpty()).isFalse();
+    assertThat(claims.restricts("userid")).isTrue();
+    assertThat(claims.requiredValue("userid")).isEqualTo("123");
+    assertThat(claims.restricts("item_count")).isTrue();
+    assertThrows(JSONException.class, () -> claims.requiredValue("item_count"));
+    assertThat(claims.restricts("other_claim")).isFalse();
+    assertThat(claims.requiredValue("other_claim")).isNull();
+  }
+
+  @Test
+  public void executeDataWriteWithCachedClaims() throws Exception {
+    Map<String, Object> stargate_claims = new HashMap<>();
+    stargate_claims.put("x-stargate-userid", "123");
+    AuthenticationSubject subject = AuthenticationSubject.of(signJWT(stargate_claims), "web-user");
+
+    for (AuthzJwtService service :
+        Arrays.asList(mockAuthzJwtService, new AuthzJwtService(0, 0))) {
+      for (int i = 0; i < 2; i++) {
+        service.authorizeDataWrite(
+            subject,
+            "keyspace",
+            "table",
+            Collections.singletonList(new TypedKeyValue("userid", Type.Text, "123")),
+            Scope.MODIFY,
+            SourceAPI.CQL);
+        assertThrows(
+            UnauthorizedException.class,
+            () ->
+                service.authorizeDataWrite(
+                    subject,
+                    "keyspace",
+                    "table",
+                    Collections.singletonList(new TypedKeyValue("userid", Type.Text, "456")),
+                    Scope.MODIFY,
+                    SourceAPI.CQL));
+      }
+    }
+  }
+
+  @Test
+  public void executeDataWriteWithExpiredToken() throws Exception {
+    Map<String, Object> stargate_claims = new HashMap<>();
+    stargate_claims.put("x-stargate-userid", "123");
+    JWTClaimsSet claims =
+        new JWTClaimsSet.Builder()
+            .claim("stargate_claims", stargate_claims)
+            .expirationTime(Date.from(Instant.now().minusSeconds(60)))
+            .build();
+    SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims);
+    jwt.sign(new MACSigner(key));
+
+    // Authentication is responsible for rejecting expired tokens, the claims are still decoded
+    // (just not kept in the cache).
+    assertThrows(
+        UnauthorizedException.class,
+        () ->
+            mockAuthzJwtService.authorizeDataWrite(
+                AuthenticationSubject.of(jwt.serialize(), "web-user"),
+                "keyspace",
+                "table",
+                Collections.singletonList(new TypedKeyValue("userid", Type.Text, "456")),
+                Scope.MODIFY,
+                SourceAPI.CQL));
+  }
+
   private Row mockRow(String columnName, String value, String columnName2, String value2) {
     Row row = mock(Row.class);
     when(row.getString(columnName)).thenReturn(value);
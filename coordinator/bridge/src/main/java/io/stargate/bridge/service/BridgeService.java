@@ -17,6 +17,7 @@ package io.stargate.bridge.service;
 
 import io.grpc.Context;
 import io.grpc.StatusException;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import io.stargate.auth.AuthorizationService;
 import io.stargate.auth.SourceAPI;
@@ -45,12 +46,17 @@ public class BridgeService extends StargateBridgeGrpc.StargateBridgeImplBase {
   public static final ConsistencyLevel DEFAULT_CONSISTENCY = ConsistencyLevel.LOCAL_QUORUM;
   public static final ConsistencyLevel DEFAULT_SERIAL_CONSISTENCY = ConsistencyLevel.SERIAL;
 
+  private static final long KEYSPACE_DESCRIPTIONS_MAX_SIZE =
+      Long.getLong("stargate.bridge.keyspace_descriptions_cache_size", 1000);
+
   private final Persistence persistence;
   private final AuthorizationService authorizationService;
 
   private final ScheduledExecutorService executor;
   private final int schemaAgreementRetries;
   private final Schema.SupportedFeaturesResponse supportedFeaturesResponse;
+  private final SchemaWatchHandler schemaWatchHandler;
+  private final KeyspaceDescriptionCache keyspaceDescriptions;
 
   public BridgeService(
       Persistence persistence,
@@ -74,6 +80,13 @@ public class BridgeService extends StargateBridgeGrpc.StargateBridgeImplBase {
             .setSai(persistence.supportsSAI())
             .setLoggedBatches(persistence.supportsLoggedBatches())
             .build();
+    this.schemaWatchHandler = new SchemaWatchHandler(persistence, executor);
+    this.keyspaceDescriptions = new KeyspaceDescriptionCache(KEYSPACE_DESCRIPTIONS_MAX_SIZE);
+    persistence.registerSchemaChangeListener(
+        keyspaceName -> {
+          keyspaceDescriptions.invalidate(keyspaceName);
+          schemaWatchHandler.onKeyspaceChanged(keyspaceName);
+        });
   }
 
   @Override
@@ -91,6 +104,19 @@ public class BridgeService extends StargateBridgeGrpc.StargateBridgeImplBase {
         .handle();
   }
 
+  @Override
+  public void executeQueryStream(Query query, StreamObserver<Response> responseObserver) {
+    new QueryStreamHandler(
+            query,
+            CONNECTION_KEY.get(),
+            persistence,
+            SOURCE_API_KEY.get(),
+            executor,
+            schemaAgreementRetries,
+            (ServerCallStreamObserver<Response>) responseObserver)
+        .handle();
+  }
+
   @Override
   public void executeQueryWithSchema(
       Schema.QueryWithSchema request,
@@ -118,8 +144,7 @@ public class BridgeService extends StargateBridgeGrpc.StargateBridgeImplBase {
                 responseObserver.onNext(
                     Schema.QueryWithSchemaResponse.newBuilder()
                         .setNewKeyspace(
-                            SchemaHandler.buildKeyspaceDescription(
-                                keyspace, keyspaceName, decoratedName))
+                            keyspaceDescriptions.get(keyspace, keyspaceName, decoratedName))
                         .build());
                 responseObserver.onCompleted();
               } catch (StatusException e) {
@@ -172,7 +197,9 @@ public class BridgeService extends StargateBridgeGrpc.StargateBridgeImplBase {
       StreamObserver<Schema.CqlKeyspaceDescribe> responseObserver) {
     Map<String, String> headers = HEADERS_KEY.get();
     executor.execute(
-        () -> SchemaHandler.describeKeyspace(request, persistence, headers, responseObserver));
+        () ->
+            SchemaHandler.describeKeyspace(
+                request, persistence, keyspaceDescriptions, headers, responseObserver));
   }
 
   @Override
@@ -196,6 +223,16 @@ public class BridgeService extends StargateBridgeGrpc.StargateBridgeImplBase {
     responseObserver.onCompleted();
   }
 
+  @Override
+  public void watchSchema(
+      Schema.WatchSchemaRequest request,
+      StreamObserver<Schema.SchemaChangeEvent> responseObserver) {
+    schemaWatchHandler.watch(
+        (ServerCallStreamObserver<Schema.SchemaChangeEvent>) responseObserver,
+        CONNECTION_KEY.get(),
+        HEADERS_KEY.get());
+  }
+
   static class ResponseAndTraceId {
 
     final @Nullable UUID tracingId;
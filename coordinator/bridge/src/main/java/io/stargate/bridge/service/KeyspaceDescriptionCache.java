@@ -0,0 +1,114 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.bridge.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.grpc.StatusException;
+import io.stargate.bridge.proto.Schema.CqlKeyspaceDescribe;
+import io.stargate.db.schema.Keyspace;
+import java.util.Objects;
+
+/**
+ * Memoizes the {@link CqlKeyspaceDescribe} messages built by {@link
+ * SchemaHandler#buildKeyspaceDescription(Keyspace, String, String)}.
+ *
+ * <p>Descriptions are keyed by the decorated keyspace name and the {@link
+ * Keyspace#schemaHashCode()}, so a stale description is never returned. Concurrent requests for a
+ * missing description wait for a single build instead of all building the same message. Entries
+ * of a keyspace are evicted as soon as it changes, see {@link #invalidate(String)}.
+ */
+class KeyspaceDescriptionCache {
+
+  private final Cache<Key, CqlKeyspaceDescribe> descriptions;
+
+  KeyspaceDescriptionCache(long maximumSize) {
+    this.descriptions = Caffeine.newBuilder().maximumSize(maximumSize).build();
+  }
+
+  /**
+   * Returns the description of the given keyspace, building it if it's not cached yet.
+   *
+   * @param keyspace the current version of the keyspace
+   * @param simpleName the name that the client asked for
+   * @param decoratedName the name of the keyspace in the persistence
+   */
+  CqlKeyspaceDescribe get(Keyspace keyspace, String simpleName, String decoratedName)
+      throws StatusException {
+    Key key = new Key(decoratedName, simpleName, keyspace.schemaHashCode());
+    try {
+      return descriptions.get(
+          key,
+          __ -> {
+            try {
+              return SchemaHandler.buildKeyspaceDescription(keyspace, simpleName, decoratedName);
+            } catch (StatusException e) {
+              throw new BuildException(e);
+            }
+          });
+    } catch (BuildException e) {
+      throw e.getCause();
+    }
+  }
+
+  /** Evicts all descriptions of a keyspace, should be called when the keyspace changes. */
+  void invalidate(String decoratedName) {
+    descriptions.asMap().keySet().removeIf(key -> key.decoratedName.equals(decoratedName));
+  }
+
+  private static class Key {
+    private final String decoratedName;
+    private final String simpleName;
+    private final int schemaHash;
+
+    Key(String decoratedName, String simpleName, int schemaHash) {
+      this.decoratedName = decoratedName;
+      this.simpleName = simpleName;
+      this.schemaHash = schemaHash;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (this == other) {
+        return true;
+      }
+      if (!(other instanceof Key)) {
+        return false;
+      }
+      Key that = (Key) other;
+      return schemaHash == that.schemaHash
+          && decoratedName.equals(that.decoratedName)
+          && simpleName.equals(that.simpleName);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(decoratedName, simpleName, schemaHash);
+    }
+  }
+
+  /** Carries a {@link StatusException} out of the cache loader. */
+  private static class BuildException extends RuntimeException {
+    BuildException(StatusException cause) {
+      super(null, cause, false, false);
+    }
+
+    @Override
+    public synchronized StatusException getCause() {
+      return (StatusException) super.getCause();
+    }
+  }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.bridge.service;
+
+import io.grpc.Context;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import io.stargate.auth.SourceAPI;
+import io.stargate.bridge.proto.QueryOuterClass.Query;
+import io.stargate.bridge.proto.QueryOuterClass.Response;
+import io.stargate.bridge.proto.QueryOuterClass.ResultSet;
+import io.stargate.db.Persistence;
+import io.stargate.db.Persistence.Connection;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Handles a server-streaming query: executes the query page by page, and pushes every page to the
+ * client as a separate {@link Response}.
+ *
+ * <p>Each page is executed with a regular {@link QueryHandler}, so retries and error handling are
+ * the same as for unary queries. The next page is only requested from the persistence backend once
+ * the outbound transport is ready ({@link ServerCallStreamObserver#isReady()}); otherwise, the
+ * query is parked until the on-ready handler fires. This way a slow client does not cause pages to
+ * pile up in the coordinator's memory.
+ */
+class QueryStreamHandler {
+
+  private final Query query;
+  private final Connection connection;
+  private final Persistence persistence;
+  private final SourceAPI sourceAPI;
+  private final ScheduledExecutorService executor;
+  private final int schemaAgreementRetries;
+  private final ServerCallStreamObserver<Response> responseObserver;
+  private final StreamObserver<Response> synchronizedObserver;
+
+  // the gRPC context of the original call, pages after the first one are executed from persistence
+  // threads, so it must be re-attached for the context keys to resolve
+  private final Context context;
+
+  // the query for the next page, if it could not be started because the client was not ready
+  private final AtomicReference<Query> pendingQuery = new AtomicReference<>();
+
+  private volatile boolean cancelled;
+
+  QueryStreamHandler(
+      Query query,
+      Connection connection,
+      Persistence persistence,
+      SourceAPI sourceAPI,
+      ScheduledExecutorService executor,
+      int schemaAgreementRetries,
+      ServerCallStreamObserver<Response> responseObserver) {
+    this.query = query;
+    this.connection = connection;
+    this.persistence = persistence;
+    this.sourceAPI = sourceAPI;
+    this.executor = executor;
+    this.schemaAgreementRetries = schemaAgreementRetries;
+    this.responseObserver = responseObserver;
+    this.synchronizedObserver = new SynchronizedStreamObserver<>(responseObserver);
+    this.context = Context.current();
+  }
+
+  public void handle() {
+    // handlers must be registered before the service method returns
+    responseObserver.setOnCancelHandler(() -> cancelled = true);
+    responseObserver.setOnReadyHandler(this::resumePending);
+
+    executePage(query);
+  }
+
+  private void executePage(Query pageQuery) {
+    if (cancelled) {
+      return;
+    }
+    context.run(
+        () ->
+            new QueryHandler(
+                    pageQuery,
+                    connection,
+                    persistence,
+                    sourceAPI,
+                    executor,
+                    schemaAgreementRetries,
+                    new PageObserver(pageQuery))
+                .handle());
+  }
+
+  private void resumePending() {
+    Query next = pendingQuery.getAndSet(null);
+    if (next != null) {
+      executePage(next);
+    }
+  }
+
+  private void onPage(Query pageQuery, Response response) {
+    synchronizedObserver.onNext(response);
+
+    ResultSet resultSet = response.hasResultSet() ? response.getResultSet() : null;
+    if (cancelled || resultSet == null || !resultSet.hasPagingState()) {
+      synchronizedObserver.onCompleted();
+      return;
+    }
+
+    Query next =
+        Query.newBuilder(pageQuery)
+            .setParameters(
+                pageQuery.getParameters().toBuilder().setPagingState(resultSet.getPagingState()))
+            .build();
+
+    // park the next page, and start it right away if the client can accept more messages;
+    // if not, the on-ready handler will pick it up (only one of the two can win the getAndSet)
+    pendingQuery.set(next);
+    if (responseObserver.isReady()) {
+      resumePending();
+    }
+  }
+
+  /** Receives the single response of one page execution. */
+  private class PageObserver implements StreamObserver<Response> {
+
+    private final Query pageQuery;
+
+    PageObserver(Query pageQuery) {
+      this.pageQuery = pageQuery;
+    }
+
+    @Override
+    public void onNext(Response response) {
+      onPage(pageQuery, response);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      synchronizedObserver.onError(t);
+    }
+
+    @Override
+    public void onCompleted() {
+      // completion of the whole stream is driven by the paging state, see onPage()
+    }
+  }
+}
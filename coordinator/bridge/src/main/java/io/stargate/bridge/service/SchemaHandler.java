@@ -53,6 +53,7 @@ class SchemaHandler {
   public static void describeKeyspace(
       DescribeKeyspaceQuery query,
       Persistence persistence,
+      KeyspaceDescriptionCache descriptions,
       Map<String, String> headers,
       StreamObserver<CqlKeyspaceDescribe> responseObserver) {
 
@@ -71,8 +72,7 @@ class SchemaHandler {
         responseObserver.onNext(EMPTY_KEYSPACE_DESCRIPTION);
         responseObserver.onCompleted();
       } else {
-        CqlKeyspaceDescribe description =
-            SchemaHandler.buildKeyspaceDescription(keyspace, simpleName, decoratedName);
+        CqlKeyspaceDescribe description = descriptions.get(keyspace, simpleName, decoratedName);
         responseObserver.onNext(description);
         responseObserver.onCompleted();
       }
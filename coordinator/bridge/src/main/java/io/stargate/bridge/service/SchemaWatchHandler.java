@@ -0,0 +1,127 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.bridge.service;
+
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import io.stargate.bridge.proto.Schema.SchemaChangeEvent;
+import io.stargate.db.Persistence;
+import io.stargate.db.Persistence.Connection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Fans out the schema changes of the persistence to all the clients currently subscribed with
+ * {@code WatchSchema}.
+ *
+ * <p>A single instance is notified by the listener that {@link BridgeService} registers once with
+ * {@link Persistence#registerSchemaChangeListener(java.util.function.Consumer)}; watchers are
+ * added when their call starts, and removed when the client cancels the call.
+ *
+ * <p>Each watcher receives the changes of all the keyspaces of its own tenant, under the name it
+ * uses for them (without the tenant prefix). The changes are not filtered by what the watcher is
+ * allowed to read: clients use them to invalidate their caches, so they must also learn about
+ * dropped keyspaces and keyspaces they cached with another token. Only the names are pushed, the
+ * schema itself is still authorized when it is read with {@code DescribeKeyspace}.
+ */
+class SchemaWatchHandler {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SchemaWatchHandler.class);
+
+  private static final SchemaChangeEvent SUBSCRIBED =
+      SchemaChangeEvent.newBuilder()
+          .setSubscribed(SchemaChangeEvent.Subscribed.getDefaultInstance())
+          .build();
+
+  private final Persistence persistence;
+  private final Executor executor;
+  private final Set<Watcher> watchers = ConcurrentHashMap.newKeySet();
+
+  /**
+   * @param executor the executor that pushes the changes, so that the schema change listener of the
+   *     persistence is not held up by the watchers.
+   */
+  SchemaWatchHandler(Persistence persistence, Executor executor) {
+    this.persistence = persistence;
+    this.executor = executor;
+  }
+
+  void watch(
+      ServerCallStreamObserver<SchemaChangeEvent> responseObserver,
+      Connection connection,
+      Map<String, String> headers) {
+    if (!connection.loggedUser().isPresent()) {
+      responseObserver.onError(
+          Status.UNAUTHENTICATED.withDescription("Must be authenticated").asRuntimeException());
+      return;
+    }
+
+    // the names of the keyspaces of a tenant all start with the decorated empty name
+    String tenantPrefix = persistence.decorateKeyspaceName("", headers);
+    Watcher watcher = new Watcher(new SynchronizedStreamObserver<>(responseObserver), tenantPrefix);
+    responseObserver.setOnCancelHandler(() -> watchers.remove(watcher));
+
+    // register first, then acknowledge: the client treats anything it had before the ack as stale,
+    // so no change can fall in between
+    watchers.add(watcher);
+    watcher.observer.onNext(SUBSCRIBED);
+  }
+
+  void onKeyspaceChanged(String keyspaceName) {
+    if (watchers.isEmpty()) {
+      return;
+    }
+    executor.execute(
+        () -> {
+          for (Watcher watcher : watchers) {
+            watcher.onKeyspaceChanged(keyspaceName);
+          }
+        });
+  }
+
+  private class Watcher {
+
+    private final StreamObserver<SchemaChangeEvent> observer;
+    private final String tenantPrefix;
+
+    Watcher(StreamObserver<SchemaChangeEvent> observer, String tenantPrefix) {
+      this.observer = observer;
+      this.tenantPrefix = tenantPrefix;
+    }
+
+    void onKeyspaceChanged(String decoratedName) {
+      if (!decoratedName.startsWith(tenantPrefix)) {
+        return;
+      }
+      String keyspaceName = decoratedName.substring(tenantPrefix.length());
+
+      SchemaChangeEvent event =
+          SchemaChangeEvent.newBuilder().setKeyspaceName(keyspaceName).build();
+      try {
+        observer.onNext(event);
+      } catch (Exception e) {
+        // the call is most likely closed, the cancel handler will (or already did) remove it
+        LOG.debug("Could not push schema change to watcher, removing it", e);
+        watchers.remove(this);
+      }
+    }
+  }
+}
@@ -24,10 +24,8 @@ import edu.umd.cs.findbugs.annotations.Nullable;
 import io.grpc.Status;
 import io.grpc.StatusException;
 import io.stargate.bridge.codec.ValueCodec;
-import io.stargate.bridge.codec.ValueCodecs;
 import io.stargate.bridge.proto.QueryOuterClass;
 import io.stargate.bridge.proto.QueryOuterClass.BatchParameters;
-import io.stargate.bridge.proto.QueryOuterClass.ColumnSpec;
 import io.stargate.bridge.proto.QueryOuterClass.QueryParameters;
 import io.stargate.bridge.proto.QueryOuterClass.ResultSet;
 import io.stargate.bridge.proto.QueryOuterClass.Row;
@@ -50,8 +48,8 @@ import java.util.function.BiFunction;
 public class ValuesHelper {
   public static BoundStatement bindValues(Prepared prepared, Values values, ByteBuffer unsetValue)
       throws StatusException {
-    final List<Column> columns = prepared.metadata.columns;
-    final int columnCount = columns.size();
+    final ValuesPlan plan = ValuesPlan.forBindMarkers(prepared);
+    final int columnCount = plan.size();
     final int valuesCount = values.getValuesCount();
     if (columnCount != valuesCount) {
       throw Status.FAILED_PRECONDITION
@@ -76,18 +74,14 @@ public class ValuesHelper {
       boundValueNames = new ArrayList<>(namesCount);
       for (int i = 0; i < namesCount; ++i) {
         String name = values.getValueNames(i);
-        Column column =
-            columns.stream()
-                .filter(c -> c.name().equals(name))
-                .findFirst()
-                .orElseThrow(
-                    () ->
-                        Status.INVALID_ARGUMENT
-                            .withDescription(
-                                String.format("Unable to find bind marker with name '%s'", name))
-                            .asException());
-        ColumnType columnType = columnTypeNotNull(column);
-        ValueCodec codec = ValueCodecs.get(columnType.rawType());
+        int index = plan.indexOf(name);
+        if (index < 0) {
+          throw Status.INVALID_ARGUMENT
+              .withDescription(String.format("Unable to find bind marker with name '%s'", name))
+              .asException();
+        }
+        ColumnType columnType = plan.type(index);
+        ValueCodec codec = plan.codec(index);
         Value value = values.getValues(i);
         try {
           boundValues.add(encodeValue(codec, value, columnType, unsetValue));
@@ -102,10 +96,9 @@ public class ValuesHelper {
       }
     } else {
       for (int i = 0; i < columnCount; ++i) {
-        Column column = columns.get(i);
         Value value = values.getValues(i);
-        ColumnType columnType = columnTypeNotNull(column);
-        ValueCodec codec = ValueCodecs.get(columnType.rawType());
+        ColumnType columnType = plan.type(i);
+        ValueCodec codec = plan.codec(i);
         try {
           boundValues.add(encodeValue(codec, value, columnType, unsetValue));
         } catch (Exception e) {
@@ -175,17 +168,12 @@ public class ValuesHelper {
       QueryOuterClass.ResumeMode resumeMode)
       throws StatusException {
     final List<Column> columns = rows.resultMetadata.columns;
-    final int columnCount = columns.size();
+    final ValuesPlan plan = ValuesPlan.forResult(rows.resultMetadata);
+    final int columnCount = plan.size();
 
     ResultSet.Builder resultSetBuilder = ResultSet.newBuilder();
     if (!skipMetadata) {
-      for (Column column : columns) {
-        resultSetBuilder.addColumns(
-            ColumnSpec.newBuilder()
-                .setType(convertType(columnTypeNotNull(column)))
-                .setName(column.name())
-                .build());
-      }
+      resultSetBuilder.addAllColumns(plan.columnSpecs());
     }
 
     int count = 0;
@@ -201,13 +189,11 @@ public class ValuesHelper {
                 rows.resultMetadata.pagingState,
                 arrayListRow,
                 resumeMode,
-                count == rows.rows.size() - 1);
+                count == rows.rowCount() - 1);
       }
       Row.Builder rowBuilder = Row.newBuilder();
       for (int i = 0; i < columnCount; ++i) {
-        ColumnType columnType = columnTypeNotNull(columns.get(i));
-        ValueCodec codec = ValueCodecs.get(columnType.rawType());
-        rowBuilder.addValues(decodeValue(codec, row.get(i), columnType));
+        rowBuilder.addValues(decodeValue(plan.codec(i), row.get(i), plan.type(i)));
       }
       if (comparableBytes != null) {
         rowBuilder.setComparableBytes(
@@ -1,7 +1,7 @@
 package io.stargate.bridge.service.interceptors;
 
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
 import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.google.protobuf.Descriptors;
 import io.grpc.Context;
 import io.grpc.Contexts;
@@ -25,9 +25,16 @@ import io.stargate.db.Persistence.Connection;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
 import javax.annotation.Nullable;
 import org.apache.cassandra.stargate.exceptions.UnhandledClientException;
 import org.immutables.value.Value;
@@ -51,11 +58,10 @@ public class NewConnectionInterceptor implements ServerInterceptor {
 
   protected final Persistence persistence;
   private final AuthenticationService authenticationService;
-  private final LoadingCache<RequestInfo, Connection> connectionCache =
-      Caffeine.newBuilder()
-          .expireAfterWrite(Duration.ofSeconds(CACHE_TTL_SECS))
-          .maximumSize(CACHE_MAX_SIZE)
-          .build(this::newConnection);
+  // Connections are created asynchronously on the auth executor, because validating a token might
+  // block (e.g. table-based auth issues a CQL query), and gRPC callbacks run on the event loop.
+  // Concurrent misses for the same request info share the same in-flight future.
+  private final AsyncLoadingCache<RequestInfo, Connection> connectionCache;
 
   @Value.Immutable
   public interface RequestInfo {
@@ -71,8 +77,25 @@ public class NewConnectionInterceptor implements ServerInterceptor {
 
   public NewConnectionInterceptor(
       Persistence persistence, AuthenticationService authenticationService) {
+    this(persistence, authenticationService, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * @param authExecutor the executor that validates tokens and creates new connections. It should
+   *     be bounded: if it rejects a task, the call fails with {@link Status#UNAVAILABLE}.
+   */
+  public NewConnectionInterceptor(
+      Persistence persistence,
+      AuthenticationService authenticationService,
+      Executor authExecutor) {
     this.persistence = persistence;
     this.authenticationService = authenticationService;
+    this.connectionCache =
+        Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofSeconds(CACHE_TTL_SECS))
+            .maximumSize(CACHE_MAX_SIZE)
+            .executor(authExecutor)
+            .buildAsync(this::newConnection);
   }
 
   @Override
@@ -107,32 +130,73 @@ public class NewConnectionInterceptor implements ServerInterceptor {
                 .remoteAddress(call.getAttributes().get(Grpc.TRANSPORT_ATTR_REMOTE_ADDR))
                 .build();
 
-        Connection connection = connectionCache.get(info);
-        context =
-            context
-                .withValue(BridgeService.HEADERS_KEY, stringHeaders)
-                .withValue(BridgeService.CONNECTION_KEY, connection);
+        CompletableFuture<Connection> connectionFuture = connectionCache.get(info);
+        if (connectionFuture.isDone()) {
+          // Cache hit (or synchronous failure): no need to defer anything
+          return startCall(connectionFuture, context, stringHeaders, call, headers, next);
+        }
+
+        // Otherwise the call starts on the auth executor once the connection is ready. Until then,
+        // the events of the call are buffered.
+        DeferredListener<ReqT> listener = new DeferredListener<>();
+        connectionFuture.whenComplete(
+            (connection, error) ->
+                listener.setDelegate(
+                    startCall(connectionFuture, context, stringHeaders, call, headers, next)));
+        return listener;
       }
       return Contexts.interceptCall(context, call, headers, next);
     } catch (Exception e) {
-      Throwable cause = e;
-      if (cause instanceof CompletionException) {
-        cause = e.getCause();
-      }
-      if (cause instanceof UnauthorizedException) {
-        call.close(
-            Status.UNAUTHENTICATED.withDescription("Invalid token").withCause(e), new Metadata());
-      } else if (cause instanceof UnhandledClientException) {
-        call.close(Status.UNAVAILABLE.withDescription(e.getMessage()).withCause(e), new Metadata());
-      } else {
-        final String message = "Error attempting to create connection to persistence";
-        logger.error(message, cause);
-        call.close(Status.INTERNAL.withDescription(message).withCause(e), new Metadata());
-      }
+      closeWithError(call, e);
     }
     return new NopListener<>();
   }
 
+  private <ReqT, RespT> Listener<ReqT> startCall(
+      CompletableFuture<Connection> connectionFuture,
+      Context context,
+      Map<String, String> stringHeaders,
+      ServerCall<ReqT, RespT> call,
+      Metadata headers,
+      ServerCallHandler<ReqT, RespT> next) {
+    try {
+      Connection connection = connectionFuture.join();
+      return Contexts.interceptCall(
+          context
+              .withValue(BridgeService.HEADERS_KEY, stringHeaders)
+              .withValue(BridgeService.CONNECTION_KEY, connection),
+          call,
+          headers,
+          next);
+    } catch (Exception e) {
+      closeWithError(call, e);
+      return new NopListener<>();
+    }
+  }
+
+  private void closeWithError(ServerCall<?, ?> call, Exception e) {
+    Throwable cause = e;
+    if (cause instanceof CompletionException) {
+      cause = e.getCause();
+    }
+    if (cause instanceof UnauthorizedException) {
+      call.close(
+          Status.UNAUTHENTICATED.withDescription("Invalid token").withCause(e), new Metadata());
+    } else if (cause instanceof RejectedExecutionException) {
+      // the auth executor is saturated, either when loading directly or from the cache
+      call.close(
+          Status.UNAVAILABLE.withDescription("Too many pending authentications").withCause(e),
+          new Metadata());
+    } else if (cause instanceof UnhandledClientException) {
+      call.close(
+          Status.UNAVAILABLE.withDescription(cause.getMessage()).withCause(e), new Metadata());
+    } else {
+      final String message = "Error attempting to create connection to persistence";
+      logger.error(message, cause);
+      call.close(Status.INTERNAL.withDescription(message).withCause(e), new Metadata());
+    }
+  }
+
   private boolean shouldCreateConnection(ServerCall<?, ?> call) {
     return !GET_SUPPORTED_FEATURES_NAME.equals(call.getMethodDescriptor().getFullMethodName());
   }
@@ -185,4 +249,74 @@ public class NewConnectionInterceptor implements ServerInterceptor {
   }
 
   private static class NopListener<ReqT> extends Listener<ReqT> {}
+
+  /**
+   * A listener that buffers the events of a call until its connection is ready, and then replays
+   * them (in order) to the actual listener.
+   */
+  private static class DeferredListener<ReqT> extends Listener<ReqT> {
+    // Guarded by this
+    private List<Consumer<Listener<ReqT>>> pendingEvents = new ArrayList<>();
+    // Only written once, under the lock, after all pending events have been replayed
+    private volatile Listener<ReqT> delegate;
+
+    void setDelegate(Listener<ReqT> delegate) {
+      while (true) {
+        List<Consumer<Listener<ReqT>>> events;
+        synchronized (this) {
+          if (pendingEvents.isEmpty()) {
+            pendingEvents = null;
+            this.delegate = delegate;
+            return;
+          }
+          events = pendingEvents;
+          pendingEvents = new ArrayList<>();
+        }
+        // Replay outside of the lock; events that arrive in the meantime are handled by the next
+        // iteration
+        for (Consumer<Listener<ReqT>> event : events) {
+          event.accept(delegate);
+        }
+      }
+    }
+
+    private void onEvent(Consumer<Listener<ReqT>> event) {
+      Listener<ReqT> current = delegate;
+      if (current == null) {
+        synchronized (this) {
+          if (pendingEvents != null) {
+            pendingEvents.add(event);
+            return;
+          }
+          current = delegate;
+        }
+      }
+      event.accept(current);
+    }
+
+    @Override
+    public void onMessage(ReqT message) {
+      onEvent(l -> l.onMessage(message));
+    }
+
+    @Override
+    public void onHalfClose() {
+      onEvent(Listener::onHalfClose);
+    }
+
+    @Override
+    public void onCancel() {
+      onEvent(Listener::onCancel);
+    }
+
+    @Override
+    public void onComplete() {
+      onEvent(Listener::onComplete);
+    }
+
+    @Override
+    public void onReady() {
+      onEvent(Listener::onReady);
+    }
+  }
 }
@@ -0,0 +1,200 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.bridge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.api.core.ProtocolVersion;
+import com.datastax.oss.driver.api.core.type.codec.TypeCodecs;
+import com.google.protobuf.Int32Value;
+import io.grpc.Context;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.stargate.bridge.Utils;
+import io.stargate.bridge.proto.QueryOuterClass.Query;
+import io.stargate.bridge.proto.QueryOuterClass.QueryParameters;
+import io.stargate.bridge.proto.QueryOuterClass.Response;
+import io.stargate.bridge.proto.StargateBridgeGrpc.StargateBridgeBlockingStub;
+import io.stargate.db.Parameters;
+import io.stargate.db.Result;
+import io.stargate.db.Result.Prepared;
+import io.stargate.db.Result.ResultMetadata;
+import io.stargate.db.Statement;
+import io.stargate.db.schema.Column;
+import io.stargate.db.schema.Column.Type;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.cassandra.stargate.exceptions.UnhandledClientException;
+import org.junit.jupiter.api.Test;
+
+public class ExecuteQueryStreamTest extends BaseBridgeServiceTest {
+
+  private static final String QUERY = "SELECT v FROM ks.tbl";
+
+  @Test
+  public void streamAllPages() {
+    Prepared prepared = Utils.makePrepared();
+    when(connection.prepare(anyString(), any(Parameters.class)))
+        .thenReturn(CompletableFuture.completedFuture(prepared));
+
+    // three pages, the paging state is the index of the next page
+    when(connection.execute(any(Statement.class), any(Parameters.class), anyLong()))
+        .then(
+            invocation -> {
+              Parameters parameters = invocation.getArgument(1, Parameters.class);
+              int page = parameters.pagingState().map(ByteBuffer::getInt).orElse(0);
+              ByteBuffer nextPagingState = page < 2 ? intBuffer(page + 1) : null;
+              return CompletableFuture.completedFuture(page(page, nextPagingState));
+            });
+
+    when(persistence.newConnection()).thenReturn(connection);
+
+    startServer(persistence);
+
+    StargateBridgeBlockingStub stub = makeBlockingStub();
+
+    Iterator<Response> responses =
+        stub.executeQueryStream(
+            Query.newBuilder()
+                .setCql(QUERY)
+                .setParameters(QueryParameters.newBuilder().setPageSize(Int32Value.of(1)))
+                .build());
+
+    List<Response> all = new ArrayList<>();
+    responses.forEachRemaining(all::add);
+
+    assertThat(all).hasSize(3);
+    for (int i = 0; i < 3; i++) {
+      Response response = all.get(i);
+      assertThat(response.getResultSet().getRowsCount()).isEqualTo(1);
+      assertThat(response.getResultSet().getRows(0).getValues(0).getString())
+          .isEqualTo("page" + i);
+      assertThat(response.getResultSet().hasPagingState()).isEqualTo(i < 2);
+    }
+  }
+
+  @Test
+  public void failureOnSecondPage() {
+    Prepared prepared = Utils.makePrepared();
+    when(connection.prepare(anyString(), any(Parameters.class)))
+        .thenReturn(CompletableFuture.completedFuture(prepared));
+
+    when(connection.execute(any(Statement.class), any(Parameters.class), anyLong()))
+        .then(
+            invocation -> {
+              Parameters parameters = invocation.getArgument(1, Parameters.class);
+              if (parameters.pagingState().isPresent()) {
+                CompletableFuture<Result> failed = new CompletableFuture<>();
+                failed.completeExceptionally(new UnhandledClientException("Page failure"));
+                return failed;
+              }
+              return CompletableFuture.completedFuture(page(0, intBuffer(1)));
+            });
+
+    when(persistence.newConnection()).thenReturn(connection);
+
+    startServer(persistence);
+
+    StargateBridgeBlockingStub stub = makeBlockingStub();
+
+    Iterator<Response> responses =
+        stub.executeQueryStream(Query.newBuilder().setCql(QUERY).build());
+
+    assertThat(responses.next().getResultSet().getRowsCount()).isEqualTo(1);
+    assertThatThrownBy(responses::next)
+        .isInstanceOf(StatusRuntimeException.class)
+        .extracting("status")
+        .extracting("code")
+        .isEqualTo(Status.UNAVAILABLE.getCode());
+  }
+
+  @Test
+  public void cancelledByClient() throws Exception {
+    Prepared prepared = Utils.makePrepared();
+    when(connection.prepare(anyString(), any(Parameters.class)))
+        .thenReturn(CompletableFuture.completedFuture(prepared));
+
+    // the second page is completed manually, after the client cancelled the call
+    CompletableFuture<Result> secondPage = new CompletableFuture<>();
+    CountDownLatch secondPageRequested = new CountDownLatch(1);
+    when(connection.execute(any(Statement.class), any(Parameters.class), anyLong()))
+        .then(
+            invocation -> {
+              Parameters parameters = invocation.getArgument(1, Parameters.class);
+              if (parameters.pagingState().isPresent()) {
+                secondPageRequested.countDown();
+                return secondPage;
+              }
+              return CompletableFuture.completedFuture(page(0, intBuffer(1)));
+            });
+
+    when(persistence.newConnection()).thenReturn(connection);
+
+    startServer(persistence);
+
+    StargateBridgeBlockingStub stub = makeBlockingStub();
+
+    Context.CancellableContext context = Context.current().withCancellation();
+    Iterator<Response> responses =
+        context.call(() -> stub.executeQueryStream(Query.newBuilder().setCql(QUERY).build()));
+
+    assertThat(responses.next().getResultSet().getRowsCount()).isEqualTo(1);
+    assertThat(secondPageRequested.await(5, TimeUnit.SECONDS)).isTrue();
+    context.cancel(null);
+
+    // give the server the time to see the cancellation, then complete the in-flight page
+    Thread.sleep(200);
+    secondPage.complete(page(1, intBuffer(2)));
+    Thread.sleep(200);
+
+    // no third page is fetched
+    verify(connection, times(2)).execute(any(Statement.class), any(Parameters.class), anyLong());
+  }
+
+  private static Result.Rows page(int index, ByteBuffer nextPagingState) {
+    ResultMetadata resultMetadata =
+        new ResultMetadata(
+            Utils.EMPTY_FLAGS,
+            1,
+            Collections.singletonList(Column.create("v", Type.Text)),
+            Utils.RESULT_METADATA_ID,
+            nextPagingState);
+    List<List<ByteBuffer>> rows =
+        Collections.singletonList(
+            Collections.singletonList(
+                TypeCodecs.TEXT.encode("page" + index, ProtocolVersion.DEFAULT)));
+    return new Result.Rows(rows, resultMetadata);
+  }
+
+  private static ByteBuffer intBuffer(int value) {
+    ByteBuffer buffer = ByteBuffer.allocate(4);
+    buffer.putInt(0, value);
+    return buffer;
+  }
+}
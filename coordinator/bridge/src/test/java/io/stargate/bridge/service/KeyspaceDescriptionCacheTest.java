@@ -0,0 +1,66 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.bridge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.stargate.bridge.proto.Schema.CqlKeyspaceDescribe;
+import io.stargate.db.schema.ImmutableKeyspace;
+import io.stargate.db.schema.Keyspace;
+import org.junit.jupiter.api.Test;
+
+public class KeyspaceDescriptionCacheTest {
+
+  private static final Keyspace KEYSPACE =
+      ImmutableKeyspace.builder().name("tenant_ks").durableWrites(true).build();
+
+  private final KeyspaceDescriptionCache cache = new KeyspaceDescriptionCache(10);
+
+  @Test
+  public void shouldReuseDescriptionOfSameKeyspaceVersion() throws Exception {
+    CqlKeyspaceDescribe first = cache.get(KEYSPACE, "ks", "tenant_ks");
+    CqlKeyspaceDescribe second = cache.get(KEYSPACE, "ks", "tenant_ks");
+
+    assertThat(second).isSameAs(first);
+    assertThat(first.getHash().getValue()).isEqualTo(KEYSPACE.schemaHashCode());
+    assertThat(first.getCqlKeyspace().getName()).isEqualTo("ks");
+    assertThat(first.getCqlKeyspace().getGlobalName()).isEqualTo("tenant_ks");
+  }
+
+  @Test
+  public void shouldRebuildDescriptionOfNewKeyspaceVersion() throws Exception {
+    Keyspace altered = ImmutableKeyspace.builder().name("tenant_ks").durableWrites(false).build();
+
+    CqlKeyspaceDescribe first = cache.get(KEYSPACE, "ks", "tenant_ks");
+    CqlKeyspaceDescribe second = cache.get(altered, "ks", "tenant_ks");
+
+    assertThat(second).isNotEqualTo(first);
+    assertThat(second.getHash().getValue()).isEqualTo(altered.schemaHashCode());
+    assertThat(second.getCqlKeyspace().getOptionsMap()).containsEntry("durable_writes", "false");
+  }
+
+  @Test
+  public void shouldRebuildDescriptionAfterInvalidation() throws Exception {
+    CqlKeyspaceDescribe first = cache.get(KEYSPACE, "ks", "tenant_ks");
+
+    cache.invalidate("other_ks");
+    assertThat(cache.get(KEYSPACE, "ks", "tenant_ks")).isSameAs(first);
+
+    cache.invalidate("tenant_ks");
+    CqlKeyspaceDescribe rebuilt = cache.get(KEYSPACE, "ks", "tenant_ks");
+    assertThat(rebuilt).isNotSameAs(first).isEqualTo(first);
+  }
+}
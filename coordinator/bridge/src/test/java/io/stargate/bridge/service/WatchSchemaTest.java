@@ -0,0 +1,156 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.bridge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.grpc.Context;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.stargate.auth.AuthenticationService;
+import io.stargate.auth.UnauthorizedException;
+import io.stargate.auth.entity.ResourceKind;
+import io.stargate.bridge.proto.Schema.SchemaChangeEvent;
+import io.stargate.bridge.proto.Schema.WatchSchemaRequest;
+import io.stargate.bridge.proto.StargateBridgeGrpc.StargateBridgeBlockingStub;
+import io.stargate.bridge.service.interceptors.NewConnectionInterceptor;
+import io.stargate.db.AuthenticatedUser;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+public class WatchSchemaTest extends BaseBridgeTest {
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldPushSchemaChanges() throws Exception {
+    // Given
+    StargateBridgeBlockingStub stub = makeBlockingStub();
+    mockConnection("");
+    startServer(persistence);
+
+    ArgumentCaptor<Consumer<String>> listener = ArgumentCaptor.forClass(Consumer.class);
+    verify(persistence).registerSchemaChangeListener(listener.capture());
+
+    try (Context.CancellableContext context = Context.current().withCancellation()) {
+      // When
+      Iterator<SchemaChangeEvent> events =
+          context.call(() -> stub.watchSchema(WatchSchemaRequest.getDefaultInstance()));
+
+      // Then
+      assertThat(events.next().hasSubscribed()).isTrue();
+
+      listener.getValue().accept("ks1");
+      listener.getValue().accept("ks2");
+
+      assertThat(events.next().getKeyspaceName()).isEqualTo("ks1");
+      assertThat(events.next().getKeyspaceName()).isEqualTo("ks2");
+    }
+
+    // a change after the client went away is silently ignored
+    listener.getValue().accept("ks3");
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldPushAllKeyspacesOfTenant() throws Exception {
+    // Given
+    StargateBridgeBlockingStub stub = makeBlockingStub();
+    mockConnection("tenant_");
+    doThrow(new UnauthorizedException("Not allowed"))
+        .when(authorizationService)
+        .authorizeSchemaRead(
+            any(),
+            eq(Collections.singletonList("secret")),
+            eq(Collections.emptyList()),
+            any(),
+            eq(ResourceKind.KEYSPACE));
+    startServer(persistence);
+
+    ArgumentCaptor<Consumer<String>> listener = ArgumentCaptor.forClass(Consumer.class);
+    verify(persistence).registerSchemaChangeListener(listener.capture());
+
+    try (Context.CancellableContext context = Context.current().withCancellation()) {
+      // When
+      Iterator<SchemaChangeEvent> events =
+          context.call(() -> stub.watchSchema(WatchSchemaRequest.getDefaultInstance()));
+      assertThat(events.next().hasSubscribed()).isTrue();
+
+      listener.getValue().accept("tenant_ks1");
+      listener.getValue().accept("other_ks2");
+      listener.getValue().accept("tenant_secret");
+      listener.getValue().accept("tenant_ks3");
+
+      // Then: other tenants are skipped, the tenant prefix is removed, and unreadable keyspaces
+      // are pushed too, since clients may have cached them with another token
+      assertThat(events.next().getKeyspaceName()).isEqualTo("ks1");
+      assertThat(events.next().getKeyspaceName()).isEqualTo("secret");
+      assertThat(events.next().getKeyspaceName()).isEqualTo("ks3");
+    }
+  }
+
+  @Test
+  public void shouldRejectAnonymousConnection() {
+    // Given
+    StargateBridgeBlockingStub stub = makeBlockingStub();
+    when(persistence.newConnection()).thenReturn(connection);
+    when(connection.loggedUser()).thenReturn(Optional.empty());
+    startServer(persistence);
+
+    // When
+    Iterator<SchemaChangeEvent> events = stub.watchSchema(WatchSchemaRequest.getDefaultInstance());
+
+    // Then
+    assertThatThrownBy(events::next)
+        .isInstanceOf(StatusRuntimeException.class)
+        .extracting("status")
+        .extracting("code")
+        .isEqualTo(Status.UNAUTHENTICATED.getCode());
+  }
+
+  @Test
+  public void shouldRequireToken() {
+    // Given
+    StargateBridgeBlockingStub stub = makeBlockingStub();
+    startServer(new NewConnectionInterceptor(persistence, mock(AuthenticationService.class)));
+
+    // When
+    Iterator<SchemaChangeEvent> events = stub.watchSchema(WatchSchemaRequest.getDefaultInstance());
+
+    // Then
+    assertThatThrownBy(events::next)
+        .isInstanceOf(StatusRuntimeException.class)
+        .extracting("status")
+        .extracting("code")
+        .isEqualTo(Status.UNAUTHENTICATED.getCode());
+  }
+
+  private void mockConnection(String tenantPrefix) {
+    when(persistence.newConnection()).thenReturn(connection);
+    when(connection.loggedUser()).thenReturn(Optional.of(AuthenticatedUser.of("user")));
+    when(persistence.decorateKeyspaceName(eq(""), any())).thenReturn(tenantPrefix);
+  }
+}
@@ -31,6 +31,7 @@ import io.grpc.Grpc;
 import io.grpc.Metadata;
 import io.grpc.MethodDescriptor;
 import io.grpc.ServerCall;
+import io.grpc.ServerCall.Listener;
 import io.grpc.ServerCallHandler;
 import io.grpc.Status;
 import io.stargate.auth.AuthenticationService;
@@ -41,8 +42,15 @@ import io.stargate.db.AuthenticatedUser;
 import io.stargate.db.Persistence;
 import io.stargate.db.Persistence.Connection;
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import org.apache.cassandra.stargate.exceptions.UnhandledClientException;
 import org.junit.jupiter.api.Test;
 
@@ -72,7 +80,7 @@ public class NewConnectionInterceptorTest {
     metadata.put(NewConnectionInterceptor.TOKEN_KEY, "abc");
 
     NewConnectionInterceptor interceptor =
-        new NewConnectionInterceptor(persistence, authenticationService);
+        new NewConnectionInterceptor(persistence, authenticationService, Runnable::run);
     interceptor.interceptCall(
         call,
         metadata,
@@ -98,7 +106,7 @@ public class NewConnectionInterceptorTest {
 
     Metadata metadata = new Metadata();
     NewConnectionInterceptor interceptor =
-        new NewConnectionInterceptor(persistence, authenticationService);
+        new NewConnectionInterceptor(persistence, authenticationService, Runnable::run);
     interceptor.interceptCall(call, metadata, next);
 
     verify(call, times(1))
@@ -126,7 +134,7 @@ public class NewConnectionInterceptorTest {
     Metadata metadata = new Metadata();
     metadata.put(NewConnectionInterceptor.TOKEN_KEY, "invalid");
     NewConnectionInterceptor interceptor =
-        new NewConnectionInterceptor(persistence, authenticationService);
+        new NewConnectionInterceptor(persistence, authenticationService, Runnable::run);
     interceptor.interceptCall(call, metadata, next);
 
     verify(call, times(1))
@@ -154,7 +162,7 @@ public class NewConnectionInterceptorTest {
     Metadata metadata = new Metadata();
     metadata.put(NewConnectionInterceptor.TOKEN_KEY, "someToken");
     NewConnectionInterceptor interceptor =
-        new NewConnectionInterceptor(persistence, authenticationService);
+        new NewConnectionInterceptor(persistence, authenticationService, Runnable::run);
     interceptor.interceptCall(call, metadata, next);
 
     verify(call, times(1))
@@ -194,12 +202,149 @@ public class NewConnectionInterceptorTest {
     Metadata metadata = new Metadata();
     metadata.put(NewConnectionInterceptor.TOKEN_KEY, "someToken");
     NewConnectionInterceptor interceptor =
-        new NewConnectionInterceptor(persistence, authenticationService);
+        new NewConnectionInterceptor(persistence, authenticationService, Runnable::run);
     interceptor.interceptCall(call, metadata, next);
 
     verify(authenticationService, times(1)).validateToken(anyString(), any(Map.class));
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  public void deferCallUntilConnectionIsCreated() throws UnauthorizedException {
+    AuthenticatedUser authenticatedUser = mock(AuthenticatedUser.class);
+    AuthenticationSubject authenticationSubject = mock(AuthenticationSubject.class);
+    when(authenticationSubject.asUser()).thenReturn(authenticatedUser);
+
+    AuthenticationService authenticationService = mock(AuthenticationService.class);
+    when(authenticationService.validateToken(eq("abc"), any(Map.class)))
+        .thenReturn(authenticationSubject);
+
+    Persistence persistence = mock(Persistence.class);
+    when(persistence.newConnection(any())).thenReturn(mock(Connection.class));
+
+    // An executor that only runs its tasks when the test tells it to
+    List<Runnable> authTasks = new ArrayList<>();
+    NewConnectionInterceptor interceptor =
+        new NewConnectionInterceptor(persistence, authenticationService, authTasks::add);
+
+    Listener<Object> delegate1 = mock(Listener.class);
+    Listener<Object> delegate2 = mock(Listener.class);
+    ServerCallHandler<Object, Object> next1 = mock(ServerCallHandler.class);
+    ServerCallHandler<Object, Object> next2 = mock(ServerCallHandler.class);
+    when(next1.startCall(any(ServerCall.class), any(Metadata.class))).thenReturn(delegate1);
+    when(next2.startCall(any(ServerCall.class), any(Metadata.class))).thenReturn(delegate2);
+
+    Metadata metadata = new Metadata();
+    metadata.put(NewConnectionInterceptor.TOKEN_KEY, "abc");
+
+    // Two concurrent calls with the same token
+    Listener<Object> listener1 = interceptor.interceptCall(mockCall(), metadata, next1);
+    Listener<Object> listener2 = interceptor.interceptCall(mockCall(), metadata, next2);
+    listener1.onMessage("request");
+    listener1.onHalfClose();
+
+    // Nothing happened yet
+    verify(authenticationService, never()).validateToken(anyString(), any(Map.class));
+    verify(next1, never()).startCall(any(ServerCall.class), any(Metadata.class));
+    verify(next2, never()).startCall(any(ServerCall.class), any(Metadata.class));
+
+    // Note that the cache also submits its own maintenance tasks to the executor
+    while (!authTasks.isEmpty()) {
+      authTasks.remove(0).run();
+    }
+
+    // The two misses were coalesced into a single validation
+    verify(authenticationService, times(1)).validateToken(eq("abc"), any(Map.class));
+    verify(next1, times(1)).startCall(any(ServerCall.class), any(Metadata.class));
+    verify(next2, times(1)).startCall(any(ServerCall.class), any(Metadata.class));
+    // Buffered events were replayed
+    verify(delegate1).onMessage("request");
+    verify(delegate1).onHalfClose();
+
+    // Subsequent events go straight through
+    listener2.onMessage("request2");
+    verify(delegate2).onMessage("request2");
+  }
+
+  @Test
+  public void rejectedAuthentication() throws UnauthorizedException {
+    Persistence persistence = mock(Persistence.class);
+    AuthenticationService authenticationService = mock(AuthenticationService.class);
+
+    ServerCallHandler next = mock(ServerCallHandler.class);
+    ServerCall call = mockCall();
+
+    Metadata metadata = new Metadata();
+    metadata.put(NewConnectionInterceptor.TOKEN_KEY, "someToken");
+    NewConnectionInterceptor interceptor =
+        new NewConnectionInterceptor(
+            persistence,
+            authenticationService,
+            task -> {
+              throw new RejectedExecutionException();
+            });
+    interceptor.interceptCall(call, metadata, next);
+
+    verify(call, times(1))
+        .close(argThat(s -> s.getCode() == Status.UNAVAILABLE.getCode()), any(Metadata.class));
+    verify(authenticationService, never()).validateToken(anyString(), any(Map.class));
+    verify(next, never()).startCall(any(ServerCall.class), any(Metadata.class));
+  }
+
+  @Test
+  public void saturatedAuthExecutor() throws Exception {
+    Persistence persistence = mock(Persistence.class);
+    when(persistence.newConnection(any())).thenReturn(mock(Connection.class));
+
+    // The first validation blocks the only thread of the executor until the test is done
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AuthenticationSubject authenticationSubject = mock(AuthenticationSubject.class);
+    when(authenticationSubject.asUser()).thenReturn(mock(AuthenticatedUser.class));
+    AuthenticationService authenticationService = mock(AuthenticationService.class);
+    when(authenticationService.validateToken(anyString(), any(Map.class)))
+        .then(
+            invocation -> {
+              started.countDown();
+              release.await();
+              return authenticationSubject;
+            });
+
+    ThreadPoolExecutor authExecutor =
+        new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+    try {
+      NewConnectionInterceptor interceptor =
+          new NewConnectionInterceptor(persistence, authenticationService, authExecutor);
+
+      interceptor.interceptCall(mockCall(), tokenMetadata("token1"), mock(ServerCallHandler.class));
+      assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+      // Fills the queue, the next one can not be accepted anymore
+      interceptor.interceptCall(mockCall(), tokenMetadata("token2"), mock(ServerCallHandler.class));
+      ServerCallHandler next = mock(ServerCallHandler.class);
+      ServerCall call = mockCall();
+      interceptor.interceptCall(call, tokenMetadata("token3"), next);
+
+      verify(call, times(1))
+          .close(
+              argThat(
+                  s ->
+                      s.getCode() == Status.UNAVAILABLE.getCode()
+                          && s.getDescription().equals("Too many pending authentications")),
+              any(Metadata.class));
+      verify(next, never()).startCall(any(ServerCall.class), any(Metadata.class));
+    } finally {
+      release.countDown();
+      authExecutor.shutdown();
+    }
+  }
+
+  private Metadata tokenMetadata(String token) {
+    Metadata metadata = new Metadata();
+    metadata.put(NewConnectionInterceptor.TOKEN_KEY, token);
+    return metadata;
+  }
+
   @SuppressWarnings({"unchecked", "rawtypes"})
   private ServerCall mockCall() {
     ServerCall call = mock(ServerCall.class);
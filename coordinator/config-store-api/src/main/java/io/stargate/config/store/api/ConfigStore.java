@@ -15,6 +15,8 @@
  */
 package io.stargate.config.store.api;
 
+import java.util.function.Consumer;
+
 public interface ConfigStore {
 
   /**
@@ -36,4 +38,18 @@ public interface ConfigStore {
   default ConfigWithOverrides getGlobalConfig() {
     return getConfigForModule("stargate");
   }
+
+  /**
+   * It registers a listener that is notified with the new config of a given module every time the
+   * settings of that module change in the underlying store. The listener is not called with the
+   * current config, the caller should use {@link this#getConfigForModule(String)} for that. It is
+   * not called either if the module's settings are removed from the store.
+   *
+   * <p>The listener is called from a thread owned by the config store, so it should not block.
+   *
+   * <p>Stores that can't detect changes never call the listener, this is the default behavior.
+   */
+  default void registerListener(String moduleName, Consumer<ConfigWithOverrides> listener) {
+    // no-op
+  }
 }
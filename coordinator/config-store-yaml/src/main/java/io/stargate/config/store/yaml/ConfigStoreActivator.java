@@ -18,6 +18,7 @@ package io.stargate.config.store.yaml;
 import io.stargate.config.store.api.ConfigStore;
 import io.stargate.core.activator.BaseActivator;
 import io.stargate.core.metrics.api.Metrics;
+import java.io.IOException;
 import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.Hashtable;
@@ -32,6 +33,9 @@ public class ConfigStoreActivator extends BaseActivator {
   public static final String CONFIG_STORE_YAML_IDENTIFIER = "ConfigStoreYaml";
 
   private final String configYamlLocation;
+  private final boolean watchConfigYaml =
+      Boolean.parseBoolean(System.getProperty("stargate.config_store.yaml.watch", "true"));
+  private WatchingConfigStoreYaml watchingConfigStore;
   private final ServicePointer<Metrics> metricsService = ServicePointer.create(Metrics.class);
 
   // for testing purpose
@@ -55,11 +59,30 @@ public class ConfigStoreActivator extends BaseActivator {
     props.put("ConfigStoreIdentifier", CONFIG_STORE_YAML_IDENTIFIER);
 
     logger.info("Creating Config Store YAML for config file location: {} ", configYamlLocation);
-    return new ServiceAndProperties(
-        new ConfigStoreYaml(
-            Paths.get(configYamlLocation), metrics.getRegistry(CONFIG_STORE_YAML_METRICS_PREFIX)),
-        ConfigStore.class,
-        props);
+    ConfigStore configStore;
+    if (watchConfigYaml) {
+      watchingConfigStore =
+          new WatchingConfigStoreYaml(
+              Paths.get(configYamlLocation), metrics.getRegistry(CONFIG_STORE_YAML_METRICS_PREFIX));
+      watchingConfigStore.start();
+      configStore = watchingConfigStore;
+    } else {
+      configStore =
+          new ConfigStoreYaml(
+              Paths.get(configYamlLocation), metrics.getRegistry(CONFIG_STORE_YAML_METRICS_PREFIX));
+    }
+    return new ServiceAndProperties(configStore, ConfigStore.class, props);
+  }
+
+  @Override
+  protected void stopService() {
+    if (watchingConfigStore != null) {
+      try {
+        watchingConfigStore.close();
+      } catch (IOException e) {
+        logger.warn("Failed to stop watching the YAML config file", e);
+      }
+    }
   }
 
   @Override
@@ -74,6 +74,10 @@ public class ConfigStoreYaml implements ConfigStore {
     }
     Map<String, Map<String, Object>> config =
         (Map<String, Map<String, Object>>) mapper.readValue(f, Map.class);
+    if (config == null) {
+      // a document without any content, e.g. only comments
+      config = Collections.emptyMap();
+    }
     logger.info(
         "Loaded YAML config file '{}' with {} entries (Path '{}')",
         f,
@@ -0,0 +1,232 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.config.store.yaml;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+import com.codahale.metrics.MetricRegistry;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.stargate.config.store.api.ConfigStore;
+import io.stargate.config.store.api.ConfigWithOverrides;
+import io.stargate.config.store.api.MissingModuleSettingsException;
+import io.stargate.config.store.yaml.metrics.CacheMetricsRegistry;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link ConfigStore} that keeps the parsed YAML config file in memory and reloads it as soon as
+ * the file changes on disk, using a {@link WatchService} on its parent directory.
+ *
+ * <p>Reads never parse the file: they only look up the current immutable snapshot, which is
+ * swapped atomically on reload. If a reload fails, or finds an empty file (for example because the
+ * file is being truncated and rewritten), the previous snapshot is kept until the next change.
+ *
+ * <p>The snapshot is held in a single-entry cache that exposes the same metrics as {@link
+ * ConfigStoreYaml}: hits are reads served from memory, and misses are the reads that had to load
+ * the file because it was not loaded yet. Reloads replace the entry, they are never evictions.
+ */
+public class WatchingConfigStoreYaml implements ConfigStore, AutoCloseable {
+  private static final Logger logger = LoggerFactory.getLogger(WatchingConfigStoreYaml.class);
+
+  private final Path configFilePath;
+  private final Map<String, List<Consumer<ConfigWithOverrides>>> listeners =
+      new ConcurrentHashMap<>();
+
+  private final LoadingCache<Path, Snapshot> snapshotCache;
+  private WatchService watchService;
+
+  public WatchingConfigStoreYaml(Path configFilePath, MetricRegistry metricRegistry) {
+    this.configFilePath = configFilePath.toAbsolutePath();
+    snapshotCache =
+        Caffeine.newBuilder()
+            .recordStats()
+            .build(path -> new Snapshot(ConfigStoreYaml.loadConfig(path)));
+    CacheMetricsRegistry.registerCacheMetrics(metricRegistry, snapshotCache);
+  }
+
+  /**
+   * It loads the config file, if it exists, and starts watching it for changes. Failing to watch
+   * the file is not fatal: the store then keeps serving the config loaded at startup.
+   */
+  public synchronized void start() {
+    try {
+      reload();
+    } catch (IOException e) {
+      logger.warn("Could not load YAML config file '{}': {}", configFilePath, e.getMessage());
+    }
+
+    Path directory = configFilePath.getParent();
+    if (directory == null || !Files.isDirectory(directory)) {
+      logger.warn(
+          "Not watching YAML config file '{}' for changes: its directory does not exist",
+          configFilePath);
+      return;
+    }
+    try {
+      watchService = directory.getFileSystem().newWatchService();
+      // Kubernetes updates mounted config maps by swapping a symbolic link to a sibling directory,
+      // so we reload on any change in the directory, not only on events for the file itself.
+      directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+    } catch (IOException e) {
+      logger.warn("Not watching YAML config file '{}' for changes", configFilePath, e);
+      return;
+    }
+    Thread watcher = new Thread(this::watch, "config-store-yaml-watcher");
+    watcher.setDaemon(true);
+    watcher.start();
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (watchService != null) {
+      watchService.close();
+      watchService = null;
+    }
+  }
+
+  private void watch() {
+    WatchService watchService = this.watchService;
+    while (true) {
+      WatchKey key;
+      try {
+        key = watchService.take();
+      } catch (InterruptedException | ClosedWatchServiceException e) {
+        return;
+      }
+      key.pollEvents();
+      try {
+        reload();
+      } catch (IOException | RuntimeException e) {
+        logger.warn(
+            "Could not reload YAML config file '{}', keeping the previous config: {}",
+            configFilePath,
+            e.getMessage());
+      }
+      if (!key.reset()) {
+        logger.warn("Stopped watching YAML config file '{}' for changes", configFilePath);
+        return;
+      }
+    }
+  }
+
+  synchronized void reload() throws IOException {
+    // doesn't count as a read in the cache stats
+    Snapshot previous = snapshotCache.asMap().get(configFilePath);
+    Snapshot current = new Snapshot(ConfigStoreYaml.loadConfig(configFilePath));
+    if (previous != null && current.modules.isEmpty()) {
+      throw new IOException(
+          String.format(
+              "YAML config file '%s' is empty, it is probably being rewritten", configFilePath));
+    }
+    if (previous != null && previous.modules.equals(current.modules)) {
+      return;
+    }
+    snapshotCache.put(configFilePath, current);
+
+    if (previous != null) {
+      for (Map.Entry<String, List<Consumer<ConfigWithOverrides>>> entry : listeners.entrySet()) {
+        String moduleName = entry.getKey();
+        ConfigWithOverrides config = current.configs.get(moduleName);
+        if (config != null
+            && !Objects.equals(previous.modules.get(moduleName), current.modules.get(moduleName))) {
+          notifyListeners(moduleName, entry.getValue(), config);
+        }
+      }
+    }
+  }
+
+  private void notifyListeners(
+      String moduleName,
+      List<Consumer<ConfigWithOverrides>> moduleListeners,
+      ConfigWithOverrides config) {
+    for (Consumer<ConfigWithOverrides> listener : moduleListeners) {
+      try {
+        listener.accept(config);
+      } catch (RuntimeException e) {
+        logger.warn("Config listener for module '{}' failed", moduleName, e);
+      }
+    }
+  }
+
+  @Override
+  public void registerListener(String moduleName, Consumer<ConfigWithOverrides> listener) {
+    listeners.computeIfAbsent(moduleName, __ -> new CopyOnWriteArrayList<>()).add(listener);
+  }
+
+  @Override
+  public ConfigWithOverrides getConfigForModule(String moduleName)
+      throws MissingModuleSettingsException {
+    Snapshot current;
+    try {
+      // Only loads if the file did not exist at startup, or could not be read.
+      current = snapshotCache.get(configFilePath);
+    } catch (CompletionException e) {
+      throw new CompletionException(
+          String.format(
+              "Problem when trying to load YAML config file for module '%s' (from: '%s'): %s",
+              moduleName, configFilePath, e.getMessage()),
+          e);
+    }
+
+    ConfigWithOverrides config = current.configs.get(moduleName);
+    if (config == null) {
+      throw new MissingModuleSettingsException(
+          String.format(
+              "The loaded configuration map (from '%s'): %s, does not contain settings from a given module: %s",
+              configFilePath, current.modules, moduleName));
+    }
+    return config;
+  }
+
+  /** An immutable view of the parsed config file. */
+  private static class Snapshot {
+    private final Map<String, Map<String, Object>> modules;
+    private final Map<String, ConfigWithOverrides> configs;
+
+    private Snapshot(Map<String, Map<String, Object>> loaded) {
+      Map<String, Map<String, Object>> modules = new HashMap<>();
+      Map<String, ConfigWithOverrides> configs = new HashMap<>();
+      for (Map.Entry<String, Map<String, Object>> entry : loaded.entrySet()) {
+        if (entry.getValue() == null) {
+          continue;
+        }
+        Map<String, Object> config = Collections.unmodifiableMap(new HashMap<>(entry.getValue()));
+        modules.put(entry.getKey(), config);
+        configs.put(entry.getKey(), new ConfigWithOverrides(config, entry.getKey()));
+      }
+      this.modules = Collections.unmodifiableMap(modules);
+      this.configs = Collections.unmodifiableMap(configs);
+    }
+  }
+}
@@ -19,6 +19,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -58,7 +59,7 @@ class ConfigStoreActivatorYamlTest {
     // then
     verify(bundleContext, times(1))
         .registerService(
-            eq(ConfigStore.class.getName()), any(ConfigStoreYaml.class), eq(expectedProps));
+            eq(ConfigStore.class.getName()), any(WatchingConfigStoreYaml.class), eq(expectedProps));
     assertThat(activator.started).isTrue();
   }
 
@@ -78,10 +79,43 @@ class ConfigStoreActivatorYamlTest {
     ServiceReference<Object> serviceReference = mock(ServiceReference.class);
     activator.tracker.startIfAllRegistered(serviceReference, mockMetrics());
 
+    // then
+    verify(bundleContext, times(1))
+        .registerService(
+            eq(ConfigStore.class.getName()), any(WatchingConfigStoreYaml.class), eq(expectedProps));
+    assertThat(activator.started).isTrue();
+  }
+
+  @Test
+  public void shouldRegisterNonWatchingConfigStoreWhenWatchIsDisabled()
+      throws InvalidSyntaxException {
+
+    // given
+    BundleContext bundleContext = mock(BundleContext.class);
+    mockFilterForMetricsService(bundleContext);
+    Path path = getExistingPath();
+    ConfigStoreActivator activator;
+    // read when the activator is created
+    System.setProperty("stargate.config_store.yaml.watch", "false");
+    try {
+      activator = new ConfigStoreActivator(path.toFile().getAbsolutePath());
+    } finally {
+      System.clearProperty("stargate.config_store.yaml.watch");
+    }
+    Hashtable<String, String> expectedProps = createExpectedProperties();
+    activator.start(bundleContext);
+
+    // when
+    ServiceReference<Object> serviceReference = mock(ServiceReference.class);
+    activator.tracker.startIfAllRegistered(serviceReference, mockMetrics());
+
     // then
     verify(bundleContext, times(1))
         .registerService(
             eq(ConfigStore.class.getName()), any(ConfigStoreYaml.class), eq(expectedProps));
+    verify(bundleContext, never())
+        .registerService(
+            eq(ConfigStore.class.getName()), any(WatchingConfigStoreYaml.class), eq(expectedProps));
     assertThat(activator.started).isTrue();
   }
 
@@ -102,7 +136,7 @@ class ConfigStoreActivatorYamlTest {
     // then
     verify(bundleContext, times(0))
         .registerService(
-            eq(ConfigStore.class.getName()), any(ConfigStoreYaml.class), eq(expectedProps));
+            eq(ConfigStore.class.getName()), any(WatchingConfigStoreYaml.class), eq(expectedProps));
     assertThat(activator.started).isFalse();
   }
 
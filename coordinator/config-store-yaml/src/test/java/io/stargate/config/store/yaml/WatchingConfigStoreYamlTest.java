@@ -0,0 +1,205 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.config.store.yaml;
+
+import static io.stargate.config.store.yaml.metrics.MetricsHelper.getMetricValue;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.codahale.metrics.MetricRegistry;
+import io.stargate.config.store.api.ConfigWithOverrides;
+import io.stargate.config.store.api.MissingModuleSettingsException;
+import io.stargate.config.store.yaml.metrics.CacheMetricsRegistry;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class WatchingConfigStoreYamlTest {
+
+  @TempDir Path tempDir;
+
+  @Test
+  public void shouldGetSettingFromConfigYaml() throws IOException {
+    // given
+    Path path = writeConfig("extension-1:\n  a: 1\n  b: \"value\"\nextension-2:\n  a: 2\n");
+    try (WatchingConfigStoreYaml configStore =
+        new WatchingConfigStoreYaml(path, new MetricRegistry())) {
+      configStore.start();
+
+      // when
+      ConfigWithOverrides configForModule1 = configStore.getConfigForModule("extension-1");
+      ConfigWithOverrides configForModule2 = configStore.getConfigForModule("extension-2");
+
+      // then
+      assertThat(configForModule1.getConfigMap())
+          .containsOnly(new SimpleEntry<>("a", 1), new SimpleEntry<>("b", "value"));
+      assertThat(configForModule2.getConfigMap()).containsOnly(new SimpleEntry<>("a", 2));
+      assertThat(configStore.getConfigForModule("extension-1")).isSameAs(configForModule1);
+    }
+  }
+
+  @Test
+  public void shouldThrowModuleSettingsMissingExceptionWhenModuleDoesNotHaveSettingsDefined()
+      throws IOException {
+    // given
+    Path path = writeConfig("extension-1:\n  a: 1\n");
+    try (WatchingConfigStoreYaml configStore =
+        new WatchingConfigStoreYaml(path, new MetricRegistry())) {
+      configStore.start();
+
+      // when, then
+      assertThatThrownBy(() -> configStore.getConfigForModule("non_existing_module"))
+          .isInstanceOf(MissingModuleSettingsException.class)
+          .hasMessageContaining(
+              "does not contain settings from a given module: non_existing_module");
+    }
+  }
+
+  @Test
+  public void shouldThrowYamlConfigExceptionWhenLoadingNonExistingFile() throws IOException {
+    // given
+    try (WatchingConfigStoreYaml configStore =
+        new WatchingConfigStoreYaml(Paths.get("non-existing"), new MetricRegistry())) {
+      configStore.start();
+
+      // when, then
+      assertThatThrownBy(() -> configStore.getConfigForModule("non_existing_module"))
+          .isInstanceOf(CompletionException.class)
+          .hasMessageContaining("Problem when trying to load YAML config file")
+          .hasMessageContaining("for module 'non_existing_module'");
+    }
+  }
+
+  @Test
+  public void shouldNotifyListenersOfChangedModulesOnly() throws IOException {
+    // given
+    Path path = writeConfig("extension-1:\n  a: 1\nextension-2:\n  a: 2\n");
+    WatchingConfigStoreYaml configStore = new WatchingConfigStoreYaml(path, new MetricRegistry());
+    configStore.reload();
+    List<ConfigWithOverrides> module1Changes = new CopyOnWriteArrayList<>();
+    List<ConfigWithOverrides> module2Changes = new CopyOnWriteArrayList<>();
+    configStore.registerListener("extension-1", module1Changes::add);
+    configStore.registerListener("extension-2", module2Changes::add);
+
+    // when
+    writeConfig("extension-1:\n  a: 10\nextension-2:\n  a: 2\n");
+    configStore.reload();
+
+    // then
+    assertThat(module1Changes).hasSize(1);
+    assertThat(module1Changes.get(0).getConfigMap()).containsOnly(new SimpleEntry<>("a", 10));
+    assertThat(module2Changes).isEmpty();
+    assertThat(configStore.getConfigForModule("extension-1").getConfigMap())
+        .containsOnly(new SimpleEntry<>("a", 10));
+  }
+
+  @Test
+  public void shouldKeepPreviousConfigWhenReloadFails() throws IOException {
+    // given
+    Path path = writeConfig("extension-1:\n  a: 1\n");
+    WatchingConfigStoreYaml configStore = new WatchingConfigStoreYaml(path, new MetricRegistry());
+    configStore.reload();
+
+    // when
+    Files.delete(path);
+
+    // then
+    assertThatThrownBy(configStore::reload).isInstanceOf(IOException.class);
+    assertThat(configStore.getConfigForModule("extension-1").getConfigMap())
+        .containsOnly(new SimpleEntry<>("a", 1));
+  }
+
+  @Test
+  public void shouldKeepPreviousConfigWhenFileIsEmpty() throws IOException {
+    // given
+    Path path = writeConfig("extension-1:\n  a: 1\n");
+    WatchingConfigStoreYaml configStore = new WatchingConfigStoreYaml(path, new MetricRegistry());
+    configStore.reload();
+    List<ConfigWithOverrides> changes = new CopyOnWriteArrayList<>();
+    configStore.registerListener("extension-1", changes::add);
+
+    // when, e.g. seen between the truncation and the write of the new content
+    writeConfig("");
+
+    // then
+    assertThatThrownBy(configStore::reload).isInstanceOf(IOException.class);
+    writeConfig("# nothing yet\n");
+    assertThatThrownBy(configStore::reload).isInstanceOf(IOException.class);
+    assertThat(configStore.getConfigForModule("extension-1").getConfigMap())
+        .containsOnly(new SimpleEntry<>("a", 1));
+    assertThat(changes).isEmpty();
+  }
+
+  @Test
+  public void shouldExposeStatsOnMetricRegistry() throws IOException {
+    // given
+    Path path = writeConfig("extension-1:\n  a: 1\n");
+    MetricRegistry metricRegistry = new MetricRegistry();
+    WatchingConfigStoreYaml configStore = new WatchingConfigStoreYaml(path, metricRegistry);
+
+    // when, the first read loads the file
+    configStore.getConfigForModule("extension-1");
+    configStore.getConfigForModule("extension-1");
+    writeConfig("extension-1:\n  a: 2\n");
+    configStore.reload();
+    configStore.getConfigForModule("extension-1");
+
+    // then
+    assertThat(getMetricValue(metricRegistry, CacheMetricsRegistry.MISS_COUNT)).isEqualTo(1L);
+    assertThat(getMetricValue(metricRegistry, CacheMetricsRegistry.HIT_COUNT)).isEqualTo(2L);
+    assertThat(getMetricValue(metricRegistry, CacheMetricsRegistry.SIZE)).isEqualTo(1L);
+    assertThat(getMetricValue(metricRegistry, CacheMetricsRegistry.EVICTION_COUNT)).isEqualTo(0L);
+  }
+
+  @Test
+  public void shouldReloadWhenFileChangesOnDisk() throws Exception {
+    // given
+    Path path = writeConfig("extension-1:\n  a: 1\n");
+    try (WatchingConfigStoreYaml configStore =
+        new WatchingConfigStoreYaml(path, new MetricRegistry())) {
+      configStore.start();
+      BlockingQueue<ConfigWithOverrides> changes = new LinkedBlockingQueue<>();
+      configStore.registerListener("extension-1", changes::add);
+
+      // when
+      writeConfig("extension-1:\n  a: 2\n");
+
+      // then
+      // some platforms poll for file changes, so this may take a few seconds
+      ConfigWithOverrides changed = changes.poll(30, TimeUnit.SECONDS);
+      assertThat(changed).isNotNull();
+      assertThat(changed.getConfigMap()).containsOnly(new SimpleEntry<>("a", 2));
+      assertThat(configStore.getConfigForModule("extension-1")).isSameAs(changed);
+    }
+  }
+
+  private Path writeConfig(String content) throws IOException {
+    Path path = tempDir.resolve("stargate-config.yaml");
+    Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+    return path;
+  }
+}
@@ -410,7 +410,14 @@ public abstract class CBUtil {
     int remaining = bytes.remaining();
     cb.writeInt(remaining);
 
-    if (remaining > 0) cb.writeBytes(bytes.duplicate());
+    if (remaining > 0) {
+      if (bytes.hasArray()) {
+        // Avoids allocating a duplicate for every cell of a result set
+        cb.writeBytes(bytes.array(), bytes.arrayOffset() + bytes.position(), remaining);
+      } else {
+        cb.writeBytes(bytes.duplicate());
+      }
+    }
   }
 
   public static int sizeOfValue(byte[] bytes) {
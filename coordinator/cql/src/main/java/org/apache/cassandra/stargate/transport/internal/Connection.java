@@ -22,6 +22,7 @@ import io.netty.util.AttributeKey;
 import org.apache.cassandra.stargate.metrics.ConnectionMetrics;
 import org.apache.cassandra.stargate.transport.ProtocolVersion;
 import org.apache.cassandra.stargate.transport.internal.frame.FrameBodyTransformer;
+import org.apache.cassandra.stargate.transport.internal.frame.segment.SegmentCodec;
 
 public class Connection {
   static final AttributeKey<Connection> attributeKey = AttributeKey.valueOf("CONN");
@@ -32,6 +33,7 @@ public class Connection {
   private final ConnectionMetrics connectionMetrics;
 
   private volatile FrameBodyTransformer transformer;
+  private volatile SegmentCodec segmentCodec;
   private boolean throwOnOverload;
 
   public Connection(
@@ -55,6 +57,18 @@ public class Connection {
     return transformer;
   }
 
+  /**
+   * Sets the codec of the segments that wrap all messages once the connection is initialized
+   * (protocol v5 and later).
+   */
+  public void setSegmentCodec(SegmentCodec segmentCodec) {
+    this.segmentCodec = segmentCodec;
+  }
+
+  public SegmentCodec getSegmentCodec() {
+    return segmentCodec;
+  }
+
   public void setThrowOnOverload(boolean throwOnOverload) {
     this.throwOnOverload = throwOnOverload;
   }
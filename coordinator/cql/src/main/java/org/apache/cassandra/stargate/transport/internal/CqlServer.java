@@ -73,6 +73,7 @@ import org.apache.cassandra.stargate.locator.InetAddressAndPort;
 import org.apache.cassandra.stargate.metrics.ConnectionMetrics;
 import org.apache.cassandra.stargate.security.SSLFactory;
 import org.apache.cassandra.stargate.transport.ProtocolVersion;
+import org.apache.cassandra.stargate.transport.internal.frame.segment.SegmentEncoder;
 import org.apache.cassandra.stargate.transport.internal.messages.EventMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -167,14 +168,21 @@ public class CqlServer {
   }
 
   private Connection newConnection(Channel channel, ProxyInfo proxyInfo, ProtocolVersion version) {
-    return new ServerConnection(
-        channel,
-        socket.getPort(),
-        proxyInfo,
-        version,
-        connectionTracker,
-        persistence,
-        authentication);
+    Connection connection =
+        new ServerConnection(
+            channel,
+            socket.getPort(),
+            proxyInfo,
+            version,
+            connectionTracker,
+            persistence,
+            authentication);
+    if (version.supportsSegments()) {
+      // Sits right before the frame encoder (outbound direction), and switches the connection to
+      // segments once STARTUP has been answered.
+      channel.pipeline().addAfter("frameEncoder", "segmentEncoder", new SegmentEncoder(connection));
+    }
+    return connection;
   }
 
   public int countConnectedClients() {
@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.cassandra.stargate.transport.internal.frame.segment;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import java.io.IOException;
+import java.util.zip.CRC32;
+import org.apache.cassandra.stargate.transport.ProtocolException;
+import org.apache.cassandra.stargate.transport.internal.CBUtil;
+import org.apache.cassandra.stargate.transport.internal.frame.compress.Compressor;
+import org.apache.cassandra.stargate.transport.internal.frame.compress.LZ4Compressor;
+
+/**
+ * Encodes and decodes the segments of the native protocol v5 outer framing.
+ *
+ * <p>Once a v5 connection is initialized, frames (called "envelopes" by the v5 spec) are not
+ * written directly to the wire anymore, but wrapped in segments. A segment either contains one or
+ * more complete frames (it is then "self-contained"), or a part of a single frame that is too large
+ * to fit in one segment. Each segment is checksummed, and optionally compressed, as a whole.
+ *
+ * <p>Uncompressed segments have a 6-byte header: payload length (17 bits), self-contained flag (1
+ * bit), padding (6 bits), and a CRC24 of those first 3 bytes. Compressed segments have an 8-byte
+ * header: compressed length (17 bits), uncompressed length (17 bits), self-contained flag (1 bit),
+ * padding (5 bits), and a CRC24 of those first 5 bytes. An uncompressed length of 0 means that the
+ * payload was sent as-is, because compressing it would not have made it any smaller. In both
+ * cases, the header is followed by the payload and a CRC32 of the (possibly compressed) payload.
+ * All integers are little-endian.
+ */
+public abstract class SegmentCodec {
+
+  /** The maximum length of the (uncompressed) payload of a segment. */
+  public static final int MAX_PAYLOAD_LENGTH = (1 << 17) - 1;
+
+  public static final SegmentCodec UNCOMPRESSED = new Uncompressed();
+
+  public static final SegmentCodec LZ4_COMPRESSED = new Compressed(LZ4Compressor.INSTANCE);
+
+  private static final int TRAILER_LENGTH = 4;
+
+  private static final int CRC24_INIT = 0x875060;
+  private static final int CRC24_POLY = 0x1974F0B;
+  private static final byte[] CRC32_INITIAL_BYTES =
+      new byte[] {(byte) 0xFA, (byte) 0x2D, (byte) 0x55, (byte) 0xCA};
+  private static final ThreadLocal<CRC32> crc32 = ThreadLocal.withInitial(CRC32::new);
+
+  private SegmentCodec() {}
+
+  /**
+   * Wraps the readable bytes of {@code payload} (at most {@link #MAX_PAYLOAD_LENGTH}) in a new
+   * segment. The payload is neither consumed nor released.
+   */
+  public abstract ByteBuf encode(ByteBuf payload, boolean selfContained) throws IOException;
+
+  /**
+   * Decodes the next segment of {@code buffer}.
+   *
+   * @return the (uncompressed) payload of the segment, in a new buffer; or {@code null} if {@code
+   *     buffer} does not contain a complete segment yet, in which case nothing is consumed.
+   * @throws ProtocolException if any of the checksums of the segment does not match.
+   */
+  public abstract ByteBuf decode(ByteBuf buffer) throws IOException;
+
+  static int crc24(long bytes, int length) {
+    int crc = CRC24_INIT;
+    while (length-- > 0) {
+      crc ^= (int) (bytes & 0xff) << 16;
+      bytes >>= 8;
+      for (int i = 0; i < 8; i++) {
+        crc <<= 1;
+        if ((crc & 0x1000000) != 0) crc ^= CRC24_POLY;
+      }
+    }
+    return crc;
+  }
+
+  static int crc32(ByteBuf buffer, int index, int length) {
+    CRC32 crc = crc32.get();
+    crc.reset();
+    crc.update(CRC32_INITIAL_BYTES);
+    crc.update(buffer.nioBuffer(index, length));
+    return (int) crc.getValue();
+  }
+
+  private static void checkHeaderCrc(int computed, int received) {
+    if (computed != received)
+      throw new ProtocolException(
+          String.format(
+              "Segment header CRC mismatch: received %06x, computed %06x", received, computed));
+  }
+
+  private static void checkPayloadCrc(int computed, int received) {
+    if (computed != received)
+      throw new ProtocolException(
+          String.format(
+              "Segment payload CRC mismatch: received %08x, computed %08x", received, computed));
+  }
+
+  private static class Uncompressed extends SegmentCodec {
+    private static final int HEADER_LENGTH = 6;
+
+    @Override
+    public ByteBuf encode(ByteBuf payload, boolean selfContained) {
+      int length = payload.readableBytes();
+      int header3b = length;
+      if (selfContained) header3b |= 1 << 17;
+
+      ByteBuf segment = CBUtil.allocator.buffer(HEADER_LENGTH + length + TRAILER_LENGTH);
+      segment.writeMediumLE(header3b);
+      segment.writeMediumLE(crc24(header3b, 3));
+      segment.writeBytes(payload, payload.readerIndex(), length);
+      segment.writeIntLE(crc32(segment, HEADER_LENGTH, length));
+      return segment;
+    }
+
+    @Override
+    public ByteBuf decode(ByteBuf buffer) {
+      if (buffer.readableBytes() < HEADER_LENGTH) return null;
+
+      int idx = buffer.readerIndex();
+      int header3b = buffer.getUnsignedMediumLE(idx);
+      checkHeaderCrc(crc24(header3b, 3), buffer.getUnsignedMediumLE(idx + 3));
+
+      int length = header3b & MAX_PAYLOAD_LENGTH;
+      if (buffer.readableBytes() < HEADER_LENGTH + length + TRAILER_LENGTH) return null;
+
+      int payloadIdx = idx + HEADER_LENGTH;
+      checkPayloadCrc(crc32(buffer, payloadIdx, length), buffer.getIntLE(payloadIdx + length));
+
+      // Copy rather than slice, so that we don't pin the cumulation buffer of the decoder
+      ByteBuf payload = CBUtil.allocator.buffer(length);
+      payload.writeBytes(buffer, payloadIdx, length);
+      buffer.skipBytes(HEADER_LENGTH + length + TRAILER_LENGTH);
+      return payload;
+    }
+  }
+
+  private static class Compressed extends SegmentCodec {
+    private static final int HEADER_LENGTH = 8;
+
+    private final Compressor compressor;
+
+    private Compressed(Compressor compressor) {
+      this.compressor = compressor;
+    }
+
+    @Override
+    public ByteBuf encode(ByteBuf payload, boolean selfContained) throws IOException {
+      int length = payload.readableBytes();
+      byte[] uncompressed = ByteBufUtil.getBytes(payload, payload.readerIndex(), length);
+      byte[] compressed = new byte[compressor.maxCompressedLength(length)];
+      int compressedLength = compressor.compress(uncompressed, 0, length, compressed, 0);
+      int uncompressedLength = length;
+      if (compressedLength >= length) {
+        compressed = uncompressed;
+        compressedLength = length;
+        uncompressedLength = 0;
+      }
+
+      long header5b = compressedLength | ((long) uncompressedLength << 17);
+      if (selfContained) header5b |= 1L << 34;
+
+      ByteBuf segment = CBUtil.allocator.buffer(HEADER_LENGTH + compressedLength + TRAILER_LENGTH);
+      segment.writeLongLE(header5b | ((long) crc24(header5b, 5) << 40));
+      segment.writeBytes(compressed, 0, compressedLength);
+      segment.writeIntLE(crc32(segment, HEADER_LENGTH, compressedLength));
+      return segment;
+    }
+
+    @Override
+    public ByteBuf decode(ByteBuf buffer) throws IOException {
+      if (buffer.readableBytes() < HEADER_LENGTH) return null;
+
+      int idx = buffer.readerIndex();
+      long header8b = buffer.getLongLE(idx);
+      long header5b = header8b & 0xFFFFFFFFFFL;
+      checkHeaderCrc(crc24(header5b, 5), (int) (header8b >>> 40));
+
+      int compressedLength = (int) (header5b & MAX_PAYLOAD_LENGTH);
+      int uncompressedLength = (int) ((header5b >>> 17) & MAX_PAYLOAD_LENGTH);
+      if (buffer.readableBytes() < HEADER_LENGTH + compressedLength + TRAILER_LENGTH) return null;
+
+      int payloadIdx = idx + HEADER_LENGTH;
+      checkPayloadCrc(
+          crc32(buffer, payloadIdx, compressedLength),
+          buffer.getIntLE(payloadIdx + compressedLength));
+
+      ByteBuf payload;
+      if (uncompressedLength == 0) {
+        payload = CBUtil.allocator.buffer(compressedLength);
+        payload.writeBytes(buffer, payloadIdx, compressedLength);
+      } else {
+        byte[] compressed = ByteBufUtil.getBytes(buffer, payloadIdx, compressedLength);
+        payload =
+            Unpooled.wrappedBuffer(
+                compressor.decompress(compressed, 0, compressedLength, uncompressedLength));
+      }
+      buffer.skipBytes(HEADER_LENGTH + compressedLength + TRAILER_LENGTH);
+      return payload;
+    }
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.cassandra.stargate.transport.internal.frame.segment;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import java.util.List;
+
+/**
+ * Unwraps incoming segments, and passes their payload down to the frame decoder.
+ *
+ * <p>The frame decoder accumulates bytes until it has a complete frame, so frames that were split
+ * over multiple segments are naturally reassembled.
+ *
+ * @see SegmentEncoder
+ */
+public class SegmentDecoder extends ByteToMessageDecoder {
+
+  private final SegmentCodec codec;
+
+  public SegmentDecoder(SegmentCodec codec) {
+    this.codec = codec;
+  }
+
+  @Override
+  protected void decode(ChannelHandlerContext ctx, ByteBuf buffer, List<Object> results)
+      throws Exception {
+    ByteBuf payload = codec.decode(buffer);
+    if (payload != null) results.add(payload);
+  }
+}
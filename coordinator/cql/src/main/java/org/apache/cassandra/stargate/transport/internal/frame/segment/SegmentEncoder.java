@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.cassandra.stargate.transport.internal.frame.segment;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.concurrent.PromiseNotifier;
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.cassandra.stargate.transport.internal.CBUtil;
+import org.apache.cassandra.stargate.transport.internal.Connection;
+import org.apache.cassandra.stargate.transport.internal.Frame;
+import org.apache.cassandra.stargate.transport.internal.Message;
+
+/**
+ * Wraps outgoing frames in segments, for connections that use protocol v5 or later.
+ *
+ * <p>Frames are written as-is until the connection has answered STARTUP (with READY or
+ * AUTHENTICATE); at that point, this handler switches to the segment codec chosen by {@link
+ * Connection#getSegmentCodec()}, and installs the matching {@link SegmentDecoder} for the inbound
+ * side.
+ *
+ * <p>After the switch, small frames are coalesced into self-contained segments until the next
+ * flush (or until the segment is full), which reduces the number of writes when many responses are
+ * flushed together. Frames larger than {@link SegmentCodec#MAX_PAYLOAD_LENGTH} are split over
+ * multiple segments, so that we never compress or checksum more than one segment at a time.
+ *
+ * <p>This handler is stateful: there must be one instance per channel.
+ */
+public class SegmentEncoder extends ChannelOutboundHandlerAdapter {
+
+  private final Connection connection;
+
+  // null until the connection has answered STARTUP. Only accessed from the event loop.
+  private SegmentCodec codec;
+  private ByteBuf pending;
+  private final List<ChannelPromise> pendingPromises = new ArrayList<>();
+
+  public SegmentEncoder(Connection connection) {
+    this.connection = connection;
+  }
+
+  @Override
+  public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise)
+      throws Exception {
+    if (!(msg instanceof Frame)) {
+      ctx.write(msg, promise);
+      return;
+    }
+
+    Frame frame = (Frame) msg;
+    if (codec == null) {
+      ctx.write(frame, promise);
+      SegmentCodec negotiated = connection.getSegmentCodec();
+      if (negotiated != null && isStartupResponse(frame)) start(ctx, negotiated);
+      return;
+    }
+
+    try {
+      add(ctx, frame, promise);
+    } catch (Throwable t) {
+      promise.tryFailure(t);
+    } finally {
+      frame.release();
+    }
+  }
+
+  @Override
+  public void flush(ChannelHandlerContext ctx) throws Exception {
+    writePending(ctx);
+    ctx.flush();
+  }
+
+  @Override
+  public void handlerRemoved(ChannelHandlerContext ctx) {
+    if (pending != null) {
+      pending.release();
+      pending = null;
+    }
+    for (ChannelPromise promise : pendingPromises) promise.tryFailure(new ClosedChannelException());
+    pendingPromises.clear();
+  }
+
+  private static boolean isStartupResponse(Frame frame) {
+    return frame.header.type == Message.Type.READY
+        || frame.header.type == Message.Type.AUTHENTICATE;
+  }
+
+  private void start(ChannelHandlerContext ctx, SegmentCodec codec) {
+    this.codec = codec;
+    ChannelHandlerContext frameDecoder = ctx.pipeline().context(Frame.Decoder.class);
+    ctx.pipeline().addBefore(frameDecoder.name(), "segmentDecoder", new SegmentDecoder(codec));
+  }
+
+  private void add(ChannelHandlerContext ctx, Frame frame, ChannelPromise promise)
+      throws IOException {
+    int frameLength = Frame.Header.LENGTH + frame.body.readableBytes();
+
+    if (frameLength > SegmentCodec.MAX_PAYLOAD_LENGTH) {
+      // Preserve ordering: whatever was coalesced so far goes first
+      writePending(ctx);
+      writeLarge(ctx, frame, frameLength, promise);
+      return;
+    }
+
+    if (pending != null && pending.readableBytes() + frameLength > SegmentCodec.MAX_PAYLOAD_LENGTH)
+      writePending(ctx);
+
+    if (pending == null)
+      pending = CBUtil.allocator.buffer(frameLength, SegmentCodec.MAX_PAYLOAD_LENGTH);
+    Frame.Encoder.writeHeader(frame, pending);
+    pending.writeBytes(frame.body);
+    if (!promise.isVoid()) pendingPromises.add(promise);
+  }
+
+  private void writeLarge(
+      ChannelHandlerContext ctx, Frame frame, int frameLength, ChannelPromise promise)
+      throws IOException {
+    ByteBuf header = CBUtil.allocator.buffer(Frame.Header.LENGTH);
+    Frame.Encoder.writeHeader(frame, header);
+    // The caller releases the frame, so retain the body for the lifetime of the composite buffer
+    ByteBuf envelope = Unpooled.wrappedBuffer(header, frame.body.retain());
+    try {
+      int remaining = frameLength;
+      while (remaining > 0) {
+        int length = Math.min(remaining, SegmentCodec.MAX_PAYLOAD_LENGTH);
+        ByteBuf segment = codec.encode(envelope.slice(envelope.readerIndex(), length), false);
+        envelope.skipBytes(length);
+        remaining -= length;
+        ctx.write(segment, remaining == 0 ? promise : ctx.voidPromise());
+      }
+    } finally {
+      envelope.release();
+    }
+  }
+
+  private void writePending(ChannelHandlerContext ctx) throws IOException {
+    if (pending == null) return;
+
+    ChannelPromise promise = pendingPromise(ctx);
+    ByteBuf segment;
+    try {
+      segment = codec.encode(pending, true);
+    } catch (IOException | RuntimeException e) {
+      promise.tryFailure(e);
+      throw e;
+    } finally {
+      pending.release();
+      pending = null;
+    }
+    ctx.write(segment, promise);
+  }
+
+  private ChannelPromise pendingPromise(ChannelHandlerContext ctx) {
+    ChannelPromise promise;
+    if (pendingPromises.isEmpty()) {
+      promise = ctx.voidPromise();
+    } else if (pendingPromises.size() == 1) {
+      promise = pendingPromises.get(0);
+    } else {
+      promise = ctx.newPromise();
+      promise.addListener(
+          new PromiseNotifier<Void, ChannelFuture>(
+              false, pendingPromises.toArray(new ChannelPromise[0])));
+    }
+    pendingPromises.clear();
+    return promise;
+  }
+}
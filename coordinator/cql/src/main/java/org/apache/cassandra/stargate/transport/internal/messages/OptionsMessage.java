@@ -26,7 +26,6 @@ import java.util.concurrent.CompletableFuture;
 import org.apache.cassandra.stargate.transport.ProtocolVersion;
 import org.apache.cassandra.stargate.transport.internal.Message;
 import org.apache.cassandra.stargate.transport.internal.frame.compress.SnappyCompressor;
-import org.apache.cassandra.utils.ChecksumType;
 
 /** Message to indicate that the server is ready to receive requests. */
 public class OptionsMessage extends Message.Request {
@@ -54,7 +53,9 @@ public class OptionsMessage extends Message.Request {
   protected CompletableFuture<? extends Response> execute(long queryStartNanoTime) {
 
     List<String> compressions = new ArrayList<>();
-    if (SnappyCompressor.INSTANCE != null) compressions.add("snappy");
+    // Segments (protocol v5 and later) can only be compressed with LZ4
+    if (SnappyCompressor.INSTANCE != null && !connection.getVersion().supportsSegments())
+      compressions.add("snappy");
     // LZ4 is always available since worst case scenario it default to a pure JAVA implem.
     compressions.add("lz4");
 
@@ -64,13 +65,6 @@ public class OptionsMessage extends Message.Request {
     supported.put(StartupMessage.COMPRESSION, compressions);
     supported.put(StartupMessage.PROTOCOL_VERSIONS, ProtocolVersion.supportedVersions());
 
-    if (connection.getVersion().supportsChecksums()) {
-      ChecksumType[] types = ChecksumType.values();
-      List<String> checksumImpls = new ArrayList<>(types.length);
-      for (ChecksumType type : types) checksumImpls.add(type.toString());
-      supported.put(StartupMessage.CHECKSUM, checksumImpls);
-    }
-
     return CompletableFuture.completedFuture(new SupportedMessage(supported));
   }
 
@@ -246,10 +246,10 @@ public class ResultMessage extends Message.Response {
       assert result instanceof Result.Rows;
       Result.Rows rows = (Result.Rows) result;
       METADATA_CODEC.encode(rows.resultMetadata, dest, version);
-      dest.writeInt(rows.rows.size());
+      int columnCount = rows.resultMetadata.columnCount;
+      dest.writeInt(rows.rowCount());
       for (List<ByteBuffer> row : rows.rows) {
-        for (int i = 0; i < rows.resultMetadata.columnCount; ++i)
-          CBUtil.writeValue(row.get(i), dest);
+        for (int i = 0; i < columnCount; ++i) CBUtil.writeValue(row.get(i), dest);
       }
     }
 
@@ -257,10 +257,17 @@ public class ResultMessage extends Message.Response {
     public int encodedSize(Result result, ProtocolVersion version) {
       assert result instanceof Result.Rows;
       Result.Rows rows = (Result.Rows) result;
-      int size = METADATA_CODEC.encodedSize(rows.resultMetadata, version);
+      int columnCount = rows.resultMetadata.columnCount;
+      // Every value has a 4-byte length prefix, only the contents need to be summed up
+      int size =
+          METADATA_CODEC.encodedSize(rows.resultMetadata, version)
+              + 4
+              + 4 * columnCount * rows.rowCount();
       for (List<ByteBuffer> row : rows.rows) {
-        for (int i = 0; i < rows.resultMetadata.columnCount; ++i)
-          size += CBUtil.sizeOfValue(row.get(i));
+        for (int i = 0; i < columnCount; ++i) {
+          ByteBuffer value = row.get(i);
+          if (value != null) size += value.remaining();
+        }
       }
       return size;
     }
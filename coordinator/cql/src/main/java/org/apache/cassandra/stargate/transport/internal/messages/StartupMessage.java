@@ -27,13 +27,12 @@ import org.apache.cassandra.stargate.transport.ProtocolException;
 import org.apache.cassandra.stargate.transport.ProtocolVersion;
 import org.apache.cassandra.stargate.transport.internal.CBUtil;
 import org.apache.cassandra.stargate.transport.internal.Message;
-import org.apache.cassandra.stargate.transport.internal.frame.checksum.ChecksummingTransformer;
 import org.apache.cassandra.stargate.transport.internal.frame.compress.CompressingTransformer;
 import org.apache.cassandra.stargate.transport.internal.frame.compress.Compressor;
 import org.apache.cassandra.stargate.transport.internal.frame.compress.LZ4Compressor;
 import org.apache.cassandra.stargate.transport.internal.frame.compress.SnappyCompressor;
+import org.apache.cassandra.stargate.transport.internal.frame.segment.SegmentCodec;
 import org.apache.cassandra.utils.CassandraVersion;
-import org.apache.cassandra.utils.ChecksumType;
 
 /** The initial message of the protocol. Sets up a number of connection options. */
 public class StartupMessage extends Message.Request {
@@ -42,7 +41,6 @@ public class StartupMessage extends Message.Request {
   public static final String PROTOCOL_VERSIONS = "PROTOCOL_VERSIONS";
   public static final String DRIVER_NAME = "DRIVER_NAME";
   public static final String DRIVER_VERSION = "DRIVER_VERSION";
-  public static final String CHECKSUM = "CONTENT_CHECKSUM";
   public static final String THROW_ON_OVERLOAD = "THROW_ON_OVERLOAD";
 
   public static final Message.Codec<StartupMessage> codec =
@@ -86,16 +84,17 @@ public class StartupMessage extends Message.Request {
       throw new ProtocolException(e.getMessage());
     }
 
-    ChecksumType checksumType = getChecksumType();
     Compressor compressor = getCompressor();
 
-    if (null != checksumType) {
-      if (!connection.getVersion().supportsChecksums())
+    if (connection.getVersion().supportsSegments()) {
+      // Compression applies to whole segments, not to individual frames. The switch happens once
+      // the response to this message has been sent.
+      if (compressor != null && compressor != LZ4Compressor.INSTANCE)
         throw new ProtocolException(
             String.format(
-                "Invalid message flag. Protocol version %s does not support frame body checksums",
-                connection.getVersion().toString()));
-      connection.setTransformer(ChecksummingTransformer.getTransformer(checksumType, compressor));
+                "Protocol version %s only supports LZ4 compression", connection.getVersion()));
+      connection.setSegmentCodec(
+          compressor == null ? SegmentCodec.UNCOMPRESSED : SegmentCodec.LZ4_COMPRESSED);
     } else if (null != compressor) {
       connection.setTransformer(CompressingTransformer.getTransformer(compressor));
     }
@@ -122,19 +121,6 @@ public class StartupMessage extends Message.Request {
     return newMap;
   }
 
-  private ChecksumType getChecksumType() throws ProtocolException {
-    String name = options.get(CHECKSUM);
-    try {
-      return name != null ? ChecksumType.valueOf(name.toUpperCase()) : null;
-    } catch (IllegalArgumentException e) {
-      throw new ProtocolException(
-          String.format(
-              "Requested checksum type %s is not known or supported by "
-                  + "this version of Cassandra",
-              name));
-    }
-  }
-
   private Compressor getCompressor() throws ProtocolException {
     String name = options.get(COMPRESSION);
     if (null == name) return null;
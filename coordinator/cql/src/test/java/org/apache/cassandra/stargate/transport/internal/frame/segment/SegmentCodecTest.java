@@ -0,0 +1,170 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.cassandra.stargate.transport.internal.frame.segment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.apache.cassandra.stargate.transport.ProtocolException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class SegmentCodecTest {
+
+  static Stream<SegmentCodec> codecs() {
+    return Stream.of(SegmentCodec.UNCOMPRESSED, SegmentCodec.LZ4_COMPRESSED);
+  }
+
+  @ParameterizedTest
+  @MethodSource("codecs")
+  public void shouldRoundTripCompressiblePayload(SegmentCodec codec) throws Exception {
+    byte[] bytes = new byte[10_000];
+    for (int i = 0; i < bytes.length; i++) bytes[i] = (byte) (i % 16);
+
+    assertRoundTrip(codec, bytes);
+  }
+
+  @ParameterizedTest
+  @MethodSource("codecs")
+  public void shouldRoundTripIncompressiblePayload(SegmentCodec codec) throws Exception {
+    byte[] bytes = new byte[SegmentCodec.MAX_PAYLOAD_LENGTH];
+    new Random(42).nextBytes(bytes);
+
+    assertRoundTrip(codec, bytes);
+  }
+
+  @ParameterizedTest
+  @MethodSource("codecs")
+  public void shouldWaitForCompleteSegment(SegmentCodec codec) throws Exception {
+    ByteBuf segment = codec.encode(Unpooled.wrappedBuffer(new byte[100]), true);
+    ByteBuf partial = segment.slice(0, segment.readableBytes() - 1);
+
+    assertThat(codec.decode(partial)).isNull();
+    assertThat(partial.readerIndex()).isZero();
+  }
+
+  @ParameterizedTest
+  @MethodSource("codecs")
+  public void shouldDetectCorruptedHeader(SegmentCodec codec) throws Exception {
+    ByteBuf segment = codec.encode(Unpooled.wrappedBuffer(new byte[100]), true);
+    segment.setByte(0, segment.getByte(0) ^ 0x01);
+
+    assertThatThrownBy(() -> codec.decode(segment))
+        .isInstanceOf(ProtocolException.class)
+        .hasMessageContaining("header CRC mismatch");
+  }
+
+  @ParameterizedTest
+  @MethodSource("codecs")
+  public void shouldDetectCorruptedPayload(SegmentCodec codec) throws Exception {
+    ByteBuf segment = codec.encode(Unpooled.wrappedBuffer(new byte[100]), true);
+    int last = segment.writerIndex() - 5;
+    segment.setByte(last, segment.getByte(last) ^ 0x01);
+
+    assertThatThrownBy(() -> codec.decode(segment))
+        .isInstanceOf(ProtocolException.class)
+        .hasMessageContaining("payload CRC mismatch");
+  }
+
+  // The expected bytes below were computed independently from the v5 spec (section 2.2): the CRC24
+  // uses the initial value 0x875060 and the polynomial 0x1974F0B, and the CRC32 is the standard
+  // (zlib) CRC32 of the payload prefixed with the bytes 0xFA 0x2D 0x55 0xCA.
+
+  @Test
+  public void shouldEncodeEmptySelfContainedSegment() throws Exception {
+    // header: length 0, self-contained (0x020000 little-endian), CRC24 0xc4366a
+    // trailer: CRC32 0x44777ed3
+    assertEncoding(SegmentCodec.UNCOMPRESSED, "", true, "000002" + "6a36c4" + "" + "d37e7744");
+  }
+
+  @Test
+  public void shouldEncodeSelfContainedSegment() throws Exception {
+    // header: length 5, self-contained (0x020005), CRC24 0x9a9919
+    // payload: "hello", trailer: CRC32 0xb60e8074
+    assertEncoding(
+        SegmentCodec.UNCOMPRESSED, "hello", true, "050002" + "19999a" + "68656c6c6f" + "74800eb6");
+  }
+
+  @Test
+  public void shouldEncodeNonSelfContainedSegment() throws Exception {
+    // header: length 5 (0x000005), CRC24 0x234804
+    assertEncoding(
+        SegmentCodec.UNCOMPRESSED, "hello", false, "050000" + "044823" + "68656c6c6f" + "74800eb6");
+  }
+
+  @Test
+  public void shouldEncodeCompressedSegmentWithRawPayload() throws Exception {
+    // A single byte does not compress, so it is sent as-is with an uncompressed length of 0.
+    // header: compressed length 1, uncompressed length 0, self-contained (0x0400000001), CRC24
+    // 0x87a506; payload: "*", trailer: CRC32 0x1627d24b
+    assertEncoding(
+        SegmentCodec.LZ4_COMPRESSED, "*", true, "0100000004" + "06a587" + "2a" + "4bd22716");
+  }
+
+  @Test
+  public void shouldComputeCrc24OfSpecHeader() {
+    assertThat(SegmentCodec.crc24(0x020000, 3)).isEqualTo(0xc4366a);
+    assertThat(SegmentCodec.crc24(0x0400000001L, 5)).isEqualTo(0x87a506);
+  }
+
+  @Test
+  public void shouldComputeCrc32WithSpecInitialBytes() {
+    ByteBuf hello = Unpooled.wrappedBuffer("hello".getBytes(StandardCharsets.US_ASCII));
+
+    assertThat(SegmentCodec.crc32(hello, 0, 5)).isEqualTo(0xb60e8074);
+    assertThat(SegmentCodec.crc32(hello, 0, 0)).isEqualTo(0x44777ed3);
+  }
+
+  @Test
+  public void shouldCompressPayload() throws Exception {
+    ByteBuf payload = Unpooled.wrappedBuffer(new byte[10_000]);
+
+    ByteBuf segment = SegmentCodec.LZ4_COMPRESSED.encode(payload, true);
+
+    assertThat(segment.readableBytes()).isLessThan(payload.readableBytes());
+  }
+
+  private static void assertEncoding(
+      SegmentCodec codec, String payload, boolean selfContained, String expectedHex)
+      throws Exception {
+    byte[] bytes = payload.getBytes(StandardCharsets.US_ASCII);
+
+    ByteBuf segment = codec.encode(Unpooled.wrappedBuffer(bytes), selfContained);
+
+    assertThat(ByteBufUtil.hexDump(segment)).isEqualTo(expectedHex);
+    ByteBuf decoded = codec.decode(Unpooled.wrappedBuffer(ByteBufUtil.decodeHexDump(expectedHex)));
+    assertThat(ByteBufUtil.getBytes(decoded)).isEqualTo(bytes);
+  }
+
+  private static void assertRoundTrip(SegmentCodec codec, byte[] bytes) throws Exception {
+    ByteBuf segment = codec.encode(Unpooled.wrappedBuffer(bytes), true);
+
+    ByteBuf decoded = codec.decode(segment);
+
+    assertThat(decoded).isNotNull();
+    assertThat(ByteBufUtil.getBytes(decoded)).isEqualTo(bytes);
+    assertThat(segment.isReadable()).isFalse();
+  }
+}
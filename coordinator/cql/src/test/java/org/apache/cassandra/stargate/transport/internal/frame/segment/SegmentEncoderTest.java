@@ -0,0 +1,190 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.cassandra.stargate.transport.internal.frame.segment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.stargate.db.metrics.api.ClientInfoMetricsTagProvider;
+import java.util.Collections;
+import java.util.EnumSet;
+import org.apache.cassandra.stargate.metrics.ClientMetrics;
+import org.apache.cassandra.stargate.transport.ProtocolVersion;
+import org.apache.cassandra.stargate.transport.internal.Connection;
+import org.apache.cassandra.stargate.transport.internal.Frame;
+import org.apache.cassandra.stargate.transport.internal.Message;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SegmentEncoderTest {
+
+  private Connection connection;
+  private EmbeddedChannel channel;
+
+  @BeforeAll
+  public static void initMetrics() {
+    // Frame.Encoder.writeHeader records the size of every frame
+    ClientMetrics.instance.init(
+        Collections.emptyList(),
+        new SimpleMeterRegistry(),
+        ClientInfoMetricsTagProvider.DEFAULT,
+        0);
+  }
+
+  @BeforeEach
+  public void setup() {
+    connection = mock(Connection.class);
+    when(connection.getSegmentCodec()).thenReturn(SegmentCodec.UNCOMPRESSED);
+    channel = new EmbeddedChannel();
+    channel.pipeline().addLast("frameDecoder", new Frame.Decoder(null));
+    channel.pipeline().addLast("segmentEncoder", new SegmentEncoder(connection));
+  }
+
+  @Test
+  public void shouldWriteFramesAsIsUntilReady() {
+    channel.writeAndFlush(frame(Message.Type.SUPPORTED, 10));
+
+    assertThat((Object) channel.readOutbound()).isInstanceOf(Frame.class);
+    assertThat(channel.pipeline().get("segmentDecoder")).isNull();
+
+    channel.writeAndFlush(frame(Message.Type.READY, 0));
+
+    // The READY response itself is still written as a plain frame
+    assertThat((Object) channel.readOutbound()).isInstanceOf(Frame.class);
+    assertThat(channel.pipeline().get("segmentDecoder")).isInstanceOf(SegmentDecoder.class);
+
+    channel.writeAndFlush(frame(Message.Type.RESULT, 10));
+
+    assertThat((Object) channel.readOutbound()).isInstanceOf(ByteBuf.class);
+  }
+
+  @Test
+  public void shouldNotSwitchWithoutSegmentCodec() {
+    when(connection.getSegmentCodec()).thenReturn(null);
+
+    channel.writeAndFlush(frame(Message.Type.READY, 0));
+    channel.writeAndFlush(frame(Message.Type.RESULT, 10));
+
+    assertThat((Object) channel.readOutbound()).isInstanceOf(Frame.class);
+    assertThat((Object) channel.readOutbound()).isInstanceOf(Frame.class);
+    assertThat(channel.pipeline().get("segmentDecoder")).isNull();
+  }
+
+  @Test
+  public void shouldCoalesceSmallFramesUntilFlush() throws Exception {
+    startSegments();
+
+    ChannelFuture first = channel.write(frame(Message.Type.RESULT, 10));
+    ChannelFuture second = channel.write(frame(Message.Type.RESULT, 20));
+    ChannelFuture third = channel.write(frame(Message.Type.RESULT, 30));
+    assertThat((Object) channel.readOutbound()).isNull();
+    channel.flush();
+
+    ByteBuf segment = channel.readOutbound();
+    assertThat(isSelfContained(segment)).isTrue();
+    ByteBuf payload = SegmentCodec.UNCOMPRESSED.decode(segment);
+    assertThat(payload.readableBytes()).isEqualTo(3 * Frame.Header.LENGTH + 10 + 20 + 30);
+    assertThat((Object) channel.readOutbound()).isNull();
+    assertThat(first.isSuccess()).isTrue();
+    assertThat(second.isSuccess()).isTrue();
+    assertThat(third.isSuccess()).isTrue();
+  }
+
+  @Test
+  public void shouldStartNewSegmentWhenFull() throws Exception {
+    startSegments();
+    int bodyLength = SegmentCodec.MAX_PAYLOAD_LENGTH / 2 + 1;
+
+    channel.write(frame(Message.Type.RESULT, bodyLength));
+    channel.write(frame(Message.Type.RESULT, bodyLength));
+    channel.flush();
+
+    for (int i = 0; i < 2; i++) {
+      ByteBuf segment = channel.readOutbound();
+      assertThat(isSelfContained(segment)).isTrue();
+      assertThat(SegmentCodec.UNCOMPRESSED.decode(segment).readableBytes())
+          .isEqualTo(Frame.Header.LENGTH + bodyLength);
+    }
+    assertThat((Object) channel.readOutbound()).isNull();
+  }
+
+  @Test
+  public void shouldSplitLargeFrame() throws Exception {
+    startSegments();
+    int bodyLength = SegmentCodec.MAX_PAYLOAD_LENGTH + 100;
+    Frame frame = frame(Message.Type.RESULT, bodyLength);
+    byte[] body = ByteBufUtil.getBytes(frame.body);
+
+    ChannelFuture small = channel.write(frame(Message.Type.RESULT, 10));
+    ChannelFuture large = channel.write(frame);
+    channel.flush();
+
+    // The pending small frame goes first, in its own self-contained segment
+    ByteBuf segment = channel.readOutbound();
+    assertThat(isSelfContained(segment)).isTrue();
+    assertThat(SegmentCodec.UNCOMPRESSED.decode(segment).readableBytes())
+        .isEqualTo(Frame.Header.LENGTH + 10);
+    assertThat(small.isSuccess()).isTrue();
+
+    segment = channel.readOutbound();
+    assertThat(isSelfContained(segment)).isFalse();
+    ByteBuf firstPart = SegmentCodec.UNCOMPRESSED.decode(segment);
+    assertThat(firstPart.readableBytes()).isEqualTo(SegmentCodec.MAX_PAYLOAD_LENGTH);
+
+    segment = channel.readOutbound();
+    assertThat(isSelfContained(segment)).isFalse();
+    ByteBuf secondPart = SegmentCodec.UNCOMPRESSED.decode(segment);
+    assertThat(secondPart.readableBytes())
+        .isEqualTo(Frame.Header.LENGTH + bodyLength - SegmentCodec.MAX_PAYLOAD_LENGTH);
+    assertThat((Object) channel.readOutbound()).isNull();
+    assertThat(large.isSuccess()).isTrue();
+
+    ByteBuf envelope = Unpooled.wrappedBuffer(firstPart, secondPart);
+    envelope.skipBytes(Frame.Header.LENGTH);
+    assertThat(ByteBufUtil.getBytes(envelope)).isEqualTo(body);
+  }
+
+  private void startSegments() {
+    channel.writeAndFlush(frame(Message.Type.READY, 0));
+    assertThat((Object) channel.readOutbound()).isInstanceOf(Frame.class);
+  }
+
+  private static boolean isSelfContained(ByteBuf segment) {
+    // Bit 17 of the little-endian header, i.e. the second bit of the third byte
+    return (segment.getByte(segment.readerIndex() + 2) & 0x02) != 0;
+  }
+
+  private static Frame frame(Message.Type type, int bodyLength) {
+    byte[] body = new byte[bodyLength];
+    for (int i = 0; i < bodyLength; i++) body[i] = (byte) i;
+    return Frame.create(
+        type,
+        0,
+        ProtocolVersion.V5,
+        EnumSet.noneOf(Frame.Header.Flag.class),
+        Unpooled.wrappedBuffer(body));
+  }
+}
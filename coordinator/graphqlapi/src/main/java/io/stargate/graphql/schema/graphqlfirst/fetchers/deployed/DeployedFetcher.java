@@ -46,6 +46,7 @@ import io.stargate.graphql.web.StargateGraphqlContext;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -282,7 +283,10 @@ abstract class DeployedFetcher<ResultT> extends CassandraFetcher<ResultT> {
   }
 
   protected Map<String, Object> toSingleEntity(ResultSet resultSet, EntityModel entity) {
-    return resultSet.hasNoMoreFetchedRows() ? null : toEntity(resultSet.one(), entity);
+    // Don't use hasNoMoreFetchedRows(): it doesn't know about the rows that the authorization
+    // filter will reject.
+    Iterator<Row> rows = resultSet.iterator();
+    return rows.hasNext() ? toEntity(rows.next(), entity) : null;
   }
 
   protected List<Map<String, Object>> toEntities(ResultSet resultSet, EntityModel entity) {
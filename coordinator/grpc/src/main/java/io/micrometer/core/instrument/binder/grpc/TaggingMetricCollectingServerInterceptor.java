@@ -17,12 +17,15 @@
 
 package io.micrometer.core.instrument.binder.grpc;
 
+import io.grpc.Context;
+import io.grpc.Contexts;
 import io.grpc.Metadata;
 import io.grpc.MethodDescriptor;
 import io.grpc.ServerCall;
 import io.grpc.ServerCallHandler;
 import io.grpc.Status;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.Timer;
@@ -34,6 +37,10 @@ import java.util.function.UnaryOperator;
 /**
  * Extension of the micrometer's {@link MetricCollectingServerInterceptor} that enables us to add
  * extra tags on each {@link ServerCall}.
+ *
+ * <p>For calls where the client streams requests, it also exposes a {@link DistributionSummary} of
+ * the number of in-flight requests of the stream in the {@link #STREAM_QUEUE_DEPTH_KEY} context
+ * key, to be recorded by the service.
  */
 public class TaggingMetricCollectingServerInterceptor extends MetricCollectingServerInterceptor {
 
@@ -57,6 +64,14 @@ public class TaggingMetricCollectingServerInterceptor extends MetricCollectingSe
   private static final String METRIC_NAME_SERVER_PROCESSING_DURATION =
       "grpc.server.processing.duration";
 
+  /** The number of in-flight requests of a client streaming call, recorded on each request. */
+  private static final String METRIC_NAME_SERVER_STREAM_QUEUE_DEPTH =
+      "grpc.server.stream.queue.depth";
+
+  /** The context key under which the queue depth summary of a streaming call is exposed. */
+  public static final Context.Key<DistributionSummary> STREAM_QUEUE_DEPTH_KEY =
+      Context.key("streamQueueDepth");
+
   /** Stargate {@link GrpcMetricsTagProvider} for extra tags on each call. */
   private final GrpcMetricsTagProvider tagProvider;
 
@@ -79,25 +94,33 @@ public class TaggingMetricCollectingServerInterceptor extends MetricCollectingSe
   @Override
   public <Q, A> ServerCall.Listener<Q> interceptCall(
       ServerCall<Q, A> call, Metadata requestHeaders, ServerCallHandler<Q, A> next) {
-    // only first line changed from the super impl
-    final MetricSet metrics = metricsFor(call, requestHeaders);
+    // only the metrics lookup and the streaming context changed from the super impl
+    final MethodDescriptor<Q, A> method = call.getMethodDescriptor();
+    final Tags callTags = tagProvider.getCallTags(call, requestHeaders);
+    final MetricSet metrics = metricsFor(method, callTags);
     final Consumer<Status.Code> responseStatusTiming =
         metrics.newProcessingDurationTiming(this.registry);
 
     final MetricCollectingServerCall<Q, A> monitoringCall =
         new MetricCollectingServerCall<>(call, metrics.getResponseCounter());
 
+    final ServerCall.Listener<Q> listener;
+    if (method.getType().clientSendsOneMessage()) {
+      listener = next.startCall(monitoringCall, requestHeaders);
+    } else {
+      Context context =
+          Context.current().withValue(STREAM_QUEUE_DEPTH_KEY, newQueueDepthFor(method, callTags));
+      listener = Contexts.interceptCall(context, monitoringCall, requestHeaders, next);
+    }
+
     return new MetricCollectingServerCallListener<>(
-        next.startCall(monitoringCall, requestHeaders),
+        listener,
         metrics.getRequestCounter(),
         monitoringCall::getResponseCode,
         responseStatusTiming);
   }
 
-  private MetricSet metricsFor(ServerCall<?, ?> call, Metadata requestHeaders) {
-    MethodDescriptor<?, ?> method = call.getMethodDescriptor();
-    Tags callTags = tagProvider.getCallTags(call, requestHeaders);
-
+  private MetricSet metricsFor(MethodDescriptor<?, ?> method, Tags callTags) {
     // check if there is any extension, if not return super
     // otherwise use our implementation
     if (Tags.empty().equals(callTags)) {
@@ -132,6 +155,17 @@ public class TaggingMetricCollectingServerInterceptor extends MetricCollectingSe
         .register(this.registry);
   }
 
+  private DistributionSummary newQueueDepthFor(MethodDescriptor<?, ?> method, Tags tags) {
+    return DistributionSummary.builder(METRIC_NAME_SERVER_STREAM_QUEUE_DEPTH)
+        .description("The number of in-flight requests of a stream when a request is received")
+        .baseUnit("requests")
+        .tag(TAG_SERVICE_NAME, method.getServiceName())
+        .tag(TAG_METHOD_NAME, method.getBareMethodName())
+        .tag(TAG_METHOD_TYPE, method.getType().name())
+        .tags(tags)
+        .register(this.registry);
+  }
+
   // copied from super, extending with Tags
   private Function<Status.Code, Timer> newTimerFunction(
       final MethodDescriptor<?, ?> method, Tags tags) {
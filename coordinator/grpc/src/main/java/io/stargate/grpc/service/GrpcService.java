@@ -15,8 +15,11 @@
  */
 package io.stargate.grpc.service;
 
+import com.google.protobuf.GeneratedMessageV3;
 import io.grpc.Context;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.binder.grpc.TaggingMetricCollectingServerInterceptor;
 import io.stargate.db.Persistence;
 import io.stargate.db.Persistence.Connection;
 import io.stargate.db.Result;
@@ -24,6 +27,7 @@ import io.stargate.db.query.TypedValue;
 import io.stargate.grpc.service.streaming.MessageStreamObserver;
 import io.stargate.grpc.service.streaming.StreamingBatchHandlerFactory;
 import io.stargate.grpc.service.streaming.StreamingExceptionHandler;
+import io.stargate.grpc.service.streaming.StreamingHandlerFactory;
 import io.stargate.grpc.service.streaming.StreamingQueryHandlerFactory;
 import io.stargate.proto.QueryOuterClass.Batch;
 import io.stargate.proto.QueryOuterClass.Query;
@@ -44,6 +48,10 @@ public class GrpcService extends io.stargate.proto.StargateGrpc.StargateImplBase
   public static final ConsistencyLevel DEFAULT_CONSISTENCY = ConsistencyLevel.LOCAL_QUORUM;
   public static final ConsistencyLevel DEFAULT_SERIAL_CONSISTENCY = ConsistencyLevel.SERIAL;
 
+  /** The maximum number of requests of a single stream that can be executing at the same time. */
+  private static final int STREAMING_MAX_IN_FLIGHT =
+      Integer.getInteger("stargate.grpc.streaming.max_in_flight", 128);
+
   private final Persistence persistence;
   private final TypedValue.Codec valueCodec;
 
@@ -93,11 +101,8 @@ public class GrpcService extends io.stargate.proto.StargateGrpc.StargateImplBase
   @Override
   public StreamObserver<Query> executeQueryStream(
       StreamObserver<StreamingResponse> responseObserver) {
-    SynchronizedStreamObserver<StreamingResponse> synchronizedStreamObserver =
-        new SynchronizedStreamObserver<>(responseObserver);
-    return new MessageStreamObserver<>(
-        synchronizedStreamObserver,
-        StreamingExceptionHandler::new,
+    return newStreamObserver(
+        responseObserver,
         new StreamingQueryHandlerFactory(
             CONNECTION_KEY.get(), persistence, executor, schemaAgreementRetries));
   }
@@ -105,12 +110,26 @@ public class GrpcService extends io.stargate.proto.StargateGrpc.StargateImplBase
   @Override
   public StreamObserver<Batch> executeBatchStream(
       StreamObserver<StreamingResponse> responseObserver) {
+    return newStreamObserver(
+        responseObserver, new StreamingBatchHandlerFactory(CONNECTION_KEY.get(), persistence));
+  }
+
+  private <MessageT extends GeneratedMessageV3> StreamObserver<MessageT> newStreamObserver(
+      StreamObserver<StreamingResponse> responseObserver,
+      StreamingHandlerFactory<MessageT> streamingHandlerFactory) {
     SynchronizedStreamObserver<StreamingResponse> synchronizedStreamObserver =
         new SynchronizedStreamObserver<>(responseObserver);
+    ServerCallStreamObserver<StreamingResponse> callObserver =
+        responseObserver instanceof ServerCallStreamObserver
+            ? (ServerCallStreamObserver<StreamingResponse>) responseObserver
+            : null;
     return new MessageStreamObserver<>(
         synchronizedStreamObserver,
+        callObserver,
+        STREAMING_MAX_IN_FLIGHT,
+        TaggingMetricCollectingServerInterceptor.STREAM_QUEUE_DEPTH_KEY.get(),
         StreamingExceptionHandler::new,
-        new StreamingBatchHandlerFactory(CONNECTION_KEY.get(), persistence));
+        streamingHandlerFactory);
   }
 
   static class ResponseAndTraceId {
@@ -30,9 +30,7 @@ import io.stargate.db.schema.Column;
 import io.stargate.db.schema.Column.ColumnType;
 import io.stargate.db.schema.UserDefinedType;
 import io.stargate.grpc.codec.ValueCodec;
-import io.stargate.grpc.codec.ValueCodecs;
 import io.stargate.proto.QueryOuterClass.BatchParameters;
-import io.stargate.proto.QueryOuterClass.ColumnSpec;
 import io.stargate.proto.QueryOuterClass.QueryParameters;
 import io.stargate.proto.QueryOuterClass.ResultSet;
 import io.stargate.proto.QueryOuterClass.Row;
@@ -47,8 +45,8 @@ import java.util.Objects;
 public class ValuesHelper {
   public static BoundStatement bindValues(Prepared prepared, Values values, ByteBuffer unsetValue)
       throws StatusException {
-    final List<Column> columns = prepared.metadata.columns;
-    final int columnCount = columns.size();
+    final ValuesPlan plan = ValuesPlan.forBindMarkers(prepared);
+    final int columnCount = plan.size();
     final int valuesCount = values.getValuesCount();
     if (columnCount != valuesCount) {
       throw Status.FAILED_PRECONDITION
@@ -73,18 +71,14 @@ public class ValuesHelper {
       boundValueNames = new ArrayList<>(namesCount);
       for (int i = 0; i < namesCount; ++i) {
         String name = values.getValueNames(i);
-        Column column =
-            columns.stream()
-                .filter(c -> c.name().equals(name))
-                .findFirst()
-                .orElseThrow(
-                    () ->
-                        Status.INVALID_ARGUMENT
-                            .withDescription(
-                                String.format("Unable to find bind marker with name '%s'", name))
-                            .asException());
-        ColumnType columnType = columnTypeNotNull(column);
-        ValueCodec codec = ValueCodecs.get(columnType.rawType());
+        int index = plan.indexOf(name);
+        if (index < 0) {
+          throw Status.INVALID_ARGUMENT
+              .withDescription(String.format("Unable to find bind marker with name '%s'", name))
+              .asException();
+        }
+        ColumnType columnType = plan.type(index);
+        ValueCodec codec = plan.codec(index);
         Value value = values.getValues(i);
         try {
           boundValues.add(encodeValue(codec, value, columnType, unsetValue));
@@ -99,10 +93,9 @@ public class ValuesHelper {
       }
     } else {
       for (int i = 0; i < columnCount; ++i) {
-        Column column = columns.get(i);
         Value value = values.getValues(i);
-        ColumnType columnType = columnTypeNotNull(column);
-        ValueCodec codec = ValueCodecs.get(columnType.rawType());
+        ColumnType columnType = plan.type(i);
+        ValueCodec codec = plan.codec(i);
         try {
           boundValues.add(encodeValue(codec, value, columnType, unsetValue));
         } catch (Exception e) {
@@ -129,27 +122,19 @@ public class ValuesHelper {
   }
 
   public static ResultSet processResult(Rows rows, boolean skipMetadata) throws StatusException {
-    final List<Column> columns = rows.resultMetadata.columns;
-    final int columnCount = columns.size();
+    final ValuesPlan plan = ValuesPlan.forResult(rows.resultMetadata);
+    final int columnCount = plan.size();
 
     ResultSet.Builder resultSetBuilder = ResultSet.newBuilder();
 
     if (!skipMetadata) {
-      for (Column column : columns) {
-        resultSetBuilder.addColumns(
-            ColumnSpec.newBuilder()
-                .setType(convertType(columnTypeNotNull(column)))
-                .setName(column.name())
-                .build());
-      }
+      resultSetBuilder.addAllColumns(plan.columnSpecs());
     }
 
     for (List<ByteBuffer> row : rows.rows) {
       Row.Builder rowBuilder = Row.newBuilder();
       for (int i = 0; i < columnCount; ++i) {
-        ColumnType columnType = columnTypeNotNull(columns.get(i));
-        ValueCodec codec = ValueCodecs.get(columnType.rawType());
-        rowBuilder.addValues(decodeValue(codec, row.get(i), columnType));
+        rowBuilder.addValues(decodeValue(plan.codec(i), row.get(i), plan.type(i)));
       }
       resultSetBuilder.addRows(rowBuilder);
     }
@@ -0,0 +1,85 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.grpc.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.grpc.StatusException;
+import io.stargate.db.AbstractValuesPlan;
+import io.stargate.db.Result.Prepared;
+import io.stargate.db.Result.ResultMetadata;
+import io.stargate.db.schema.Column;
+import io.stargate.db.schema.Column.ColumnType;
+import io.stargate.grpc.codec.ValueCodec;
+import io.stargate.grpc.codec.ValueCodecs;
+import io.stargate.proto.QueryOuterClass.ColumnSpec;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Everything {@link ValuesHelper} needs to know about a list of columns (bind markers or result
+ * columns), computed once and reused across requests: on top of the types, codecs and indexes of
+ * {@link AbstractValuesPlan}, the {@link ColumnSpec} metadata sent back to clients.
+ */
+class ValuesPlan extends AbstractValuesPlan<ValueCodec> {
+
+  private static final PlanCache<ValuesPlan> PLANS =
+      new PlanCache<>(
+          ValuesPlan::new,
+          () -> Caffeine.newBuilder().maximumSize(5000).<Object, ValuesPlan>build().asMap());
+
+  private volatile List<ColumnSpec> columnSpecs;
+
+  private ValuesPlan(List<Column> columns) {
+    super(columns, ValueCodecs::get);
+  }
+
+  static ValuesPlan forBindMarkers(Prepared prepared) {
+    return PLANS.forBindMarkers(prepared);
+  }
+
+  static ValuesPlan forResult(ResultMetadata metadata) {
+    return PLANS.forResult(metadata);
+  }
+
+  ColumnType type(int i) throws StatusException {
+    ColumnType type = knownType(i);
+    return type == null ? ValuesHelper.columnTypeNotNull(columns.get(i)) : type;
+  }
+
+  ValueCodec codec(int i) throws StatusException {
+    ValueCodec codec = knownCodec(i);
+    return codec == null ? ValueCodecs.get(type(i).rawType()) : codec;
+  }
+
+  List<ColumnSpec> columnSpecs() throws StatusException {
+    List<ColumnSpec> specs = columnSpecs;
+    if (specs == null) {
+      // Benign race: concurrent callers may build the specs more than once
+      specs = new ArrayList<>(size());
+      for (int i = 0; i < size(); i++) {
+        specs.add(
+            ColumnSpec.newBuilder()
+                .setType(ValuesHelper.convertType(type(i)))
+                .setName(columns.get(i).name())
+                .build());
+      }
+      specs = Collections.unmodifiableList(specs);
+      columnSpecs = specs;
+    }
+    return specs;
+  }
+}
@@ -1,7 +1,9 @@
 package io.stargate.grpc.service.streaming;
 
 import com.google.protobuf.GeneratedMessageV3;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.stargate.grpc.service.ExceptionHandler;
 import io.stargate.grpc.service.MessageHandler;
 import io.stargate.grpc.service.StreamingSuccessHandler;
@@ -9,11 +11,19 @@ import io.stargate.proto.QueryOuterClass;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
+import javax.annotation.Nullable;
 
 /**
  * Implements the {@link StreamObserver} interface. It is able to process Query and Batch (both
  * extends {@link GeneratedMessageV3}).
  *
+ * <p>When it is given the {@link ServerCallStreamObserver} of the call, it applies flow control to
+ * the inbound stream: instead of letting gRPC deliver requests as fast as the client sends them, it
+ * asks for the next request only once the previous one has been dispatched, and only if there are
+ * less than {@code maxInFlight} requests in flight and the outbound buffer is ready to accept more
+ * responses. Otherwise, it resumes reading when a response completes, or when the outbound buffer
+ * becomes ready again.
+ *
  * @param <MessageT> - type of the Message to process. We support {@link
  *     io.stargate.proto.QueryOuterClass.Query} and {@link io.stargate.proto.QueryOuterClass.Batch}
  */
@@ -22,17 +32,58 @@ public class MessageStreamObserver<MessageT extends GeneratedMessageV3>
 
   private final AtomicLong inFlight = new AtomicLong(0);
   private final AtomicBoolean clientSignalComplete = new AtomicBoolean(false);
+  // Whether a request was asked for, and not received yet
+  private final AtomicBoolean requestPending = new AtomicBoolean(false);
   private final ExceptionHandler exceptionHandler;
   StreamingHandlerFactory<MessageT> streamingHandlerFactory;
   private final StreamObserver<QueryOuterClass.StreamingResponse> responseObserver;
+  @Nullable private final ServerCallStreamObserver<?> callObserver;
+  private final int maxInFlight;
+  @Nullable private final DistributionSummary queueDepth;
+
+  public MessageStreamObserver(
+      StreamObserver<QueryOuterClass.StreamingResponse> responseObserver,
+      Function<StreamingSuccessHandler, ExceptionHandler> exceptionHandlerProducer,
+      StreamingHandlerFactory<MessageT> streamingHandlerFactory) {
+    this(
+        responseObserver,
+        null,
+        Integer.MAX_VALUE,
+        null,
+        exceptionHandlerProducer,
+        streamingHandlerFactory);
+  }
 
+  /**
+   * @param callObserver the observer of the underlying call, used for flow control. If it is null,
+   *     gRPC delivers requests as they arrive and {@code maxInFlight} is ignored.
+   * @param maxInFlight the maximum number of requests of the stream that can be executing at the
+   *     same time.
+   * @param queueDepth if not null, records the number of in-flight requests each time one is
+   *     received.
+   */
   public MessageStreamObserver(
       StreamObserver<QueryOuterClass.StreamingResponse> responseObserver,
+      @Nullable ServerCallStreamObserver<?> callObserver,
+      int maxInFlight,
+      @Nullable DistributionSummary queueDepth,
       Function<StreamingSuccessHandler, ExceptionHandler> exceptionHandlerProducer,
       StreamingHandlerFactory<MessageT> streamingHandlerFactory) {
+    if (maxInFlight <= 0) {
+      throw new IllegalArgumentException("maxInFlight must be strictly positive");
+    }
     this.responseObserver = responseObserver;
+    this.callObserver = callObserver;
+    this.maxInFlight = maxInFlight;
+    this.queueDepth = queueDepth;
     this.streamingHandlerFactory = streamingHandlerFactory;
     this.exceptionHandler = exceptionHandlerProducer.apply(this);
+    if (callObserver != null) {
+      // Must be done before the call handler returns, so that gRPC doesn't request the first message
+      callObserver.disableAutoRequest();
+      callObserver.setOnReadyHandler(this::requestNextIfPossible);
+      requestNextIfPossible();
+    }
   }
 
   /**
@@ -49,20 +100,51 @@ public class MessageStreamObserver<MessageT extends GeneratedMessageV3>
     } finally {
       if (inFlight.decrementAndGet() == 0 && clientSignalComplete.get()) {
         responseObserver.onCompleted();
+      } else {
+        requestNextIfPossible();
       }
     }
   }
 
   /**
    * It is creating new handler for each request and invokes the {@link MessageHandler#handle()}
-   * method.
+   * method. Then, if flow control is enabled, it asks for the next request if possible.
    *
    * @param value Batch or Query
    */
   @Override
   public void onNext(MessageT value) {
-    inFlight.incrementAndGet();
+    requestPending.set(false);
+    long depth = inFlight.incrementAndGet();
+    if (queueDepth != null) {
+      queueDepth.record(depth);
+    }
     streamingHandlerFactory.create(value, this, exceptionHandler).handle();
+    requestNextIfPossible();
+  }
+
+  /**
+   * Asks gRPC for the next request of the stream, unless one was already asked for, there are
+   * already {@code maxInFlight} requests in flight, or the outbound buffer is full. This is called
+   * each time the state that these conditions depend on changes, so reading resumes as soon as they
+   * are all met.
+   *
+   * <p>Since there is at most one pending request at a time, {@code inFlight} cannot exceed {@code
+   * maxInFlight}.
+   */
+  private void requestNextIfPossible() {
+    if (callObserver == null || clientSignalComplete.get()) {
+      return;
+    }
+    if (inFlight.get() < maxInFlight
+        && callObserver.isReady()
+        && requestPending.compareAndSet(false, true)) {
+      // The call is also used by the (synchronized) response observer, see
+      // SynchronizedStreamObserver
+      synchronized (callObserver) {
+        callObserver.request(1);
+      }
+    }
   }
 
   @Override
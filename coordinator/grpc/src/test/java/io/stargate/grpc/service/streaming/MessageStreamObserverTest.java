@@ -1,13 +1,20 @@
 package io.stargate.grpc.service.streaming;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.stargate.grpc.service.ExceptionHandler;
 import io.stargate.grpc.service.MessageHandler;
+import io.stargate.grpc.service.StreamingSuccessHandler;
 import io.stargate.grpc.service.SynchronizedStreamObserver;
 import io.stargate.proto.QueryOuterClass;
 import java.util.concurrent.Executors;
@@ -15,6 +22,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 class MessageStreamObserverTest {
   private static final ScheduledExecutorService EXECUTOR = Executors.newScheduledThreadPool(1);
@@ -105,6 +113,95 @@ class MessageStreamObserverTest {
     verify(callerStreamObserver, timeout(1000).times(0)).onCompleted();
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldStopReadingWhenMaxInFlightIsReached() {
+    // given
+    ServerCallStreamObserver<QueryOuterClass.StreamingResponse> callObserver =
+        mock(ServerCallStreamObserver.class);
+    when(callObserver.isReady()).thenReturn(true);
+    DistributionSummary queueDepth = new SimpleMeterRegistry().summary("queue.depth");
+    CapturingHandlerFactory successHandler = new CapturingHandlerFactory();
+
+    MessageStreamObserver<QueryOuterClass.Query> observer =
+        new MessageStreamObserver<>(
+            new SynchronizedStreamObserver<>(callObserver),
+            callObserver,
+            2,
+            queueDepth,
+            (v) -> mock(ExceptionHandler.class),
+            successHandler);
+
+    // then the first request is asked for immediately
+    verify(callObserver).disableAutoRequest();
+    verify(callObserver, times(1)).request(1);
+
+    // when
+    observer.onNext(QueryOuterClass.Query.newBuilder().build());
+    observer.onNext(QueryOuterClass.Query.newBuilder().build());
+
+    // then only the second request was asked for, the stream is now at max in-flight
+    verify(callObserver, times(2)).request(1);
+    assertThat(queueDepth.count()).isEqualTo(2);
+    assertThat(queueDepth.max()).isEqualTo(2);
+
+    // when a response completes
+    successHandler.get().handleResponse(QueryOuterClass.StreamingResponse.newBuilder().build());
+
+    // then reading resumes
+    verify(callObserver, times(3)).request(1);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldResumeReadingWhenOutboundBufferIsReady() {
+    // given
+    ServerCallStreamObserver<QueryOuterClass.StreamingResponse> callObserver =
+        mock(ServerCallStreamObserver.class);
+    when(callObserver.isReady()).thenReturn(false);
+
+    new MessageStreamObserver<>(
+        new SynchronizedStreamObserver<>(callObserver),
+        callObserver,
+        10,
+        null,
+        (v) -> mock(ExceptionHandler.class),
+        new CapturingHandlerFactory());
+
+    ArgumentCaptor<Runnable> onReadyHandler = ArgumentCaptor.forClass(Runnable.class);
+    verify(callObserver).setOnReadyHandler(onReadyHandler.capture());
+    // then nothing is read while the outbound buffer is full
+    verify(callObserver, times(0)).request(anyInt());
+
+    // when
+    when(callObserver.isReady()).thenReturn(true);
+    onReadyHandler.getValue().run();
+    onReadyHandler.getValue().run();
+
+    // then a single request is asked for
+    verify(callObserver, times(1)).request(1);
+  }
+
+  /** Creates handlers that never respond, but remembers the success handler they were given. */
+  private static class CapturingHandlerFactory
+      implements StreamingHandlerFactory<QueryOuterClass.Query> {
+
+    private StreamingSuccessHandler successHandler;
+
+    @Override
+    public MessageHandler<QueryOuterClass.Query, ?> create(
+        QueryOuterClass.Query query,
+        StreamingSuccessHandler successHandler,
+        ExceptionHandler exceptionHandler) {
+      this.successHandler = successHandler;
+      return mock(MessageHandler.class);
+    }
+
+    StreamingSuccessHandler get() {
+      return successHandler;
+    }
+  }
+
   @AfterAll
   public static void cleanup() {
     EXECUTOR.shutdown();
@@ -0,0 +1,152 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.db;
+
+import io.stargate.db.Result.Prepared;
+import io.stargate.db.Result.ResultMetadata;
+import io.stargate.db.schema.Column;
+import io.stargate.db.schema.Column.ColumnType;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.apache.cassandra.stargate.utils.MD5Digest;
+
+/**
+ * Everything needed to encode or decode the values of a list of columns (bind markers or result
+ * columns), computed once and reused across requests: the type and codec of each column, and the
+ * index of each name.
+ *
+ * <p>The codecs are API specific, so each API extends this class and gets its plans from a {@link
+ * PlanCache}.
+ *
+ * @param <CodecT> the type of the API's value codecs.
+ */
+public abstract class AbstractValuesPlan<CodecT> {
+
+  protected final List<Column> columns;
+  private final int columnsHash;
+  private final ColumnType[] types;
+  private final Object[] codecs;
+  private final Map<String, Integer> indexesByName;
+
+  /**
+   * @param codecLookup returns the codec of a raw type. It may throw if the type is not supported,
+   *     in which case {@link #knownCodec(int)} returns {@code null} for the corresponding columns.
+   */
+  protected AbstractValuesPlan(List<Column> columns, Function<Column.Type, CodecT> codecLookup) {
+    this.columns = columns;
+    this.columnsHash = columns.hashCode();
+    int count = columns.size();
+    this.types = new ColumnType[count];
+    this.codecs = new Object[count];
+    Map<String, Integer> indexesByName = new HashMap<>(count * 2);
+    for (int i = 0; i < count; i++) {
+      Column column = columns.get(i);
+      ColumnType type = column.type();
+      // Don't fail here if the type is missing or not supported, but only if and when the column
+      // is actually used, like we would without a plan.
+      if (type != null) {
+        types[i] = type;
+        try {
+          codecs[i] = codecLookup.apply(type.rawType());
+        } catch (RuntimeException e) {
+          // Unsupported type, the subclass will rethrow when the codec is requested
+        }
+      }
+      indexesByName.putIfAbsent(column.name(), i);
+    }
+    this.indexesByName = Collections.unmodifiableMap(indexesByName);
+  }
+
+  public int size() {
+    return types.length;
+  }
+
+  /** @return the type of the i-th column, or {@code null} if it is missing. */
+  protected ColumnType knownType(int i) {
+    return types[i];
+  }
+
+  /** @return the codec of the i-th column, or {@code null} if its type is missing or invalid. */
+  @SuppressWarnings("unchecked")
+  protected CodecT knownCodec(int i) {
+    return (CodecT) codecs[i];
+  }
+
+  /** @return the index of the column with the given name, or -1 if there is none. */
+  public int indexOf(String name) {
+    Integer index = indexesByName.get(name);
+    return index == null ? -1 : index;
+  }
+
+  /**
+   * Caches the plans of an API.
+   *
+   * <p>Bind marker plans are keyed by statement id, and result plans by result metadata id. Older
+   * persistence backends (Cassandra 3.11) don't compute the latter, so result plans fall back to
+   * being keyed by the columns themselves.
+   */
+  public static class PlanCache<PlanT extends AbstractValuesPlan<?>> {
+
+    private final Function<List<Column>, PlanT> factory;
+    private final ConcurrentMap<Object, PlanT> bindPlans;
+    private final ConcurrentMap<Object, PlanT> resultPlans;
+    private final ConcurrentMap<Object, PlanT> resultPlansByColumns;
+
+    /**
+     * @param factory creates a plan for a list of columns.
+     * @param maps creates the (bounded) maps that hold the plans.
+     */
+    public PlanCache(
+        Function<List<Column>, PlanT> factory, Supplier<ConcurrentMap<Object, PlanT>> maps) {
+      this.factory = factory;
+      this.bindPlans = maps.get();
+      this.resultPlans = maps.get();
+      this.resultPlansByColumns = maps.get();
+    }
+
+    public PlanT forBindMarkers(Prepared prepared) {
+      List<Column> columns = prepared.metadata.columns;
+      MD5Digest statementId = prepared.statementId;
+      PlanT plan = bindPlans.get(statementId);
+      // The statement id is a hash of the query string, it doesn't change if the schema does. Only
+      // compare the hashes: columns are pre-hashed, so this doesn't walk their definitions, and a
+      // collision would also require the statement ids to match.
+      if (plan == null || (plan.columns != columns && plan.columnsHash != columns.hashCode())) {
+        plan = factory.apply(columns);
+        bindPlans.put(statementId, plan);
+      }
+      return plan;
+    }
+
+    public PlanT forResult(ResultMetadata metadata) {
+      MD5Digest resultMetadataId = metadata.resultMetadataId;
+      // The result metadata id is a hash of the columns' definitions. Without it, key by the
+      // columns themselves: they are pre-hashed, and much cheaper to compare than to plan.
+      return resultMetadataId == null
+          ? resultPlansByColumns.computeIfAbsent(metadata.columns, __ -> newPlan(metadata))
+          : resultPlans.computeIfAbsent(resultMetadataId, __ -> newPlan(metadata));
+    }
+
+    private PlanT newPlan(ResultMetadata metadata) {
+      return factory.apply(metadata.columns);
+    }
+  }
+}
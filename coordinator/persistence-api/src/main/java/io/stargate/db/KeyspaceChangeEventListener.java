@@ -0,0 +1,108 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.db;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * An {@link EventListener} that reduces all schema events to the name of the affected keyspace.
+ *
+ * @see Persistence#registerSchemaChangeListener(Consumer)
+ */
+public class KeyspaceChangeEventListener implements EventListener {
+
+  private final Consumer<String> listener;
+
+  public KeyspaceChangeEventListener(Consumer<String> listener) {
+    this.listener = listener;
+  }
+
+  @Override
+  public void onCreateKeyspace(String keyspace) {
+    listener.accept(keyspace);
+  }
+
+  @Override
+  public void onCreateTable(String keyspace, String table) {
+    listener.accept(keyspace);
+  }
+
+  @Override
+  public void onCreateType(String keyspace, String type) {
+    listener.accept(keyspace);
+  }
+
+  @Override
+  public void onCreateFunction(String keyspace, String function, List<String> argumentTypes) {
+    listener.accept(keyspace);
+  }
+
+  @Override
+  public void onCreateAggregate(String keyspace, String aggregate, List<String> argumentTypes) {
+    listener.accept(keyspace);
+  }
+
+  @Override
+  public void onAlterKeyspace(String keyspace) {
+    listener.accept(keyspace);
+  }
+
+  @Override
+  public void onAlterTable(String keyspace, String table) {
+    listener.accept(keyspace);
+  }
+
+  @Override
+  public void onAlterType(String keyspace, String type) {
+    listener.accept(keyspace);
+  }
+
+  @Override
+  public void onAlterFunction(String keyspace, String function, List<String> argumentTypes) {
+    listener.accept(keyspace);
+  }
+
+  @Override
+  public void onAlterAggregate(String keyspace, String aggregate, List<String> argumentTypes) {
+    listener.accept(keyspace);
+  }
+
+  @Override
+  public void onDropKeyspace(String keyspace) {
+    listener.accept(keyspace);
+  }
+
+  @Override
+  public void onDropTable(String keyspace, String table) {
+    listener.accept(keyspace);
+  }
+
+  @Override
+  public void onDropType(String keyspace, String type) {
+    listener.accept(keyspace);
+  }
+
+  @Override
+  public void onDropFunction(String keyspace, String function, List<String> argumentTypes) {
+    listener.accept(keyspace);
+  }
+
+  @Override
+  public void onDropAggregate(String keyspace, String aggregate, List<String> argumentTypes) {
+    listener.accept(keyspace);
+  }
+}
@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import org.apache.cassandra.stargate.exceptions.AuthenticationException;
 
 /**
@@ -49,6 +50,19 @@ public interface Persistence extends SchemaAgreementChecker {
    */
   void registerEventListener(EventListener listener);
 
+  /**
+   * Registers a listener that is called with the name of a keyspace every time that keyspace, or
+   * one of its elements (tables, types, views...), is created, altered or dropped.
+   *
+   * <p>Contrary to {@link #registerEventListener(EventListener)}, implementations should only
+   * notify the listener once the change is visible through {@link #schema()}, so that the listener
+   * can safely read the new version of the keyspace. The default implementation does not provide
+   * that guarantee, it simply adapts the schema events of {@link EventListener}.
+   */
+  default void registerSchemaChangeListener(Consumer<String> listener) {
+    registerEventListener(new KeyspaceChangeEventListener(listener));
+  }
+
   Authenticator getAuthenticator();
 
   /**
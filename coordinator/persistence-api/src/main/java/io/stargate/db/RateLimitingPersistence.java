@@ -10,6 +10,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import org.apache.cassandra.stargate.exceptions.AuthenticationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,6 +50,11 @@ public class RateLimitingPersistence implements Persistence {
     persistence.registerEventListener(listener);
   }
 
+  @Override
+  public void registerSchemaChangeListener(Consumer<String> listener) {
+    persistence.registerSchemaChangeListener(listener);
+  }
+
   @Override
   public Authenticator getAuthenticator() {
     return persistence.getAuthenticator();
@@ -76,7 +76,15 @@ public abstract class Result {
   }
 
   public static class Rows extends Result {
+    /**
+     * The rows of this page.
+     *
+     * <p>Persistence implementations hand over the backend's own row list here (cell values are not
+     * copied), so this must be treated as read-only. Consumers should iterate it once, and wrap or
+     * decode each row lazily rather than materializing another copy of the page.
+     */
     public final List<List<ByteBuffer>> rows;
+
     public final ResultMetadata resultMetadata;
 
     public Rows(List<List<ByteBuffer>> rows, ResultMetadata resultMetadata) {
@@ -85,6 +93,10 @@ public abstract class Result {
       this.resultMetadata = resultMetadata;
     }
 
+    public int rowCount() {
+      return rows.size();
+    }
+
     @Override
     public String toString() {
       return "ROWS " + resultMetadata;
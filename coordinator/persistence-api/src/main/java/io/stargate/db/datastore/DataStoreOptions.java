@@ -1,5 +1,6 @@
 package io.stargate.db.datastore;
 
+import com.datastax.oss.driver.shaded.guava.common.base.Preconditions;
 import io.stargate.db.Parameters;
 import io.stargate.db.query.BoundQuery;
 import java.util.Collections;
@@ -55,6 +56,32 @@ public abstract class DataStoreOptions {
     return false;
   }
 
+  /**
+   * When to start fetching the next page of a result set ahead of time, as a fraction of the rows
+   * of the current page already consumed (for example, {@code 0.5} starts fetching the next page
+   * when half of the current one has been iterated). At most one page is fetched ahead.
+   *
+   * <p>Read-ahead only kicks in once the client has fetched a page past the initial one, by
+   * iterating the result set or calling {@link ResultSet#fetchMoreAsync()}: clients that stop
+   * within the initial page, or that only read {@link ResultSet#currentPageRows()} and handle the
+   * paging state themselves, never trigger it.
+   *
+   * <p>{@code 0} (the default) disables read-ahead: pages are only fetched once the previous one
+   * has been fully consumed.
+   */
+  @Value.Default
+  public double prefetchThreshold() {
+    return 0;
+  }
+
+  @Value.Check
+  protected void check() {
+    Preconditions.checkState(
+        prefetchThreshold() >= 0 && prefetchThreshold() <= 1,
+        "prefetchThreshold must be between 0 and 1, got %s",
+        prefetchThreshold());
+  }
+
   @Value.Default
   public Map<String, String> customProperties() {
     return Collections.emptyMap();
@@ -63,7 +90,8 @@ public abstract class DataStoreOptions {
   @Override
   public String toString() {
     return String.format(
-        "{defaultParameters: %s, alwaysPrepareQueries: %b, customProperties: %s}",
-        defaultParameters(), alwaysPrepareQueries(), customProperties());
+        "{defaultParameters: %s, alwaysPrepareQueries: %b, prefetchThreshold: %s, "
+            + "customProperties: %s}",
+        defaultParameters(), alwaysPrepareQueries(), prefetchThreshold(), customProperties());
   }
 }
@@ -149,7 +149,12 @@ public class PersistenceBackedDataStore implements DataStore {
         .thenAccept(
             r ->
                 successFuture.complete(
-                    PersistenceBackedResultSet.create(connection, r, statement, executeParameters)))
+                    PersistenceBackedResultSet.create(
+                        connection,
+                        r,
+                        statement,
+                        executeParameters,
+                        options.prefetchThreshold())))
         .exceptionally(
             ex -> {
               onException.accept(ex);
@@ -198,7 +203,10 @@ public class PersistenceBackedDataStore implements DataStore {
 
     return connection
         .batch(new Batch(batchType, statements), executeParameters, queryStartNanos)
-        .thenApply(r -> PersistenceBackedResultSet.create(connection, r, null, executeParameters));
+        .thenApply(
+            r ->
+                PersistenceBackedResultSet.create(
+                    connection, r, null, executeParameters, options.prefetchThreshold()));
   }
 
   private Persistence persistence() {
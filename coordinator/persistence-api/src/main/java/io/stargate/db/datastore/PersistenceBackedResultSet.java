@@ -15,12 +15,13 @@ import io.stargate.db.schema.Schema;
 import io.stargate.db.schema.Table;
 import io.stargate.db.schema.TableName;
 import java.nio.ByteBuffer;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Deque;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Predicate;
 import javax.annotation.Nullable;
@@ -32,20 +33,43 @@ class PersistenceBackedResultSet implements ResultSet {
   // Can be null when we know there is a single page
   private final @Nullable Statement statement;
   private final ProtocolVersion driverProtocolVersion;
-  private final Deque<Row> fetchedRows;
+  // The rows of the current page that haven't been consumed yet. They are only wrapped (and
+  // filtered) one at a time, as the client iterates.
+  private Iterator<List<ByteBuffer>> fetchedRows = Collections.emptyIterator();
+  // The next row to return, if it has already been wrapped and accepted by the filter.
+  private @Nullable Row nextFetchedRow;
   private final List<Column> columns;
   private final Predicate<Row> authzFilter;
   private final Result.Rows initialPage; // Used for calling withRowInspector()
+  // See DataStoreOptions.prefetchThreshold()
+  private final double prefetchThreshold;
 
   // Paging state to fetch the next page, or null is we've fetched all pages.
   private ByteBuffer nextPagingState;
+  // The rows of the current page, and how many of them have been consumed (filtered or not).
+  private int pageSize;
+  private int consumedInPage;
+  // The next page, if it was fetched ahead of time. We never read more than one page ahead.
+  private @Nullable CompletableFuture<Result> prefetchedPage;
+  // Whether a page past the initial one was fetched, i.e. the client has shown that it reads
+  // across pages. Read-ahead only starts then (see maybePrefetch()).
+  private boolean fetchedNextPages;
 
   PersistenceBackedResultSet(
       Persistence.Connection connection,
       Parameters parameters,
       @Nullable Statement statement,
       Result.Rows initialPage) {
-    this(connection, parameters, statement, initialPage, null);
+    this(connection, parameters, statement, initialPage, 0);
+  }
+
+  PersistenceBackedResultSet(
+      Persistence.Connection connection,
+      Parameters parameters,
+      @Nullable Statement statement,
+      Result.Rows initialPage,
+      double prefetchThreshold) {
+    this(connection, parameters, statement, initialPage, null, prefetchThreshold);
   }
 
   private PersistenceBackedResultSet(
@@ -53,15 +77,16 @@ class PersistenceBackedResultSet implements ResultSet {
       Parameters parameters,
       Statement statement,
       Rows initialPage,
-      Predicate<Row> authzFilter) {
+      Predicate<Row> authzFilter,
+      double prefetchThreshold) {
     this.connection = connection;
     // We get our metadata in our initial page; let's skip it for following pages
     this.parameters = parameters.withoutMetadataInResult();
     this.statement = statement;
     this.driverProtocolVersion = parameters.protocolVersion().toDriverVersion();
-    this.fetchedRows = new ArrayDeque<>(parameters.pageSize().orElse(32));
     this.columns = processColumns(initialPage.resultMetadata.columns);
     this.authzFilter = authzFilter;
+    this.prefetchThreshold = prefetchThreshold;
     processNewPage(initialPage);
     this.initialPage = initialPage;
     if (nextPagingState != null && this.statement == null) {
@@ -74,7 +99,8 @@ class PersistenceBackedResultSet implements ResultSet {
       Persistence.Connection connection,
       Result result,
       @Nullable Statement statement,
-      Parameters executeParameters) {
+      Parameters executeParameters,
+      double prefetchThreshold) {
     switch (result.kind) {
       case Prepared:
         throw new AssertionError("Shouldn't get a 'Prepared' result when executing a statement");
@@ -86,7 +112,7 @@ class PersistenceBackedResultSet implements ResultSet {
         return ResultSet.empty();
       case Rows:
         return new PersistenceBackedResultSet(
-            connection, executeParameters, statement, (Result.Rows) result);
+            connection, executeParameters, statement, (Result.Rows) result, prefetchThreshold);
       default:
         throw new AssertionError("Unhandled result type: " + result.kind);
     }
@@ -124,38 +150,92 @@ class PersistenceBackedResultSet implements ResultSet {
   }
 
   private void processNewPage(Result.Rows page) {
-    for (List<ByteBuffer> rowValues : page.rows) {
+    fetchedRows = page.rows.iterator();
+    nextPagingState = page.resultMetadata.pagingState;
+    pageSize = page.rowCount();
+    consumedInPage = 0;
+  }
+
+  private void processNextPage(Result result) {
+    switch (result.kind) {
+      case Void:
+        fetchedNextPages = true;
+        nextPagingState = null;
+        fetchedRows = Collections.emptyIterator();
+        break;
+      case Rows:
+        fetchedNextPages = true;
+        processNewPage((Result.Rows) result);
+        break;
+      default:
+        throw new IllegalStateException(
+            String.format("Unexpected %s result received for a result set page", result.kind));
+    }
+  }
+
+  /** Returns the next page, either the one we fetched ahead of time, or a brand new request. */
+  private CompletableFuture<Result> nextPage() {
+    assert nextPagingState != null;
+    CompletableFuture<Result> page = prefetchedPage;
+    if (page != null) {
+      prefetchedPage = null;
+      return page;
+    }
+    return connection.execute(
+        statement, parameters.withPagingState(nextPagingState), System.nanoTime());
+  }
+
+  /**
+   * Starts fetching the next page if enough of the current one has been consumed, and we're not
+   * already doing it.
+   *
+   * <p>This is never done on the initial page: a prefetched page that is never consumed can't be
+   * cancelled (the query is already running in the persistence layer), so we wait until the client
+   * has fetched past the initial page before reading ahead.
+   */
+  private void maybePrefetch() {
+    if (prefetchThreshold > 0
+        && fetchedNextPages
+        && prefetchedPage == null
+        && nextPagingState != null
+        && consumedInPage >= prefetchThreshold * pageSize) {
+      prefetchedPage = nextPage();
+    }
+  }
+
+  /**
+   * Wraps the next row of the current page that passes the filter, if there is one.
+   *
+   * <p>This is the only place where rows are wrapped and handed to the filter, and it is only
+   * reached when the client advances the iteration (or asks whether it can).
+   *
+   * @return whether {@link #nextFetchedRow} is available.
+   */
+  private boolean advanceInPage() {
+    while (nextFetchedRow == null && fetchedRows.hasNext()) {
       ArrayListBackedRow arrayListBackedRow =
-          new ArrayListBackedRow(columns, rowValues, driverProtocolVersion);
+          new ArrayListBackedRow(columns, fetchedRows.next(), driverProtocolVersion);
+      consumedInPage += 1;
+      maybePrefetch();
       if (authzFilter == null || authzFilter.test(arrayListBackedRow)) {
-        fetchedRows.addLast(arrayListBackedRow);
+        nextFetchedRow = arrayListBackedRow;
       }
     }
-    nextPagingState = page.resultMetadata.pagingState;
+    return nextFetchedRow != null;
+  }
+
+  private Row pollFetchedRow() {
+    Row row = nextFetchedRow;
+    nextFetchedRow = null;
+    return row;
   }
 
   private void fetchNextPage() {
-    assert nextPagingState != null;
     try {
       // Note: we could have add a timeout on that get() for security. That said, we don't want
       // to pull a random number, and adding a new config for that should probably be discussed.
       // But it's probably good enough to rely on the persistence layer query timeout.
-      Result result =
-          connection
-              .execute(statement, parameters.withPagingState(nextPagingState), System.nanoTime())
-              .get();
-
-      switch (result.kind) {
-        case Void:
-          nextPagingState = null;
-          break;
-        case Rows:
-          processNewPage((Result.Rows) result);
-          break;
-        default:
-          throw new IllegalStateException(
-              String.format("Unexpected %s result received for a result set page", result.kind));
-      }
+      processNextPage(nextPage().get());
     } catch (InterruptedException e) {
       // We don't play with interruptions, so hopefully this never happen
       throw new RuntimeException("Interrupted while waiting on new page results");
@@ -171,7 +251,7 @@ class PersistenceBackedResultSet implements ResultSet {
 
   private boolean hasNextRow() {
     while (true) {
-      if (!fetchedRows.isEmpty()) {
+      if (advanceInPage()) {
         return true;
       }
       if (nextPagingState == null) {
@@ -182,22 +262,38 @@ class PersistenceBackedResultSet implements ResultSet {
   }
 
   private Row nextRow() {
-    while (true) {
-      Row nextRow = fetchedRows.pollFirst();
-      if (nextRow != null) {
-        return nextRow;
-      }
-      if (nextPagingState == null) {
-        throw new NoSuchElementException();
-      }
-      fetchNextPage();
+    if (!hasNextRow()) {
+      throw new NoSuchElementException();
+    }
+    return pollFetchedRow();
+  }
+
+  @Override
+  public CompletionStage<Boolean> fetchMoreAsync() {
+    if (advanceInPage()) {
+      return CompletableFuture.completedFuture(true);
+    }
+    if (nextPagingState == null) {
+      return CompletableFuture.completedFuture(false);
     }
+    return nextPage()
+        .thenCompose(
+            result -> {
+              processNextPage(result);
+              // The new page might be empty, or entirely filtered out
+              return fetchMoreAsync();
+            });
   }
 
   @Override
   public ResultSet withRowInspector(Predicate<Row> authzFilter) {
     return new PersistenceBackedResultSet(
-        this.connection, this.parameters, this.statement, this.initialPage, authzFilter);
+        this.connection,
+        this.parameters,
+        this.statement,
+        this.initialPage,
+        authzFilter,
+        this.prefetchThreshold);
   }
 
   @Override
@@ -232,15 +328,16 @@ class PersistenceBackedResultSet implements ResultSet {
   @Override
   public List<Row> currentPageRows() {
     List<Row> fetched = new ArrayList<>();
-    while (!fetchedRows.isEmpty()) {
-      fetched.add(fetchedRows.pollFirst());
+    while (advanceInPage()) {
+      fetched.add(pollFetchedRow());
     }
     return fetched;
   }
 
   @Override
   public boolean hasNoMoreFetchedRows() {
-    return fetchedRows.isEmpty();
+    // Only peek: rows are wrapped and filtered when the client advances over them, not here.
+    return nextFetchedRow == null && !fetchedRows.hasNext();
   }
 
   @Override
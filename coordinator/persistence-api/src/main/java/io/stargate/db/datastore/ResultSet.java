@@ -23,6 +23,8 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Predicate;
 
 public interface ResultSet extends Iterable<Row> {
@@ -128,11 +130,32 @@ public interface ResultSet extends Iterable<Row> {
   List<Row> currentPageRows();
 
   /**
-   * @return true if no more rows are available in the current page, without trying to fetch any
-   *     additional pages.
+   * Whether the current page is exhausted, without trying to fetch any additional pages.
+   *
+   * <p>This does not consume nor inspect any row. In particular, if a row inspector was set with
+   * {@link #withRowInspector(Predicate)}, this may return {@code false} even though all the
+   * remaining rows of the page will be filtered out; use {@link #iterator()} to find out whether
+   * there is a row that can actually be returned.
+   *
+   * @return true if no more rows are available in the current page.
    */
   boolean hasNoMoreFetchedRows();
 
+  /**
+   * Asynchronous alternative to iterating with {@link #iterator()}, that never blocks on the
+   * persistence.
+   *
+   * <p>If the current page still has rows, this completes immediately. Otherwise, it fetches pages
+   * until one of them has rows, or there are no more pages. The typical usage is to alternatively
+   * consume {@link #currentPageRows()} and call this method, until it returns {@code false}.
+   *
+   * @return whether more rows are available in the current page (that is, the opposite of {@link
+   *     #hasNoMoreFetchedRows()} once the returned stage completes).
+   */
+  default CompletionStage<Boolean> fetchMoreAsync() {
+    return CompletableFuture.completedFuture(!hasNoMoreFetchedRows());
+  }
+
   ByteBuffer getPagingState();
 
   /**
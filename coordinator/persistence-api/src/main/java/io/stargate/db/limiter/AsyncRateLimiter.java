@@ -5,6 +5,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
+import javax.annotation.Nullable;
 
 /**
  * An asynchronous rate limiter.
@@ -74,6 +75,9 @@ public class AsyncRateLimiter {
    */
   private final AtomicLong consumedToTime;
 
+  /** Marker returned by {@link #tryAcquire} when the permits could not be acquired. */
+  private static final long REJECTED = Long.MIN_VALUE;
+
   /**
    * Constructs a limiter.
    *
@@ -155,6 +159,17 @@ public class AsyncRateLimiter {
    * should be scheduled.
    */
   private long acquire(long permits, long currentTimeNanos) {
+    return tryAcquire(permits, currentTimeNanos, Long.MAX_VALUE);
+  }
+
+  /**
+   * Same as {@link #acquire}, but only acquires the permits if the work would not have to be delayed
+   * by more than {@code maxDelayNanos}.
+   *
+   * @return the time for which the work should be scheduled, or {@link #REJECTED} if the permits
+   *     were not acquired.
+   */
+  private long tryAcquire(long permits, long currentTimeNanos, long maxDelayNanos) {
     // Do not delay if no permits are requested, even if late. 0 work is already accounted for in
     // the previous
     // acquire call.
@@ -169,6 +184,9 @@ public class AsyncRateLimiter {
       // future (if running at limit) or in the past.
       // Make sure it's not more than the reserve window in the past though.
       scheduleTime = Math.max(consumedTo, currentTimeNanos - reserveWindowNanos);
+      if (scheduleTime - currentTimeNanos > maxDelayNanos) {
+        return REJECTED;
+      }
       if (consumedToTime.compareAndSet(consumedTo, scheduleTime + timeToAcquire)) {
         return scheduleTime;
       } // Else we have had a concurrent modification. Retry.
@@ -190,8 +208,32 @@ public class AsyncRateLimiter {
       long permits, Supplier<CompletableFuture<T>> task) {
     long currentTime = System.nanoTime();
     long scheduleTime = acquire(permits, currentTime);
-    long delay = scheduleTime - currentTime;
+    return execute(scheduleTime - currentTime, task);
+  }
+
+  /**
+   * Same as {@link #acquireAndExecute}, except that if the task would have to wait more than {@code
+   * maxDelay} for its permits, it is not executed (and no permits are consumed).
+   *
+   * @param permits the number of permits to acquire.
+   * @param maxDelay the maximum time the task is allowed to wait for its permits.
+   * @param maxDelayUnit time unit for {@code maxDelay}.
+   * @param task an asynchronous task.
+   * @return the result of the task, or {@code null} if the task was not executed because it would
+   *     have waited for too long.
+   */
+  @Nullable
+  public <T> CompletableFuture<T> tryAcquireAndExecute(
+      long permits, long maxDelay, TimeUnit maxDelayUnit, Supplier<CompletableFuture<T>> task) {
+    long currentTime = System.nanoTime();
+    long scheduleTime = tryAcquire(permits, currentTime, maxDelayUnit.toNanos(maxDelay));
+    if (scheduleTime == REJECTED) {
+      return null;
+    }
+    return execute(scheduleTime - currentTime, task);
+  }
 
+  private <T> CompletableFuture<T> execute(long delay, Supplier<CompletableFuture<T>> task) {
     if (delay < schedulingThresholdNanos) {
       // Time is in the past, or very close in the future. Execute immediately.
       return task.get();
@@ -1,7 +1,9 @@
 package io.stargate.db.limiter;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
+import org.apache.cassandra.stargate.exceptions.OverloadedException;
 import org.apache.cassandra.stargate.exceptions.UnauthorizedException;
 
 /**
@@ -11,7 +13,9 @@ import org.apache.cassandra.stargate.exceptions.UnauthorizedException;
  *
  * <ul>
  *   <li>to not rate limit at all ({@link #unlimited()}).
- *   <li>to rate limit the query, using a provided limiter ({@link #limit}).
+ *   <li>to rate limit the query, using a provided limiter ({@link #limit}). The query can
+ *       optionally be failed with an {@link OverloadedException} instead of being delayed for too
+ *       long.
  *   <li>to reject the query altogether ({@link #reject}).
  * </ul>
  */
@@ -29,7 +33,25 @@ public abstract class RateLimitingDecision {
    * number of permit on the provided limiter.
    */
   public static Limited limit(AsyncRateLimiter limiter, long permitsToAcquire) {
-    return new Limited(limiter, permitsToAcquire);
+    return new Limited(limiter, permitsToAcquire, Long.MAX_VALUE, null);
+  }
+
+  /**
+   * Creates a new decision consisting of rate limiting a query through acquiring the provided
+   * number of permit on the provided limiter, unless that would delay the query by more than {@code
+   * maxDelay}: in that case, no permits are acquired and the query fails with an {@link
+   * OverloadedException}.
+   *
+   * @param onOverloaded invoked every time a query fails because of this decision. This can be
+   *     used to track those failures.
+   */
+  public static Limited limit(
+      AsyncRateLimiter limiter,
+      long permitsToAcquire,
+      long maxDelay,
+      TimeUnit maxDelayUnit,
+      Runnable onOverloaded) {
+    return new Limited(limiter, permitsToAcquire, maxDelayUnit.toNanos(maxDelay), onOverloaded);
   }
 
   /**
@@ -55,15 +77,36 @@ public abstract class RateLimitingDecision {
   public static class Limited extends RateLimitingDecision {
     private final AsyncRateLimiter limiter;
     private final long permitsToAcquire;
+    private final long maxDelayNanos;
+    private final Runnable onOverloaded;
 
-    private Limited(AsyncRateLimiter limiter, long permitsToAcquire) {
+    private Limited(
+        AsyncRateLimiter limiter,
+        long permitsToAcquire,
+        long maxDelayNanos,
+        Runnable onOverloaded) {
       this.limiter = limiter;
       this.permitsToAcquire = permitsToAcquire;
+      this.maxDelayNanos = maxDelayNanos;
+      this.onOverloaded = onOverloaded;
     }
 
     @Override
     public <T> CompletableFuture<T> apply(Supplier<CompletableFuture<T>> task) {
-      return limiter.acquireAndExecute(permitsToAcquire, task);
+      if (maxDelayNanos == Long.MAX_VALUE) {
+        return limiter.acquireAndExecute(permitsToAcquire, task);
+      }
+      CompletableFuture<T> result =
+          limiter.tryAcquireAndExecute(permitsToAcquire, maxDelayNanos, TimeUnit.NANOSECONDS, task);
+      if (result == null) {
+        if (onOverloaded != null) {
+          onOverloaded.run();
+        }
+        result = new CompletableFuture<>();
+        result.completeExceptionally(
+            new OverloadedException("Rate limit exceeded, please retry later"));
+      }
+      return result;
     }
   }
 
@@ -38,7 +38,7 @@ public enum ProtocolVersion implements Comparable<ProtocolVersion> {
   V2(2, "v2", false), // no longer supported
   V3(3, "v3", false),
   V4(4, "v4", false),
-  V5(5, "v5-beta", true);
+  V5(5, "v5", false);
 
   /** The version number */
   private final int num;
@@ -75,7 +75,7 @@ public enum ProtocolVersion implements Comparable<ProtocolVersion> {
   /** The preferred versions */
   public static final ProtocolVersion CURRENT = V4;
 
-  public static final Optional<ProtocolVersion> BETA = Optional.of(V5);
+  public static final Optional<ProtocolVersion> BETA = Optional.empty();
 
   public static List<String> supportedVersions() {
     List<String> ret = new ArrayList<>(SUPPORTED.size());
@@ -138,7 +138,11 @@ public enum ProtocolVersion implements Comparable<ProtocolVersion> {
     return num;
   }
 
-  public boolean supportsChecksums() {
+  /**
+   * Whether messages are wrapped in checksummed (and optionally compressed) segments, once the
+   * connection has been initialized.
+   */
+  public boolean supportsSegments() {
     return num >= V5.asInt();
   }
 
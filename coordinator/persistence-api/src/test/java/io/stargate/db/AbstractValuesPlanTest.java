@@ -0,0 +1,149 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.db;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.stargate.db.AbstractValuesPlan.PlanCache;
+import io.stargate.db.Result.Flag;
+import io.stargate.db.Result.Prepared;
+import io.stargate.db.Result.PreparedMetadata;
+import io.stargate.db.Result.ResultMetadata;
+import io.stargate.db.schema.Column;
+import io.stargate.db.schema.Column.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.cassandra.stargate.utils.MD5Digest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AbstractValuesPlanTest {
+
+  private static final MD5Digest STATEMENT_ID = MD5Digest.compute("SELECT".getBytes(UTF_8));
+
+  private AtomicInteger created;
+  private PlanCache<TestPlan> plans;
+
+  @BeforeEach
+  public void setup() {
+    created = new AtomicInteger();
+    plans =
+        new PlanCache<>(
+            columns -> {
+              created.incrementAndGet();
+              return new TestPlan(columns);
+            },
+            ConcurrentHashMap::new);
+  }
+
+  @Test
+  public void shouldResolveTypesCodecsAndIndexes() {
+    TestPlan plan =
+        new TestPlan(
+            Arrays.asList(
+                Column.create("a", Type.Int),
+                Column.create("b", Type.Counter),
+                Column.create("a", Type.Text),
+                Column.create("c", Column.Kind.Regular)));
+
+    assertThat(plan.size()).isEqualTo(4);
+    assertThat(plan.knownCodec(0)).isEqualTo("Int");
+    assertThat(plan.knownCodec(1)).isNull();
+    assertThat(plan.knownType(3)).isNull();
+    assertThat(plan.knownCodec(3)).isNull();
+    assertThat(plan.indexOf("a")).isEqualTo(0);
+    assertThat(plan.indexOf("c")).isEqualTo(3);
+    assertThat(plan.indexOf("d")).isEqualTo(-1);
+  }
+
+  @Test
+  public void shouldReuseBindMarkersPlanForEqualColumns() {
+    TestPlan plan = plans.forBindMarkers(prepared(columns(Type.Int)));
+
+    assertThat(plans.forBindMarkers(prepared(columns(Type.Int)))).isSameAs(plan);
+    assertThat(created).hasValue(1);
+  }
+
+  @Test
+  public void shouldReplaceBindMarkersPlanWhenSchemaChanges() {
+    TestPlan plan = plans.forBindMarkers(prepared(columns(Type.Int)));
+    TestPlan altered = plans.forBindMarkers(prepared(columns(Type.Bigint)));
+
+    assertThat(altered).isNotSameAs(plan);
+    assertThat(altered.knownCodec(1)).isEqualTo("Bigint");
+    assertThat(plans.forBindMarkers(prepared(columns(Type.Bigint)))).isSameAs(altered);
+    assertThat(created).hasValue(2);
+  }
+
+  @Test
+  public void shouldCacheResultPlanById() {
+    MD5Digest id = MD5Digest.compute("id".getBytes(UTF_8));
+    TestPlan plan = plans.forResult(resultMetadata(columns(Type.Int), id));
+
+    assertThat(plans.forResult(resultMetadata(columns(Type.Int), id))).isSameAs(plan);
+    assertThat(created).hasValue(1);
+  }
+
+  @Test
+  public void shouldCacheResultPlanByColumnsWithoutId() {
+    TestPlan plan = plans.forResult(resultMetadata(columns(Type.Int), null));
+
+    assertThat(plans.forResult(resultMetadata(columns(Type.Int), null))).isSameAs(plan);
+    assertThat(plans.forResult(resultMetadata(columns(Type.Bigint), null))).isNotSameAs(plan);
+    assertThat(created).hasValue(2);
+  }
+
+  private static List<Column> columns(Type valueType) {
+    // A new list every time, like the persistence does
+    List<Column> columns = new ArrayList<>();
+    columns.add(Column.create("k", Type.Text));
+    columns.add(Column.create("v", valueType));
+    return columns;
+  }
+
+  private static Prepared prepared(List<Column> columns) {
+    return new Prepared(
+        STATEMENT_ID,
+        null,
+        ResultMetadata.EMPTY,
+        new PreparedMetadata(EnumSet.noneOf(Flag.class), columns, new short[0]),
+        false,
+        false);
+  }
+
+  private static ResultMetadata resultMetadata(List<Column> columns, MD5Digest id) {
+    return new ResultMetadata(EnumSet.noneOf(Flag.class), columns, id, null);
+  }
+
+  private static class TestPlan extends AbstractValuesPlan<String> {
+
+    TestPlan(List<Column> columns) {
+      super(
+          columns,
+          type -> {
+            if (type == Type.Counter) {
+              throw new IllegalArgumentException("Unsupported type");
+            }
+            return type.name();
+          });
+    }
+  }
+}
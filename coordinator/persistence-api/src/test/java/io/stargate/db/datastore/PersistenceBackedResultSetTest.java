@@ -5,6 +5,9 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.datastax.oss.driver.api.core.ProtocolVersion;
@@ -600,6 +603,210 @@ class PersistenceBackedResultSetTest {
     assertRows(rowsResult, rowsDifferentUser.rows);
   }
 
+  @Test
+  public void rowsWrappedLazily() {
+    List<Row> inspected = new ArrayList<>();
+    ResultSet resultSet =
+        new PersistenceBackedResultSet(
+                connection,
+                ImmutableParameters.builder()
+                    .protocolVersion(
+                        org.apache.cassandra.stargate.transport.ProtocolVersion.CURRENT)
+                    .build(),
+                null,
+                rowsDifferentUser)
+            .withRowInspector(
+                row -> {
+                  inspected.add(row);
+                  return true;
+                });
+
+    assertThat(resultSet.hasNoMoreFetchedRows()).isFalse();
+    assertThat(inspected).isEmpty();
+
+    Row one = resultSet.one();
+    assertRow(one, rowsDifferentUser.rows.get(0));
+    assertThat(inspected).containsExactly(one);
+    assertThat(resultSet.hasNoMoreFetchedRows()).isFalse();
+    assertThat(inspected).hasSize(1);
+
+    List<Row> rest = resultSet.currentPageRows();
+    assertRows(rest, rowsDifferentUser.rows.subList(1, 2));
+    assertThat(inspected).hasSize(2);
+    assertThat(resultSet.hasNoMoreFetchedRows()).isTrue();
+  }
+
+  @Test
+  public void consumingOneRowOfLargePageOnlyWrapsThatRow() {
+    List<Map<String, Object>> data = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      Map<String, Object> rowVal = new HashMap<>();
+      rowVal.put("userid", "123");
+      rowVal.put("item_count", i);
+      data.add(rowVal);
+    }
+    Rows page = createRows(SHOPPING_CART.columns(), data);
+    List<Row> inspected = new ArrayList<>();
+    ResultSet resultSet =
+        new PersistenceBackedResultSet(
+                connection,
+                ImmutableParameters.builder()
+                    .protocolVersion(
+                        org.apache.cassandra.stargate.transport.ProtocolVersion.CURRENT)
+                    .build(),
+                null,
+                page)
+            .withRowInspector(
+                row -> {
+                  inspected.add(row);
+                  return true;
+                });
+
+    Row one = resultSet.one();
+
+    // Only the consumed row was wrapped, and it reads the values of the page without copying them
+    assertThat(inspected).containsExactly(one);
+    for (int i = 0; i < one.columns().size(); i++) {
+      assertThat(one.getBytesUnsafe(i)).isSameAs(page.rows.get(0).get(i));
+    }
+  }
+
+  @Test
+  public void hasNoMoreFetchedRowsDoesNotFilter() {
+    Map<String, String> claims = new HashMap<>();
+    claims.put("x-stargate-role", "web-user");
+    claims.put("x-stargate-userid", "123");
+    List<Row> inspected = new ArrayList<>();
+    Predicate<Row> authFilter = createAuthFilter(claims);
+    ResultSet resultSet =
+        new PersistenceBackedResultSet(
+                connection,
+                ImmutableParameters.builder()
+                    .protocolVersion(
+                        org.apache.cassandra.stargate.transport.ProtocolVersion.CURRENT)
+                    .build(),
+                null,
+                rowsDifferentUser)
+            .withRowInspector(
+                row -> {
+                  inspected.add(row);
+                  return authFilter.test(row);
+                });
+
+    assertRow(resultSet.one(), rowsDifferentUser.rows.get(0));
+
+    // The second row belongs to another user, but it is only filtered out when iterating
+    assertThat(resultSet.hasNoMoreFetchedRows()).isFalse();
+    assertThat(inspected).hasSize(1);
+    assertThat(resultSet.iterator().hasNext()).isFalse();
+    assertThat(inspected).hasSize(2);
+    assertThat(resultSet.hasNoMoreFetchedRows()).isTrue();
+  }
+
+  @Test
+  public void fetchMoreAsync() {
+    rowsSameUser.resultMetadata.pagingState = ByteBuffer.allocate(1);
+    CompletableFuture<Result> secondPage = new CompletableFuture<>();
+    when(connection.execute(any(), any(), anyLong())).thenReturn(secondPage);
+
+    ResultSet resultSet =
+        new PersistenceBackedResultSet(
+            connection,
+            ImmutableParameters.builder()
+                .protocolVersion(org.apache.cassandra.stargate.transport.ProtocolVersion.CURRENT)
+                .build(),
+            new SimpleStatement("select * from store.shopping_cart"),
+            rowsSameUser);
+
+    assertThat(resultSet.fetchMoreAsync().toCompletableFuture()).isCompletedWithValue(true);
+    assertRows(resultSet.currentPageRows(), rowsSameUser.rows);
+
+    CompletableFuture<Boolean> more = resultSet.fetchMoreAsync().toCompletableFuture();
+    assertThat(more).isNotDone();
+    secondPage.complete(rowsDifferentUser);
+    assertThat(more).isCompletedWithValue(true);
+    assertRows(resultSet.currentPageRows(), rowsDifferentUser.rows);
+
+    assertThat(resultSet.fetchMoreAsync().toCompletableFuture()).isCompletedWithValue(false);
+  }
+
+  @Test
+  public void prefetchNextPage() {
+    rowsSameUser.resultMetadata.pagingState = ByteBuffer.allocate(1);
+    rowsDifferentUser.resultMetadata.pagingState = ByteBuffer.allocate(1);
+    Rows thirdPage =
+        createRows(SHOPPING_CART.columns(), Collections.singletonList(new HashMap<>()));
+    when(connection.execute(any(), any(), anyLong()))
+        .thenReturn(
+            CompletableFuture.completedFuture(rowsDifferentUser),
+            CompletableFuture.completedFuture(thirdPage));
+
+    ResultSet resultSet =
+        new PersistenceBackedResultSet(
+            connection,
+            ImmutableParameters.builder()
+                .protocolVersion(org.apache.cassandra.stargate.transport.ProtocolVersion.CURRENT)
+                .build(),
+            new SimpleStatement("select * from store.shopping_cart"),
+            rowsSameUser,
+            0.5);
+
+    Iterator<Row> iterator = resultSet.iterator();
+    assertRow(iterator.next(), rowsSameUser.rows.get(0));
+    assertRow(iterator.next(), rowsSameUser.rows.get(1));
+    // Nothing is read ahead on the initial page
+    verify(connection, never()).execute(any(), any(), anyLong());
+
+    assertRow(iterator.next(), rowsDifferentUser.rows.get(0));
+    // Half of the second page was consumed, the third one is already requested
+    verify(connection, times(2)).execute(any(), any(), anyLong());
+
+    List<Row> all = new ArrayList<>();
+    iterator.forEachRemaining(all::add);
+    assertThat(all).hasSize(2);
+    // The prefetched page was used, not requested again
+    verify(connection, times(2)).execute(any(), any(), anyLong());
+  }
+
+  @Test
+  public void noPrefetchWhenStoppingInInitialPage() {
+    rowsSameUser.resultMetadata.pagingState = ByteBuffer.allocate(1);
+
+    ResultSet resultSet =
+        new PersistenceBackedResultSet(
+            connection,
+            ImmutableParameters.builder()
+                .protocolVersion(org.apache.cassandra.stargate.transport.ProtocolVersion.CURRENT)
+                .build(),
+            new SimpleStatement("select * from store.shopping_cart"),
+            rowsSameUser,
+            0.5);
+
+    // Past the threshold, but the client might never read further
+    assertRow(resultSet.one(), rowsSameUser.rows.get(0));
+    assertThat(resultSet.iterator().hasNext()).isTrue();
+    verify(connection, never()).execute(any(), any(), anyLong());
+  }
+
+  @Test
+  public void noPrefetchWhenOnlyReadingCurrentPage() {
+    rowsSameUser.resultMetadata.pagingState = ByteBuffer.allocate(1);
+
+    ResultSet resultSet =
+        new PersistenceBackedResultSet(
+            connection,
+            ImmutableParameters.builder()
+                .protocolVersion(org.apache.cassandra.stargate.transport.ProtocolVersion.CURRENT)
+                .build(),
+            new SimpleStatement("select * from store.shopping_cart"),
+            rowsSameUser,
+            0.5);
+
+    assertRows(resultSet.currentPageRows(), rowsSameUser.rows);
+    assertThat(resultSet.getPagingState()).isNotNull();
+    verify(connection, never()).execute(any(), any(), anyLong());
+  }
+
   @Test
   public void iterator() {
     Map<String, String> claims = new HashMap<>();
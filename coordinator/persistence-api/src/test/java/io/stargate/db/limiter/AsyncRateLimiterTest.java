@@ -1,5 +1,9 @@
 package io.stargate.db.limiter;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.datastax.oss.driver.shaded.guava.common.util.concurrent.Uninterruptibles;
@@ -24,6 +28,34 @@ public class AsyncRateLimiterTest {
     assertTrue(testNonFlaky(new AcquireAndExecute()));
   }
 
+  @Test
+  public void testTryAcquireAndExecute() {
+    AsyncRateLimiter limiter =
+        new AsyncRateLimiter(executor, 1, TimeUnit.SECONDS, 0, TimeUnit.MILLISECONDS);
+    AtomicLong executed = new AtomicLong(0);
+
+    // The first task consumes the only permit of the current second
+    assertNotNull(
+        limiter.tryAcquireAndExecute(1, 100, TimeUnit.MILLISECONDS, () -> task(executed)));
+    // The next one would have to wait about a second
+    assertNull(limiter.tryAcquireAndExecute(1, 100, TimeUnit.MILLISECONDS, () -> task(executed)));
+    assertEquals(1, executed.get());
+
+    // A rejected task does not consume permits: a task that is allowed to wait long enough is
+    // scheduled right after the first one
+    CompletableFuture<Void> delayed =
+        limiter.tryAcquireAndExecute(1, 1, TimeUnit.MINUTES, () -> task(executed));
+    assertNotNull(delayed);
+    assertFalse(delayed.isDone());
+    delayed.join();
+    assertEquals(2, executed.get());
+  }
+
+  private static CompletableFuture<Void> task(AtomicLong executed) {
+    executed.incrementAndGet();
+    return CompletableFuture.completedFuture(null);
+  }
+
   static class FlakyAssertionError extends AssertionError {
     public FlakyAssertionError(String detailMessage) {
       super(detailMessage);
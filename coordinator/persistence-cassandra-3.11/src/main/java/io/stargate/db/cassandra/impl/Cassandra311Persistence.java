@@ -54,6 +54,7 @@ import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -170,12 +171,18 @@ public class Cassandra311Persistence
   }
 
   @Override
-  protected void registerInternalSchemaListener(Runnable runOnSchemaChange) {
+  @Nullable
+  protected KeyspaceMetadata currentInternalKeyspace(String keyspaceName) {
+    return org.apache.cassandra.config.Schema.instance.getKSMetaData(keyspaceName);
+  }
+
+  @Override
+  protected void registerInternalSchemaListener(Consumer<String> onKeyspaceChange) {
     migrationListener =
         new SimpleCallbackMigrationListener() {
           @Override
-          void onSchemaChange() {
-            runOnSchemaChange.run();
+          void onSchemaChange(String keyspace) {
+            onKeyspaceChange.accept(keyspace);
           }
         };
     MigrationManager.instance.register(migrationListener);
@@ -300,6 +307,7 @@ public class Cassandra311Persistence
                     ? (PersistenceException) t
                     : Conversion.convertInternalException(t);
             pe.setWarnings(ClientWarn.instance.getWarnings());
+            preparedStatements.invalidateIfUnprepared(pe);
             future.completeExceptionally(pe);
           } finally {
             // Note that it's a no-op if we haven't called captureWarnings
@@ -536,14 +544,22 @@ public class Cassandra311Persistence
           });
     }
 
+    @Override
+    public Result.Prepared getPrepared(String query, Parameters parameters) {
+      return preparedStatements.get(preparedKeyspace(parameters), query);
+    }
+
     @Override
     public CompletableFuture<Result.Prepared> prepare(String query, Parameters parameters) {
-      return executeRequestOnExecutor(
-          parameters,
-          // The queryStartNanoTime is not used by prepared message, so it doesn't really matter
-          // that it's only computed now.
-          System.nanoTime(),
-          () -> new PrepareMessage(query));
+      return preparedStatements.cacheOnSuccess(
+          preparedKeyspace(parameters),
+          query,
+          executeRequestOnExecutor(
+              parameters,
+              // The queryStartNanoTime is not used by prepared message, so it doesn't really
+              // matter that it's only computed now.
+              System.nanoTime(),
+              () -> new PrepareMessage(query)));
     }
 
     @Override
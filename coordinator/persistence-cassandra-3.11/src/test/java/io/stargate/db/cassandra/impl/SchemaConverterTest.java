@@ -0,0 +1,158 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.db.cassandra.impl;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.stargate.db.schema.Schema;
+import java.util.Arrays;
+import java.util.Collections;
+import org.apache.cassandra.config.CFMetaData;
+import org.apache.cassandra.cql3.FieldIdentifier;
+import org.apache.cassandra.db.marshal.AbstractType;
+import org.apache.cassandra.db.marshal.AsciiType;
+import org.apache.cassandra.db.marshal.Int32Type;
+import org.apache.cassandra.db.marshal.UTF8Type;
+import org.apache.cassandra.db.marshal.UserType;
+import org.apache.cassandra.schema.Functions;
+import org.apache.cassandra.schema.IndexMetadata;
+import org.apache.cassandra.schema.KeyspaceMetadata;
+import org.apache.cassandra.schema.KeyspaceParams;
+import org.apache.cassandra.schema.Tables;
+import org.apache.cassandra.schema.Types;
+import org.apache.cassandra.schema.Views;
+import org.apache.cassandra.utils.ByteBufferUtil;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that {@link SchemaConverter#convertCassandraKeyspace} produces the same result as a full
+ * {@link SchemaConverter#convertCassandraSchema} after every kind of keyspace change.
+ */
+class SchemaConverterTest extends BaseCassandraTest {
+
+  // The production converter reads the indexes from the ColumnFamilyStore, which requires the
+  // tables to be loaded. These tests only build schema objects, so read them from the metadata.
+  private final SchemaConverter converter =
+      new SchemaConverter() {
+        @Override
+        protected Iterable<IndexMetadata> secondaryIndexes(CFMetaData table) {
+          return table.getIndexes();
+        }
+      };
+
+  private static CFMetaData table(String keyspace, String name, String... regularColumns) {
+    CFMetaData.Builder builder =
+        CFMetaData.Builder.create(keyspace, name).addPartitionKey("k", Int32Type.instance);
+    for (String column : regularColumns) {
+      builder.addRegularColumn(column, AsciiType.instance);
+    }
+    return builder.build();
+  }
+
+  private static UserType type(String keyspace, String name, String... fields) {
+    return new UserType(
+        keyspace,
+        ByteBufferUtil.bytes(name),
+        Arrays.stream(fields).map(FieldIdentifier::forUnquoted).collect(toList()),
+        Collections.<AbstractType<?>>nCopies(fields.length, UTF8Type.instance),
+        true);
+  }
+
+  private static KeyspaceMetadata keyspace(String name, Tables tables, Types types) {
+    return KeyspaceMetadata.create(
+        name, KeyspaceParams.local(), tables, Views.none(), types, Functions.none());
+  }
+
+  private final KeyspaceMetadata ks1 =
+      keyspace(
+          "ks1",
+          Tables.of(table("ks1", "t1", "v1"), table("ks1", "t2", "v1")),
+          Types.of(type("ks1", "u1", "f1")));
+  private final KeyspaceMetadata ks2 =
+      keyspace("ks2", Tables.of(table("ks2", "t1", "v1")), Types.none());
+
+  private final Schema initial = converter.convertCassandraSchema(asList(ks1, ks2));
+
+  private void assertIncremental(KeyspaceMetadata updated, KeyspaceMetadata... expected) {
+    Schema incremental = converter.convertCassandraKeyspace(initial, updated.name, updated);
+    assertThat(incremental).isEqualTo(converter.convertCassandraSchema(asList(expected)));
+    assertThat(incremental.keyspace("ks2")).isSameAs(initial.keyspace("ks2"));
+  }
+
+  @Test
+  public void unchangedKeyspaceIsReused() {
+    KeyspaceMetadata copy =
+        keyspace(
+            "ks1",
+            Tables.of(table("ks1", "t1", "v1"), table("ks1", "t2", "v1")),
+            Types.of(type("ks1", "u1", "f1")));
+
+    assertThat(converter.convertCassandraKeyspace(initial, "ks1", copy)).isSameAs(initial);
+  }
+
+  @Test
+  public void addedTable() {
+    KeyspaceMetadata updated = ks1.withSwapped(ks1.tables.with(table("ks1", "t3", "v1")));
+    assertIncremental(updated, updated, ks2);
+  }
+
+  @Test
+  public void alteredTable() {
+    KeyspaceMetadata updated =
+        ks1.withSwapped(ks1.tables.without("t1").with(table("ks1", "t1", "v1", "v2")));
+    assertIncremental(updated, updated, ks2);
+  }
+
+  @Test
+  public void droppedTable() {
+    KeyspaceMetadata updated = ks1.withSwapped(ks1.tables.without("t2"));
+    assertIncremental(updated, updated, ks2);
+  }
+
+  @Test
+  public void addedType() {
+    KeyspaceMetadata updated = ks1.withSwapped(ks1.types.with(type("ks1", "u2", "f1")));
+    assertIncremental(updated, updated, ks2);
+  }
+
+  @Test
+  public void alteredType() {
+    KeyspaceMetadata updated = ks1.withSwapped(Types.of(type("ks1", "u1", "f1", "f2")));
+    assertIncremental(updated, updated, ks2);
+  }
+
+  @Test
+  public void droppedType() {
+    KeyspaceMetadata updated = ks1.withSwapped(ks1.types.without(ByteBufferUtil.bytes("u1")));
+    assertIncremental(updated, updated, ks2);
+  }
+
+  @Test
+  public void addedKeyspace() {
+    KeyspaceMetadata ks3 = keyspace("ks3", Tables.of(table("ks3", "t1")), Types.none());
+    assertIncremental(ks3, ks1, ks2, ks3);
+  }
+
+  @Test
+  public void droppedKeyspace() {
+    Schema incremental = converter.convertCassandraKeyspace(initial, "ks1", null);
+
+    assertThat(incremental).isEqualTo(converter.convertCassandraSchema(asList(ks2)));
+    assertThat(incremental.keyspace("ks2")).isSameAs(initial.keyspace("ks2"));
+  }
+}
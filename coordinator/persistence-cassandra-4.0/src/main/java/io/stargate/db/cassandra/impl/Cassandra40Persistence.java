@@ -38,6 +38,7 @@ import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -150,12 +151,18 @@ public class Cassandra40Persistence
   }
 
   @Override
-  protected void registerInternalSchemaListener(Runnable runOnSchemaChange) {
+  @Nullable
+  protected KeyspaceMetadata currentInternalKeyspace(String keyspaceName) {
+    return Schema.instance.getKeyspaceMetadata(keyspaceName);
+  }
+
+  @Override
+  protected void registerInternalSchemaListener(Consumer<String> onKeyspaceChange) {
     schemaChangeListener =
         new SimpleCallbackMigrationListener() {
           @Override
-          void onSchemaChange() {
-            runOnSchemaChange.run();
+          void onSchemaChange(String keyspace) {
+            onKeyspaceChange.accept(keyspace);
           }
         };
     org.apache.cassandra.schema.Schema.instance.registerListener(schemaChangeListener);
@@ -277,6 +284,7 @@ public class Cassandra40Persistence
                     ? (PersistenceException) t
                     : Conversion.convertInternalException(t);
             pe.setWarnings(ClientWarn.instance.getWarnings());
+            preparedStatements.invalidateIfUnprepared(pe);
             future.completeExceptionally(pe);
           } finally {
             // Note that it's a no-op if we haven't called captureWarnings
@@ -498,15 +506,22 @@ public class Cassandra40Persistence
           });
     }
 
+    @Override
+    public Result.Prepared getPrepared(String query, Parameters parameters) {
+      return preparedStatements.get(preparedKeyspace(parameters), query);
+    }
+
     @Override
     public CompletableFuture<Result.Prepared> prepare(String query, Parameters parameters) {
-      return executeRequestOnExecutor(
-          parameters,
-          // The queryStartNanoTime is not used by prepared message, so it doesn't really
-          // matter
-          // that it's only computed now.
-          System.nanoTime(),
-          () -> new PrepareMessage(query, parameters.defaultKeyspace().orElse(null)));
+      return preparedStatements.cacheOnSuccess(
+          preparedKeyspace(parameters),
+          query,
+          executeRequestOnExecutor(
+              parameters,
+              // The queryStartNanoTime is not used by prepared message, so it doesn't really
+              // matter that it's only computed now.
+              System.nanoTime(),
+              () -> new PrepareMessage(query, parameters.defaultKeyspace().orElse(null))));
     }
 
     @Override
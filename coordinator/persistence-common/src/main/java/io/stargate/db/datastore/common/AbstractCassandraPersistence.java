@@ -3,11 +3,15 @@ package io.stargate.db.datastore.common;
 import com.datastax.oss.driver.shaded.guava.common.base.Joiner;
 import io.stargate.db.AuthenticatedUser;
 import io.stargate.db.ClientInfo;
+import io.stargate.db.Parameters;
 import io.stargate.db.Persistence;
 import io.stargate.db.schema.Schema;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,9 +42,16 @@ public abstract class AbstractCassandraPersistence<Config, K, T, C, U, I, V>
 
   // The schema exposed by stargate. It is translated from the internal C* schema during
   // initialization, and then updated every time the internal schema changes through a schema
-  // listener callback.
+  // listener callback (only the keyspace that changed is converted again).
   private volatile Schema schema;
 
+  // Listeners notified of the keyspaces that changed, once the new schema is visible.
+  private final List<Consumer<String>> schemaChangeListeners = new CopyOnWriteArrayList<>();
+
+  // The statements prepared through the connections of this persistence, invalidated on every
+  // internal schema change.
+  protected final PreparedStatementCache preparedStatements = new PreparedStatementCache();
+
   protected AbstractCassandraPersistence(String name) {
     this.name = name;
     this.schemaConverter = newSchemaConverter();
@@ -53,18 +64,36 @@ public abstract class AbstractCassandraPersistence<Config, K, T, C, U, I, V>
   protected abstract Iterable<K> currentInternalSchema();
 
   /**
-   * Register an internal schema listener that runs the provided runnable every time the internal
-   * schema of the persistence layer changes.
+   * The current version of a single keyspace in the concrete persistence layer, or {@code null} if
+   * that keyspace does not exist (anymore).
+   *
+   * <p>The default implementation scans {@link #currentInternalSchema()}; implementations should
+   * override it with a direct lookup in their schema registry, so that a single keyspace change
+   * costs the same regardless of the number of keyspaces.
+   */
+  @Nullable
+  protected K currentInternalKeyspace(String keyspaceName) {
+    for (K keyspace : currentInternalSchema()) {
+      if (schemaConverter.keyspaceName(keyspace).equals(keyspaceName)) {
+        return keyspace;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Register an internal schema listener that invokes the provided consumer, with the name of the
+   * affected keyspace, every time the internal schema of the persistence layer changes.
    *
    * <p>This is guaranteed to be called only once for each persistence instance, during
    * initialization. Implementations should usually keep track of the registered listener so they
    * can implement {@link #unregisterInternalSchemaListener()}.
    */
-  protected abstract void registerInternalSchemaListener(Runnable onSchemaChange);
+  protected abstract void registerInternalSchemaListener(Consumer<String> onKeyspaceChange);
 
   /**
    * Unregister the internal schema listener registered through {@link
-   * #registerInternalSchemaListener(Runnable)}, if necessary.
+   * #registerInternalSchemaListener(Consumer)}, if necessary.
    */
   protected abstract void unregisterInternalSchemaListener();
 
@@ -106,7 +135,35 @@ public abstract class AbstractCassandraPersistence<Config, K, T, C, U, I, V>
     initializePersistence(config);
 
     schema = computeCurrentSchema();
-    registerInternalSchemaListener(() -> schema = computeCurrentSchema());
+    registerInternalSchemaListener(this::onInternalSchemaChange);
+  }
+
+  @Override
+  public void registerSchemaChangeListener(Consumer<String> listener) {
+    schemaChangeListeners.add(listener);
+  }
+
+  // Synchronized because this is a read-modify-write of the schema: two concurrent changes must not
+  // lose each other's keyspace.
+  private synchronized void onInternalSchemaChange(String keyspaceName) {
+    preparedStatements.invalidateAll();
+    Schema previous = schema;
+    schema =
+        schemaConverter.convertCassandraKeyspace(
+            previous, keyspaceName, currentInternalKeyspace(keyspaceName));
+    if (schema != previous) {
+      notifySchemaChangeListeners(keyspaceName);
+    }
+  }
+
+  private void notifySchemaChangeListeners(String keyspaceName) {
+    for (Consumer<String> listener : schemaChangeListeners) {
+      try {
+        listener.accept(keyspaceName);
+      } catch (Exception e) {
+        logger.warn("Schema change listener failed for keyspace {}", keyspaceName, e);
+      }
+    }
   }
 
   private Schema computeCurrentSchema() {
@@ -150,6 +207,15 @@ public abstract class AbstractCassandraPersistence<Config, K, T, C, U, I, V>
       return Optional.ofNullable(loggedUser);
     }
 
+    /**
+     * The keyspace that a query prepared with the given parameters is bound to: the default
+     * keyspace of the parameters if set, otherwise the keyspace in use on this connection.
+     */
+    @Nullable
+    protected String preparedKeyspace(Parameters parameters) {
+      return parameters.defaultKeyspace().orElse(usedKeyspace().orElse(null));
+    }
+
     @Override
     public String toString() {
       Map<String, String> params = new LinkedHashMap<>();
@@ -13,6 +13,7 @@ import io.stargate.db.schema.Schema;
 import io.stargate.db.schema.SecondaryIndex;
 import io.stargate.db.schema.Table;
 import io.stargate.db.schema.UserDefinedType;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -20,6 +21,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import javax.annotation.Nullable;
 import org.apache.cassandra.stargate.utils.Streams;
 import org.javatuples.Pair;
 import org.slf4j.Logger;
@@ -126,6 +128,39 @@ public abstract class AbstractCassandraSchemaConverter<K, T, C, U, I, V> {
     return Schema.create(Iterables.transform(cassandraKeyspaces, this::convertKeyspace));
   }
 
+  /**
+   * Updates a previously converted schema after a change to a single keyspace.
+   *
+   * <p>Only the changed keyspace is converted again: all the other {@link Keyspace} instances of
+   * {@code schema} are reused as-is (along with their precomputed hash codes), so the cost of a
+   * schema change does not depend on the total size of the schema.
+   *
+   * @param schema the schema before the change.
+   * @param keyspaceName the (unquoted) name of the keyspace that changed.
+   * @param cassandraKeyspace the new internal version of the keyspace, or {@code null} if it was
+   *     dropped.
+   * @return the updated schema, or {@code schema} itself if the converted keyspace is unchanged.
+   */
+  public Schema convertCassandraKeyspace(
+      Schema schema, String keyspaceName, @Nullable K cassandraKeyspace) {
+    Keyspace previous = schema.keyspace(keyspaceName);
+    Keyspace updated = cassandraKeyspace == null ? null : convertKeyspace(cassandraKeyspace);
+    if (Objects.equals(previous, updated)) {
+      return schema;
+    }
+
+    List<Keyspace> keyspaces = new ArrayList<>(schema.keyspaces().size() + 1);
+    for (Keyspace keyspace : schema.keyspaces()) {
+      if (!keyspace.name().equals(keyspaceName)) {
+        keyspaces.add(keyspace);
+      }
+    }
+    if (updated != null) {
+      keyspaces.add(updated);
+    }
+    return Schema.create(keyspaces);
+  }
+
   private Keyspace convertKeyspace(K keyspace) {
     String name = keyspaceName(keyspace);
     Stream<Table> tables = convertTables(name, tables(keyspace), views(keyspace));
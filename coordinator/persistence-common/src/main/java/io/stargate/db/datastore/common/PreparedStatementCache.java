@@ -0,0 +1,135 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.db.datastore.common;
+
+import com.datastax.oss.driver.shaded.guava.common.cache.Cache;
+import com.datastax.oss.driver.shaded.guava.common.cache.CacheBuilder;
+import io.stargate.db.Persistence;
+import io.stargate.db.Result;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import javax.annotation.Nullable;
+import org.apache.cassandra.stargate.exceptions.PreparedQueryNotFoundException;
+import org.apache.cassandra.stargate.utils.MD5Digest;
+
+/**
+ * A bounded cache of the statements prepared through a persistence, keyed by the keyspace the
+ * statement was prepared in and its query string.
+ *
+ * <p>It backs {@link Persistence.Connection#getPrepared}, so that looking up a statement that was
+ * already prepared does not go through the persistence executor, the statement parsing and the
+ * metadata conversion again. Entries become stale when the schema changes, or when the persistence
+ * evicts the statement on its side: {@link #invalidateAll()} and {@link
+ * #invalidateIfUnprepared(Throwable)} must be called in those cases.
+ */
+public class PreparedStatementCache {
+
+  private static final long DEFAULT_MAX_SIZE =
+      Long.getLong("stargate.prepared_statements_cache_size", 10_000);
+
+  private final Cache<Key, Result.Prepared> preparedStatements;
+
+  public PreparedStatementCache() {
+    this(DEFAULT_MAX_SIZE);
+  }
+
+  public PreparedStatementCache(long maximumSize) {
+    this.preparedStatements = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+  }
+
+  /**
+   * @param keyspace the keyspace the query is prepared in, if any.
+   * @param query the query string.
+   * @return the cached prepared statement, or {@code null} if it's not cached.
+   */
+  @Nullable
+  public Result.Prepared get(@Nullable String keyspace, String query) {
+    return preparedStatements.getIfPresent(new Key(keyspace, query));
+  }
+
+  /**
+   * Caches the prepared statement once the given preparation completes successfully.
+   *
+   * @return the given future, unchanged.
+   */
+  public CompletableFuture<Result.Prepared> cacheOnSuccess(
+      @Nullable String keyspace, String query, CompletableFuture<Result.Prepared> preparation) {
+    @SuppressWarnings("unused")
+    CompletableFuture<Void> unused =
+        preparation.thenAccept(prepared -> put(keyspace, query, prepared));
+    return preparation;
+  }
+
+  /** Caches a prepared statement. */
+  public void put(@Nullable String keyspace, String query, Result.Prepared prepared) {
+    if (prepared.isUseKeyspace) {
+      return;
+    }
+    // store a copy without the warnings and tracing id of this specific preparation
+    preparedStatements.put(
+        new Key(keyspace, query),
+        new Result.Prepared(
+            prepared.statementId,
+            prepared.resultMetadataId,
+            prepared.resultMetadata,
+            prepared.metadata,
+            prepared.isIdempotent,
+            false));
+  }
+
+  /**
+   * Evicts the statement a {@link PreparedQueryNotFoundException} refers to, so that it gets
+   * prepared again on the next attempt. Does nothing for any other error.
+   */
+  public void invalidateIfUnprepared(Throwable error) {
+    if (error instanceof PreparedQueryNotFoundException) {
+      MD5Digest statementId = ((PreparedQueryNotFoundException) error).id;
+      preparedStatements.asMap().values().removeIf(p -> p.statementId.equals(statementId));
+    }
+  }
+
+  /** Evicts all statements, should be called when the schema changes. */
+  public void invalidateAll() {
+    preparedStatements.invalidateAll();
+  }
+
+  private static class Key {
+    private final @Nullable String keyspace;
+    private final String query;
+
+    private Key(@Nullable String keyspace, String query) {
+      this.keyspace = keyspace;
+      this.query = query;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (this == other) {
+        return true;
+      }
+      if (!(other instanceof Key)) {
+        return false;
+      }
+      Key that = (Key) other;
+      return Objects.equals(keyspace, that.keyspace) && query.equals(that.query);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(keyspace, query);
+    }
+  }
+}
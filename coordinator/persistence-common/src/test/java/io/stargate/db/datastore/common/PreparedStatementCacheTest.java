@@ -0,0 +1,124 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.db.datastore.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.stargate.db.Result;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import org.apache.cassandra.stargate.exceptions.InvalidRequestException;
+import org.apache.cassandra.stargate.exceptions.PreparedQueryNotFoundException;
+import org.apache.cassandra.stargate.utils.MD5Digest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PreparedStatementCacheTest {
+
+  private static final String QUERY = "SELECT * FROM t WHERE k = ?";
+
+  private PreparedStatementCache cache;
+
+  @BeforeEach
+  public void setUp() {
+    cache = new PreparedStatementCache(100);
+  }
+
+  @Test
+  public void shouldCacheByKeyspaceAndQuery() {
+    Result.Prepared prepared = prepared("ks" + QUERY, false);
+    cache.put("ks", QUERY, prepared);
+
+    assertThat(cache.get("ks", QUERY).statementId).isEqualTo(prepared.statementId);
+    assertThat(cache.get("other_ks", QUERY)).isNull();
+    assertThat(cache.get(null, QUERY)).isNull();
+  }
+
+  @Test
+  public void shouldCacheWithoutKeyspace() {
+    Result.Prepared prepared = prepared(QUERY, false);
+    cache.put(null, QUERY, prepared);
+
+    assertThat(cache.get(null, QUERY).statementId).isEqualTo(prepared.statementId);
+  }
+
+  @Test
+  public void shouldNotCacheUseKeyspace() {
+    cache.put(null, "USE ks", prepared("USE ks", true));
+
+    assertThat(cache.get(null, "USE ks")).isNull();
+  }
+
+  @Test
+  public void shouldNotCacheWarnings() {
+    Result.Prepared prepared = prepared(QUERY, false);
+    prepared.setWarnings(Collections.singletonList("warning"));
+    cache.put("ks", QUERY, prepared);
+
+    assertThat(cache.get("ks", QUERY).getWarnings()).isNullOrEmpty();
+  }
+
+  @Test
+  public void shouldCacheOnSuccessfulPreparation() {
+    CompletableFuture<Result.Prepared> preparation = new CompletableFuture<>();
+
+    assertThat(cache.cacheOnSuccess("ks", QUERY, preparation)).isSameAs(preparation);
+    assertThat(cache.get("ks", QUERY)).isNull();
+
+    Result.Prepared prepared = prepared("ks" + QUERY, false);
+    preparation.complete(prepared);
+    assertThat(cache.get("ks", QUERY).statementId).isEqualTo(prepared.statementId);
+  }
+
+  @Test
+  public void shouldNotCacheOnFailedPreparation() {
+    CompletableFuture<Result.Prepared> preparation = new CompletableFuture<>();
+    cache.cacheOnSuccess("ks", QUERY, preparation);
+
+    preparation.completeExceptionally(new InvalidRequestException("bad query"));
+    assertThat(cache.get("ks", QUERY)).isNull();
+  }
+
+  @Test
+  public void shouldInvalidateUnpreparedStatement() {
+    Result.Prepared prepared = prepared("ks" + QUERY, false);
+    Result.Prepared other = prepared("other_ks" + QUERY, false);
+    cache.put("ks", QUERY, prepared);
+    cache.put("other_ks", QUERY, other);
+
+    cache.invalidateIfUnprepared(new InvalidRequestException("unrelated"));
+    assertThat(cache.get("ks", QUERY)).isNotNull();
+
+    cache.invalidateIfUnprepared(new PreparedQueryNotFoundException(prepared.statementId));
+    assertThat(cache.get("ks", QUERY)).isNull();
+    assertThat(cache.get("other_ks", QUERY)).isNotNull();
+  }
+
+  @Test
+  public void shouldInvalidateAll() {
+    cache.put("ks", QUERY, prepared("ks" + QUERY, false));
+    cache.put(null, QUERY, prepared(QUERY, false));
+
+    cache.invalidateAll();
+    assertThat(cache.get("ks", QUERY)).isNull();
+    assertThat(cache.get(null, QUERY)).isNull();
+  }
+
+  private static Result.Prepared prepared(String toHash, boolean useKeyspace) {
+    MD5Digest id = MD5Digest.compute(toHash);
+    return new Result.Prepared(id, id, null, null, false, useKeyspace);
+  }
+}
@@ -50,6 +50,7 @@ import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
@@ -166,13 +167,19 @@ public class DsePersistence
   }
 
   @Override
-  protected void registerInternalSchemaListener(Runnable runOnSchemaChange) {
+  @Nullable
+  protected KeyspaceMetadata currentInternalKeyspace(String keyspaceName) {
+    return SchemaManager.instance.getKeyspaceMetadata(keyspaceName);
+  }
+
+  @Override
+  protected void registerInternalSchemaListener(Consumer<String> onKeyspaceChange) {
 
     schemaChangeListener =
         new SimpleCallbackSchemaChangeListener() {
           @Override
-          void onSchemaChange() {
-            runOnSchemaChange.run();
+          void onSchemaChange(String keyspace) {
+            onKeyspaceChange.accept(keyspace);
           }
         };
     org.apache.cassandra.schema.SchemaManager.instance.registerListener(schemaChangeListener);
@@ -590,6 +597,7 @@ public class DsePersistence
                       if (!(ex instanceof PersistenceException)) {
                         ex = convertExceptionWithWarnings(ex);
                       }
+                      preparedStatements.invalidateIfUnprepared(ex);
                       future.completeExceptionally(ex);
                     });
         return future;
@@ -638,8 +646,13 @@ public class DsePersistence
 
     @Override
     public Result.Prepared getPrepared(String query, Parameters parameters) {
-      QueryHandler handler = ClientState.getCQLQueryHandler();
       String keyspace = parameters.defaultKeyspace().orElse(clientState.getRawKeyspace());
+      Result.Prepared cached = preparedStatements.get(keyspace, query);
+      if (cached != null) {
+        return cached;
+      }
+
+      QueryHandler handler = ClientState.getCQLQueryHandler();
       String toHash = keyspace == null ? query : keyspace + query;
       MD5Digest statementId = MD5Digest.compute(toHash);
       QueryHandler.Prepared existing = handler.getPrepared(statementId);
@@ -650,13 +663,16 @@ public class DsePersistence
         boolean useKeyspace = statement instanceof UseStatement;
         ResultSet.PreparedMetadata metadata = ResultSet.PreparedMetadata.fromStatement(statement);
         ResultSet.ResultMetadata resultMetadata = ResultSet.ResultMetadata.fromStatement(statement);
-        return new Result.Prepared(
-            Conversion.toExternal(statementId),
-            Conversion.toExternal(existing.resultMetadataId),
-            toResultMetadata(resultMetadata, null),
-            toPreparedMetadata(metadata.names, statement.getPartitionKeyBindVariableIndexes()),
-            idempotent,
-            useKeyspace);
+        Result.Prepared prepared =
+            new Result.Prepared(
+                Conversion.toExternal(statementId),
+                Conversion.toExternal(existing.resultMetadataId),
+                toResultMetadata(resultMetadata, null),
+                toPreparedMetadata(metadata.names, statement.getPartitionKeyBindVariableIndexes()),
+                idempotent,
+                useKeyspace);
+        preparedStatements.put(keyspace, query, prepared);
+        return prepared;
       }
 
       return null;
@@ -664,12 +680,15 @@ public class DsePersistence
 
     @Override
     public CompletableFuture<Result.Prepared> prepare(String query, Parameters parameters) {
-      return executeRequest(
-          parameters,
-          // The queryStartNanoTime is not used by prepared message, so it doesn't really matter
-          // that it's only computed now.
-          System.nanoTime(),
-          () -> new PrepareMessage(query, parameters.defaultKeyspace().orElse(null)));
+      return preparedStatements.cacheOnSuccess(
+          parameters.defaultKeyspace().orElse(clientState.getRawKeyspace()),
+          query,
+          executeRequest(
+              parameters,
+              // The queryStartNanoTime is not used by prepared message, so it doesn't really
+              // matter that it's only computed now.
+              System.nanoTime(),
+              () -> new PrepareMessage(query, parameters.defaultKeyspace().orElse(null))));
     }
 
     @Override
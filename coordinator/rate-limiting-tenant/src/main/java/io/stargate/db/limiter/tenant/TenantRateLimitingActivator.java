@@ -0,0 +1,110 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.db.limiter.tenant;
+
+import io.stargate.core.activator.BaseActivator;
+import io.stargate.core.metrics.api.Metrics;
+import io.stargate.db.DbActivator;
+import io.stargate.db.limiter.RateLimitingManager;
+import io.stargate.db.limiter.tenant.impl.TenantRateLimitingMXBean;
+import io.stargate.db.limiter.tenant.impl.TenantRateLimitingManager;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Hashtable;
+import java.util.List;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Activator for the {@link TenantRateLimitingManager} rate limiting service.
+ *
+ * <p>For this service to activate, the {@link #IDENTIFIER} value needs to be passed to the {@link
+ * DbActivator#RATE_LIMITING_ID_PROPERTY)} system property (see {@link DbActivator}).
+ *
+ * <p>The manager is also registered over JMX, so that the rates can be changed at runtime (see
+ * {@link TenantRateLimitingMXBean}).
+ */
+public class TenantRateLimitingActivator extends BaseActivator {
+  private static final Logger logger = LoggerFactory.getLogger(TenantRateLimitingActivator.class);
+
+  public static final String IDENTIFIER = "TenantRateLimiting";
+  private static final boolean IS_ENABLED =
+      IDENTIFIER.equalsIgnoreCase(System.getProperty(DbActivator.RATE_LIMITING_ID_PROPERTY));
+
+  private final ServicePointer<Metrics> metrics = ServicePointer.create(Metrics.class);
+  private TenantRateLimitingManager manager;
+
+  public TenantRateLimitingActivator() {
+    super("Tenant Rate Limiting");
+  }
+
+  @Override
+  protected ServiceAndProperties createService() {
+    // Same as the global limiter: don't create the manager if it is not the one selected, as it
+    // would throw if it doesn't find its configuration.
+    if (!IS_ENABLED) {
+      return null;
+    }
+    manager = new TenantRateLimitingManager(metrics.get().getMeterRegistry());
+    registerMBean(manager);
+    return new ServiceAndProperties(manager, RateLimitingManager.class, properties());
+  }
+
+  @Override
+  protected void stopService() {
+    if (manager != null) {
+      unregisterMBean();
+      manager.stop();
+      manager = null;
+    }
+  }
+
+  private static void registerMBean(TenantRateLimitingManager manager) {
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      server.registerMBean(manager, new ObjectName(TenantRateLimitingMXBean.OBJECT_NAME));
+    } catch (JMException e) {
+      // Not fatal, the rates simply can't be changed at runtime
+      logger.warn("Could not register the tenant rate limiting MBean", e);
+    }
+  }
+
+  private static void unregisterMBean() {
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      ObjectName name = new ObjectName(TenantRateLimitingMXBean.OBJECT_NAME);
+      if (server.isRegistered(name)) {
+        server.unregisterMBean(name);
+      }
+    } catch (JMException e) {
+      logger.warn("Could not unregister the tenant rate limiting MBean", e);
+    }
+  }
+
+  private static Hashtable<String, String> properties() {
+    Hashtable<String, String> props = new Hashtable<>();
+    props.put("Identifier", IDENTIFIER);
+    return props;
+  }
+
+  @Override
+  protected List<ServicePointer<?>> dependencies() {
+    return Collections.singletonList(metrics);
+  }
+}
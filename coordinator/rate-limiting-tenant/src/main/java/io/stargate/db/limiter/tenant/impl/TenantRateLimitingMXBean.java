@@ -0,0 +1,45 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.db.limiter.tenant.impl;
+
+import java.util.Map;
+
+/**
+ * The runtime management operations of the {@link TenantRateLimitingManager}, registered over JMX
+ * under {@link #OBJECT_NAME}.
+ *
+ * <p>All rates are in queries per second, and must be strictly positive. Changes apply to the
+ * limiters already in use, starting with their next permits.
+ */
+public interface TenantRateLimitingMXBean {
+
+  String OBJECT_NAME = "io.stargate.db.limiter:type=TenantRateLimiting";
+
+  /** @return the rate of all the tenants that don't have a specific one. */
+  long getDefaultRate();
+
+  /** Changes the rate of all the tenants that don't have a specific one. */
+  void setDefaultRate(long rate);
+
+  /** @return the tenants that have a specific rate, with that rate. */
+  Map<String, Long> getRateOverrides();
+
+  /** Changes the rate of a specific tenant. */
+  void setTenantRate(String tenant, long rate);
+
+  /** Reverts a specific tenant to the default rate. */
+  void resetTenantRate(String tenant);
+}
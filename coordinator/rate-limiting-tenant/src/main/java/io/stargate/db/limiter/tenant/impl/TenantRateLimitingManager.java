@@ -0,0 +1,340 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.db.limiter.tenant.impl;
+
+import static java.lang.String.format;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.stargate.db.AuthenticatedUser;
+import io.stargate.db.Batch;
+import io.stargate.db.ClientInfo;
+import io.stargate.db.Parameters;
+import io.stargate.db.Statement;
+import io.stargate.db.limiter.AsyncRateLimiter;
+import io.stargate.db.limiter.RateLimitingDecision;
+import io.stargate.db.limiter.RateLimitingManager;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A rate limiting manager that gives each tenant its own rate limit.
+ *
+ * <p>The tenant of a connection is read from the custom properties of the user logged on it (see
+ * {@link #TENANT_PROPERTY_PROPERTY}), and falls back to the user name, so by default this limits
+ * each user separately. Queries executed before a user is logged, or when authentication is
+ * disabled, share a single "anonymous" limit.
+ *
+ * <p>Limiters are created lazily the first time a tenant executes a query, and are evicted after
+ * they have been idle for a while (see {@link #IDLE_EVICTION_PROPERTY}), the total number of
+ * tracked tenants being bounded (see {@link #MAX_TENANTS_PROPERTY}).
+ *
+ * <p>The rate of each tenant is {@link #RATE_PROPERTY}, unless it is overridden for that tenant in
+ * {@link #RATE_OVERRIDES_PROPERTY}. Both can be changed at runtime over JMX (see {@link
+ * TenantRateLimitingMXBean}), which also applies to the limiters already in use.
+ *
+ * <p>A query that would have to wait more than {@link #MAX_DELAY_PROPERTY} for its tenant's
+ * permits fails with an {@code OverloadedException} instead of being delayed further. The permits
+ * requested by each tenant are counted in the {@value #PERMITS_METRIC} metric, and the rejected
+ * queries in the {@value #OVERLOADED_METRIC} one.
+ *
+ * <p>Contrarily to the global limiter, system tables reads are not special-cased: the few queries
+ * drivers issue when they connect are simply counted against the tenant's budget.
+ */
+public class TenantRateLimitingManager implements RateLimitingManager, TenantRateLimitingMXBean {
+
+  public static final String RATE_PROPERTY = "stargate.limiter.tenant.rate_qps";
+  public static final String RATE_OVERRIDES_PROPERTY = "stargate.limiter.tenant.rate_overrides";
+  public static final String TENANT_PROPERTY_PROPERTY = "stargate.limiter.tenant.user_property";
+  public static final String MAX_DELAY_PROPERTY = "stargate.limiter.tenant.max_delay_ms";
+  public static final String MAX_TENANTS_PROPERTY = "stargate.limiter.tenant.max_tenants";
+  public static final String IDLE_EVICTION_PROPERTY =
+      "stargate.limiter.tenant.idle_eviction_minutes";
+  private static final int DELAYED_TASKS_EXECUTOR_THREADS =
+      Integer.getInteger("stargate.limiter.tenant.threads", 4);
+
+  static final String ANONYMOUS_TENANT = "<anonymous>";
+  static final String PERMITS_METRIC = "rate_limiter.tenant.permits";
+  static final String OVERLOADED_METRIC = "rate_limiter.tenant.overloaded";
+  private static final String TENANT_TAG = "tenant";
+
+  private final ScheduledExecutorService executor;
+  private final MeterRegistry meterRegistry;
+  private final String tenantProperty;
+  private final long maxDelayMillis;
+  private final ConcurrentMap<String, Long> rateOverrides;
+  private volatile long defaultRate;
+
+  private final LoadingCache<String, TenantLimiter> limiters;
+
+  public TenantRateLimitingManager(MeterRegistry meterRegistry) {
+    this(
+        Executors.newScheduledThreadPool(DELAYED_TASKS_EXECUTOR_THREADS, newThreadFactory()),
+        meterRegistry,
+        parseRate(RATE_PROPERTY, System.getProperty(RATE_PROPERTY)),
+        parseRateOverrides(System.getProperty(RATE_OVERRIDES_PROPERTY)),
+        System.getProperty(TENANT_PROPERTY_PROPERTY),
+        Long.getLong(MAX_DELAY_PROPERTY, 1000),
+        Long.getLong(MAX_TENANTS_PROPERTY, 10_000),
+        Long.getLong(IDLE_EVICTION_PROPERTY, 10));
+  }
+
+  public TenantRateLimitingManager(
+      ScheduledExecutorService executor,
+      MeterRegistry meterRegistry,
+      long defaultRate,
+      Map<String, Long> rateOverrides,
+      String tenantProperty,
+      long maxDelayMillis,
+      long maxTenants,
+      long idleEvictionMinutes) {
+    this.executor = executor;
+    this.meterRegistry = meterRegistry;
+    this.defaultRate = defaultRate;
+    this.rateOverrides = new ConcurrentHashMap<>(rateOverrides);
+    this.tenantProperty = tenantProperty;
+    this.maxDelayMillis = maxDelayMillis;
+    this.limiters =
+        Caffeine.newBuilder()
+            .maximumSize(maxTenants)
+            .expireAfterAccess(idleEvictionMinutes, TimeUnit.MINUTES)
+            // Contrarily to a removal listener, this runs as part of the atomic eviction: a new
+            // limiter can't be loaded for the tenant (re-registering the same meters) until the
+            // evicted one has released them. Note that we never invalidate entries explicitly.
+            .<String, TenantLimiter>evictionListener(
+                (tenant, limiter, cause) -> {
+                  if (limiter != null) {
+                    limiter.close();
+                  }
+                })
+            .build(this::newLimiter);
+  }
+
+  private static ThreadFactory newThreadFactory() {
+    AtomicInteger count = new AtomicInteger();
+    return r -> {
+      Thread thread = new Thread(r, "tenant-rate-limiter-" + count.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  /**
+   * Stops the executor of the delayed queries. The queries that are already waiting for their
+   * permits still complete.
+   */
+  public void stop() {
+    executor.shutdown();
+  }
+
+  static long parseRate(String property, String rateStr) {
+    if (rateStr == null || rateStr.isEmpty()) {
+      throw new IllegalArgumentException(
+          format(
+              "Tenant rate limiting is enabled but missing (or empty) value for property '%s'",
+              property));
+    }
+    try {
+      long rate = Long.parseLong(rateStr.trim());
+      if (rate <= 0) {
+        throw new NumberFormatException();
+      }
+      return rate;
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(
+          format(
+              "Invalid value for property '%s': expected a strictly positive number, but got %s",
+              property, rateStr));
+    }
+  }
+
+  /** Parses overrides of the form {@code tenant1:rate1,tenant2:rate2}. */
+  static Map<String, Long> parseRateOverrides(String spec) {
+    if (spec == null || spec.trim().isEmpty()) {
+      return Collections.emptyMap();
+    }
+    Map<String, Long> overrides = new HashMap<>();
+    for (String entry : spec.split(",")) {
+      int i = entry.lastIndexOf(':');
+      if (i <= 0) {
+        throw new IllegalArgumentException(
+            format(
+                "Invalid entry '%s' for property '%s': expected tenant:rate",
+                entry, RATE_OVERRIDES_PROPERTY));
+      }
+      overrides.put(
+          entry.substring(0, i).trim(),
+          parseRate(RATE_OVERRIDES_PROPERTY, entry.substring(i + 1)));
+    }
+    return overrides;
+  }
+
+  private static void checkRate(long rate) {
+    if (rate <= 0) {
+      throw new IllegalArgumentException(
+          format("Invalid rate: expected a strictly positive number, but got %d", rate));
+    }
+  }
+
+  @Override
+  public long getDefaultRate() {
+    return defaultRate;
+  }
+
+  @Override
+  public void setDefaultRate(long rate) {
+    checkRate(rate);
+    defaultRate = rate;
+    limiters.asMap().forEach((tenant, limiter) -> limiter.updateRate(rateFor(tenant)));
+  }
+
+  @Override
+  public Map<String, Long> getRateOverrides() {
+    return new HashMap<>(rateOverrides);
+  }
+
+  @Override
+  public void setTenantRate(String tenant, long rate) {
+    checkRate(rate);
+    rateOverrides.put(tenant, rate);
+    updateLimiter(tenant);
+  }
+
+  @Override
+  public void resetTenantRate(String tenant) {
+    rateOverrides.remove(tenant);
+    updateLimiter(tenant);
+  }
+
+  private void updateLimiter(String tenant) {
+    TenantLimiter limiter = limiters.getIfPresent(tenant);
+    if (limiter != null) {
+      limiter.updateRate(rateFor(tenant));
+    }
+  }
+
+  long rateFor(String tenant) {
+    return rateOverrides.getOrDefault(tenant, defaultRate);
+  }
+
+  private TenantLimiter newLimiter(String tenant) {
+    return new TenantLimiter(tenant, rateFor(tenant));
+  }
+
+  String tenantOf(AuthenticatedUser user) {
+    if (user == null) {
+      return ANONYMOUS_TENANT;
+    }
+    if (tenantProperty != null) {
+      String tenant = user.customProperties().get(tenantProperty);
+      if (tenant != null) {
+        return tenant;
+      }
+    }
+    return user.name();
+  }
+
+  @Override
+  public String description() {
+    return format(
+        "rate limiting per tenant at %d queries/seconds by default (%d overrides)",
+        defaultRate, rateOverrides.size());
+  }
+
+  @Override
+  public ConnectionManager forNewConnection() {
+    return new TenantConnectionManager(ANONYMOUS_TENANT);
+  }
+
+  @Override
+  public ConnectionManager forNewConnection(ClientInfo clientInfo) {
+    return new TenantConnectionManager(tenantOf(clientInfo.getAuthenticatedUser()));
+  }
+
+  private class TenantConnectionManager implements ConnectionManager {
+
+    private volatile String tenant;
+
+    TenantConnectionManager(String tenant) {
+      this.tenant = tenant;
+    }
+
+    @Override
+    public void onUserLogged(AuthenticatedUser user) {
+      tenant = tenantOf(user);
+    }
+
+    private RateLimitingDecision limit(long permits) {
+      // Look the limiter up every time, so that connections never hold on to an evicted one
+      TenantLimiter limiter = limiters.get(tenant);
+      assert limiter != null;
+      return limiter.limit(permits);
+    }
+
+    @Override
+    public RateLimitingDecision forPrepare(String query, Parameters parameters) {
+      return limit(1);
+    }
+
+    @Override
+    public RateLimitingDecision forExecute(Statement statement, Parameters parameters) {
+      return limit(1);
+    }
+
+    @Override
+    public RateLimitingDecision forBatch(Batch batch, Parameters parameters) {
+      return limit(batch.size());
+    }
+  }
+
+  class TenantLimiter {
+
+    private final AsyncRateLimiter limiter;
+    private final Counter permits;
+    private final Counter overloaded;
+
+    TenantLimiter(String tenant, long rate) {
+      this.limiter = new AsyncRateLimiter(executor, rate, TimeUnit.SECONDS, 1, TimeUnit.MINUTES);
+      this.permits = meterRegistry.counter(PERMITS_METRIC, TENANT_TAG, tenant);
+      this.overloaded = meterRegistry.counter(OVERLOADED_METRIC, TENANT_TAG, tenant);
+    }
+
+    RateLimitingDecision limit(long permitsToAcquire) {
+      permits.increment(permitsToAcquire);
+      return RateLimitingDecision.limit(
+          limiter, permitsToAcquire, maxDelayMillis, TimeUnit.MILLISECONDS, overloaded::increment);
+    }
+
+    void updateRate(long rate) {
+      limiter.setRate(rate, TimeUnit.SECONDS);
+    }
+
+    void close() {
+      meterRegistry.remove(permits);
+      meterRegistry.remove(overloaded);
+    }
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.db.limiter.tenant.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.stargate.db.AuthenticatedUser;
+import io.stargate.db.limiter.RateLimitingManager.ConnectionManager;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import org.apache.cassandra.stargate.exceptions.OverloadedException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TenantRateLimitingManagerTest {
+
+  private static final ScheduledExecutorService executor =
+      Executors.newSingleThreadScheduledExecutor();
+
+  private SimpleMeterRegistry meterRegistry;
+  private TenantRateLimitingManager manager;
+
+  @BeforeEach
+  public void setup() {
+    meterRegistry = new SimpleMeterRegistry();
+    manager =
+        new TenantRateLimitingManager(
+            executor,
+            meterRegistry,
+            1,
+            Collections.singletonMap("big", 1000L),
+            "tenant_id",
+            100,
+            100,
+            10);
+  }
+
+  @AfterAll
+  public static void shutdown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void shouldResolveTenant() {
+    assertThat(manager.tenantOf(null)).isEqualTo(TenantRateLimitingManager.ANONYMOUS_TENANT);
+    assertThat(manager.tenantOf(AuthenticatedUser.of("alice"))).isEqualTo("alice");
+    assertThat(
+            manager.tenantOf(
+                AuthenticatedUser.of(
+                    "alice", null, false, Collections.singletonMap("tenant_id", "acme"))))
+        .isEqualTo("acme");
+  }
+
+  @Test
+  public void shouldLimitTenantsSeparately() {
+    ConnectionManager alice = loggedAs("alice");
+    ConnectionManager bob = loggedAs("bob");
+
+    // Alice's only permit for this second
+    assertThat(execute(alice)).isCompleted();
+    // Alice would now have to wait about a second, more than the 100ms allowed
+    assertThatThrownBy(() -> execute(alice).join())
+        .isInstanceOf(CompletionException.class)
+        .hasCauseInstanceOf(OverloadedException.class);
+    // Bob is not affected
+    assertThat(execute(bob)).isCompleted();
+
+    assertThat(overloadedCount("alice")).isEqualTo(1);
+    assertThat(overloadedCount("bob")).isEqualTo(0);
+    assertThat(
+            meterRegistry
+                .get(TenantRateLimitingManager.PERMITS_METRIC)
+                .tag("tenant", "alice")
+                .counter()
+                .count())
+        .isEqualTo(2);
+  }
+
+  @Test
+  public void shouldApplyRateOverrides() {
+    ConnectionManager big = loggedAs("big");
+    for (int i = 0; i < 10; i++) {
+      assertThat(execute(big)).isNotCompletedExceptionally();
+    }
+    assertThat(overloadedCount("big")).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldUpdateRatesAtRuntime() {
+    ConnectionManager alice = loggedAs("alice");
+    assertThat(execute(alice)).isCompleted();
+
+    manager.setTenantRate("alice", 1000L);
+    assertThat(manager.rateFor("alice")).isEqualTo(1000);
+    assertThat(manager.getRateOverrides()).containsEntry("alice", 1000L);
+
+    manager.resetTenantRate("alice");
+    manager.setDefaultRate(50);
+    assertThat(manager.rateFor("alice")).isEqualTo(50);
+    assertThat(manager.rateFor("big")).isEqualTo(1000);
+    assertThat(manager.getDefaultRate()).isEqualTo(50);
+  }
+
+  @Test
+  public void shouldApplyRateChangesToLiveLimiters() {
+    ConnectionManager big = loggedAs("big");
+    assertThat(execute(big)).isNotCompletedExceptionally();
+
+    // The limiter is already in use: from its next permits on, a second per query
+    manager.setTenantRate("big", 1L);
+    assertThat(execute(big)).isNotCompletedExceptionally();
+    assertThatThrownBy(() -> execute(big).join())
+        .isInstanceOf(CompletionException.class)
+        .hasCauseInstanceOf(OverloadedException.class);
+    assertThat(overloadedCount("big")).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldRejectInvalidRates() {
+    assertThatThrownBy(() -> manager.setDefaultRate(0))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> manager.setTenantRate("alice", -1))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThat(manager.getDefaultRate()).isEqualTo(1);
+    assertThat(manager.getRateOverrides()).doesNotContainKey("alice");
+  }
+
+  @Test
+  public void shouldParseRateOverrides() {
+    assertThat(TenantRateLimitingManager.parseRateOverrides(null)).isEmpty();
+    assertThat(TenantRateLimitingManager.parseRateOverrides("a:10, b:20"))
+        .containsEntry("a", 10L)
+        .containsEntry("b", 20L);
+    assertThatThrownBy(() -> TenantRateLimitingManager.parseRateOverrides("a10"))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> TenantRateLimitingManager.parseRateOverrides("a:0"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private ConnectionManager loggedAs(String userName) {
+    ConnectionManager connectionManager = manager.forNewConnection();
+    connectionManager.onUserLogged(AuthenticatedUser.of(userName));
+    return connectionManager;
+  }
+
+  private static CompletableFuture<Void> execute(ConnectionManager connectionManager) {
+    return connectionManager
+        .forPrepare("SELECT * FROM ks.tbl", null)
+        .apply(() -> CompletableFuture.completedFuture(null));
+  }
+
+  private double overloadedCount(String tenant) {
+    return meterRegistry
+        .get(TenantRateLimitingManager.OVERLOADED_METRIC)
+        .tag("tenant", tenant)
+        .counter()
+        .count();
+  }
+}
@@ -94,6 +94,7 @@ public class DocumentDBFactory {
         authenticationSubject.asUser(),
         DataStoreOptions.builder()
             .alwaysPrepareQueries(true)
+            .prefetchThreshold(0.5)
             .putAllCustomProperties(tokenAndHeaders.headers)
             .build());
   }
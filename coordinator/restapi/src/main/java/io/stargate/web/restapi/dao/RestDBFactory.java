@@ -88,6 +88,7 @@ public class RestDBFactory {
         authenticationSubject.asUser(),
         DataStoreOptions.builder()
             .alwaysPrepareQueries(true)
+            .prefetchThreshold(0.5)
             .putAllCustomProperties(tokenAndHeaders.headers)
             .build());
   }
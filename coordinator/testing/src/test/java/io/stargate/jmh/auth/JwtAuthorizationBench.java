@@ -0,0 +1,180 @@
+package io.stargate.jmh.auth;
+
+import com.datastax.oss.driver.api.core.ProtocolVersion;
+import io.stargate.auth.AuthenticationSubject;
+import io.stargate.auth.Scope;
+import io.stargate.auth.SourceAPI;
+import io.stargate.auth.TypedKeyValue;
+import io.stargate.auth.jwt.AuthzJwtService;
+import io.stargate.db.PagingPosition;
+import io.stargate.db.RowDecorator;
+import io.stargate.db.datastore.ArrayListBackedRow;
+import io.stargate.db.datastore.ResultSet;
+import io.stargate.db.datastore.Row;
+import io.stargate.db.schema.Column;
+import io.stargate.db.schema.Column.Type;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks the authorization of requests with the Stargate claims of a JWT, in {@link
+ * AuthzJwtService}.
+ *
+ * <ul>
+ *   <li>{@code authorizeWrite} checks the claims against the keys of a write.
+ *   <li>{@code authorizeRead} checks the claims against the keys of a read, and then filters 100
+ *       result rows of 5 columns with them.
+ * </ul>
+ *
+ * <p>With {@code claimsCacheSize = 0}, the token is decoded and parsed for every request, which is
+ * what happened before the decoded claims were cached.
+ *
+ * <p>Run with: <code>
+ * ../mvnw jmh:benchmark -Djmh.benchmarks=JwtAuthorizationBench -Djmh.prof=gc</code>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(org.openjdk.jmh.annotations.Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JwtAuthorizationBench {
+
+  private static final int ROW_COUNT = 100;
+
+  @Param({"0", "10000"})
+  long claimsCacheSize;
+
+  private AuthzJwtService service;
+  private AuthenticationSubject subject;
+  private List<TypedKeyValue> keys;
+  private List<Row> rows;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    service = new AuthzJwtService(claimsCacheSize, 300);
+
+    // The service doesn't verify the signature (that's done at authentication), so it doesn't have
+    // to be valid here
+    String header = encode("{\"alg\":\"HS256\",\"typ\":\"JWT\"}");
+    String payload =
+        encode(
+            "{\"sub\":\"web-user\",\"exp\":"
+                + (System.currentTimeMillis() / 1000 + 3600)
+                + ",\"stargate_claims\":{\"x-stargate-role\":\"web-user\","
+                + "\"x-stargate-userid\":\"123\"}}");
+    subject = AuthenticationSubject.of(header + "." + payload + ".signature", "web-user");
+    keys = Collections.singletonList(new TypedKeyValue("userid", Type.Text, "123"));
+
+    List<Column> columns = new ArrayList<>();
+    List<ByteBuffer> values = new ArrayList<>();
+    columns.add(Column.create("userid", Type.Text));
+    values.add(Type.Text.codec().encode("123", ProtocolVersion.DEFAULT));
+    for (int i = 0; i < 4; i++) {
+      columns.add(Column.create("c" + i, Type.Text));
+      values.add(Type.Text.codec().encode("value" + i, ProtocolVersion.DEFAULT));
+    }
+    rows = new ArrayList<>(ROW_COUNT);
+    for (int i = 0; i < ROW_COUNT; i++) {
+      rows.add(new ArrayListBackedRow(columns, values, ProtocolVersion.DEFAULT));
+    }
+  }
+
+  private static String encode(String json) {
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(json.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Benchmark
+  public void authorizeWrite() throws Exception {
+    service.authorizeDataWrite(subject, "ks", "tbl", keys, Scope.MODIFY, SourceAPI.REST);
+  }
+
+  @Benchmark
+  public void authorizeRead(Blackhole blackhole) throws Exception {
+    RowInspectorCapture result =
+        (RowInspectorCapture)
+            service.authorizedDataRead(
+                RowInspectorCapture::new, subject, "ks", "tbl", keys, SourceAPI.REST);
+    for (Row row : rows) {
+      blackhole.consume(result.rowInspector.test(row));
+    }
+  }
+
+  /** A result set that only records the row inspector it is given. */
+  private static class RowInspectorCapture implements ResultSet {
+
+    private Predicate<Row> rowInspector;
+
+    @Override
+    public ResultSet withRowInspector(Predicate<Row> authzFilter) {
+      this.rowInspector = authzFilter;
+      return this;
+    }
+
+    @Override
+    public List<Column> columns() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<Row> iterator() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Row one() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<Row> rows() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<Row> currentPageRows() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean hasNoMoreFetchedRows() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ByteBuffer getPagingState() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ByteBuffer makePagingState(PagingPosition position) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public RowDecorator makeRowDecorator() {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
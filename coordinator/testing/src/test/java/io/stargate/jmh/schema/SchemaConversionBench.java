@@ -0,0 +1,262 @@
+package io.stargate.jmh.schema;
+
+import io.stargate.db.datastore.common.AbstractCassandraSchemaConverter;
+import io.stargate.db.schema.Column;
+import io.stargate.db.schema.Schema;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks the conversion of the internal schema to the Stargate one after a DDL statement, on a
+ * schema of 5,000 tables spread over a varying number of keyspaces.
+ *
+ * <ul>
+ *   <li>{@code fullConversion} converts the whole schema, which is what happened on every schema
+ *       change before the conversion was made incremental.
+ *   <li>{@code incrementalConversion} only converts the keyspace that changed (one table added),
+ *       reusing all the other keyspaces.
+ * </ul>
+ *
+ * <p>The internal schema is a minimal in-memory model, so that the benchmark measures the
+ * conversion itself and does not need a running persistence backend.
+ *
+ * <p>Run with: <code>
+ * ../mvnw jmh:benchmark -Djmh.benchmarks=SchemaConversionBench -Djmh.prof=gc</code>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SchemaConversionBench {
+
+  private static final int TABLE_COUNT = 5000;
+  private static final int COLUMN_COUNT = 10;
+
+  @Param({"10", "1000"})
+  int keyspaceCount;
+
+  private final Converter converter = new Converter();
+  private List<InternalKeyspace> keyspaces;
+  private Schema schema;
+  private InternalKeyspace changedKeyspace;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    int tablesPerKeyspace = TABLE_COUNT / keyspaceCount;
+    keyspaces = new ArrayList<>(keyspaceCount);
+    for (int k = 0; k < keyspaceCount; k++) {
+      List<InternalTable> tables = new ArrayList<>(tablesPerKeyspace);
+      for (int t = 0; t < tablesPerKeyspace; t++) {
+        tables.add(table("tbl" + t));
+      }
+      keyspaces.add(new InternalKeyspace("ks" + k, tables));
+    }
+    schema = converter.convertCassandraSchema(keyspaces);
+
+    InternalKeyspace first = keyspaces.get(0);
+    List<InternalTable> tables = new ArrayList<>(first.tables);
+    tables.add(table("new_table"));
+    changedKeyspace = new InternalKeyspace(first.name, tables);
+  }
+
+  @Benchmark
+  public void fullConversion(Blackhole bh) {
+    List<InternalKeyspace> changed = new ArrayList<>(keyspaces);
+    changed.set(0, changedKeyspace);
+    bh.consume(converter.convertCassandraSchema(changed));
+  }
+
+  @Benchmark
+  public void incrementalConversion(Blackhole bh) {
+    bh.consume(converter.convertCassandraKeyspace(schema, changedKeyspace.name, changedKeyspace));
+  }
+
+  private static InternalTable table(String name) {
+    List<InternalColumn> columns = new ArrayList<>(COLUMN_COUNT);
+    columns.add(new InternalColumn("pk", Column.Kind.PartitionKey));
+    columns.add(new InternalColumn("cc", Column.Kind.Clustering));
+    for (int c = 2; c < COLUMN_COUNT; c++) {
+      columns.add(new InternalColumn("v" + c, Column.Kind.Regular));
+    }
+    return new InternalTable(name, columns);
+  }
+
+  static class InternalKeyspace {
+    final String name;
+    final List<InternalTable> tables;
+
+    InternalKeyspace(String name, List<InternalTable> tables) {
+      this.name = name;
+      this.tables = tables;
+    }
+  }
+
+  static class InternalTable {
+    final String name;
+    final List<InternalColumn> columns;
+
+    InternalTable(String name, List<InternalColumn> columns) {
+      this.name = name;
+      this.columns = columns;
+    }
+  }
+
+  static class InternalColumn {
+    final String name;
+    final Column.Kind kind;
+
+    InternalColumn(String name, Column.Kind kind) {
+      this.name = name;
+      this.kind = kind;
+    }
+  }
+
+  static class Converter
+      extends AbstractCassandraSchemaConverter<
+          InternalKeyspace, InternalTable, InternalColumn, Object, Object, InternalTable> {
+
+    @Override
+    protected Set<String> getExcludedIndexOptions() {
+      return Collections.emptySet();
+    }
+
+    @Override
+    protected String keyspaceName(InternalKeyspace keyspace) {
+      return keyspace.name;
+    }
+
+    @Override
+    protected Map<String, String> replicationOptions(InternalKeyspace keyspace) {
+      return Collections.singletonMap("class", "SimpleStrategy");
+    }
+
+    @Override
+    protected boolean usesDurableWrites(InternalKeyspace keyspace) {
+      return true;
+    }
+
+    @Override
+    protected Iterable<InternalTable> tables(InternalKeyspace keyspace) {
+      return keyspace.tables;
+    }
+
+    @Override
+    protected Iterable<Object> userTypes(InternalKeyspace keyspace) {
+      return Collections.emptyList();
+    }
+
+    @Override
+    protected Iterable<InternalTable> views(InternalKeyspace keyspace) {
+      return Collections.emptyList();
+    }
+
+    @Override
+    protected String tableName(InternalTable table) {
+      return table.name;
+    }
+
+    @Override
+    protected Iterable<InternalColumn> columns(InternalTable table) {
+      return table.columns;
+    }
+
+    @Override
+    protected String columnName(InternalColumn column) {
+      return column.name;
+    }
+
+    @Override
+    protected Column.ColumnType columnType(InternalColumn column) {
+      return Column.Type.Text;
+    }
+
+    @Override
+    protected Column.Order columnClusteringOrder(InternalColumn column) {
+      return column.kind == Column.Kind.Clustering ? Column.Order.ASC : null;
+    }
+
+    @Override
+    protected Column.Kind columnKind(InternalColumn column) {
+      return column.kind;
+    }
+
+    @Override
+    protected Iterable<Object> secondaryIndexes(InternalTable table) {
+      return Collections.emptyList();
+    }
+
+    @Override
+    protected String comment(InternalTable table) {
+      return "";
+    }
+
+    @Override
+    protected int ttl(InternalTable table) {
+      return 0;
+    }
+
+    @Override
+    protected String indexName(Object index) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected String indexTarget(Object index) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected boolean isCustom(Object index) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected String indexClass(Object index) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected Map<String, String> indexOptions(Object index) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected List<Column> userTypeFields(Object userType) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected String userTypeName(Object userType) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected InternalTable asTable(InternalTable view) {
+      return view;
+    }
+
+    @Override
+    protected boolean isBaseTableOf(InternalTable table, InternalTable view) {
+      return false;
+    }
+  }
+}
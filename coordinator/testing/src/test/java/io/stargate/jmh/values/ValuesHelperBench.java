@@ -0,0 +1,137 @@
+package io.stargate.jmh.values;
+
+import io.grpc.StatusException;
+import io.stargate.db.Result.Flag;
+import io.stargate.db.Result.Prepared;
+import io.stargate.db.Result.PreparedMetadata;
+import io.stargate.db.Result.ResultMetadata;
+import io.stargate.db.Result.Rows;
+import io.stargate.db.schema.Column;
+import io.stargate.db.schema.Column.Type;
+import io.stargate.grpc.codec.ValueCodecs;
+import io.stargate.grpc.service.ValuesHelper;
+import io.stargate.proto.QueryOuterClass.Value;
+import io.stargate.proto.QueryOuterClass.Values;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.cassandra.stargate.utils.MD5Digest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks the conversion of values between the gRPC protocol and the persistence in {@link
+ * ValuesHelper}, for a table of 50 columns alternating {@code bigint} and {@code text}.
+ *
+ * <ul>
+ *   <li>{@code bindValues} binds the values of a 50-column insert, either by position or by name.
+ *   <li>{@code processResult} decodes a page of 1,000 rows, with and without the column metadata.
+ * </ul>
+ *
+ * <p>With {@code cachedPlans = false}, the result metadata has no id, so the per-column plan is
+ * rebuilt for every result, which is what happened before plans were cached. Bind plans are always
+ * cached, as prepared statements always have an id.
+ *
+ * <p>Run with: <code>
+ * ../mvnw jmh:benchmark -Djmh.benchmarks=ValuesHelperBench -Djmh.prof=gc</code>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ValuesHelperBench {
+
+  private static final int COLUMN_COUNT = 50;
+  private static final int ROW_COUNT = 1000;
+  private static final ByteBuffer UNSET = ByteBuffer.allocate(0);
+
+  @Param({"true", "false"})
+  boolean cachedPlans;
+
+  private Prepared prepared;
+  private Values positionalValues;
+  private Values namedValues;
+  private Rows rows;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    List<Column> columns = new ArrayList<>(COLUMN_COUNT);
+    Values.Builder positional = Values.newBuilder();
+    Values.Builder named = Values.newBuilder();
+    List<ByteBuffer> row = new ArrayList<>(COLUMN_COUNT);
+    for (int i = 0; i < COLUMN_COUNT; i++) {
+      boolean isText = i % 2 == 1;
+      Column column = Column.create("c" + i, isText ? Type.Text : Type.Bigint);
+      columns.add(column);
+      Value value =
+          isText
+              ? Value.newBuilder().setString("value" + i).build()
+              : Value.newBuilder().setInt(i).build();
+      positional.addValues(value);
+      row.add(ValueCodecs.get(column.type().rawType()).encode(value, column.type()));
+    }
+    // Name the values in reverse order, the worst case for a linear lookup
+    for (int i = COLUMN_COUNT - 1; i >= 0; i--) {
+      named.addValues(positional.getValues(i)).addValueNames(columns.get(i).name());
+    }
+    positionalValues = positional.build();
+    namedValues = named.build();
+
+    prepared =
+        new Prepared(
+            MD5Digest.compute("INSERT INTO ks.tbl ..."),
+            null,
+            null,
+            new PreparedMetadata(EnumSet.noneOf(Flag.class), columns, null),
+            true,
+            false);
+
+    List<List<ByteBuffer>> rowList = new ArrayList<>(ROW_COUNT);
+    for (int i = 0; i < ROW_COUNT; i++) {
+      rowList.add(row);
+    }
+    rows =
+        new Rows(
+            rowList,
+            new ResultMetadata(
+                EnumSet.noneOf(Flag.class),
+                columns,
+                cachedPlans ? MD5Digest.compute("SELECT * FROM ks.tbl") : null,
+                null));
+  }
+
+  @Benchmark
+  public void bindPositionalValues(Blackhole blackhole) throws StatusException {
+    blackhole.consume(ValuesHelper.bindValues(prepared, positionalValues, UNSET));
+  }
+
+  @Benchmark
+  public void bindNamedValues(Blackhole blackhole) throws StatusException {
+    blackhole.consume(ValuesHelper.bindValues(prepared, namedValues, UNSET));
+  }
+
+  @Benchmark
+  public void processResult(Blackhole blackhole) throws StatusException {
+    blackhole.consume(ValuesHelper.processResult(rows, false));
+  }
+
+  @Benchmark
+  public void processResultSkipMetadata(Blackhole blackhole) throws StatusException {
+    blackhole.consume(ValuesHelper.processResult(rows, true));
+  }
+}